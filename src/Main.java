@@ -21,6 +21,7 @@ public class Main {
     private static aplicacion.services.AuthService authService;
     private static RepositorioUsuario repositorioUsuarios;
     private static RepositorioScrim repositorioScrims;
+    private static aplicacion.services.RelajacionMatchmakingService relajacion;
 
     public static void main(String[] args) {
         inicializarAplicacion();
@@ -39,6 +40,19 @@ public class Main {
         // Inicializar servicio de autenticación
         authService = new aplicacion.services.AuthService(repositorioUsuarios);
 
+        // Recomendar scrims abiertos cuando un jugador queda disponible o
+        // edita su perfil
+        new aplicacion.services.MatchmakingInversoService(repositorioScrims, repositorioUsuarios)
+                .activar(false, aplicacion.services.MatchmakingInversoService.CANTIDAD_POR_DEFECTO);
+
+        // Ampliar los requisitos de los scrims que llevan tiempo sin completarse.
+        // Las pasadas corren entre acciones del menú (ver relajarScrims) y no
+        // en un hilo aparte, porque modifican los mismos scrims que la interfaz
+        relajacion = new aplicacion.services.RelajacionMatchmakingService(
+                infraestructura.matchmaking.PoliticaRelajacion.configurada(), false, false, repositorioScrims,
+                repositorioUsuarios);
+        relajarScrims();
+
         // Inicializar vistas
         menuView = new MenuView();
         loginView = new LoginView();
@@ -55,6 +69,7 @@ public class Main {
         boolean salir = false;
 
         while (!salir) {
+            relajarScrims();
             menuView.mostrarMenuPrincipal();
             int opcion = menuView.leerOpcion();
 
@@ -75,6 +90,18 @@ public class Main {
         }
     }
 
+    /**
+     * Ejecuta una pasada de relajación de requisitos si ya pasó el intervalo
+     * desde la anterior. Un error en la pasada no interrumpe el menú.
+     */
+    private static void relajarScrims() {
+        try {
+            relajacion.ejecutarSiCorresponde(aplicacion.services.RelajacionMatchmakingService.INTERVALO_POR_DEFECTO_MS);
+        } catch (RuntimeException e) {
+            System.err.println("Error en re-emparejamiento: " + e.getMessage());
+        }
+    }
+
     /**
      * Maneja el flujo de login.
      */
@@ -174,6 +201,7 @@ public class Main {
         boolean salir = false;
 
         while (!salir) {
+            relajarScrims();
             mostrarMenuUsuario();
             int opcion = menuView.leerOpcion();
 
@@ -678,6 +706,10 @@ public class Main {
                     moderarComentarios(vista, estadisticasService);
                     break;
                 case 5:
+                    // Buscar comentarios por palabras clave
+                    buscarComentarios(vista, estadisticasService);
+                    break;
+                case 6:
                     salir = true;
                     break;
                 default:
@@ -777,6 +809,24 @@ public class Main {
         }
     }
 
+    private static void buscarComentarios(presentacion.view.EstadisticasView vista,
+            aplicacion.services.EstadisticasService estadisticasService) {
+        try {
+            String consulta = vista.solicitarPalabrasClave();
+            if (consulta.trim().isEmpty()) {
+                vista.mostrarMensaje("Error: Debe ingresar al menos una palabra.");
+                return;
+            }
+
+            java.util.List<dominio.estadisticas.Comentario> resultados = estadisticasService
+                    .buscarComentarios(consulta, null, 20);
+            vista.mostrarComentarios(resultados, "Resultados para \"" + consulta.trim() + "\"");
+
+        } catch (Exception e) {
+            vista.mostrarMensaje("Error al buscar comentarios: " + e.getMessage());
+        }
+    }
+
     private static void moderarComentarios(presentacion.view.EstadisticasView vista,
             aplicacion.services.EstadisticasService estadisticasService) {
         try {
@@ -899,6 +949,8 @@ public class Main {
      * Finaliza la aplicación y libera recursos.
      */
     private static void finalizarAplicacion() {
+        // Calificar las partidas del período abierto antes de salir
+        aplicacion.services.CalificacionService.getInstance().cerrarPeriodos();
         menuView.cerrar();
     }
 }
@@ -2,6 +2,8 @@ package aplicacion.builders;
 
 import java.time.LocalDateTime;
 
+import dominio.modelo.Scrim;
+
 /**
  * Clase que encapsula los filtros para buscar scrims.
  * Todos los campos son opcionales (pueden ser null).
@@ -21,6 +23,9 @@ public class FiltrosScrim {
     private LocalDateTime fechaDesde; // Buscar desde esta fecha
     private LocalDateTime fechaHasta; // Buscar hasta esta fecha
     private String estado; // Estado del scrim (ej: "BUSCANDO")
+    private Integer horaDesde; // Franja horaria: hora del día inicial (0-23)
+    private Integer horaHasta; // Franja horaria: hora del día final (0-23, inclusive)
+    private String region; // Región del scrim (ej: "LATAM")
 
     /**
      * Constructor privado. Usar el Builder para crear instancias.
@@ -61,6 +66,115 @@ public class FiltrosScrim {
         return estado;
     }
 
+    public Integer getHoraDesde() {
+        return horaDesde;
+    }
+
+    public Integer getHoraHasta() {
+        return horaHasta;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Indica si una hora del día cae dentro de la franja horaria del filtro.
+     * Las franjas que cruzan la medianoche (ej: 22 a 2) son válidas.
+     *
+     * @param hora hora del día (0-23)
+     * @return true si no hay franja configurada o la hora está dentro
+     */
+    public boolean incluyeHora(int hora) {
+        if (horaDesde == null) {
+            return true;
+        }
+        if (horaDesde <= horaHasta) {
+            return hora >= horaDesde && hora <= horaHasta;
+        }
+        return hora >= horaDesde || hora <= horaHasta;
+    }
+
+    /**
+     * Verifica si un scrim cumple con todos los filtros especificados.
+     *
+     * @param scrim scrim a evaluar
+     * @return true si el scrim cumple todos los filtros no nulos
+     */
+    public boolean coincide(Scrim scrim) {
+        // Filtro por juego
+        if (juego != null) {
+            if (!scrim.getJuego().getNombre().equalsIgnoreCase(juego)) {
+                return false;
+            }
+        }
+
+        // Filtro por formato
+        if (formato != null) {
+            if (!scrim.getFormato().getFormatName().equalsIgnoreCase(formato)) {
+                return false;
+            }
+        }
+
+        // Filtro por rango mínimo
+        if (rangoMin != null) {
+            if (scrim.getRangoMin() < rangoMin) {
+                return false;
+            }
+        }
+
+        // Filtro por rango máximo
+        if (rangoMax != null) {
+            if (scrim.getRangoMax() > rangoMax) {
+                return false;
+            }
+        }
+
+        // Filtro por latencia máxima
+        if (latenciaMax != null) {
+            if (scrim.getLatenciaMax() > latenciaMax) {
+                return false;
+            }
+        }
+
+        // Filtro por fecha desde
+        if (fechaDesde != null) {
+            if (scrim.getFechaHora().isBefore(fechaDesde)) {
+                return false;
+            }
+        }
+
+        // Filtro por fecha hasta
+        if (fechaHasta != null) {
+            if (scrim.getFechaHora().isAfter(fechaHasta)) {
+                return false;
+            }
+        }
+
+        // Filtro por estado
+        if (estado != null) {
+            if (!scrim.getEstado().equalsIgnoreCase(estado)) {
+                return false;
+            }
+        }
+
+        // Filtro por franja horaria
+        if (horaDesde != null) {
+            if (!incluyeHora(scrim.getFechaHora().getHour())) {
+                return false;
+            }
+        }
+
+        // Filtro por región
+        if (region != null) {
+            if (!scrim.getRegion().equalsIgnoreCase(region)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Builder para construir filtros de forma fluida.
      */
@@ -111,6 +225,27 @@ public class FiltrosScrim {
             return this;
         }
 
+        /**
+         * Restringe la búsqueda a scrims cuya hora de inicio esté en la franja
+         * [horaDesde, horaHasta]. Si horaDesde > horaHasta la franja cruza la
+         * medianoche.
+         *
+         * @throws IllegalArgumentException si alguna hora está fuera de 0-23
+         */
+        public Builder conFranjaHoraria(int horaDesde, int horaHasta) {
+            if (horaDesde < 0 || horaDesde > 23 || horaHasta < 0 || horaHasta > 23) {
+                throw new IllegalArgumentException("Las horas de la franja deben estar entre 0 y 23");
+            }
+            filtros.horaDesde = horaDesde;
+            filtros.horaHasta = horaHasta;
+            return this;
+        }
+
+        public Builder conRegion(String region) {
+            filtros.region = region;
+            return this;
+        }
+
         public FiltrosScrim build() {
             return filtros;
         }
@@ -0,0 +1,89 @@
+package aplicacion.builders;
+
+import java.util.Comparator;
+
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+
+/**
+ * Criterios de ordenamiento para búsquedas de scrims con límite de
+ * resultados ("los mejores N").
+ *
+ * Cada criterio define un comparador donde el primer elemento es el mejor.
+ * Los empates se resuelven por ID para que el resultado sea determinista.
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.ScrimService#buscarScrims(FiltrosScrim, OrdenScrim,
+ *      int, Usuario)
+ */
+public enum OrdenScrim {
+
+    /** Scrims con fecha/hora más próxima primero. */
+    FECHA_MAS_PROXIMA("Fecha más próxima", false),
+
+    /**
+     * Scrims cuyo punto medio de rango [rangoMin, rangoMax] está más cerca del
+     * rango del usuario en ese juego. Requiere usuario de referencia.
+     */
+    RANGO_MAS_CERCANO("Rango más cercano al mío", true),
+
+    /** Scrims con menos plazas libres primero (los más cerca de llenarse). */
+    MENOS_PLAZAS_LIBRES("Menos plazas libres", false);
+
+    private final String descripcion;
+    private final boolean requiereUsuario;
+
+    OrdenScrim(String descripcion, boolean requiereUsuario) {
+        this.descripcion = descripcion;
+        this.requiereUsuario = requiereUsuario;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public boolean requiereUsuario() {
+        return requiereUsuario;
+    }
+
+    /**
+     * Construye el comparador del criterio.
+     *
+     * @param referencia usuario de referencia (solo para RANGO_MAS_CERCANO)
+     * @return comparador donde el menor es el mejor scrim
+     * @throws IllegalArgumentException si el criterio requiere usuario y es null
+     */
+    public Comparator<Scrim> comparador(Usuario referencia) {
+        Comparator<Scrim> base;
+        switch (this) {
+            case FECHA_MAS_PROXIMA:
+                base = Comparator.comparing(Scrim::getFechaHora);
+                break;
+            case RANGO_MAS_CERCANO:
+                if (referencia == null) {
+                    throw new IllegalArgumentException("El orden por rango requiere un usuario de referencia");
+                }
+                base = Comparator.comparingDouble(scrim -> distanciaAlRango(scrim, referencia));
+                break;
+            case MENOS_PLAZAS_LIBRES:
+                base = Comparator.comparingInt(Scrim::getPlazasLibres);
+                break;
+            default:
+                throw new IllegalStateException("Orden no soportado: " + this);
+        }
+        return base.thenComparing(Scrim::getId);
+    }
+
+    /**
+     * Distancia entre el punto medio del rango del scrim y el rango del usuario.
+     * Si el usuario no tiene rango en ese juego, el scrim va al final.
+     */
+    private static double distanciaAlRango(Scrim scrim, Usuario usuario) {
+        Integer rango = usuario.getRangoParaJuego(scrim.getJuego().getNombre());
+        if (rango == null) {
+            return Double.MAX_VALUE;
+        }
+        double puntoMedio = ((double) scrim.getRangoMin() + scrim.getRangoMax()) / 2.0;
+        return Math.abs(rango - puntoMedio);
+    }
+}
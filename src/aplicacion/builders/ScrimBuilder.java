@@ -3,6 +3,7 @@ package aplicacion.builders;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import compartido.validators.PerfilValidator;
 import compartido.validators.ScrimValidator;
 import dominio.juegos.Juego;
 import dominio.modelo.Scrim;
@@ -31,6 +32,8 @@ public class ScrimBuilder {
     private int latenciaMaxima;
     private int plazas;
     private String estrategiaMatchmaking; // Estrategia de matchmaking
+    private String region; // Región del scrim (null = abierto a todas)
+    private boolean notificarCreacion; // Avisar a los interesados al construir
 
     public ScrimBuilder() {
         // Valores por defecto
@@ -38,6 +41,7 @@ public class ScrimBuilder {
         this.rangoMax = Integer.MAX_VALUE;
         this.latenciaMaxima = -1; // -1 indica que no hay límite
         this.estrategiaMatchmaking = "MMR"; // Estrategia por defecto
+        this.notificarCreacion = true;
     }
 
     /**
@@ -121,6 +125,34 @@ public class ScrimBuilder {
         return this;
     }
 
+    /**
+     * Restringe el scrim a una región. Los jugadores de esa región tienen
+     * prioridad en la búsqueda de candidatos y notificaciones.
+     * 
+     * @param region código de región (ej: "LATAM", "EUW")
+     * @return este builder para encadenamiento
+     * @throws IllegalArgumentException si la región no es válida
+     */
+    public ScrimBuilder withRegion(String region) {
+        PerfilValidator.validarRegion(region);
+        this.region = region.trim().toUpperCase();
+        return this;
+    }
+
+    /**
+     * Indica si al construir se notifica a los usuarios interesados que hay un
+     * scrim nuevo buscando jugadores (por defecto sí). Los lobbies que se
+     * arman ya completos, como los de las colas de matchmaking, no buscan
+     * jugadores y no deben anunciarse.
+     * 
+     * @param notificar true para notificar la creación
+     * @return este builder para encadenamiento
+     */
+    public ScrimBuilder withNotificacionCreacion(boolean notificar) {
+        this.notificarCreacion = notificar;
+        return this;
+    }
+
     public Scrim build() {
         // Validaciones finales
         if (juego == null) {
@@ -145,9 +177,12 @@ public class ScrimBuilder {
 
         // Establecer la estrategia de matchmaking
         scrim.setEstrategiaMatchmaking(estrategiaMatchmaking);
+        scrim.setRegion(region);
 
         // Notificar a usuarios que coincidan con las preferencias del scrim
-        ScrimNotificationObserver.notificarScrimCreado(scrim);
+        if (notificarCreacion) {
+            ScrimNotificationObserver.notificarScrimCreado(scrim);
+        }
 
         return scrim;
     }
@@ -0,0 +1,259 @@
+package aplicacion.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import aplicacion.builders.ScrimOrganizador;
+import dominio.acciones.AsignacionRolesAccion;
+import dominio.juegos.Juego;
+import dominio.modelo.Confirmacion;
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import dominio.roles.RolJuego;
+import infraestructura.matchmaking.AlgoritmoHungaro;
+import infraestructura.matchmaking.BalanceadorEquipos;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Asignación automática de roles para un lobby armado.
+ *
+ * Por cada equipo del lobby (los persistidos en el scrim por
+ * {@link BalanceadorEquipos}) arma una matriz jugador × puesto, donde los
+ * puestos son los {@code rolesRequeridos} del scrim, y la resuelve con el
+ * {@link AlgoritmoHungaro} para minimizar el costo total:
+ * - Rol preferido: {@value #COSTO_POR_POSICION} por cada posición en la lista
+ * de roles del jugador (el rol principal cuesta 0)
+ * - Rol que el jugador no juega: {@value #COSTO_ROL_NO_PREFERIDO} más hasta
+ * {@value #PESO_ESCASEZ} según lo escaso que sea el rol en el equipo, para
+ * que quienes sí juegan un rol escaso lo cubran antes que uno abundante
+ *
+ * El resultado se aplica como una única {@link AsignacionRolesAccion} sobre
+ * el {@link ScrimOrganizador}, por lo que se deshace de una sola vez.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * AsignacionRolesService roles = new AsignacionRolesService();
+ * roles.asignar(organizador); // un lobby
+ * roles.asignarEnLote(organizadores); // todos los lobbies de un evento
+ * </pre>
+ *
+ * @author eScrims Team
+ */
+public class AsignacionRolesService {
+
+    public static final long COSTO_POR_POSICION = 10;
+    public static final long COSTO_ROL_NO_PREFERIDO = 100;
+    public static final long PESO_ESCASEZ = 50;
+
+    private final RepositorioUsuario repositorioUsuario;
+
+    public AsignacionRolesService() {
+        this(RepositorioFactory.getRepositorioUsuario());
+    }
+
+    public AsignacionRolesService(RepositorioUsuario repositorioUsuario) {
+        this.repositorioUsuario = repositorioUsuario;
+    }
+
+    /**
+     * Calcula y aplica la asignación de roles de un lobby como una sola
+     * acción deshacible.
+     *
+     * @return la acción ejecutada
+     * @throws IllegalStateException si el lobby no tiene jugadores o el scrim
+     *                               no admite cambios
+     */
+    public AsignacionRolesAccion asignar(ScrimOrganizador organizador) {
+        AsignacionRolesAccion accion = planificar(organizador.getScrim());
+        organizador.ejecutarAccion(accion);
+        return accion;
+    }
+
+    /**
+     * Asigna los roles de varios lobbies. Un lobby que falla no detiene al
+     * resto.
+     *
+     * @return cantidad de lobbies asignados
+     */
+    public int asignarEnLote(List<ScrimOrganizador> organizadores) {
+        int asignados = 0;
+        for (ScrimOrganizador organizador : organizadores) {
+            try {
+                asignar(organizador);
+                asignados++;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                System.err.println("[AsignacionRolesService] Scrim " + organizador.getScrim().getId()
+                        + ": " + e.getMessage());
+            }
+        }
+        return asignados;
+    }
+
+    /**
+     * Calcula la asignación óptima sin aplicarla.
+     *
+     * @throws IllegalStateException si el lobby no tiene jugadores o ningún
+     *                               rol del scrim existe en el juego
+     */
+    public AsignacionRolesAccion planificar(Scrim scrim) {
+        List<Usuario> jugadores = jugadoresDelLobby(scrim);
+        if (jugadores.isEmpty()) {
+            throw new IllegalStateException("El scrim no tiene jugadores para asignar roles");
+        }
+        List<RolJuego> puestos = puestosPorEquipo(scrim);
+        if (puestos.isEmpty()) {
+            throw new IllegalStateException("Ningún rol requerido del scrim existe en "
+                    + scrim.getJuego().getNombre());
+        }
+
+        Map<Usuario, RolJuego> asignaciones = new LinkedHashMap<>();
+        for (List<Usuario> equipo : dividirEnEquipos(scrim, jugadores)) {
+            asignarEquipo(equipo, puestos, scrim.getJuego(), asignaciones);
+        }
+        return new AsignacionRolesAccion(asignaciones);
+    }
+
+    /**
+     * Matriz de costos jugador × puesto de un equipo.
+     *
+     * @param equipo  jugadores del equipo (filas)
+     * @param puestos rol de cada puesto (columnas)
+     */
+    static long[][] matrizCostos(List<Usuario> equipo, List<RolJuego> puestos, String nombreJuego) {
+        List<List<String>> preferencias = new ArrayList<>(equipo.size());
+        for (Usuario usuario : equipo) {
+            preferencias.add(usuario.getRolesPreferidosParaJuego(nombreJuego));
+        }
+
+        long[][] costos = new long[equipo.size()][puestos.size()];
+        for (int j = 0; j < puestos.size(); j++) {
+            String rol = puestos.get(j).getNombre();
+            int quienesLoJuegan = 0;
+            for (List<String> roles : preferencias) {
+                if (posicionDe(roles, rol) >= 0) {
+                    quienesLoJuegan++;
+                }
+            }
+            long recargoEscasez = Math.round(PESO_ESCASEZ * (1.0 - (double) quienesLoJuegan / equipo.size()));
+            for (int i = 0; i < equipo.size(); i++) {
+                int posicion = posicionDe(preferencias.get(i), rol);
+                costos[i][j] = posicion >= 0 ? posicion * COSTO_POR_POSICION
+                        : COSTO_ROL_NO_PREFERIDO + recargoEscasez;
+            }
+        }
+        return costos;
+    }
+
+    // ========== AUXILIARES ==========
+
+    private void asignarEquipo(List<Usuario> equipo, List<RolJuego> roles, Juego juego,
+            Map<Usuario, RolJuego> asignaciones) {
+        // Si el equipo tiene más jugadores que roles, los roles se repiten en orden
+        List<RolJuego> puestos = new ArrayList<>(roles);
+        for (int i = roles.size(); i < equipo.size(); i++) {
+            puestos.add(roles.get(i % roles.size()));
+        }
+        int[] puestoDeJugador = AlgoritmoHungaro.resolver(matrizCostos(equipo, puestos, juego.getNombre()));
+        for (int i = 0; i < equipo.size(); i++) {
+            asignaciones.put(equipo.get(i), puestos.get(puestoDeJugador[i]));
+        }
+    }
+
+    private static int posicionDe(List<String> roles, String rol) {
+        for (int i = 0; i < roles.size(); i++) {
+            if (roles.get(i).equalsIgnoreCase(rol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Roles de un equipo: los requeridos por el scrim o, si no tiene, todos
+     * los del juego.
+     */
+    private List<RolJuego> puestosPorEquipo(Scrim scrim) {
+        Juego juego = scrim.getJuego();
+        List<RolJuego> puestos = new ArrayList<>();
+        List<String> requeridos = scrim.getRolesRequeridos();
+        if (requeridos == null || requeridos.isEmpty()) {
+            puestos.addAll(juego.getRolesDisponibles());
+            return puestos;
+        }
+        for (String nombre : requeridos) {
+            RolJuego rol = juego.buscarRolPorNombre(nombre);
+            if (rol != null) {
+                puestos.add(rol);
+            }
+        }
+        return puestos;
+    }
+
+    /**
+     * Jugadores del lobby: los que no rechazaron su confirmación o, si todavía
+     * no hay confirmaciones, las postulaciones aceptadas. Ordenados por id.
+     */
+    private List<Usuario> jugadoresDelLobby(Scrim scrim) {
+        List<String> ids = new ArrayList<>();
+        for (Confirmacion confirmacion : scrim.getConfirmaciones()) {
+            if (!confirmacion.isRechazada()) {
+                ids.add(confirmacion.getUserId());
+            }
+        }
+        if (ids.isEmpty()) {
+            for (Postulacion postulacion : scrim.getPostulacionesAceptadas()) {
+                ids.add(postulacion.getUserId());
+            }
+        }
+        List<Usuario> jugadores = new ArrayList<>();
+        for (String id : ids) {
+            Usuario usuario = repositorioUsuario.buscarPorId(id);
+            if (usuario != null) {
+                jugadores.add(usuario);
+            }
+        }
+        jugadores.sort(Comparator.comparing(Usuario::getId));
+        return jugadores;
+    }
+
+    /**
+     * Equipos del lobby. Usa los persistidos en el scrim; si no los tiene y
+     * los jugadores no entran en un solo equipo, los balancea sin persistir.
+     */
+    private List<List<Usuario>> dividirEnEquipos(Scrim scrim, List<Usuario> jugadores) {
+        int porEquipo = scrim.getFormato() != null ? scrim.getFormato().getPlayersPerTeam() : jugadores.size();
+        Set<String> equipoA;
+        if (scrim.tieneEquipos()) {
+            equipoA = new HashSet<>(scrim.getEquipoA());
+        } else if (jugadores.size() > porEquipo) {
+            List<String> ids = new ArrayList<>();
+            jugadores.forEach(u -> ids.add(u.getId()));
+            equipoA = new HashSet<>(BalanceadorEquipos
+                    .balancearJugadores(ids, scrim.getJuego().getNombre(), null, true).getEquipoA());
+        } else {
+            return List.of(jugadores);
+        }
+
+        List<Usuario> a = new ArrayList<>();
+        List<Usuario> b = new ArrayList<>();
+        for (Usuario usuario : jugadores) {
+            (equipoA.contains(usuario.getId()) ? a : b).add(usuario);
+        }
+        List<List<Usuario>> equipos = new ArrayList<>();
+        if (!a.isEmpty()) {
+            equipos.add(a);
+        }
+        if (!b.isEmpty()) {
+            equipos.add(b);
+        }
+        return equipos;
+    }
+}
@@ -0,0 +1,291 @@
+package aplicacion.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import dominio.estados.BuscandoState;
+import dominio.estados.LobbyArmadoState;
+import dominio.modelo.Confirmacion;
+import dominio.modelo.ListaEspera;
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.ParticionRegional;
+import infraestructura.matchmaking.MatchmakingRegistry;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.notificaciones.observer.ScrimNotificationObserver;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Lista de espera y reemplazo automático de jugadores en un lobby armado.
+ *
+ * Con el cupo completo, las postulaciones nuevas quedan en la lista de
+ * espera del scrim ({@link ListaEspera}), ordenadas por el puntaje de la
+ * estrategia de matchmaking del scrim ({@link Scrim#getEstrategiaMatchmaking()},
+ * MMR si no tiene).
+ *
+ * Cuando un jugador deja su lugar (rechaza la confirmación, no se presenta o
+ * el organizador lo expulsa), en lugar de devolver el scrim a BUSCANDO y
+ * pedir a todos que vuelvan a confirmar, se busca un reemplazo y solo él
+ * tiene que confirmar. Fuentes, en orden:
+ * 1. La lista de espera (el mejor que siga cumpliendo los requisitos)
+ * 2. Otras postulaciones pendientes del scrim que cumplen los requisitos
+ * 3. Jugadores disponibles de la región del scrim o sin región (el pool de
+ * reserva)
+ *
+ * En las fuentes 2 y 3 elige la estrategia del scrim. El reemplazo hereda el
+ * lugar del saliente en su equipo, por lo que la formación no cambia para el
+ * resto.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * // Desde LobbyArmadoState, tras el rechazo de "u7"
+ * new BackfillService().liberarLugar(scrim, "u7");
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see dominio.estados.LobbyArmadoState
+ */
+public class BackfillService {
+
+    private final RepositorioUsuario repositorioUsuario;
+
+    public BackfillService() {
+        this(RepositorioFactory.getRepositorioUsuario());
+    }
+
+    public BackfillService(RepositorioUsuario repositorioUsuario) {
+        this.repositorioUsuario = repositorioUsuario;
+    }
+
+    // ========== LISTA DE ESPERA ==========
+
+    /**
+     * Pone en la lista de espera a quien se postula a un scrim con el cupo
+     * completo. La postulación queda pendiente en el scrim hasta que el
+     * jugador ocupe un lugar; si otro mejor lo desplaza de la lista, se
+     * rechaza.
+     *
+     * @param scrim       scrim con el cupo completo
+     * @param postulacion postulación nueva (pendiente)
+     * @throws IllegalArgumentException si el jugador no cumple los requisitos
+     *                                  del scrim o no existe
+     * @throws IllegalStateException    si la lista está llena de jugadores
+     *                                  mejores
+     */
+    public void ponerEnEspera(Scrim scrim, Postulacion postulacion) {
+        String mensajeError = postulacion.validarRequisitos(scrim.getRangoMin(), scrim.getRangoMax(),
+                scrim.getLatenciaMax());
+        if (mensajeError != null) {
+            throw new IllegalArgumentException("Postulación rechazada: " + mensajeError);
+        }
+        Usuario usuario = repositorioUsuario.buscarPorId(postulacion.getUserId());
+        if (usuario == null) {
+            throw new IllegalArgumentException("El usuario no existe");
+        }
+
+        ListaEspera lista = scrim.getListaEspera();
+        ListaEspera.Ingreso ingreso = lista.agregar(usuario.getId(), postulacion.getRangoUsuario(),
+                postulacion.getLatenciaUsuario(), estrategiaDe(scrim).puntuar(usuario, scrim));
+        if (!ingreso.isAdmitido()) {
+            throw new IllegalStateException("El cupo y la lista de espera (" + lista.getCapacidad()
+                    + " jugadores) están completos");
+        }
+        scrim.getPostulaciones().add(postulacion);
+        if (ingreso.getDesplazada() != null) {
+            rechazarPendiente(scrim, ingreso.getDesplazada().getUserId(), "Desplazado de la lista de espera");
+        }
+    }
+
+    // ========== REEMPLAZOS ==========
+
+    /**
+     * Libera el lugar de un jugador del lobby (rechazo, ausencia o expulsión)
+     * y lo cubre con un reemplazo si lo hay. Un scrim CONFIRMADO vuelve a
+     * LOBBY_ARMADO hasta que confirme el reemplazo.
+     *
+     * Sin reemplazo, el scrim vuelve a BUSCANDO: el saliente pierde su
+     * postulación y su confirmación, y el resto conserva las suyas.
+     *
+     * @param scrim          scrim en LOBBY_ARMADO o CONFIRMADO
+     * @param userIdSaliente jugador que deja su lugar
+     * @return true si se sumó un reemplazo
+     */
+    public boolean liberarLugar(Scrim scrim, String userIdSaliente) {
+        boolean reemplazado;
+        try {
+            reemplazado = reemplazar(scrim, userIdSaliente);
+        } catch (RuntimeException e) {
+            System.err.println("Error al buscar un reemplazo: " + e.getMessage());
+            reemplazado = false;
+        }
+        if (reemplazado) {
+            if ("CONFIRMADO".equals(scrim.getEstado())) {
+                scrim.setState(new LobbyArmadoState());
+            }
+            return true;
+        }
+
+        scrim.getPostulaciones().removeIf(p -> p.getUserId().equals(userIdSaliente) && p.isAceptada());
+        scrim.getConfirmaciones().removeIf(c -> c.getUserId().equals(userIdSaliente));
+        scrim.limpiarEquipos();
+        scrim.setState(new BuscandoState());
+        return false;
+    }
+
+    /**
+     * Reemplaza al jugador saliente de un lobby: quita su postulación y su
+     * confirmación, y suma al mejor reemplazo con una postulación aceptada y
+     * una confirmación pendiente. Las demás confirmaciones no se tocan.
+     *
+     * Si no hay reemplazo, el scrim no se modifica.
+     *
+     * @param scrim         scrim en LOBBY_ARMADO
+     * @param userIdSaliente jugador que rechazó
+     * @return true si se sumó un reemplazo
+     * @throws IllegalArgumentException si el scrim o el jugador son null
+     */
+    public boolean reemplazar(Scrim scrim, String userIdSaliente) {
+        if (scrim == null || userIdSaliente == null) {
+            throw new IllegalArgumentException("Scrim y jugador saliente no pueden ser null");
+        }
+        Usuario reemplazo = buscarReemplazo(scrim, userIdSaliente);
+        if (reemplazo == null) {
+            return false;
+        }
+        String juego = scrim.getJuego().getNombre();
+
+        // Postulación del reemplazo: la pendiente si la tenía, o una nueva
+        Postulacion postulacion = scrim.getPostulaciones().stream()
+                .filter(p -> p.getUserId().equals(reemplazo.getId()) && p.isPendiente())
+                .findFirst()
+                .orElse(null);
+        if (postulacion == null) {
+            postulacion = new Postulacion(scrim.getId(), reemplazo.getId(),
+                    reemplazo.getRangoParaJuego(juego), reemplazo.getLatenciaPromedio());
+            scrim.getPostulaciones().add(postulacion);
+        }
+        postulacion.aceptar();
+
+        scrim.getPostulaciones().removeIf(p -> p.getUserId().equals(userIdSaliente) && p.isAceptada());
+        scrim.getConfirmaciones().removeIf(c -> c.getUserId().equals(userIdSaliente));
+        scrim.getConfirmaciones().add(new Confirmacion(scrim.getId(), reemplazo.getId()));
+        ocuparLugarEnEquipo(scrim, userIdSaliente, reemplazo.getId());
+
+        try {
+            new ScrimNotificationObserver().notificarLobbyArmado(scrim, List.of(reemplazo));
+        } catch (Exception e) {
+            System.err.println("Error al enviar notificaciones: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Mejor reemplazo para un lugar del lobby. Solo modifica el scrim para
+     * quitar de la lista de espera al elegido y a quienes ya no califican.
+     *
+     * @return el reemplazo o null si no hay candidatos
+     */
+    public Usuario buscarReemplazo(Scrim scrim, String userIdSaliente) {
+        Set<String> excluidos = new HashSet<>();
+        excluidos.add(userIdSaliente);
+        excluidos.add(scrim.getCreatedBy());
+        for (Postulacion postulacion : scrim.getPostulaciones()) {
+            if (!postulacion.isPendiente()) {
+                excluidos.add(postulacion.getUserId());
+            }
+        }
+        for (Confirmacion confirmacion : scrim.getConfirmaciones()) {
+            excluidos.add(confirmacion.getUserId());
+        }
+        MatchmakingStrategy estrategia = estrategiaDe(scrim);
+
+        // 1. Lista de espera: quienes ya no cumplen los requisitos se descartan
+        ListaEspera lista = scrim.getListaEspera();
+        ListaEspera.EntradaEspera entrada;
+        while ((entrada = lista.tomarMejor()) != null) {
+            Usuario usuario = repositorioUsuario.buscarPorId(entrada.getUserId());
+            if (usuario != null && !excluidos.contains(usuario.getId()) && cumpleRequisitos(usuario, scrim)) {
+                return usuario;
+            }
+            rechazarPendiente(scrim, entrada.getUserId(), "Ya no cumple los requisitos del scrim");
+            excluidos.add(entrada.getUserId());
+        }
+
+        // 2. Otras postulaciones pendientes
+        List<Usuario> pendientes = new ArrayList<>();
+        for (Postulacion postulacion : scrim.getPostulaciones()) {
+            if (postulacion.isPendiente() && !excluidos.contains(postulacion.getUserId())) {
+                Usuario usuario = repositorioUsuario.buscarPorId(postulacion.getUserId());
+                if (usuario != null && cumpleRequisitos(usuario, scrim)) {
+                    pendientes.add(usuario);
+                }
+            }
+        }
+        Usuario elegido = elegir(estrategia, pendientes, scrim);
+        if (elegido != null) {
+            return elegido;
+        }
+
+        // 3. Reserva: disponibles de la región del scrim y sin región
+        List<Usuario> reserva = new ArrayList<>();
+        for (Usuario usuario : ParticionRegional.getInstance().candidatosPara(scrim, false)) {
+            if (usuario.isDisponible() && !excluidos.contains(usuario.getId()) && cumpleRequisitos(usuario, scrim)) {
+                reserva.add(usuario);
+            }
+        }
+        return elegir(estrategia, reserva, scrim);
+    }
+
+    private static void rechazarPendiente(Scrim scrim, String userId, String motivo) {
+        scrim.getPostulaciones().stream()
+                .filter(p -> p.getUserId().equals(userId) && p.isPendiente())
+                .findFirst()
+                .ifPresent(p -> p.rechazar(motivo));
+    }
+
+    private static Usuario elegir(MatchmakingStrategy estrategia, List<Usuario> candidatos, Scrim scrim) {
+        if (candidatos.isEmpty()) {
+            return null;
+        }
+        List<Usuario> seleccionados = estrategia.seleccionar(candidatos, scrim);
+        return seleccionados.isEmpty() ? null : seleccionados.get(0);
+    }
+
+    private static MatchmakingStrategy estrategiaDe(Scrim scrim) {
+        return MatchmakingRegistry.getInstance().obtenerParaScrim(scrim);
+    }
+
+    /** Mismos requisitos que valida BUSCANDO al aceptar una postulación. */
+    private static boolean cumpleRequisitos(Usuario usuario, Scrim scrim) {
+        Integer rango = usuario.getRangoParaJuego(scrim.getJuego().getNombre());
+        if (rango == null || rango < scrim.getRangoMin() || rango > scrim.getRangoMax()) {
+            return false;
+        }
+        return scrim.getLatenciaMax() == -1 || usuario.getLatenciaPromedio() <= scrim.getLatenciaMax();
+    }
+
+    private static void ocuparLugarEnEquipo(Scrim scrim, String saliente, String reemplazo) {
+        if (!scrim.tieneEquipos()) {
+            return;
+        }
+        List<String> equipoA = new ArrayList<>(scrim.getEquipoA());
+        List<String> equipoB = new ArrayList<>(scrim.getEquipoB());
+        int enA = equipoA.indexOf(saliente);
+        if (enA >= 0) {
+            equipoA.set(enA, reemplazo);
+        } else {
+            int enB = equipoB.indexOf(saliente);
+            if (enB >= 0) {
+                equipoB.set(enB, reemplazo);
+            } else {
+                (equipoA.size() <= equipoB.size() ? equipoA : equipoB).add(reemplazo);
+            }
+        }
+        scrim.asignarEquipos(equipoA, equipoB);
+    }
+}
@@ -0,0 +1,441 @@
+package aplicacion.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dominio.estadisticas.EstadisticasScrim;
+import dominio.modelo.CalificacionJuego;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.matchmaking.Glicko2;
+import infraestructura.persistencia.repository.RepositorioEstadisticas;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioScrim;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Calificación de jugadores a partir de los scrims finalizados (Glicko-2).
+ *
+ * Cuando un scrim llega a FINALIZADO con un lado ganador conocido, sus
+ * equipos y el resultado se encolan en el período abierto de su juego. Al
+ * cerrar el período se recalcula la calificación de cada jugador que jugó,
+ * evaluando todas sus partidas contra las calificaciones de inicio del
+ * período ({@link Glicko2}). En partidas por equipos, el rival de cada
+ * jugador es el equipo contrario: rating medio y desviación cuadrática media.
+ *
+ * El período de un juego se cierra al acumular
+ * {@value #PARTIDAS_POR_PERIODO_POR_DEFECTO} partidas, al registrar una
+ * partida cuando ya pasó la duración del período o con
+ * {@link #cerrarPeriodos()}. La inactividad se aplica de forma perezosa: al
+ * volver a jugar, la desviación del jugador crece por cada período completo
+ * que estuvo ausente, sin recorrer a los jugadores inactivos.
+ *
+ * El rango del perfil (escala 1-100) pasa a derivarse del rating:
+ * {@code rango = 50 + (rating - 1500) / }{@value #PUNTOS_POR_RANGO}. Un
+ * jugador sin calificación parte del rango que declaró. Cada jugador
+ * actualizado se guarda en el repositorio, cuyos observadores (índice de
+ * rangos, pool de candidatos, partición regional) se actualizan de forma
+ * incremental, sin reconstruir los índices.
+ *
+ * Las partidas pendientes no se guardan aparte: se derivan de las
+ * estadísticas persistidas. Una partida con lado ganador cuyas estadísticas
+ * no están marcadas como calificadas ({@link EstadisticasScrim#isCalificada()})
+ * está pendiente; al cerrar el período se marcan. Así, tras un reinicio o una
+ * caída, {@link #getInstance()} vuelve a encolar las pendientes, y un scrim ya
+ * calificado se reconoce por sus estadísticas sin guardar en memoria los ids
+ * de todos los scrims calificados (en memoria solo quedan los del período
+ * abierto).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * CalificacionService calificaciones = CalificacionService.getInstance();
+ * calificaciones.registrarPartida(scrim, estadisticas); // al finalizar
+ * calificaciones.cerrarPeriodos(); // al cerrar la aplicación
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see Glicko2
+ * @see CalificacionJuego
+ */
+public class CalificacionService {
+
+    public static final long DURACION_PERIODO_POR_DEFECTO_MS = 60 * 60 * 1000L;
+    public static final int PARTIDAS_POR_PERIODO_POR_DEFECTO = 10;
+
+    /** Puntos de rating por punto de rango. */
+    public static final double PUNTOS_POR_RANGO = 20.0;
+    private static final int RANGO_CENTRAL = 50;
+    private static final int RANGO_MINIMO = 1;
+    private static final int RANGO_MAXIMO = 100;
+
+    private static CalificacionService instance;
+
+    private final RepositorioUsuario repositorioUsuario;
+    private final RepositorioEstadisticas repositorioEstadisticas; // null = sin persistir el estado
+    private final long duracionPeriodoMs;
+    private final int partidasPorPeriodo;
+    private final Map<String, List<PartidaCalificada>> pendientesPorJuego;
+    private final Map<String, Long> inicioPeriodoPorJuego;
+    private final Set<String> scrimsPendientes;
+
+    public CalificacionService(RepositorioUsuario repositorioUsuario) {
+        this(repositorioUsuario, DURACION_PERIODO_POR_DEFECTO_MS, PARTIDAS_POR_PERIODO_POR_DEFECTO);
+    }
+
+    /**
+     * Servicio sin repositorio de estadísticas: las partidas pendientes y los
+     * scrims ya calificados solo se recuerdan en memoria, durante el período
+     * abierto.
+     *
+     * @see #CalificacionService(RepositorioUsuario, RepositorioEstadisticas,
+     *      long, int)
+     */
+    public CalificacionService(RepositorioUsuario repositorioUsuario, long duracionPeriodoMs,
+            int partidasPorPeriodo) {
+        this(repositorioUsuario, null, duracionPeriodoMs, partidasPorPeriodo);
+    }
+
+    /**
+     * @param repositorioUsuario      repositorio donde se guardan las
+     *                                calificaciones
+     * @param repositorioEstadisticas estadísticas donde se marca cada partida
+     *                                calificada (null = no marcar)
+     * @param duracionPeriodoMs       duración de un período de calificación
+     * @param partidasPorPeriodo      partidas de un juego que cierran su
+     *                                período
+     * @throws IllegalArgumentException si la duración o las partidas no son
+     *                                  positivas
+     */
+    public CalificacionService(RepositorioUsuario repositorioUsuario, RepositorioEstadisticas repositorioEstadisticas,
+            long duracionPeriodoMs, int partidasPorPeriodo) {
+        if (duracionPeriodoMs <= 0 || partidasPorPeriodo <= 0) {
+            throw new IllegalArgumentException("La duración y las partidas por período deben ser positivas");
+        }
+        this.repositorioUsuario = repositorioUsuario;
+        this.repositorioEstadisticas = repositorioEstadisticas;
+        this.duracionPeriodoMs = duracionPeriodoMs;
+        this.partidasPorPeriodo = partidasPorPeriodo;
+        this.pendientesPorJuego = new LinkedHashMap<>();
+        this.inicioPeriodoPorJuego = new HashMap<>();
+        this.scrimsPendientes = new HashSet<>();
+    }
+
+    /**
+     * Obtiene el servicio de los repositorios actuales de
+     * {@link RepositorioFactory}. Al crearlo (la primera vez o si algún
+     * repositorio fue reemplazado) encola las partidas pendientes que quedaron
+     * en las estadísticas ({@link #recuperarPendientes(RepositorioScrim, long)}).
+     */
+    public static synchronized CalificacionService getInstance() {
+        RepositorioUsuario usuarios = RepositorioFactory.getRepositorioUsuario();
+        RepositorioEstadisticas estadisticas = RepositorioFactory.getRepositorioEstadisticas();
+        if (instance == null || instance.repositorioUsuario != usuarios
+                || instance.repositorioEstadisticas != estadisticas) {
+            instance = new CalificacionService(usuarios, estadisticas, DURACION_PERIODO_POR_DEFECTO_MS,
+                    PARTIDAS_POR_PERIODO_POR_DEFECTO);
+            instance.recuperarPendientes(RepositorioFactory.getRepositorioScrim(), System.currentTimeMillis());
+        }
+        return instance;
+    }
+
+    /**
+     * Encola las partidas con lado ganador cuyas estadísticas todavía no
+     * están calificadas (las de un período que no llegó a cerrarse). El juego
+     * se toma del scrim; las partidas de scrims que ya no existen se omiten.
+     *
+     * @return cantidad de partidas encoladas
+     */
+    public synchronized int recuperarPendientes(RepositorioScrim repositorioScrim, long ahoraMs) {
+        if (repositorioEstadisticas == null || repositorioScrim == null) {
+            return 0;
+        }
+        int encoladas = 0;
+        for (EstadisticasScrim estadisticas : repositorioEstadisticas.obtenerTodasLasEstadisticasScrims()) {
+            if (estadisticas.getLadoGanador() == null || estadisticas.isCalificada()) {
+                continue;
+            }
+            Scrim scrim = repositorioScrim.buscarPorId(estadisticas.getScrimId());
+            if (scrim != null && registrarPartida(scrim, estadisticas, ahoraMs)) {
+                encoladas++;
+            }
+        }
+        return encoladas;
+    }
+
+    // ========== REGISTRO DE RESULTADOS ==========
+
+    /**
+     * Encola el resultado de un scrim finalizado. Cada scrim se califica una
+     * sola vez: si ya se registró (por ejemplo, al finalizar y luego al
+     * cargar el resultado a mano), se ignora.
+     *
+     * @return true si la partida se encoló; false si no tiene lado ganador o
+     *         equipos, o si ya estaba registrada
+     */
+    public boolean registrarPartida(Scrim scrim, EstadisticasScrim estadisticas) {
+        return registrarPartida(scrim, estadisticas, System.currentTimeMillis());
+    }
+
+    public boolean registrarPartida(Scrim scrim, EstadisticasScrim estadisticas, long ahoraMs) {
+        if (scrim == null || estadisticas == null || scrim.getJuego() == null || estadisticas.isCalificada()) {
+            return false;
+        }
+        String lado = estadisticas.getLadoGanador();
+        if (lado == null) {
+            return false;
+        }
+        List<List<String>> equipos = estadisticas.obtenerEquipos();
+        double resultadoA = EstadisticasScrim.LADO_A.equals(lado) ? 1.0 : 0.0;
+        return registrarPartida(scrim.getId(), scrim.getJuego().getNombre(), equipos.get(0), equipos.get(1),
+                resultadoA, ahoraMs);
+    }
+
+    /**
+     * Encola el resultado de una partida entre dos equipos.
+     *
+     * @param scrimId    id del scrim (evita calificarlo dos veces: se ignora
+     *                   si está pendiente o si sus estadísticas ya están
+     *                   calificadas)
+     * @param juego      nombre del juego
+     * @param equipoA    ids del equipo A
+     * @param equipoB    ids del equipo B
+     * @param resultadoA resultado del equipo A: 1 victoria, 0.5 empate, 0
+     *                   derrota
+     * @param ahoraMs    instante del registro
+     * @return true si la partida se encoló
+     * @throws IllegalArgumentException si el resultado no está entre 0 y 1
+     */
+    public synchronized boolean registrarPartida(String scrimId, String juego, List<String> equipoA,
+            List<String> equipoB, double resultadoA, long ahoraMs) {
+        if (resultadoA < 0.0 || resultadoA > 1.0) {
+            throw new IllegalArgumentException("El resultado debe estar entre 0 y 1");
+        }
+        if (juego == null || equipoA == null || equipoB == null || equipoA.isEmpty() || equipoB.isEmpty()
+                || scrimsPendientes.contains(scrimId) || yaCalificado(scrimId)) {
+            return false;
+        }
+        scrimsPendientes.add(scrimId);
+
+        Long inicio = inicioPeriodoPorJuego.get(juego);
+        if (inicio != null && ahoraMs - inicio >= duracionPeriodoMs) {
+            cerrarPeriodo(juego, ahoraMs);
+        }
+        List<PartidaCalificada> pendientes = pendientesPorJuego.computeIfAbsent(juego, k -> new ArrayList<>());
+        inicioPeriodoPorJuego.putIfAbsent(juego, ahoraMs);
+        pendientes.add(new PartidaCalificada(scrimId, new ArrayList<>(equipoA), new ArrayList<>(equipoB),
+                resultadoA));
+
+        if (pendientes.size() >= partidasPorPeriodo) {
+            cerrarPeriodo(juego, ahoraMs);
+        }
+        return true;
+    }
+
+    // ========== CIERRE DE PERÍODOS ==========
+
+    /**
+     * Cierra el período abierto de todos los juegos.
+     *
+     * @return cantidad de calificaciones actualizadas
+     */
+    public synchronized int cerrarPeriodos() {
+        long ahoraMs = System.currentTimeMillis();
+        int actualizados = 0;
+        for (String juego : new ArrayList<>(pendientesPorJuego.keySet())) {
+            actualizados += cerrarPeriodo(juego, ahoraMs);
+        }
+        return actualizados;
+    }
+
+    /**
+     * Cierra el período abierto de un juego: recalcula y guarda la
+     * calificación y el rango de cada jugador que jugó en él.
+     *
+     * @return cantidad de calificaciones actualizadas
+     */
+    public synchronized int cerrarPeriodo(String juego, long ahoraMs) {
+        List<PartidaCalificada> partidas = pendientesPorJuego.remove(juego);
+        inicioPeriodoPorJuego.remove(juego);
+        if (partidas == null || partidas.isEmpty()) {
+            return 0;
+        }
+        long periodo = ahoraMs / duracionPeriodoMs;
+
+        // Calificaciones de inicio del período (con la inactividad ya aplicada)
+        Map<String, Usuario> usuarios = new LinkedHashMap<>();
+        Map<String, Glicko2.Resultado> iniciales = new HashMap<>();
+        for (PartidaCalificada partida : partidas) {
+            cargarJugadores(partida.equipoA, juego, periodo, usuarios, iniciales);
+            cargarJugadores(partida.equipoB, juego, periodo, usuarios, iniciales);
+        }
+
+        // Partidas de cada jugador contra el equipo rival
+        Map<String, List<double[]>> enfrentamientos = new HashMap<>();
+        for (PartidaCalificada partida : partidas) {
+            List<String> equipoA = presentes(partida.equipoA, iniciales);
+            List<String> equipoB = presentes(partida.equipoB, iniciales);
+            if (equipoA.isEmpty() || equipoB.isEmpty()) {
+                continue;
+            }
+            double[] rivalDeA = rivalCompuesto(equipoB, iniciales);
+            double[] rivalDeB = rivalCompuesto(equipoA, iniciales);
+            for (String id : equipoA) {
+                enfrentamientos.computeIfAbsent(id, k -> new ArrayList<>())
+                        .add(new double[] { rivalDeA[0], rivalDeA[1], partida.resultadoA });
+            }
+            for (String id : equipoB) {
+                enfrentamientos.computeIfAbsent(id, k -> new ArrayList<>())
+                        .add(new double[] { rivalDeB[0], rivalDeB[1], 1.0 - partida.resultadoA });
+            }
+        }
+
+        int actualizados = 0;
+        for (Map.Entry<String, List<double[]>> entrada : enfrentamientos.entrySet()) {
+            Usuario usuario = usuarios.get(entrada.getKey());
+            Glicko2.Resultado inicial = iniciales.get(entrada.getKey());
+            List<double[]> propias = entrada.getValue();
+            double[] ratings = new double[propias.size()];
+            double[] desviaciones = new double[propias.size()];
+            double[] resultados = new double[propias.size()];
+            for (int j = 0; j < propias.size(); j++) {
+                ratings[j] = propias.get(j)[0];
+                desviaciones[j] = propias.get(j)[1];
+                resultados[j] = propias.get(j)[2];
+            }
+            Glicko2.Resultado nuevo = Glicko2.actualizar(inicial.getRating(), inicial.getDesviacion(),
+                    inicial.getVolatilidad(), ratings, desviaciones, resultados);
+
+            CalificacionJuego calificacion = usuario.getCalificacionParaJuego(juego);
+            if (calificacion == null) {
+                calificacion = new CalificacionJuego(nuevo.getRating(), nuevo.getDesviacion(),
+                        nuevo.getVolatilidad());
+            }
+            calificacion.actualizar(nuevo.getRating(), nuevo.getDesviacion(), nuevo.getVolatilidad(),
+                    propias.size(), periodo);
+            usuario.setCalificacionParaJuego(juego, calificacion);
+            usuario.setRangoParaJuego(juego, rangoDesdeRating(nuevo.getRating()));
+            repositorioUsuario.guardar(usuario);
+            actualizados++;
+        }
+
+        for (PartidaCalificada partida : partidas) {
+            scrimsPendientes.remove(partida.scrimId);
+            marcarCalificada(partida.scrimId);
+        }
+        return actualizados;
+    }
+
+    private boolean yaCalificado(String scrimId) {
+        if (repositorioEstadisticas == null || scrimId == null) {
+            return false;
+        }
+        EstadisticasScrim estadisticas = repositorioEstadisticas.obtenerEstadisticasScrim(scrimId);
+        return estadisticas != null && estadisticas.isCalificada();
+    }
+
+    private void marcarCalificada(String scrimId) {
+        if (repositorioEstadisticas == null || scrimId == null) {
+            return;
+        }
+        EstadisticasScrim estadisticas = repositorioEstadisticas.obtenerEstadisticasScrim(scrimId);
+        if (estadisticas != null && !estadisticas.isCalificada()) {
+            estadisticas.marcarCalificada();
+            repositorioEstadisticas.actualizarEstadisticasScrim(estadisticas);
+        }
+    }
+
+    private void cargarJugadores(List<String> ids, String juego, long periodo, Map<String, Usuario> usuarios,
+            Map<String, Glicko2.Resultado> iniciales) {
+        for (String id : ids) {
+            if (iniciales.containsKey(id)) {
+                continue;
+            }
+            // Jugadores eliminados desde la partida: no se califican ni cuentan como rivales
+            Usuario usuario = repositorioUsuario.buscarPorId(id);
+            if (usuario == null) {
+                continue;
+            }
+            usuarios.put(id, usuario);
+            iniciales.put(id, calificacionInicial(usuario, juego, periodo));
+        }
+    }
+
+    private static Glicko2.Resultado calificacionInicial(Usuario usuario, String juego, long periodo) {
+        CalificacionJuego calificacion = usuario.getCalificacionParaJuego(juego);
+        if (calificacion == null) {
+            Integer rango = usuario.getRangoParaJuego(juego);
+            double rating = rango != null ? ratingDesdeRango(rango) : Glicko2.RATING_INICIAL;
+            return new Glicko2.Resultado(rating, Glicko2.DESVIACION_INICIAL, Glicko2.VOLATILIDAD_INICIAL);
+        }
+        long inactivos = periodo - calificacion.getUltimoPeriodo() - 1;
+        return new Glicko2.Resultado(calificacion.getRating(),
+                Glicko2.desviacionTrasInactividad(calificacion.getDesviacion(), calificacion.getVolatilidad(),
+                        inactivos),
+                calificacion.getVolatilidad());
+    }
+
+    private static List<String> presentes(List<String> ids, Map<String, Glicko2.Resultado> iniciales) {
+        List<String> presentes = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            if (iniciales.containsKey(id)) {
+                presentes.add(id);
+            }
+        }
+        return presentes;
+    }
+
+    /** Rival equivalente a un equipo: {rating medio, desviación cuadrática media}. */
+    private static double[] rivalCompuesto(List<String> equipo, Map<String, Glicko2.Resultado> iniciales) {
+        double sumaRating = 0.0;
+        double sumaVarianza = 0.0;
+        for (String id : equipo) {
+            Glicko2.Resultado calificacion = iniciales.get(id);
+            sumaRating += calificacion.getRating();
+            sumaVarianza += calificacion.getDesviacion() * calificacion.getDesviacion();
+        }
+        return new double[] { sumaRating / equipo.size(), Math.sqrt(sumaVarianza / equipo.size()) };
+    }
+
+    // ========== CONVERSIÓN RANGO ↔ RATING ==========
+
+    /** Rango del perfil (1-100) correspondiente a un rating. */
+    public static int rangoDesdeRating(double rating) {
+        long rango = Math.round(RANGO_CENTRAL + (rating - Glicko2.RATING_INICIAL) / PUNTOS_POR_RANGO);
+        return (int) Math.max(RANGO_MINIMO, Math.min(RANGO_MAXIMO, rango));
+    }
+
+    /** Rating de partida de un jugador sin calificación, según su rango declarado. */
+    public static double ratingDesdeRango(int rango) {
+        int acotado = Math.max(RANGO_MINIMO, Math.min(RANGO_MAXIMO, rango));
+        return Glicko2.RATING_INICIAL + (acotado - RANGO_CENTRAL) * PUNTOS_POR_RANGO;
+    }
+
+    // ========== CONSULTA ==========
+
+    /** Partidas de un juego pendientes de calificar en el período abierto. */
+    public synchronized int getPartidasPendientes(String juego) {
+        List<PartidaCalificada> pendientes = pendientesPorJuego.get(juego);
+        return pendientes != null ? pendientes.size() : 0;
+    }
+
+    /** Partida encolada en un período. */
+    private static class PartidaCalificada {
+        private final String scrimId;
+        private final List<String> equipoA;
+        private final List<String> equipoB;
+        private final double resultadoA;
+
+        PartidaCalificada(String scrimId, List<String> equipoA, List<String> equipoB, double resultadoA) {
+            this.scrimId = scrimId;
+            this.equipoA = equipoA;
+            this.equipoB = equipoB;
+            this.resultadoA = resultadoA;
+        }
+    }
+}
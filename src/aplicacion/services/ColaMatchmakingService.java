@@ -0,0 +1,468 @@
+package aplicacion.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import aplicacion.builders.ScrimBuilder;
+import dominio.juegos.Juego;
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import dominio.roles.RolJuego;
+import dominio.valueobjects.formatosScrims.ScrimFormat;
+import infraestructura.matchmaking.ColaMatchmaking;
+import infraestructura.matchmaking.ColaMatchmaking.EntradaCola;
+import infraestructura.matchmaking.ColaMatchmaking.MetricasCola;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.persistencia.repository.RepositorioFactory;
+
+/**
+ * Matchmaking continuo por colas de espera.
+ *
+ * Los jugadores se encolan para un juego y formato (con el rango, la latencia
+ * y los roles de su perfil) y un planificador ejecuta cada N ms un "tick" de
+ * matchmaking sobre cada cola: toma como ancla al jugador que más espera, arma
+ * una ventana de rango y latencia alrededor de él y aplica la
+ * {@link MatchmakingStrategy} configurada sobre los jugadores de la cola que
+ * entran en la ventana (y en la región del ancla). Si alcanzan para llenar el
+ * formato, se crea un {@link Scrim} con esos jugadores, que pasa a LOBBY_ARMADO con sus
+ * confirmaciones pendientes, y se los retira de la cola.
+ *
+ * Ensanchamiento de la ventana según la espera del ancla (cada
+ * {@value #PASO_ENSANCHE_MS} ms):
+ * - Rango: ±{@value #VENTANA_RANGO_BASE}, +{@value #VENTANA_RANGO_POR_PASO} por
+ * paso, hasta ±{@value #VENTANA_RANGO_MAXIMA}
+ * - Latencia: {@value #VENTANA_LATENCIA_BASE} ms, +{@value #VENTANA_LATENCIA_POR_PASO}
+ * ms por paso, hasta {@value #VENTANA_LATENCIA_MAXIMA} ms
+ *
+ * Las colas son acotadas y cada una lleva sus métricas de espera (ver
+ * {@link ColaMatchmaking.MetricasCola}).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * ColaMatchmakingService colas = new ColaMatchmakingService(new ByMMRStrategy());
+ * colas.iniciar(2000);
+ * colas.encolar(usuario, LeagueOfLegends.getInstance(), new Formato5v5LoL());
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see ColaMatchmaking
+ */
+public class ColaMatchmakingService {
+
+    /** Organizador registrado en los scrims creados por las colas. */
+    public static final String ORGANIZADOR_AUTOMATICO = "MATCHMAKING_AUTOMATICO";
+
+    public static final int CAPACIDAD_POR_DEFECTO = 1000;
+
+    public static final long PASO_ENSANCHE_MS = 10_000;
+    public static final int VENTANA_RANGO_BASE = 5;
+    public static final int VENTANA_RANGO_POR_PASO = 5;
+    public static final int VENTANA_RANGO_MAXIMA = 50;
+    public static final int VENTANA_LATENCIA_BASE = 80;
+    public static final int VENTANA_LATENCIA_POR_PASO = 20;
+    public static final int VENTANA_LATENCIA_MAXIMA = 300;
+
+    private static final int MINUTOS_HASTA_LA_PARTIDA = 15;
+    private static final int RANGO_MINIMO = 1;
+    private static final int RANGO_MAXIMO = 100;
+
+    private final Map<String, ColaMatchmaking> colas;
+    private final Map<String, String> colaDeUsuario;
+    private final int capacidadPorCola;
+    private MatchmakingStrategy estrategia;
+    private ScheduledExecutorService planificador;
+
+    /**
+     * @param estrategia estrategia usada para formar los lobbies
+     * @throws IllegalArgumentException si la estrategia es null
+     */
+    public ColaMatchmakingService(MatchmakingStrategy estrategia) {
+        this(estrategia, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param estrategia       estrategia usada para formar los lobbies
+     * @param capacidadPorCola máximo de jugadores en espera por cola
+     * @throws IllegalArgumentException si la estrategia es null o la capacidad
+     *                                  no es positiva
+     */
+    public ColaMatchmakingService(MatchmakingStrategy estrategia, int capacidadPorCola) {
+        if (estrategia == null) {
+            throw new IllegalArgumentException("La estrategia de matchmaking no puede ser null");
+        }
+        if (capacidadPorCola <= 0) {
+            throw new IllegalArgumentException("La capacidad de las colas debe ser mayor a 0");
+        }
+        this.estrategia = estrategia;
+        this.capacidadPorCola = capacidadPorCola;
+        this.colas = new LinkedHashMap<>();
+        this.colaDeUsuario = new HashMap<>();
+    }
+
+    // ========== COLAS ==========
+
+    /**
+     * Encola a un jugador con el rango, la latencia y los roles de su perfil.
+     *
+     * @throws IllegalArgumentException si el jugador no tiene rango en el juego
+     * @throws IllegalStateException    si ya está en una cola o la cola está
+     *                                  llena
+     */
+    public EntradaCola encolar(Usuario usuario, Juego juego, ScrimFormat formato) {
+        return encolar(usuario, juego, formato, System.currentTimeMillis());
+    }
+
+    /**
+     * Igual que {@link #encolar(Usuario, Juego, ScrimFormat)} con un instante
+     * explícito (simulaciones con reloj propio).
+     */
+    public synchronized EntradaCola encolar(Usuario usuario, Juego juego, ScrimFormat formato, long ahoraMs) {
+        if (usuario == null || juego == null || formato == null) {
+            throw new IllegalArgumentException("Usuario, juego y formato son obligatorios");
+        }
+        Integer rango = usuario.getRangoParaJuego(juego.getNombre());
+        if (rango == null) {
+            throw new IllegalArgumentException("El usuario no tiene rango configurado para " + juego.getNombre());
+        }
+        String actual = colaDeUsuario.get(usuario.getId());
+        if (actual != null) {
+            throw new IllegalStateException("El usuario ya está en la cola de " + colas.get(actual).getNombre());
+        }
+
+        String clave = claveDe(juego, formato);
+        ColaMatchmaking cola = colas.computeIfAbsent(clave, k -> new ColaMatchmaking(juego, formato, capacidadPorCola));
+        EntradaCola entrada = cola.encolar(usuario, rango, usuario.getLatenciaPromedio(),
+                usuario.getRolesPreferidosParaJuego(juego.getNombre()), ahoraMs);
+        colaDeUsuario.put(usuario.getId(), clave);
+        return entrada;
+    }
+
+    /**
+     * Saca a un jugador de la cola en la que esté.
+     *
+     * @return true si estaba en alguna cola
+     */
+    public synchronized boolean abandonarCola(String userId) {
+        String clave = colaDeUsuario.remove(userId);
+        return clave != null && colas.get(clave).abandonar(userId);
+    }
+
+    public synchronized boolean estaEnCola(String userId) {
+        return colaDeUsuario.containsKey(userId);
+    }
+
+    /**
+     * Métricas de todas las colas en este instante.
+     */
+    public synchronized List<MetricasCola> getMetricas() {
+        long ahora = System.currentTimeMillis();
+        List<MetricasCola> metricas = new ArrayList<>();
+        for (ColaMatchmaking cola : colas.values()) {
+            metricas.add(cola.getMetricas(ahora));
+        }
+        return metricas;
+    }
+
+    // ========== PLANIFICADOR ==========
+
+    /**
+     * Inicia los ticks periódicos de matchmaking.
+     *
+     * @param intervaloMs período entre ticks
+     * @throws IllegalArgumentException si el intervalo no es positivo
+     * @throws IllegalStateException    si ya está iniciado
+     */
+    public synchronized void iniciar(long intervaloMs) {
+        if (intervaloMs <= 0) {
+            throw new IllegalArgumentException("El intervalo entre ticks debe ser mayor a 0");
+        }
+        if (planificador != null) {
+            throw new IllegalStateException("El matchmaking por colas ya está en ejecución");
+        }
+        planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "cola-matchmaking");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        planificador.scheduleAtFixedRate(this::tickProgramado, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene los ticks periódicos (los jugadores siguen en sus colas).
+     */
+    public synchronized void detener() {
+        if (planificador != null) {
+            planificador.shutdownNow();
+            planificador = null;
+        }
+    }
+
+    public synchronized boolean estaIniciado() {
+        return planificador != null;
+    }
+
+    private void tickProgramado() {
+        try {
+            ejecutarTick();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes del planificador
+            System.err.println("Error en tick de matchmaking: " + e.getMessage());
+        }
+    }
+
+    // ========== TICK ==========
+
+    /**
+     * Ejecuta un tick de matchmaking sobre todas las colas.
+     *
+     * @return scrims creados en este tick
+     */
+    public List<Scrim> ejecutarTick() {
+        return ejecutarTick(System.currentTimeMillis());
+    }
+
+    /**
+     * Ejecuta un tick de matchmaking con un instante explícito (simulaciones
+     * con reloj propio).
+     *
+     * @return scrims creados en este tick
+     */
+    public synchronized List<Scrim> ejecutarTick(long ahoraMs) {
+        List<Scrim> creados = new ArrayList<>();
+        for (ColaMatchmaking cola : colas.values()) {
+            formarLobbies(cola, ahoraMs, creados);
+        }
+        return creados;
+    }
+
+    /**
+     * Forma lobbies en una cola tomando anclas en orden de espera.
+     *
+     * Las entradas se ordenan una vez por rango (y orden de llegada en
+     * empates), así la ventana de rango de cada ancla es un tramo contiguo
+     * que se ubica con dos búsquedas binarias: si el tramo no alcanza a
+     * llenar el formato se descarta sin recorrerlo, y si alcanza solo se
+     * recorre ese tramo para filtrar latencia y región. Costo por tick:
+     * O(n log n + Σ tramo) en lugar de O(n²).
+     *
+     * Región: el lobby toma la región del ancla y admite jugadores de esa
+     * región o sin región; un ancla sin región admite a todos y arma un
+     * lobby abierto.
+     */
+    private void formarLobbies(ColaMatchmaking cola, long ahoraMs, List<Scrim> creados) {
+        int plazas = cola.getFormato().getPlayersPerTeam() * 2;
+        List<EntradaCola> pendientes = cola.getEntradas();
+        int cantidad = pendientes.size();
+        if (cantidad < plazas) {
+            return;
+        }
+
+        Integer[] porRango = new Integer[cantidad];
+        Map<String, Integer> posicionDe = new HashMap<>();
+        for (int i = 0; i < cantidad; i++) {
+            porRango[i] = i;
+            posicionDe.put(pendientes.get(i).getUsuario().getId(), i);
+        }
+        Arrays.sort(porRango, Comparator.comparingInt((Integer i) -> pendientes.get(i).getRango())
+                .thenComparingInt(i -> i));
+        int[] rangosOrdenados = new int[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            rangosOrdenados[k] = pendientes.get(porRango[k]).getRango();
+        }
+
+        boolean[] ubicado = new boolean[cantidad];
+        int libres = cantidad;
+        int[] tramo = new int[cantidad];
+
+        for (int a = 0; a < cantidad && libres >= plazas; a++) {
+            if (ubicado[a]) {
+                continue;
+            }
+            EntradaCola ancla = pendientes.get(a);
+            long espera = ancla.getEsperaMs(ahoraMs);
+            int ventanaRango = ventanaRango(espera);
+            int rangoMin = Math.max(RANGO_MINIMO, ancla.getRango() - ventanaRango);
+            int rangoMax = Math.min(RANGO_MAXIMO, ancla.getRango() + ventanaRango);
+            int latenciaMax = Math.max(ventanaLatencia(espera), ancla.getLatencia());
+
+            int desde = primerMayorOIgual(rangosOrdenados, rangoMin);
+            int hasta = primerMayorOIgual(rangosOrdenados, rangoMax + 1);
+            if (hasta - desde < plazas) {
+                continue;
+            }
+
+            String region = normalizarRegion(ancla.getUsuario().getRegion());
+            int enTramo = 0;
+            for (int k = desde; k < hasta; k++) {
+                int posicion = porRango[k];
+                EntradaCola entrada = pendientes.get(posicion);
+                if (!ubicado[posicion] && entrada.getLatencia() <= latenciaMax
+                        && regionCompatible(region, entrada.getUsuario().getRegion())) {
+                    tramo[enTramo++] = posicion;
+                }
+            }
+            if (enTramo < plazas) {
+                continue;
+            }
+
+            // La estrategia desempata por orden de llegada: se le pasan los
+            // candidatos en orden de espera, como están en la cola
+            Arrays.sort(tramo, 0, enTramo);
+            Map<String, EntradaCola> enVentana = new LinkedHashMap<>();
+            for (int k = 0; k < enTramo; k++) {
+                EntradaCola entrada = pendientes.get(tramo[k]);
+                enVentana.put(entrada.getUsuario().getId(), entrada);
+            }
+
+            Scrim lobby = construirLobby(cola, region, rangoMin, rangoMax, latenciaMax);
+            List<EntradaCola> elegidos = elegirJugadores(lobby, ancla, enVentana, plazas);
+            if (elegidos.size() < plazas) {
+                continue;
+            }
+
+            crearLobby(lobby, elegidos);
+            cola.retirarEmparejados(elegidos, ahoraMs);
+            for (EntradaCola elegido : elegidos) {
+                ubicado[posicionDe.get(elegido.getUsuario().getId())] = true;
+                colaDeUsuario.remove(elegido.getUsuario().getId());
+            }
+            libres -= elegidos.size();
+            creados.add(lobby);
+        }
+    }
+
+    /**
+     * Arma el lobby con {@link ScrimBuilder}, como cualquier otro scrim: roles
+     * del juego, región del ancla y la estrategia de las colas. No se
+     * notifica la creación porque el lobby nace completo.
+     */
+    private Scrim construirLobby(ColaMatchmaking cola, String region, int rangoMin, int rangoMax,
+            int latenciaMax) {
+        List<String> roles = new ArrayList<>();
+        for (RolJuego rol : cola.getJuego().getRolesDisponibles()) {
+            roles.add(rol.getNombre());
+        }
+        ScrimBuilder builder = new ScrimBuilder()
+                .withJuego(cola.getJuego())
+                .withFormato(cola.getFormato())
+                .withFechaHora(LocalDateTime.now().plusMinutes(MINUTOS_HASTA_LA_PARTIDA))
+                .withRango(rangoMin, rangoMax)
+                .withLatenciaMaxima(latenciaMax)
+                .withRolesRequeridos(roles)
+                .withEstrategiaMatchmaking(estrategia.getNombre())
+                .withNotificacionCreacion(false);
+        if (!region.isEmpty()) {
+            builder.withRegion(region);
+        }
+        return builder.build();
+    }
+
+    private static int primerMayorOIgual(int[] ordenados, int valor) {
+        int bajo = 0;
+        int alto = ordenados.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (ordenados[medio] < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private static boolean regionCompatible(String regionAncla, String regionJugador) {
+        String region = normalizarRegion(regionJugador);
+        return regionAncla.isEmpty() || region.isEmpty() || region.equals(regionAncla);
+    }
+
+    private static String normalizarRegion(String region) {
+        return region == null ? "" : region.trim().toUpperCase();
+    }
+
+    /**
+     * Aplica la estrategia sobre los jugadores de la ventana, garantizando
+     * que el ancla (el que más espera) quede en el lobby.
+     */
+    private List<EntradaCola> elegirJugadores(Scrim lobby, EntradaCola ancla, Map<String, EntradaCola> enVentana,
+            int plazas) {
+        List<Usuario> candidatos = new ArrayList<>();
+        for (EntradaCola entrada : enVentana.values()) {
+            candidatos.add(entrada.getUsuario());
+        }
+
+        List<Usuario> seleccionados = new ArrayList<>(estrategia.seleccionar(candidatos, lobby));
+        if (seleccionados.size() > plazas) {
+            seleccionados = seleccionados.subList(0, plazas);
+        }
+        if (!seleccionados.contains(ancla.getUsuario())) {
+            if (seleccionados.size() == plazas) {
+                seleccionados.remove(plazas - 1);
+            }
+            seleccionados.add(0, ancla.getUsuario());
+        }
+
+        List<EntradaCola> elegidos = new ArrayList<>();
+        for (Usuario usuario : seleccionados) {
+            elegidos.add(enVentana.get(usuario.getId()));
+        }
+        return elegidos;
+    }
+
+    /**
+     * Postula a los jugadores elegidos; al completarse las plazas el scrim
+     * pasa a LOBBY_ARMADO y genera las confirmaciones.
+     */
+    private void crearLobby(Scrim lobby, List<EntradaCola> elegidos) {
+        lobby.setCreatedBy(ORGANIZADOR_AUTOMATICO);
+        for (EntradaCola entrada : elegidos) {
+            lobby.postular(new Postulacion(lobby.getId(), entrada.getUsuario().getId(), entrada.getRango(),
+                    entrada.getLatencia()));
+        }
+        RepositorioFactory.getRepositorioScrim().guardar(lobby);
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    public synchronized void setEstrategia(MatchmakingStrategy nuevaEstrategia) {
+        if (nuevaEstrategia == null) {
+            throw new IllegalArgumentException("La estrategia de matchmaking no puede ser null");
+        }
+        this.estrategia = nuevaEstrategia;
+    }
+
+    public synchronized MatchmakingStrategy getEstrategia() {
+        return estrategia;
+    }
+
+    /**
+     * Semiancho de la ventana de rango para una espera dada.
+     */
+    public static int ventanaRango(long esperaMs) {
+        long pasos = esperaMs / PASO_ENSANCHE_MS;
+        return (int) Math.min(VENTANA_RANGO_MAXIMA, VENTANA_RANGO_BASE + pasos * VENTANA_RANGO_POR_PASO);
+    }
+
+    /**
+     * Latencia máxima aceptada para una espera dada.
+     */
+    public static int ventanaLatencia(long esperaMs) {
+        long pasos = esperaMs / PASO_ENSANCHE_MS;
+        return (int) Math.min(VENTANA_LATENCIA_MAXIMA, VENTANA_LATENCIA_BASE + pasos * VENTANA_LATENCIA_POR_PASO);
+    }
+
+    private static String claveDe(Juego juego, ScrimFormat formato) {
+        return juego.getNombre() + "|" + formato.getFormatName();
+    }
+}
@@ -6,6 +6,7 @@ import dominio.estadisticas.EstadisticasJugador;
 import dominio.estadisticas.ReporteConducta;
 import dominio.estadisticas.SistemaModeracion;
 import dominio.modelo.Scrim;
+import infraestructura.matchmaking.BalanceadorEquipos;
 import infraestructura.persistencia.repository.RepositorioEstadisticas;
 import infraestructura.persistencia.repository.RepositorioFactory;
 
@@ -60,19 +61,51 @@ public class EstadisticasService {
 
         if (estadisticas == null) {
             estadisticas = new EstadisticasScrim(scrim);
+            fijarEquipos(scrim, estadisticas);
             repositorioEstadisticas.guardarEstadisticasScrim(estadisticas);
+        } else if (!estadisticas.tieneEquipos()) {
+            fijarEquipos(scrim, estadisticas);
+            repositorioEstadisticas.actualizarEstadisticasScrim(estadisticas);
         }
 
         return estadisticas;
     }
 
+    /**
+     * Fija los equipos en las estadísticas que se van a guardar: los que se
+     * formaron al armar el lobby o, para scrims sin equipos (datos previos),
+     * una división balanceada por rango de los jugadores con estadísticas.
+     */
+    private void fijarEquipos(Scrim scrim, EstadisticasScrim estadisticas) {
+        if (scrim.tieneEquipos()) {
+            estadisticas.fijarEquipos(scrim.getEquipoA(), scrim.getEquipoB());
+            return;
+        }
+        List<String> ids = new ArrayList<>(estadisticas.getEstadisticasPorJugador().keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+        Collections.sort(ids);
+        String nombreJuego = scrim.getJuego() != null ? scrim.getJuego().getNombre() : null;
+        BalanceadorEquipos.Division division = BalanceadorEquipos.balancearJugadores(ids, nombreJuego, null, false);
+        estadisticas.fijarEquipos(division.getEquipoA(), division.getEquipoB());
+    }
+
     /**
      * Registra el resultado final (equipo ganador) y finaliza el registro.
+     * Si el ganador identifica un lado ("Equipo A", "B", ...) o se determina
+     * por estadísticas, el resultado alimenta las calificaciones de los
+     * jugadores ({@link CalificacionService}).
      */
     public void registrarResultado(Scrim scrim, String equipoGanador) {
         EstadisticasScrim estadisticas = obtenerEstadisticasParaScrim(scrim);
         estadisticas.finalizarPartida(equipoGanador);
         repositorioEstadisticas.actualizarEstadisticasScrim(estadisticas);
+        try {
+            CalificacionService.getInstance().registrarPartida(scrim, estadisticas);
+        } catch (RuntimeException e) {
+            System.err.println("Error al registrar la partida para las calificaciones: " + e.getMessage());
+        }
     }
 
     /**
@@ -260,6 +293,14 @@ public class EstadisticasService {
         repositorioEstadisticas.moderarComentario(String.valueOf(comentarioId), aprobado);
     }
 
+    /**
+     * Busca comentarios por palabras clave (ej: "toxic", "afk", un nombre) en
+     * todos los scrims, del más relevante al menos relevante.
+     */
+    public List<Comentario> buscarComentarios(String consulta, Comentario.EstadoModeracion estado, int limite) {
+        return repositorioEstadisticas.buscarComentarios(consulta, estado, limite);
+    }
+
     /**
      * Obtiene todos los comentarios pendientes de moderación.
      */
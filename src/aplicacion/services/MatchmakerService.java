@@ -1,10 +1,21 @@
 package aplicacion.services;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import aplicacion.builders.FiltrosScrim;
+import dominio.modelo.Grupo;
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.busqueda.IndiceRangos;
+import infraestructura.busqueda.ParticionRegional;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.matchmaking.EmparejamientoGlobal;
 import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.SeleccionConGrupos;
+import infraestructura.matchmaking.TrazadorMatchmaking;
+import infraestructura.matchmaking.strategies.ByMMRStrategy;
+import infraestructura.persistencia.repository.RepositorioFactory;
 
 /**
  * Servicio central de emparejamiento (matchmaking) que aplica el patrón
@@ -33,6 +44,9 @@ import infraestructura.matchmaking.MatchmakingStrategy;
  * - Estrategia intercambiable en tiempo de ejecución
  * - Validaciones de entrada
  * - Manejo de casos edge (lista vacía, scrim completo, etc.)
+ * - Traza de cada decisión y métricas de calidad por estrategia
+ * ({@link TrazadorMatchmaking})
+ * - Selección con grupos (party) que entran completos en un mismo equipo
  * 
  * @author eScrims Team
  * @version 1.0
@@ -89,15 +103,208 @@ public class MatchmakerService {
         }
 
         // Delegar a la estrategia
-        List<Usuario> seleccionados = estrategia.seleccionar(candidatos, scrim);
+        return TrazadorMatchmaking.getInstance().trazar(estrategia.getNombre(), "lista", scrim, () -> {
+            TrazadorMatchmaking.anotarPool(candidatos.size());
+            List<Usuario> seleccionados = estrategia.seleccionar(candidatos, scrim);
 
-        // Validación posterior: no exceder plazas disponibles
-        int plazasDisponibles = scrim.getPlazas();
-        if (seleccionados.size() > plazasDisponibles) {
-            return seleccionados.subList(0, plazasDisponibles);
+            // Validación posterior: no exceder plazas disponibles
+            int plazasDisponibles = scrim.getPlazas();
+            if (seleccionados.size() > plazasDisponibles) {
+                return seleccionados.subList(0, plazasDisponibles);
+            }
+
+            return seleccionados;
+        });
+    }
+
+    /**
+     * Igual que {@link #seleccionarJugadores(List, Scrim)}, pero sobre un pool
+     * en columnas primitivas ({@link PoolCandidatos}), que las estrategias
+     * recorren sin tocar los objetos Usuario.
+     * 
+     * @param pool  pool de candidatos del juego del scrim
+     * @param scrim scrim que necesita jugadores
+     * @return lista de usuarios seleccionados (ordenados por prioridad)
+     * @throws IllegalArgumentException si pool o scrim son null
+     */
+    public List<Usuario> seleccionarDesdePool(PoolCandidatos pool, Scrim scrim) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool de candidatos no puede ser null");
+        }
+        if (scrim == null) {
+            throw new IllegalArgumentException("El scrim no puede ser null");
+        }
+        if (pool.getTamanio() == 0 || scrim.getPlazas() <= 0) {
+            return List.of();
+        }
+
+        return TrazadorMatchmaking.getInstance().trazar(estrategia.getNombre(), "pool", scrim, () -> {
+            TrazadorMatchmaking.anotarPool(pool.getTamanio());
+            List<Usuario> seleccionados = estrategia.seleccionar(pool, scrim);
+            int plazasDisponibles = scrim.getPlazas();
+            if (seleccionados.size() > plazasDisponibles) {
+                return seleccionados.subList(0, plazasDisponibles);
+            }
+            return seleccionados;
+        });
+    }
+
+    /**
+     * Selecciona jugadores usando como pool solo los usuarios de la región del
+     * scrim y los usuarios sin región (ver {@link ParticionRegional}). Un scrim
+     * sin región usa el pool global.
+     * 
+     * Con fallback inter-regional, si la región no completa las plazas se
+     * aplica la estrategia sobre los usuarios de las demás regiones para
+     * cubrir solo las plazas faltantes; los jugadores de la región conservan
+     * la prioridad.
+     * 
+     * @param scrim                 scrim que necesita jugadores
+     * @param fallbackInterRegional permitir completar con otras regiones
+     * @return lista de usuarios seleccionados (primero los de la región)
+     * @throws IllegalArgumentException si scrim es null
+     */
+    public List<Usuario> seleccionarJugadoresEnRegion(Scrim scrim, boolean fallbackInterRegional) {
+        if (scrim == null) {
+            throw new IllegalArgumentException("El scrim no puede ser null");
+        }
+        return TrazadorMatchmaking.getInstance().trazar(estrategia.getNombre(), "region", scrim,
+                () -> seleccionarEnRegion(scrim, fallbackInterRegional));
+    }
+
+    private List<Usuario> seleccionarEnRegion(Scrim scrim, boolean fallbackInterRegional) {
+        String region = ParticionRegional.normalizarRegion(scrim.getRegion());
+        if (estrategia instanceof ByMMRStrategy) {
+            return seleccionarPorRangoEnRegion((ByMMRStrategy) estrategia, scrim, region, fallbackInterRegional);
+        }
+
+        // Pool en columnas del juego y la región, mantenido con cada cambio de usuario
+        String juego = scrim.getJuego().getNombre();
+        if (region.equals(ParticionRegional.SIN_REGION)) {
+            return seleccionarDesdePool(PoolCandidatos.de(juego, ParticionRegional.SIN_REGION), scrim);
+        }
+
+        List<Usuario> seleccionados = seleccionarDesdePool(PoolCandidatos.de(juego, region), scrim);
+        ParticionRegional particion = ParticionRegional.getInstance();
+        int faltantes = scrim.getPlazas() - seleccionados.size();
+        if (!fallbackInterRegional || faltantes <= 0) {
+            return seleccionados;
+        }
+
+        List<Usuario> deOtrasRegiones = seleccionarJugadores(particion.usuariosFueraDeRegion(region), scrim);
+        List<Usuario> resultado = new ArrayList<>(seleccionados);
+        resultado.addAll(deOtrasRegiones.subList(0, Math.min(faltantes, deOtrasRegiones.size())));
+        return resultado;
+    }
+
+    /**
+     * Selecciona jugadores cuando parte de los candidatos vienen en grupo
+     * (party). Cada grupo se trata como un único candidato que ocupa tantas
+     * plazas como integrantes tiene y entra completo en un mismo equipo (ver
+     * {@link SeleccionConGrupos}); los jugadores se puntúan con la estrategia
+     * configurada.
+     * 
+     * @param sueltos jugadores que se postulan solos
+     * @param grupos  grupos que se postulan juntos
+     * @param scrim   scrim que necesita jugadores
+     * @return jugadores y grupos elegidos, con los equipos si el lobby se
+     *         completa
+     * @throws IllegalArgumentException si algún parámetro es null
+     */
+    public SeleccionConGrupos.Resultado seleccionarConGrupos(List<Usuario> sueltos, List<Grupo> grupos,
+            Scrim scrim) {
+        if (sueltos == null || grupos == null) {
+            throw new IllegalArgumentException("Las listas de candidatos no pueden ser null");
+        }
+        if (scrim == null) {
+            throw new IllegalArgumentException("El scrim no puede ser null");
+        }
+
+        SeleccionConGrupos.Resultado[] resultado = new SeleccionConGrupos.Resultado[1];
+        TrazadorMatchmaking.getInstance().trazar(estrategia.getNombre(), "grupos", scrim, () -> {
+            int jugadores = sueltos.size();
+            for (Grupo grupo : grupos) {
+                jugadores += grupo.getTamanio();
+            }
+            TrazadorMatchmaking.anotarPool(jugadores);
+            resultado[0] = SeleccionConGrupos.seleccionar(estrategia, sueltos, grupos, scrim);
+            return resultado[0].getSeleccionados();
+        });
+        return resultado[0];
+    }
+
+    /**
+     * Emparejamiento en lote: asigna jugadores a todos los scrims recibidos a
+     * la vez, maximizando la calidad total y sin repetir jugadores entre
+     * scrims (ver {@link EmparejamientoGlobal}). A diferencia de
+     * {@link #seleccionarJugadores(List, Scrim)}, no depende de la
+     * estrategia configurada.
+     * 
+     * @param scrims        scrims que buscan jugadores
+     * @param jugadores     pool de jugadores disponibles
+     * @param presupuestoMs tiempo máximo de cálculo; al agotarse se devuelve
+     *                      el mejor resultado parcial
+     * @return jugadores asignados por scrim
+     * @throws IllegalArgumentException si alguna lista es null o el
+     *                                  presupuesto no es positivo
+     */
+    public EmparejamientoGlobal.Resultado emparejarEnLote(List<Scrim> scrims, List<Usuario> jugadores,
+            long presupuestoMs) {
+        return new EmparejamientoGlobal(presupuestoMs).emparejar(scrims, jugadores);
+    }
+
+    /**
+     * Emparejamiento en lote de todos los scrims en estado BUSCANDO del
+     * repositorio con todos los usuarios registrados.
+     * 
+     * @param presupuestoMs tiempo máximo de cálculo en milisegundos
+     * @return jugadores asignados por scrim
+     */
+    public EmparejamientoGlobal.Resultado emparejarScrimsAbiertos(long presupuestoMs) {
+        List<Scrim> abiertos = RepositorioFactory.getRepositorioScrim()
+                .buscarConFiltros(new FiltrosScrim.Builder().conEstado("BUSCANDO").build());
+        List<Usuario> jugadores = RepositorioFactory.getRepositorioUsuario().listarTodos();
+        return emparejarEnLote(abiertos, jugadores, presupuestoMs);
+    }
+
+    /**
+     * Variante de {@link #seleccionarJugadoresEnRegion(Scrim, boolean)} para
+     * la estrategia por MMR: consulta el índice global de rangos
+     * ({@link IndiceRangos}) filtrando por región, en lugar de copiar y
+     * ordenar el pool de candidatos.
+     */
+    private List<Usuario> seleccionarPorRangoEnRegion(ByMMRStrategy porMMR, Scrim scrim, String region,
+            boolean fallbackInterRegional) {
+        if (scrim.getPlazas() <= 0) {
+            return List.of();
+        }
+
+        IndiceRangos indice = IndiceRangos.getInstance();
+        String juego = scrim.getJuego().getNombre();
+        TrazadorMatchmaking.anotarPool(indice.cantidadConRango(juego));
+        TrazadorMatchmaking.anotarFiltrado(indice.contarEnRango(juego, scrim.getRangoMin(), scrim.getRangoMax()));
+        if (region.equals(ParticionRegional.SIN_REGION)) {
+            return porMMR.seleccionarDesdeIndice(indice, scrim, null);
         }
 
-        return seleccionados;
+        List<Usuario> seleccionados = porMMR.seleccionarDesdeIndice(indice, scrim,
+                usuario -> enRegion(region, usuario));
+        int faltantes = scrim.getPlazas() - seleccionados.size();
+        if (!fallbackInterRegional || faltantes <= 0) {
+            return seleccionados;
+        }
+
+        List<Usuario> deOtrasRegiones = porMMR.seleccionarDesdeIndice(indice, scrim,
+                usuario -> !enRegion(region, usuario));
+        List<Usuario> resultado = new ArrayList<>(seleccionados);
+        resultado.addAll(deOtrasRegiones.subList(0, Math.min(faltantes, deOtrasRegiones.size())));
+        return resultado;
+    }
+
+    /** Un usuario sin región es candidato de cualquier región. */
+    private static boolean enRegion(String region, Usuario usuario) {
+        String regionUsuario = ParticionRegional.normalizarRegion(usuario.getRegion());
+        return regionUsuario.equals(ParticionRegional.SIN_REGION) || regionUsuario.equals(region);
     }
 
     /**
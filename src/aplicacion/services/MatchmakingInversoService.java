@@ -0,0 +1,336 @@
+package aplicacion.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.IndiceKD;
+import infraestructura.busqueda.IndiceScrimsAbiertos;
+import infraestructura.busqueda.TopK;
+import infraestructura.matchmaking.strategies.ByCompositeStrategy;
+import infraestructura.notificaciones.observer.ScrimNotificationObserver;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioScrim;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Matchmaking inverso: dado un jugador, busca los scrims abiertos que mejor
+ * le quedan.
+ *
+ * El matchmaking habitual parte de un scrim y busca jugadores; este servicio
+ * parte de un jugador que acaba de quedar disponible (o que cambió su rango,
+ * latencia o región) y busca en {@link IndiceScrimsAbiertos} los scrims en
+ * BUSCANDO de cada juego en el que tiene rango, sin recorrer todos los
+ * scrims. Los scrims que lo admiten se ordenan con la misma distancia que la
+ * estrategia Composite ({@link ByCompositeStrategy}): cercanía al centro de la
+ * ventana de rango y latencia relativa a la máxima del scrim. Empates: primero
+ * el scrim con menos plazas libres y luego el más próximo.
+ *
+ * Con {@link #activar(boolean, int)} el servicio escucha el repositorio de
+ * usuarios: cada vez que se guarda un usuario disponible cuya
+ * disponibilidad, región, latencia o rangos cambiaron (ej: desde
+ * {@link UsuarioService#editarPerfil}), le notifica sus mejores scrims o, si
+ * se activó con auto-postulación, lo postula a ellos. La búsqueda y el envío
+ * (email, Discord) corren en un hilo propio del servicio, así guardar el
+ * perfil no espera a las notificaciones.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * MatchmakingInversoService inverso = new MatchmakingInversoService();
+ * List&lt;Recomendacion&gt; mejores = inverso.recomendarScrims(usuario, 5);
+ * inverso.activar(false, 3); // notificar en cada cambio de perfil
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see IndiceScrimsAbiertos
+ */
+public class MatchmakingInversoService {
+
+    public static final int CANTIDAD_POR_DEFECTO = 5;
+
+    private final RepositorioScrim repositorioScrim;
+    private final RepositorioUsuario repositorioUsuario;
+    private final PostulacionService postulacionService;
+    private final Map<String, String> firmaDeUsuario;
+    private ObservadorRepositorio<Usuario> observador;
+    private ExecutorService ejecutor;
+    private ScrimNotificationObserver notificador;
+    private boolean autoPostular;
+    private int cantidad;
+
+    public MatchmakingInversoService() {
+        this(RepositorioFactory.getRepositorioScrim(), RepositorioFactory.getRepositorioUsuario());
+    }
+
+    public MatchmakingInversoService(RepositorioScrim repositorioScrim, RepositorioUsuario repositorioUsuario) {
+        this.repositorioScrim = repositorioScrim;
+        this.repositorioUsuario = repositorioUsuario;
+        this.postulacionService = new PostulacionService(repositorioScrim, repositorioUsuario);
+        this.firmaDeUsuario = new HashMap<>();
+        this.cantidad = CANTIDAD_POR_DEFECTO;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Mejores scrims abiertos para un jugador, entre todos los juegos en los
+     * que tiene rango. Excluye los scrims que organiza y aquellos a los que
+     * ya se postuló.
+     *
+     * @param usuario  jugador
+     * @param cantidad máximo de scrims a devolver
+     * @return recomendaciones de la mejor a la peor
+     * @throws IllegalArgumentException si el usuario es null
+     */
+    public List<Recomendacion> recomendarScrims(Usuario usuario, int cantidad) {
+        if (usuario == null) {
+            throw new IllegalArgumentException("El usuario no puede ser null");
+        }
+        if (cantidad <= 0) {
+            return new ArrayList<>();
+        }
+
+        IndiceScrimsAbiertos indice = IndiceScrimsAbiertos.getInstance();
+        TopK<Recomendacion> mejores = new TopK<>(cantidad, Comparator
+                .comparingDouble(Recomendacion::getDistancia)
+                .thenComparingInt(r -> r.getScrim().getPlazasLibres())
+                .thenComparing(r -> r.getScrim().getFechaHora(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(r -> r.getScrim().getId()));
+        int latencia = usuario.getLatenciaPromedio();
+
+        for (Map.Entry<String, Integer> rango : usuario.getRangoPorJuego().entrySet()) {
+            if (rango.getValue() == null) {
+                continue;
+            }
+            for (Scrim scrim : indice.scrimsQueAdmiten(rango.getKey(), usuario.getRegion(), rango.getValue(),
+                    latencia)) {
+                // El índice se actualiza al persistir; el estado en memoria manda
+                if (!"BUSCANDO".equals(scrim.getEstado())
+                        || usuario.getId().equals(scrim.getCreatedBy())
+                        || scrim.yaSePostulo(usuario.getId())) {
+                    continue;
+                }
+                mejores.ofrecer(new Recomendacion(scrim, rango.getValue(), distancia(scrim, rango.getValue(),
+                        latencia)));
+            }
+        }
+        return mejores.obtenerOrdenados();
+    }
+
+    /**
+     * Postula al jugador a sus mejores scrims. Una postulación rechazada no
+     * detiene al resto.
+     *
+     * @param usuario  jugador
+     * @param cantidad máximo de scrims a los que postularlo
+     * @return postulaciones aceptadas
+     */
+    public List<Postulacion> postularAMejores(Usuario usuario, int cantidad) {
+        List<Postulacion> postulaciones = new ArrayList<>();
+        for (Recomendacion recomendacion : recomendarScrims(usuario, cantidad)) {
+            try {
+                postulaciones.add(postulacionService.postularAScrim(recomendacion.getScrim().getId(),
+                        usuario.getId(), recomendacion.getRango(), usuario.getLatenciaPromedio()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                System.err.println("[MatchmakingInverso] Scrim " + recomendacion.getScrim().getId() + ": "
+                        + e.getMessage());
+            }
+        }
+        return postulaciones;
+    }
+
+    /**
+     * Distancia del jugador al punto ideal del scrim (el eje de fiabilidad
+     * se omite: es el mismo para todos los scrims del jugador).
+     */
+    static double distancia(Scrim scrim, int rango, int latencia) {
+        double[] objetivo = ByCompositeStrategy.calcularObjetivo(scrim);
+        double[] pesos = ByCompositeStrategy.calcularPesos(scrim);
+        double diferenciaRango = rango - objetivo[IndiceKD.EJE_RANGO];
+        double diferenciaLatencia = latencia / IndiceKD.ESCALA_LATENCIA - objetivo[IndiceKD.EJE_LATENCIA];
+        return pesos[IndiceKD.EJE_RANGO] * diferenciaRango * diferenciaRango
+                + pesos[IndiceKD.EJE_LATENCIA] * diferenciaLatencia * diferenciaLatencia;
+    }
+
+    // ========== ESCUCHA DE CAMBIOS DE PERFIL ==========
+
+    /**
+     * Empieza a escuchar el repositorio de usuarios.
+     *
+     * @param autoPostular si es true, postula al jugador a sus mejores scrims;
+     *                     si no, se los notifica
+     * @param cantidad     máximo de scrims por cambio de perfil
+     */
+    public synchronized void activar(boolean autoPostular, int cantidad) {
+        this.autoPostular = autoPostular;
+        this.cantidad = cantidad;
+        if (observador != null) {
+            return;
+        }
+        // Los usuarios ya existentes no disparan nada hasta que cambien
+        registrarFirmas();
+        ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "matchmaking-inverso");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        observador = new ObservadorUsuarios();
+        repositorioUsuario.agregarObservador(observador);
+    }
+
+    /**
+     * Deja de escuchar el repositorio de usuarios. Los cambios de perfil ya
+     * recibidos se terminan de procesar.
+     */
+    public synchronized void desactivar() {
+        if (observador != null) {
+            repositorioUsuario.quitarObservador(observador);
+            observador = null;
+            ejecutor.shutdown();
+            ejecutor = null;
+        }
+    }
+
+    public synchronized boolean isActivo() {
+        return observador != null;
+    }
+
+    /**
+     * Reacciona al guardado de un usuario: si quedó disponible y cambió algo
+     * que afecta a qué scrims lo admiten, le notifica o lo postula a sus
+     * mejores scrims.
+     *
+     * @return scrims notificados o a los que se lo postuló (vacío si no hubo
+     *         cambios relevantes)
+     */
+    public List<Scrim> alGuardarUsuario(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            return new ArrayList<>();
+        }
+        boolean auto;
+        int limite;
+        synchronized (this) {
+            String nueva = firma(usuario);
+            String anterior = firmaDeUsuario.put(usuario.getId(), nueva);
+            if (!usuario.isDisponible() || nueva.equals(anterior)) {
+                return new ArrayList<>();
+            }
+            auto = autoPostular;
+            limite = cantidad;
+        }
+
+        List<Scrim> scrims = new ArrayList<>();
+        if (auto) {
+            for (Postulacion postulacion : postularAMejores(usuario, limite)) {
+                scrims.add(repositorioScrim.buscarPorId(postulacion.getScrimId()));
+            }
+        } else {
+            for (Recomendacion recomendacion : recomendarScrims(usuario, limite)) {
+                scrims.add(recomendacion.getScrim());
+            }
+            if (!scrims.isEmpty()) {
+                getNotificador().notificarScrimsRecomendados(usuario, scrims);
+            }
+        }
+        return scrims;
+    }
+
+    private synchronized void registrarFirmas() {
+        firmaDeUsuario.clear();
+        for (Usuario usuario : repositorioUsuario.listarTodos()) {
+            if (usuario != null && usuario.getId() != null) {
+                firmaDeUsuario.put(usuario.getId(), firma(usuario));
+            }
+        }
+    }
+
+    private static String firma(Usuario usuario) {
+        return usuario.isDisponible() + "|" + usuario.getRegion() + "|" + usuario.getLatenciaPromedio() + "|"
+                + new TreeMap<>(usuario.getRangoPorJuego());
+    }
+
+    private synchronized ScrimNotificationObserver getNotificador() {
+        if (notificador == null) {
+            notificador = new ScrimNotificationObserver();
+        }
+        return notificador;
+    }
+
+    private class ObservadorUsuarios implements ObservadorRepositorio<Usuario> {
+        @Override
+        public void entidadGuardada(Usuario usuario) {
+            // Se procesa fuera del guardado: ni la demora de las
+            // notificaciones ni un error al recomendar afectan al perfil
+            ExecutorService actual;
+            synchronized (MatchmakingInversoService.this) {
+                actual = ejecutor;
+            }
+            if (actual == null) {
+                return;
+            }
+            try {
+                actual.execute(() -> {
+                    try {
+                        alGuardarUsuario(usuario);
+                    } catch (RuntimeException e) {
+                        System.err.println("[MatchmakingInverso] Error al recomendar scrims: " + e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // El servicio se desactivó mientras se guardaba el usuario
+            }
+        }
+
+        @Override
+        public void entidadEliminada(Usuario usuario) {
+            synchronized (MatchmakingInversoService.this) {
+                firmaDeUsuario.remove(usuario.getId());
+            }
+        }
+
+        @Override
+        public void repositorioReiniciado() {
+            registrarFirmas();
+        }
+    }
+
+    /**
+     * Scrim recomendado a un jugador.
+     */
+    public static class Recomendacion {
+        private final Scrim scrim;
+        private final int rango;
+        private final double distancia;
+
+        public Recomendacion(Scrim scrim, int rango, double distancia) {
+            this.scrim = scrim;
+            this.rango = rango;
+            this.distancia = distancia;
+        }
+
+        public Scrim getScrim() {
+            return scrim;
+        }
+
+        /** Rango del jugador en el juego del scrim. */
+        public int getRango() {
+            return rango;
+        }
+
+        /** Distancia al punto ideal del scrim (menor es mejor). */
+        public double getDistancia() {
+            return distancia;
+        }
+    }
+}
@@ -114,6 +114,23 @@ public class OrganizadorService {
         guardarCambios(organizador.getScrim());
     }
 
+    /**
+     * Asigna automáticamente los roles de todo el lobby según las preferencias
+     * de los jugadores. Se deshace de una sola vez con
+     * {@link #deshacerUltimaAccion(String, String)}.
+     */
+    public void asignarRolesAutomaticamente(String scrimId, String organizadorId) {
+        ScrimOrganizador organizador = obtenerOrganizadorParaScrim(scrimId, organizadorId);
+
+        new AsignacionRolesService(repositorioUsuario).asignar(organizador);
+
+        // Sincronizar roles con confirmaciones para mantener persistencia
+        RolPersistenceService.sincronizarRoles(organizador, organizador.getScrim());
+
+        // Persistir cambios
+        guardarCambios(organizador.getScrim());
+    }
+
     /**
      * Deshace la última acción realizada en el scrim.
      */
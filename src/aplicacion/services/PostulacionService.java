@@ -1,10 +1,15 @@
 package aplicacion.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import dominio.modelo.Grupo;
 import dominio.modelo.Postulacion;
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.matchmaking.BalanceadorEquipos;
 import infraestructura.persistencia.repository.RepositorioScrim;
 import infraestructura.persistencia.repository.RepositorioUsuario;
 
@@ -13,7 +18,10 @@ import infraestructura.persistencia.repository.RepositorioUsuario;
  * 
  * Responsabilidades:
  * - Crear postulaciones validando reglas de negocio
+ * - Postular grupos (party) como unidad: entran todos o ninguno
  * - Aceptar/rechazar postulaciones por parte del organizador
+ * - Expulsar jugadores de un lobby armado (el lugar se cubre desde la lista
+ * de espera)
  * - Listar postulaciones pendientes
  * - Validar permisos y estados
  * 
@@ -75,6 +83,89 @@ public class PostulacionService {
         return postulacion;
     }
 
+    /**
+     * Un grupo se postula como unidad a un scrim que busca jugadores.
+     * 
+     * Los requisitos se validan con el rango agregado y la latencia combinada
+     * del grupo ({@link Grupo}). Antes de crear ninguna postulación se
+     * verifica que todos puedan entrar: el scrim debe tener lugar para el
+     * grupo completo y el grupo debe caber en un equipo junto a los grupos ya
+     * aceptados. Si algo falla no se postula ningún integrante.
+     * 
+     * @param scrimId ID del scrim
+     * @param grupo   grupo que se postula
+     * @return las postulaciones aceptadas, una por integrante
+     * @throws IllegalArgumentException Si los datos son inválidos o el grupo no
+     *                                  cumple los requisitos
+     * @throws IllegalStateException    Si el scrim no está en BUSCANDO o no
+     *                                  tiene lugar para el grupo
+     */
+    public List<Postulacion> postularGrupo(String scrimId, Grupo grupo) {
+        if (grupo == null) {
+            throw new IllegalArgumentException("El grupo no puede ser null");
+        }
+        Scrim scrim = repositorioScrim.buscarPorId(scrimId);
+        if (scrim == null) {
+            throw new IllegalArgumentException("El scrim no existe");
+        }
+        if (!"BUSCANDO".equals(scrim.getEstado())) {
+            throw new IllegalStateException("Un grupo solo puede postularse a un scrim que busca jugadores");
+        }
+
+        for (String userId : grupo.getIdsIntegrantes()) {
+            if (repositorioUsuario.buscarPorId(userId) == null) {
+                throw new IllegalArgumentException("El usuario " + userId + " no existe");
+            }
+            if (scrim.getCreatedBy().equals(userId)) {
+                throw new IllegalArgumentException("El organizador no puede postularse a su propio scrim");
+            }
+            if (scrim.yaSePostulo(userId)) {
+                throw new IllegalArgumentException("El usuario " + userId + " ya se postuló a este scrim");
+            }
+        }
+
+        if (grupo.getTamanio() > scrim.getPlazasLibres()) {
+            throw new IllegalStateException("El scrim no tiene lugar para el grupo: quedan "
+                    + scrim.getPlazasLibres() + " plazas y el grupo es de " + grupo.getTamanio());
+        }
+        Map<String, Integer> tamanioGrupo = new HashMap<>();
+        for (Postulacion aceptada : scrim.getPostulacionesAceptadas()) {
+            if (aceptada.isDeGrupo()) {
+                tamanioGrupo.merge(aceptada.getGrupoId(), 1, Integer::sum);
+            }
+        }
+        List<Integer> tamanios = new ArrayList<>(tamanioGrupo.values());
+        tamanios.add(grupo.getTamanio());
+        if (!BalanceadorEquipos.gruposEntran(scrim.getPlazas(), tamanios)) {
+            throw new IllegalStateException("El grupo no entra en un mismo equipo junto a los grupos ya aceptados");
+        }
+
+        String juego = scrim.getJuego().getNombre();
+        Integer rangoGrupo = grupo.getRangoAgregado(juego);
+        if (rangoGrupo == null) {
+            throw new IllegalArgumentException("Todos los integrantes del grupo deben tener rango en " + juego);
+        }
+        List<Postulacion> postulaciones = new ArrayList<>();
+        for (Usuario integrante : grupo.getIntegrantes()) {
+            postulaciones.add(new Postulacion(scrimId, integrante.getId(), integrante.getRangoParaJuego(juego),
+                    integrante.getLatenciaPromedio(), grupo, rangoGrupo));
+        }
+        // Todas comparten rango y latencia del grupo: si una no cumple, ninguna
+        String mensajeError = postulaciones.get(0).validarRequisitos(scrim.getRangoMin(), scrim.getRangoMax(),
+                scrim.getLatenciaMax());
+        if (mensajeError != null) {
+            throw new IllegalArgumentException("Postulación del grupo rechazada: " + mensajeError);
+        }
+
+        // El estado del scrim acepta a cada integrante (el último puede completar el lobby)
+        for (Postulacion postulacion : postulaciones) {
+            scrim.postular(postulacion);
+        }
+        repositorioScrim.actualizar(scrim);
+
+        return postulaciones;
+    }
+
     /**
      * El organizador acepta una postulación pendiente.
      * 
@@ -105,6 +196,9 @@ public class PostulacionService {
         if (postulacion.getEstado() != Postulacion.EstadoPostulacion.PENDIENTE) {
             throw new IllegalStateException("Solo se pueden aceptar postulaciones pendientes");
         }
+        if (scrim.getListaEspera().contiene(userId)) {
+            throw new IllegalStateException("El jugador está en la lista de espera: ocupará un lugar cuando se libere");
+        }
 
         // Aceptar la postulación
         postulacion.aceptar();
@@ -145,13 +239,52 @@ public class PostulacionService {
             throw new IllegalStateException("Solo se pueden rechazar postulaciones pendientes");
         }
 
-        // Rechazar la postulación
+        // Rechazar la postulación (y sacarla de la lista de espera si estaba)
         postulacion.rechazar(motivo);
+        scrim.getListaEspera().quitar(userId);
         repositorioScrim.actualizar(scrim);
 
         return postulacion;
     }
 
+    /**
+     * El organizador saca a un jugador de un lobby armado o confirmado
+     * (expulsión o ausencia). Su lugar lo ocupa el mejor de la lista de espera
+     * o, si no hay, un reemplazo de la región; solo el reemplazo debe
+     * confirmar. Sin reemplazo, el scrim vuelve a BUSCANDO.
+     * 
+     * @param scrimId       ID del scrim
+     * @param userId        ID del jugador que sale
+     * @param organizadorId ID del organizador
+     * @return true si el lugar se cubrió con un reemplazo
+     * @throws IllegalArgumentException Si el scrim no existe, quien expulsa no
+     *                                  es el organizador o el jugador no está
+     *                                  en el lobby
+     * @throws IllegalStateException    Si el scrim no está en LOBBY_ARMADO ni
+     *                                  CONFIRMADO
+     * @see BackfillService
+     */
+    public boolean expulsarJugador(String scrimId, String userId, String organizadorId) {
+        Scrim scrim = repositorioScrim.buscarPorId(scrimId);
+        if (scrim == null) {
+            throw new IllegalArgumentException("El scrim no existe");
+        }
+        if (!scrim.getCreatedBy().equals(organizadorId)) {
+            throw new IllegalArgumentException("Solo el organizador puede expulsar jugadores");
+        }
+        if (!"LOBBY_ARMADO".equals(scrim.getEstado()) && !"CONFIRMADO".equals(scrim.getEstado())) {
+            throw new IllegalStateException("Solo se puede expulsar jugadores de un lobby armado o confirmado");
+        }
+        boolean enLobby = scrim.getPostulacionesAceptadas().stream().anyMatch(p -> p.getUserId().equals(userId));
+        if (!enLobby) {
+            throw new IllegalArgumentException("El jugador no forma parte del lobby");
+        }
+
+        boolean reemplazado = new BackfillService(repositorioUsuario).liberarLugar(scrim, userId);
+        repositorioScrim.actualizar(scrim);
+        return reemplazado;
+    }
+
     /**
      * Lista todas las postulaciones pendientes de un scrim.
      * 
@@ -0,0 +1,337 @@
+package aplicacion.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import aplicacion.builders.FiltrosScrim;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.ParticionRegional;
+import infraestructura.matchmaking.MatchmakingRegistry;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.PoliticaRelajacion;
+import infraestructura.notificaciones.observer.ScrimNotificationObserver;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioScrim;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Re-emparejamiento periódico de scrims abiertos con requisitos que se
+ * relajan según la espera.
+ *
+ * Un planificador recorre cada N ms los scrims en BUSCANDO y calcula, con la
+ * {@link PoliticaRelajacion}, el nivel de relajación que corresponde al
+ * tiempo que llevan abiertos ({@link Scrim#getCreatedAt()}). Cuando el nivel
+ * sube:
+ * 1. Se amplían la ventana de rango y la latencia máxima del scrim
+ * ({@link Scrim#relajarRequisitos}) y se guarda el nivel aplicado
+ * 2. Se relajan los requisitos de fiabilidad de la estrategia del scrim
+ * ({@link MatchmakingStrategy#relajarFiabilidad})
+ * 3. Se vuelve a aplicar la estrategia sobre los jugadores disponibles de la
+ * región que aún no se postularon, y a los elegidos se les notifica o, con
+ * auto-postulación, se los postula
+ *
+ * Así un scrim con una ventana de rango angosta no queda en BUSCANDO para
+ * siempre, sin importar la estrategia que use. Un scrim solo se vuelve a
+ * emparejar cuando cambia de nivel, por lo que cada pasada sobre scrims sin
+ * cambios cuesta solo el recorrido.
+ *
+ * La pasada modifica scrims (rango, latencia, postulaciones) que la interfaz
+ * también lee y modifica. Con {@link #iniciar(long)} corre en un hilo propio,
+ * por lo que solo conviene cuando nada más toca los scrims a la vez; una
+ * aplicación de un solo hilo, como el menú de consola, llama a
+ * {@link #ejecutarSiCorresponde(long)} entre acciones del usuario y así la
+ * pasada nunca corre en paralelo con la interfaz.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * RelajacionMatchmakingService relajacion = new RelajacionMatchmakingService();
+ * // En cada vuelta del menú:
+ * relajacion.ejecutarSiCorresponde(RelajacionMatchmakingService.INTERVALO_POR_DEFECTO_MS);
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see PoliticaRelajacion
+ */
+public class RelajacionMatchmakingService {
+
+    public static final long INTERVALO_POR_DEFECTO_MS = 30_000;
+
+    private final PoliticaRelajacion politica;
+    private final RepositorioScrim repositorioScrim;
+    private final PostulacionService postulacionService;
+    private final boolean autoPostular;
+    private final boolean fallbackInterRegional;
+    private ScrimNotificationObserver notificador;
+    private ScheduledExecutorService planificador;
+    private LocalDateTime ultimaPasada;
+
+    /**
+     * Servicio con la política configurada en {@link MatchmakingRegistry},
+     * que notifica a los jugadores elegidos sin postularlos.
+     */
+    public RelajacionMatchmakingService() {
+        this(PoliticaRelajacion.configurada(), false, false);
+    }
+
+    /**
+     * @param politica              curva de relajación
+     * @param autoPostular          postular a los elegidos en lugar de
+     *                              notificarlos
+     * @param fallbackInterRegional completar con jugadores de otras regiones
+     * @throws IllegalArgumentException si la política es null
+     */
+    public RelajacionMatchmakingService(PoliticaRelajacion politica, boolean autoPostular,
+            boolean fallbackInterRegional) {
+        this(politica, autoPostular, fallbackInterRegional, RepositorioFactory.getRepositorioScrim(),
+                RepositorioFactory.getRepositorioUsuario());
+    }
+
+    public RelajacionMatchmakingService(PoliticaRelajacion politica, boolean autoPostular,
+            boolean fallbackInterRegional, RepositorioScrim repositorioScrim, RepositorioUsuario repositorioUsuario) {
+        if (politica == null) {
+            throw new IllegalArgumentException("La política de relajación no puede ser null");
+        }
+        this.politica = politica;
+        this.autoPostular = autoPostular;
+        this.fallbackInterRegional = fallbackInterRegional;
+        this.repositorioScrim = repositorioScrim;
+        this.postulacionService = new PostulacionService(repositorioScrim, repositorioUsuario);
+    }
+
+    // ========== PLANIFICADOR ==========
+
+    /**
+     * Inicia las pasadas periódicas de re-emparejamiento.
+     *
+     * @param intervaloMs período entre pasadas
+     * @throws IllegalArgumentException si el intervalo no es positivo
+     * @throws IllegalStateException    si ya está iniciado
+     */
+    public synchronized void iniciar(long intervaloMs) {
+        if (intervaloMs <= 0) {
+            throw new IllegalArgumentException("El intervalo entre pasadas debe ser mayor a 0");
+        }
+        if (planificador != null) {
+            throw new IllegalStateException("El re-emparejamiento ya está en ejecución");
+        }
+        planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "relajacion-matchmaking");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        planificador.scheduleAtFixedRate(this::pasadaProgramada, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene las pasadas periódicas (los niveles aplicados se conservan).
+     */
+    public synchronized void detener() {
+        if (planificador != null) {
+            planificador.shutdownNow();
+            planificador = null;
+        }
+    }
+
+    public synchronized boolean estaIniciado() {
+        return planificador != null;
+    }
+
+    private void pasadaProgramada() {
+        try {
+            ejecutarPasada();
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría las ejecuciones siguientes del planificador
+            System.err.println("Error en re-emparejamiento: " + e.getMessage());
+        }
+    }
+
+    // ========== PASADA ==========
+
+    /**
+     * Ejecuta una pasada sobre todos los scrims en BUSCANDO.
+     *
+     * @return scrims cuyo nivel de relajación subió en esta pasada
+     */
+    public List<Relajacion> ejecutarPasada() {
+        return ejecutarPasada(LocalDateTime.now());
+    }
+
+    /**
+     * Ejecuta una pasada en el hilo que llama si pasó al menos el intervalo
+     * desde la anterior (la primera llamada solo empieza a contar).
+     *
+     * @param intervaloMs período mínimo entre pasadas
+     * @return scrims cuyo nivel de relajación subió (vacío si no correspondía
+     *         una pasada)
+     * @throws IllegalArgumentException si el intervalo no es positivo
+     */
+    public synchronized List<Relajacion> ejecutarSiCorresponde(long intervaloMs) {
+        if (intervaloMs <= 0) {
+            throw new IllegalArgumentException("El intervalo entre pasadas debe ser mayor a 0");
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        if (ultimaPasada == null) {
+            ultimaPasada = ahora;
+            return new ArrayList<>();
+        }
+        if (Duration.between(ultimaPasada, ahora).toMillis() < intervaloMs) {
+            return new ArrayList<>();
+        }
+        ultimaPasada = ahora;
+        return ejecutarPasada(ahora);
+    }
+
+    /**
+     * Ejecuta una pasada con un instante explícito (simulaciones con reloj
+     * propio).
+     *
+     * @return scrims cuyo nivel de relajación subió en esta pasada
+     */
+    public synchronized List<Relajacion> ejecutarPasada(LocalDateTime ahora) {
+        List<Relajacion> relajados = new ArrayList<>();
+        List<Scrim> abiertos = repositorioScrim
+                .buscarConFiltros(new FiltrosScrim.Builder().conEstado("BUSCANDO").build());
+        for (Scrim scrim : abiertos) {
+            if (!"BUSCANDO".equals(scrim.getEstado()) || scrim.getCreatedAt() == null) {
+                continue;
+            }
+            long esperaMs = Math.max(0, Duration.between(scrim.getCreatedAt(), ahora).toMillis());
+            int nivel = politica.nivel(esperaMs);
+            if (nivel > scrim.getNivelRelajacion()) {
+                relajados.add(relajar(scrim, nivel, esperaMs));
+            }
+        }
+        return relajados;
+    }
+
+    private Relajacion relajar(Scrim scrim, int nivel, long esperaMs) {
+        int nivelAnterior = scrim.getNivelRelajacion();
+        scrim.relajarRequisitos(nivel, politica.rangoExtra(nivel), politica.latenciaExtra(nivel));
+        repositorioScrim.actualizar(scrim);
+
+        MatchmakingStrategy estrategia = MatchmakingRegistry.getInstance().obtenerParaScrim(scrim)
+                .relajarFiabilidad(politica.relajacionFiabilidad(nivel));
+        List<Usuario> elegidos = elegirJugadores(scrim, estrategia);
+
+        int postulados = 0;
+        if (autoPostular) {
+            postulados = postular(scrim, elegidos);
+        } else if (!elegidos.isEmpty()) {
+            getNotificador().notificarRequisitosAmpliados(scrim, elegidos);
+        }
+        return new Relajacion(scrim, nivelAnterior, nivel, esperaMs, elegidos, postulados);
+    }
+
+    /**
+     * Aplica la estrategia relajada sobre los jugadores disponibles que aún
+     * no se postularon y cumplen los requisitos ya ampliados del scrim (los
+     * mismos que valida la postulación), hasta cubrir las plazas libres.
+     */
+    private List<Usuario> elegirJugadores(Scrim scrim, MatchmakingStrategy estrategia) {
+        int libres = scrim.getPlazasLibres();
+        if (libres <= 0) {
+            return new ArrayList<>();
+        }
+        String juego = scrim.getJuego().getNombre();
+        List<Usuario> candidatos = new ArrayList<>();
+        for (Usuario usuario : ParticionRegional.getInstance().candidatosPara(scrim, fallbackInterRegional)) {
+            Integer rango = usuario.getRangoParaJuego(juego);
+            if (usuario.isDisponible() && rango != null
+                    && rango >= scrim.getRangoMin() && rango <= scrim.getRangoMax()
+                    && (scrim.getLatenciaMax() == -1 || usuario.getLatenciaPromedio() <= scrim.getLatenciaMax())
+                    && !usuario.getId().equals(scrim.getCreatedBy())
+                    && !scrim.yaSePostulo(usuario.getId())) {
+                candidatos.add(usuario);
+            }
+        }
+
+        List<Usuario> seleccionados = new MatchmakerService(estrategia).seleccionarJugadores(candidatos, scrim);
+        return new ArrayList<>(seleccionados.subList(0, Math.min(libres, seleccionados.size())));
+    }
+
+    /**
+     * Postula a los elegidos; una postulación rechazada no detiene al resto.
+     */
+    private int postular(Scrim scrim, List<Usuario> elegidos) {
+        String juego = scrim.getJuego().getNombre();
+        int postulados = 0;
+        for (Usuario usuario : elegidos) {
+            try {
+                postulacionService.postularAScrim(scrim.getId(), usuario.getId(), usuario.getRangoParaJuego(juego),
+                        usuario.getLatenciaPromedio());
+                postulados++;
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                System.err.println("[Relajacion] Scrim " + scrim.getId() + ": " + e.getMessage());
+            }
+        }
+        return postulados;
+    }
+
+    private synchronized ScrimNotificationObserver getNotificador() {
+        if (notificador == null) {
+            notificador = new ScrimNotificationObserver();
+        }
+        return notificador;
+    }
+
+    public PoliticaRelajacion getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Resultado de relajar un scrim en una pasada.
+     */
+    public static class Relajacion {
+        private final Scrim scrim;
+        private final int nivelAnterior;
+        private final int nivel;
+        private final long esperaMs;
+        private final List<Usuario> elegidos;
+        private final int postulados;
+
+        public Relajacion(Scrim scrim, int nivelAnterior, int nivel, long esperaMs, List<Usuario> elegidos,
+                int postulados) {
+            this.scrim = scrim;
+            this.nivelAnterior = nivelAnterior;
+            this.nivel = nivel;
+            this.esperaMs = esperaMs;
+            this.elegidos = elegidos;
+            this.postulados = postulados;
+        }
+
+        public Scrim getScrim() {
+            return scrim;
+        }
+
+        public int getNivelAnterior() {
+            return nivelAnterior;
+        }
+
+        /** Nivel de relajación aplicado en esta pasada. */
+        public int getNivel() {
+            return nivel;
+        }
+
+        /** Tiempo que el scrim llevaba abierto. */
+        public long getEsperaMs() {
+            return esperaMs;
+        }
+
+        /** Jugadores elegidos con los requisitos relajados. */
+        public List<Usuario> getElegidos() {
+            return elegidos;
+        }
+
+        /** Postulaciones aceptadas (0 si solo se notificó). */
+        public int getPostulados() {
+            return postulados;
+        }
+    }
+}
@@ -2,19 +2,28 @@ package aplicacion.services;
 
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.ParticionRegional;
 import infraestructura.notificaciones.observer.ScrimNotificationObserver;
-import infraestructura.persistencia.repository.RepositorioFactory;
-import infraestructura.persistencia.repository.RepositorioUsuario;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ScrimMatchingService {
     
     private ScrimNotificationObserver observer;
+    private final boolean fallbackInterRegional;
     
     public ScrimMatchingService() {
+        this(false);
+    }
+    
+    /**
+     * @param fallbackInterRegional si la región del scrim no tiene jugadores
+     *                              suficientes, notificar también a las demás
+     */
+    public ScrimMatchingService(boolean fallbackInterRegional) {
         this.observer = new ScrimNotificationObserver();
+        this.fallbackInterRegional = fallbackInterRegional;
     }
     
     public void notificarScrimCreado(Scrim scrim) {
@@ -26,12 +35,13 @@ public class ScrimMatchingService {
     }
     
     private List<Usuario> buscarUsuariosInteresados(Scrim scrim) {
-        RepositorioUsuario repo = RepositorioFactory.getRepositorioUsuario();
-        List<Usuario> todosLosUsuarios = repo.listarTodos();
+        // Shard de la región del scrim más los usuarios sin región (o todos si
+        // el scrim no tiene región)
+        List<Usuario> pool = ParticionRegional.getInstance().candidatosPara(scrim, fallbackInterRegional);
         
-        return todosLosUsuarios.stream()
-                .filter(usuario -> coincideConPreferencias(usuario, scrim))
-                .collect(Collectors.toList());
+        // El orden no importa para notificar: recolección sin orden
+        return EscaneoParalelo.getInstance()
+                .filtrarSinOrden(pool, usuario -> coincideConPreferencias(usuario, scrim));
     }
     
     private boolean coincideConPreferencias(Usuario usuario, Scrim scrim) {
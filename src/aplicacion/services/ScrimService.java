@@ -5,10 +5,17 @@ import java.util.Arrays;
 import java.util.List;
 
 import aplicacion.builders.FiltrosScrim;
+import aplicacion.builders.OrdenScrim;
 import aplicacion.builders.ScrimBuilder;
 import dominio.juegos.Juego;
 import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
 import dominio.valueobjects.formatosScrims.ScrimFormat;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.ParticionRegional;
+import infraestructura.busqueda.TopK;
+import infraestructura.matchmaking.MatchmakingRegistry;
+import infraestructura.matchmaking.MatchmakingStrategy;
 import infraestructura.persistencia.repository.RepositorioScrim;
 
 /**
@@ -87,7 +94,7 @@ public class ScrimService {
      * @param rangoMax              El rango máximo requerido
      * @param latenciaMax           La latencia máxima permitida
      * @param estrategiaMatchmaking La estrategia de matchmaking ("MMR", "Latency",
-     *                              "History")
+     *                              "History", "Composite")
      * @param organizadorId         El ID del usuario que organiza el scrim
      * @return El scrim creado con su ID asignado
      * @throws IllegalArgumentException Si algún parámetro es inválido
@@ -101,6 +108,7 @@ public class ScrimService {
         if (estrategiaMatchmaking == null || estrategiaMatchmaking.trim().isEmpty()) {
             throw new IllegalArgumentException("La estrategia de matchmaking no puede ser null o vacía");
         }
+        estrategiaMatchmaking = nombreRegistrado(estrategiaMatchmaking);
 
         // Obtener roles del juego
         var roles = juego.getRolesDisponibles().stream()
@@ -144,6 +152,52 @@ public class ScrimService {
         return repositorioScrim.buscarConFiltros(filtros);
     }
 
+    /**
+     * Busca los mejores scrims según un criterio de orden, devolviendo como
+     * máximo {@code limite} resultados.
+     * 
+     * Usa un heap acotado sobre el recorrido del repositorio: nunca construye ni
+     * ordena la lista completa de coincidencias (O(n log k) tiempo, O(k)
+     * memoria).
+     * 
+     * @param filtros    Los filtros de búsqueda
+     * @param orden      Criterio de ordenamiento
+     * @param limite     Cantidad máxima de resultados
+     * @param referencia Usuario de referencia (requerido para
+     *                   {@link OrdenScrim#RANGO_MAS_CERCANO}, puede ser null
+     *                   para el resto)
+     * @return Lista ordenada (mejor primero) de como máximo {@code limite} scrims
+     * @throws IllegalArgumentException Si algún parámetro es inválido
+     */
+    public List<Scrim> buscarScrims(FiltrosScrim filtros, OrdenScrim orden, int limite, Usuario referencia) {
+        if (filtros == null) {
+            throw new IllegalArgumentException("Los filtros no pueden ser nulos");
+        }
+        if (orden == null) {
+            throw new IllegalArgumentException("El orden es requerido");
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a 0");
+        }
+
+        TopK<Scrim> mejores = new TopK<>(limite, orden.comparador(referencia));
+        repositorioScrim.recorrerConFiltros(filtros, mejores::ofrecer);
+        return mejores.obtenerOrdenados();
+    }
+
+    /**
+     * Busca los mejores scrims según un criterio que no depende del usuario.
+     * 
+     * @param filtros Los filtros de búsqueda
+     * @param orden   Criterio de ordenamiento
+     * @param limite  Cantidad máxima de resultados
+     * @return Lista ordenada (mejor primero) de como máximo {@code limite} scrims
+     * @throws IllegalArgumentException Si el criterio requiere un usuario
+     */
+    public List<Scrim> buscarScrims(FiltrosScrim filtros, OrdenScrim orden, int limite) {
+        return buscarScrims(filtros, orden, limite, null);
+    }
+
     /**
      * Obtiene todos los scrims disponibles sin aplicar filtros.
      * 
@@ -162,17 +216,33 @@ public class ScrimService {
      * @return Lista de scrims disponibles para postularse
      */
     public List<Scrim> obtenerScrimsDisponibles(String userId) {
-        return repositorioScrim.obtenerTodos().stream()
-                .filter(scrim -> {
-                    // Debe estar en estado BUSCANDO
-                    if (scrim.getState() == null) {
-                        scrim.reconstruirEstado();
-                    }
-                    return "BUSCANDO".equals(scrim.getState().getEstado());
-                })
-                .filter(scrim -> !scrim.getCreatedBy().equals(userId)) // No puede postularse a su propio scrim
-                .filter(scrim -> !scrim.yaSePostulo(userId)) // No se ha postulado antes
-                .toList();
+        return EscaneoParalelo.getInstance().filtrar(repositorioScrim.obtenerTodos(), scrim -> {
+            // Debe estar en estado BUSCANDO
+            if (scrim.getState() == null) {
+                scrim.reconstruirEstado();
+            }
+            return "BUSCANDO".equals(scrim.getState().getEstado())
+                    && !scrim.getCreatedBy().equals(userId) // No puede postularse a su propio scrim
+                    && !scrim.yaSePostulo(userId); // No se ha postulado antes
+        });
+    }
+
+    /**
+     * Obtiene los scrims disponibles para un usuario recorriendo solo el shard
+     * de su región (más los scrims sin región).
+     * 
+     * @param userId                ID del usuario
+     * @param region                región del usuario
+     * @param fallbackInterRegional si no hay scrims en la región, buscar en
+     *                              todas las demás
+     * @return scrims en BUSCANDO a los que el usuario puede postularse
+     */
+    public List<Scrim> obtenerScrimsDisponiblesEnRegion(String userId, String region,
+            boolean fallbackInterRegional) {
+        List<Scrim> abiertos = ParticionRegional.getInstance().scrimsAbiertos(region, fallbackInterRegional);
+        return EscaneoParalelo.getInstance().filtrar(abiertos, scrim -> "BUSCANDO".equals(scrim.getEstado())
+                && !userId.equals(scrim.getCreatedBy())
+                && !scrim.yaSePostulo(userId));
     }
 
     /**
@@ -279,9 +349,8 @@ public class ScrimService {
             throw new IllegalArgumentException("El ID del organizador es requerido");
         }
 
-        return repositorioScrim.obtenerTodos().stream()
-                .filter(scrim -> organizadorId.equals(scrim.getCreatedBy()))
-                .toList();
+        return EscaneoParalelo.getInstance()
+                .filtrar(repositorioScrim.obtenerTodos(), scrim -> organizadorId.equals(scrim.getCreatedBy()));
     }
 
     /**
@@ -308,7 +377,7 @@ public class ScrimService {
         }
 
         // Cambiar la estrategia
-        scrim.setEstrategiaMatchmaking(nuevaEstrategia.trim());
+        scrim.setEstrategiaMatchmaking(nombreRegistrado(nuevaEstrategia));
 
         // Guardar cambios usando actualizar() en lugar de guardar()
         boolean actualizado = repositorioScrim.actualizar(scrim);
@@ -317,6 +386,19 @@ public class ScrimService {
         }
     }
 
+    /**
+     * Nombre con el que está registrada una estrategia (ej: "mmr" → "MMR").
+     *
+     * @throws IllegalArgumentException si la estrategia no existe
+     */
+    private static String nombreRegistrado(String estrategia) {
+        MatchmakingStrategy registrada = MatchmakingRegistry.getInstance().obtenerPorNombre(estrategia.trim());
+        if (registrada == null) {
+            throw new IllegalArgumentException("Estrategia de matchmaking desconocida: " + estrategia);
+        }
+        return registrada.getNombre();
+    }
+
     /**
      * Inicia una partida de scrim.
      * Cambia el estado del scrim a EN_JUEGO y persiste los cambios automáticamente.
@@ -0,0 +1,353 @@
+package compartido.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import dominio.juegos.Juego;
+import dominio.juegos.JuegosRegistry;
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Usuario;
+import dominio.roles.RolJuego;
+
+/**
+ * Generador de poblaciones sintéticas de usuarios para simulaciones y
+ * benchmarks de matchmaking.
+ *
+ * A diferencia de los usuarios armados a mano de los tests, la población
+ * sigue distribuciones realistas:
+ * - Juego principal según la popularidad de cada juego; un tercio de los
+ * jugadores tiene además un segundo juego con rango correlacionado
+ * - Rango por juego con distribución normal propia de cada juego (escala
+ * 1-100), cargada hacia los rangos bajos como en los ladders reales
+ * - Región según su peso en la plataforma y latencia log-normal alrededor de
+ * la mediana de la región
+ * - Historial con un perfil de comportamiento (ejemplar, promedio,
+ * conflictivo o nuevo) que fija partidas jugadas, abandonos y fair play
+ * - Roles preferidos según la popularidad de cada rol en el juego
+ * - Franja horaria de disponibilidad concentrada en la tarde-noche
+ *
+ * Es reproducible: con la misma semilla genera los mismos perfiles en el
+ * mismo orden (los ids de usuario son UUID aleatorios, por lo que solo
+ * coinciden los usernames y los atributos). Los usuarios generados no están
+ * suscriptos a notificaciones, para que las simulaciones no envíen mensajes.
+ *
+ * Para poblaciones grandes (1M usuarios) conviene {@link #generar(int,
+ * Consumer)}, que entrega los usuarios de a uno sin acumularlos.
+ *
+ * @author eScrims Team
+ */
+public class GeneradorPoblacion {
+
+    public static final String PASSWORD_SIMULADA = "simulado";
+
+    /** Regiones (las de PerfilValidator), con su peso y latencia mediana en ms. */
+    private static final String[] REGIONES = { "LATAM", "NA", "EUW", "KR", "ASIA", "OCE", "RU" };
+    private static final double[] PESO_REGION = { 0.22, 0.24, 0.26, 0.08, 0.10, 0.04, 0.06 };
+    private static final double[] LATENCIA_MEDIANA_REGION = { 65, 35, 30, 15, 50, 45, 55 };
+    private static final double SIGMA_LATENCIA = 0.4;
+    private static final int LATENCIA_MINIMA = 5;
+    private static final int LATENCIA_MAXIMA = 400;
+
+    private static final double PROBABILIDAD_SEGUNDO_JUEGO = 0.35;
+    private static final double PROBABILIDAD_SEGUNDO_ROL = 0.3;
+    private static final double EXPONENTE_POPULARIDAD_ROL = 0.8;
+
+    /**
+     * Perfil de comportamiento de un jugador, con su peso en la población.
+     */
+    public enum PerfilComportamiento {
+        EJEMPLAR(0.25),
+        PROMEDIO(0.55),
+        CONFLICTIVO(0.10),
+        NUEVO(0.10);
+
+        private final double peso;
+
+        PerfilComportamiento(double peso) {
+            this.peso = peso;
+        }
+
+        public double getPeso() {
+            return peso;
+        }
+    }
+
+    /**
+     * Distribución de rangos de un juego (normal truncada a 1-100).
+     */
+    public static class DistribucionRango {
+        private final double media;
+        private final double desvio;
+
+        public DistribucionRango(double media, double desvio) {
+            if (desvio <= 0) {
+                throw new IllegalArgumentException("El desvío debe ser positivo");
+            }
+            this.media = media;
+            this.desvio = desvio;
+        }
+
+        public double getMedia() {
+            return media;
+        }
+
+        public double getDesvio() {
+            return desvio;
+        }
+    }
+
+    private static final DistribucionRango RANGO_POR_DEFECTO = new DistribucionRango(45, 18);
+
+    private final Random random;
+    private final List<Juego> juegos;
+    private final double[] pesoJuego;
+    private final Map<String, DistribucionRango> rangoPorJuego;
+    private final Map<String, List<String>> rolesPorPopularidad;
+    private final String prefijo;
+    private int generados;
+
+    /**
+     * Generador con los juegos registrados y el prefijo "sim".
+     *
+     * @param semilla semilla del generador
+     */
+    public GeneradorPoblacion(long semilla) {
+        this(semilla, JuegosRegistry.getInstance().getJuegosDisponibles(), "sim");
+    }
+
+    /**
+     * @param semilla semilla del generador
+     * @param juegos  juegos de la población
+     * @param prefijo prefijo de usernames y emails (distintas poblaciones en
+     *                un mismo repositorio deben usar prefijos distintos)
+     */
+    public GeneradorPoblacion(long semilla, List<Juego> juegos, String prefijo) {
+        if (juegos == null || juegos.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un juego");
+        }
+        if (prefijo == null || prefijo.trim().isEmpty()) {
+            throw new IllegalArgumentException("El prefijo no puede ser vacío");
+        }
+        this.random = new Random(semilla);
+        this.juegos = new ArrayList<>(juegos);
+        this.prefijo = prefijo.trim();
+
+        this.pesoJuego = new double[this.juegos.size()];
+        this.rangoPorJuego = new HashMap<>();
+        this.rolesPorPopularidad = new HashMap<>();
+        for (int i = 0; i < this.juegos.size(); i++) {
+            Juego juego = this.juegos.get(i);
+            pesoJuego[i] = popularidadDe(juego.getNombre());
+            rangoPorJuego.put(juego.getNombre(), distribucionPorDefecto(juego.getNombre()));
+
+            // Popularidad de roles: permutación fija por semilla, con peso decreciente
+            List<String> roles = new ArrayList<>();
+            for (RolJuego rol : juego.getRolesDisponibles()) {
+                roles.add(rol.getNombre());
+            }
+            Collections.shuffle(roles, random);
+            rolesPorPopularidad.put(juego.getNombre(), roles);
+        }
+    }
+
+    private static double popularidadDe(String juego) {
+        switch (juego) {
+            case "League of Legends":
+                return 0.45;
+            case "Counter-Strike":
+                return 0.30;
+            case "Valorant":
+                return 0.25;
+            default:
+                return 0.20;
+        }
+    }
+
+    private static DistribucionRango distribucionPorDefecto(String juego) {
+        switch (juego) {
+            case "League of Legends":
+                return new DistribucionRango(42, 18);
+            case "Counter-Strike":
+                return new DistribucionRango(50, 20);
+            case "Valorant":
+                return new DistribucionRango(38, 16);
+            default:
+                return RANGO_POR_DEFECTO;
+        }
+    }
+
+    /**
+     * Reemplaza la distribución de rangos de un juego.
+     */
+    public GeneradorPoblacion conDistribucionRango(String juego, DistribucionRango distribucion) {
+        if (juego == null || distribucion == null) {
+            throw new IllegalArgumentException("Juego y distribución no pueden ser null");
+        }
+        rangoPorJuego.put(juego, distribucion);
+        return this;
+    }
+
+    // ========== GENERACIÓN ==========
+
+    /**
+     * Genera una población completa.
+     *
+     * @param cantidad cantidad de usuarios
+     * @return usuarios en orden de generación
+     */
+    public List<Usuario> generar(int cantidad) {
+        List<Usuario> usuarios = new ArrayList<>(Math.max(0, cantidad));
+        generar(cantidad, usuarios::add);
+        return usuarios;
+    }
+
+    /**
+     * Genera una población entregando los usuarios de a uno (ej: directo al
+     * repositorio), sin mantenerlos en una lista intermedia.
+     *
+     * @param cantidad cantidad de usuarios
+     * @param destino  receptor de cada usuario generado
+     */
+    public void generar(int cantidad, Consumer<Usuario> destino) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa");
+        }
+        for (int i = 0; i < cantidad; i++) {
+            destino.accept(generarUsuario());
+        }
+    }
+
+    /**
+     * Genera el siguiente usuario de la secuencia.
+     */
+    public Usuario generarUsuario() {
+        int numero = ++generados;
+        String username = prefijo + numero;
+        Usuario usuario = new Usuario(username, username + "@" + prefijo + ".escrims.com", PASSWORD_SIMULADA);
+        usuario.unsubscribeFromAllEvents();
+
+        // Región y latencia
+        int region = elegir(PESO_REGION);
+        usuario.setRegion(REGIONES[region]);
+        usuario.setLatenciaPromedio(latencia(LATENCIA_MEDIANA_REGION[region]));
+
+        // Juego principal y, a veces, un segundo juego con habilidad correlacionada
+        int principal = elegir(pesoJuego);
+        Juego juego = juegos.get(principal);
+        usuario.setJuegoPrincipal(juego);
+        double habilidad = random.nextGaussian();
+        asignarJuego(usuario, juego, habilidad);
+        if (juegos.size() > 1 && random.nextDouble() < PROBABILIDAD_SEGUNDO_JUEGO) {
+            int segundo = (principal + 1 + random.nextInt(juegos.size() - 1)) % juegos.size();
+            asignarJuego(usuario, juegos.get(segundo), 0.7 * habilidad + 0.3 * random.nextGaussian());
+        }
+
+        usuario.setDisponibilidad(franjaHoraria());
+        usuario.setHistorial(historial(usuario.getId(), elegirPerfil()));
+        return usuario;
+    }
+
+    private void asignarJuego(Usuario usuario, Juego juego, double habilidad) {
+        DistribucionRango distribucion = rangoPorJuego.getOrDefault(juego.getNombre(), RANGO_POR_DEFECTO);
+        int rango = (int) Math.round(distribucion.getMedia() + habilidad * distribucion.getDesvio());
+        usuario.setRangoParaJuego(juego.getNombre(), Math.max(1, Math.min(100, rango)));
+
+        List<String> roles = rolesPorPopularidad.get(juego.getNombre());
+        if (roles == null || roles.isEmpty()) {
+            return;
+        }
+        int primero = rolPorPopularidad(roles.size());
+        usuario.agregarRolPreferido(juego, roles.get(primero));
+        if (roles.size() > 1 && random.nextDouble() < PROBABILIDAD_SEGUNDO_ROL) {
+            int segundo = (primero + 1 + random.nextInt(roles.size() - 1)) % roles.size();
+            usuario.agregarRolPreferido(juego, roles.get(segundo));
+        }
+    }
+
+    private int rolPorPopularidad(int cantidadRoles) {
+        double[] pesos = new double[cantidadRoles];
+        for (int i = 0; i < cantidadRoles; i++) {
+            pesos[i] = 1.0 / Math.pow(i + 1, EXPONENTE_POPULARIDAD_ROL);
+        }
+        return elegir(pesos);
+    }
+
+    private int latencia(double mediana) {
+        double valor = mediana * Math.exp(SIGMA_LATENCIA * random.nextGaussian());
+        return (int) Math.max(LATENCIA_MINIMA, Math.min(LATENCIA_MAXIMA, Math.round(valor)));
+    }
+
+    private String franjaHoraria() {
+        int inicio = (int) Math.round(19 + 2.5 * random.nextGaussian());
+        inicio = Math.max(8, Math.min(21, inicio));
+        int fin = Math.min(23, inicio + 2 + random.nextInt(4));
+        return String.format("%02d:00-%02d:00", inicio, fin);
+    }
+
+    private PerfilComportamiento elegirPerfil() {
+        PerfilComportamiento[] perfiles = PerfilComportamiento.values();
+        double[] pesos = new double[perfiles.length];
+        for (int i = 0; i < perfiles.length; i++) {
+            pesos[i] = perfiles[i].getPeso();
+        }
+        return perfiles[elegir(pesos)];
+    }
+
+    private HistorialUsuario historial(String userId, PerfilComportamiento perfil) {
+        int jugadas;
+        double tasaAbandono;
+        double fairPlay;
+        switch (perfil) {
+            case EJEMPLAR:
+                jugadas = 50 + random.nextInt(251);
+                tasaAbandono = 0.02 * random.nextDouble();
+                fairPlay = 0.9 + 0.1 * random.nextDouble();
+                break;
+            case CONFLICTIVO:
+                jugadas = 10 + random.nextInt(111);
+                tasaAbandono = 0.10 + 0.25 * random.nextDouble();
+                fairPlay = 0.3 + 0.4 * random.nextDouble();
+                break;
+            case NUEVO:
+                jugadas = random.nextInt(6);
+                tasaAbandono = 0.0;
+                fairPlay = 1.0;
+                break;
+            case PROMEDIO:
+            default:
+                jugadas = 10 + random.nextInt(141);
+                tasaAbandono = 0.02 + 0.08 * random.nextDouble();
+                fairPlay = 0.7 + 0.25 * random.nextDouble();
+                break;
+        }
+        int abandonadas = (int) Math.round(jugadas * tasaAbandono);
+        LocalDateTime ultimaActividad = LocalDateTime.now().minusHours(random.nextInt(24 * 30));
+        return new HistorialUsuario(userId, jugadas, abandonadas, fairPlay, ultimaActividad);
+    }
+
+    private int elegir(double[] pesos) {
+        double total = 0;
+        for (double peso : pesos) {
+            total += peso;
+        }
+        double objetivo = random.nextDouble() * total;
+        for (int i = 0; i < pesos.length; i++) {
+            objetivo -= pesos[i];
+            if (objetivo < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    /** Cantidad de usuarios generados hasta ahora. */
+    public int getGenerados() {
+        return generados;
+    }
+}
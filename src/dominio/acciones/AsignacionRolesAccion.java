@@ -0,0 +1,141 @@
+package dominio.acciones;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import aplicacion.builders.ScrimOrganizador;
+import dominio.modelo.ParticipanteScrim;
+import dominio.modelo.Usuario;
+import dominio.roles.RolJuego;
+
+/**
+ * Acción compuesta que asigna de una sola vez los roles de todo un lobby.
+ *
+ * Los jugadores que ya son participantes cambian de rol; los que todavía no
+ * lo son se agregan como participantes con el rol calculado. Deshacer la
+ * acción revierte todo el lote: restaura los roles anteriores y quita a los
+ * participantes agregados.
+ *
+ * A diferencia de {@link AsignarRolAccion}, no exige que el rol esté libre en
+ * todo el scrim: en un lobby de dos equipos cada rol aparece una vez por
+ * equipo.
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.AsignacionRolesService
+ */
+public class AsignacionRolesAccion implements AccionOrganizador {
+
+    private static final String TIPO_ACCION = "ASIGNACION_ROLES";
+
+    private final Map<Usuario, RolJuego> asignaciones;
+
+    // Se guardan al ejecutar para poder deshacer
+    private final Map<String, RolJuego> rolesAnteriores;
+    private final List<String> participantesAgregados;
+    private boolean ejecutada;
+
+    /**
+     * @param asignaciones rol a asignar a cada jugador del lobby
+     * @throws IllegalArgumentException si no hay asignaciones o alguna está
+     *                                  incompleta
+     */
+    public AsignacionRolesAccion(Map<Usuario, RolJuego> asignaciones) {
+        if (asignaciones == null || asignaciones.isEmpty()) {
+            throw new IllegalArgumentException("Debe haber al menos una asignación de rol");
+        }
+        for (Map.Entry<Usuario, RolJuego> entrada : asignaciones.entrySet()) {
+            if (entrada.getKey() == null || entrada.getValue() == null) {
+                throw new IllegalArgumentException("Cada asignación debe tener usuario y rol");
+            }
+        }
+
+        this.asignaciones = new LinkedHashMap<>(asignaciones);
+        this.rolesAnteriores = new LinkedHashMap<>();
+        this.participantesAgregados = new ArrayList<>();
+    }
+
+    /**
+     * Aplica todas las asignaciones.
+     *
+     * @param organizador el organizador del scrim
+     * @throws IllegalArgumentException si algún rol no es válido para el juego
+     */
+    @Override
+    public void ejecutar(ScrimOrganizador organizador) {
+        for (RolJuego rol : asignaciones.values()) {
+            if (!organizador.getScrim().getJuego().esRolValido(rol)) {
+                throw new IllegalArgumentException(
+                        String.format("El rol '%s' no es válido para el juego '%s'",
+                                rol.getNombre(),
+                                organizador.getScrim().getJuego().getNombre()));
+            }
+        }
+
+        rolesAnteriores.clear();
+        participantesAgregados.clear();
+        for (Map.Entry<Usuario, RolJuego> entrada : asignaciones.entrySet()) {
+            Usuario usuario = entrada.getKey();
+            ParticipanteScrim participante = organizador.buscarParticipante(usuario.getUsername());
+            if (participante == null) {
+                organizador.agregarParticipante(new ParticipanteScrim(usuario, entrada.getValue()));
+                participantesAgregados.add(usuario.getUsername());
+            } else {
+                rolesAnteriores.put(usuario.getUsername(), participante.getRolAsignado());
+                participante.setRolAsignado(entrada.getValue());
+            }
+        }
+        ejecutada = true;
+    }
+
+    /**
+     * Revierte el lote completo.
+     *
+     * @param organizador el organizador del scrim
+     * @throws IllegalStateException si no se ejecutó la acción previamente
+     */
+    @Override
+    public void deshacer(ScrimOrganizador organizador) {
+        if (!ejecutada) {
+            throw new IllegalStateException(
+                    "No se puede deshacer: la acción no fue ejecutada");
+        }
+
+        for (Map.Entry<String, RolJuego> anterior : rolesAnteriores.entrySet()) {
+            ParticipanteScrim participante = organizador.buscarParticipante(anterior.getKey());
+            if (participante != null && anterior.getValue() != null) {
+                participante.setRolAsignado(anterior.getValue());
+            }
+        }
+        for (String userId : participantesAgregados) {
+            organizador.removerParticipante(userId);
+        }
+        ejecutada = false;
+    }
+
+    /**
+     * @param organizador el organizador del scrim
+     * @return true si el scrim no está bloqueado y todos los roles son válidos
+     */
+    @Override
+    public boolean puedeEjecutarse(ScrimOrganizador organizador) {
+        return !organizador.isBloqueado()
+                && asignaciones.values().stream()
+                        .allMatch(rol -> organizador.getScrim().getJuego().esRolValido(rol));
+    }
+
+    @Override
+    public String getDescripcion() {
+        return String.format("Asignar automáticamente los roles de %d jugadores", asignaciones.size());
+    }
+
+    @Override
+    public String getTipoAccion() {
+        return TIPO_ACCION;
+    }
+
+    public Map<Usuario, RolJuego> getAsignaciones() {
+        return new LinkedHashMap<>(asignaciones);
+    }
+}
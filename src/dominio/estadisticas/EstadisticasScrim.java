@@ -2,6 +2,7 @@ package dominio.estadisticas;
 
 import dominio.modelo.Scrim;
 import compartido.utils.SimuladorPartida;
+import infraestructura.matchmaking.BalanceadorEquipos;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -14,9 +15,16 @@ import java.util.*;
  * scrim.
  */
 public class EstadisticasScrim {
+    public static final String LADO_A = "A";
+    public static final String LADO_B = "B";
+
     private String scrimId;
     private Scrim scrimReferencia; // Referencia al scrim para acceder a juego y formato
 
+    // Equipos de la partida (ids), fijados al guardar las estadísticas
+    private List<String> equipoA;
+    private List<String> equipoB;
+
     // Estadísticas individuales por jugador
     private Map<String, EstadisticasJugador> estadisticasPorJugador;
 
@@ -32,7 +40,9 @@ public class EstadisticasScrim {
     private LocalDateTime fechaHoraInicio;
     private LocalDateTime fechaHoraFin;
     private String ganador;
+    private String ladoGanador; // LADO_A, LADO_B o null si no se conoce
     private int duracionMinutos;
+    private boolean calificada; // el resultado ya actualizó las calificaciones
 
     public EstadisticasScrim(Scrim scrim) {
         this.scrimId = scrim.getId();
@@ -190,9 +200,22 @@ public class EstadisticasScrim {
             this.ganador = determinarGanadorPorEstadisticas(equipos[0], equipos[1]);
         } else {
             this.ganador = equipoGanador;
+            this.ladoGanador = ladoDesdeNombre(equipoGanador);
         }
     }
 
+    /**
+     * Lado de un ganador indicado a mano: "A", "Equipo A", "equipoB", etc.
+     * Cualquier otro nombre no identifica un lado.
+     */
+    private static String ladoDesdeNombre(String equipo) {
+        String nombre = equipo.trim().toUpperCase().replace(" ", "");
+        if (nombre.startsWith("EQUIPO")) {
+            nombre = nombre.substring("EQUIPO".length());
+        }
+        return LADO_A.equals(nombre) || LADO_B.equals(nombre) ? nombre : null;
+    }
+
     /**
      * Finaliza la partida con simulación completa de equipos.
      * Útil cuando no se tiene información previa de equipos.
@@ -218,28 +241,79 @@ public class EstadisticasScrim {
 
     /**
      * Determina el equipo ganador basándose en las estadísticas de los jugadores.
-     * Asigna jugadores aleatoriamente a equipos y calcula el rendimiento promedio.
+     * Usa los equipos balanceados del scrim y compara el rendimiento promedio.
      */
     private String determinarGanadorPorEstadisticas(String equipo1, String equipo2) {
         if (estadisticasPorJugador.isEmpty()) {
             // Si no hay estadísticas, usar aleatorio como fallback
-            return SimuladorPartida.determinarGanadorAleatorio(equipo1, equipo2);
+            String ganadorAleatorio = SimuladorPartida.determinarGanadorAleatorio(equipo1, equipo2);
+            this.ladoGanador = ganadorAleatorio.equals(equipo1) ? LADO_A : LADO_B;
+            return ganadorAleatorio;
         }
 
-        // Dividir jugadores en dos equipos aleatoriamente
-        java.util.List<EstadisticasJugador> jugadores = new java.util.ArrayList<>(estadisticasPorJugador.values());
-        java.util.Collections.shuffle(jugadores);
-
-        int mitad = jugadores.size() / 2;
-        java.util.List<EstadisticasJugador> equipoA = jugadores.subList(0, mitad);
-        java.util.List<EstadisticasJugador> equipoB = jugadores.subList(mitad, jugadores.size());
+        List<List<String>> equipos = obtenerEquipos();
+        List<EstadisticasJugador> equipoA = estadisticasDe(equipos.get(0));
+        List<EstadisticasJugador> equipoB = estadisticasDe(equipos.get(1));
 
         // Calcular rendimiento promedio de cada equipo
         double rendimientoA = calcularRendimientoEquipo(equipoA);
         double rendimientoB = calcularRendimientoEquipo(equipoB);
 
         // El equipo con mejor rendimiento gana
-        return rendimientoA > rendimientoB ? equipo1 : equipo2;
+        this.ladoGanador = rendimientoA > rendimientoB ? LADO_A : LADO_B;
+        return LADO_A.equals(ladoGanador) ? equipo1 : equipo2;
+    }
+
+    /**
+     * Fija los equipos de la partida. Se llama al guardar las estadísticas
+     * (ver {@code EstadisticasService#obtenerEstadisticasParaScrim}) y se
+     * persisten con ellas, para que todas las consultas y el resultado usen
+     * la misma formación.
+     *
+     * @throws IllegalArgumentException si algún equipo es null
+     */
+    public void fijarEquipos(List<String> equipoA, List<String> equipoB) {
+        if (equipoA == null || equipoB == null) {
+            throw new IllegalArgumentException("Los equipos no pueden ser null");
+        }
+        this.equipoA = new ArrayList<>(equipoA);
+        this.equipoB = new ArrayList<>(equipoB);
+    }
+
+    public boolean tieneEquipos() {
+        return equipoA != null && equipoB != null;
+    }
+
+    /**
+     * Equipos de la partida (ids), sin modificar nada: los fijados al
+     * guardar las estadísticas, los del scrim de referencia o, si no hay
+     * ninguno (estadísticas creadas solo con el id del scrim), una división
+     * determinista de los jugadores con estadísticas, sin considerar rangos.
+     *
+     * @return [ids del equipo A, ids del equipo B]
+     */
+    public List<List<String>> obtenerEquipos() {
+        if (tieneEquipos()) {
+            return List.of(List.copyOf(equipoA), List.copyOf(equipoB));
+        }
+        if (scrimReferencia != null && scrimReferencia.tieneEquipos()) {
+            return List.of(scrimReferencia.getEquipoA(), scrimReferencia.getEquipoB());
+        }
+        List<String> ids = new ArrayList<>(estadisticasPorJugador.keySet());
+        Collections.sort(ids);
+        BalanceadorEquipos.Division division = BalanceadorEquipos.balancear(ids, new int[ids.size()], null);
+        return List.of(division.getEquipoA(), division.getEquipoB());
+    }
+
+    private List<EstadisticasJugador> estadisticasDe(List<String> ids) {
+        List<EstadisticasJugador> equipo = new ArrayList<>();
+        for (String id : ids) {
+            EstadisticasJugador stats = estadisticasPorJugador.get(id);
+            if (stats != null) {
+                equipo.add(stats);
+            }
+        }
+        return equipo;
     }
 
     /**
@@ -304,10 +378,34 @@ public class EstadisticasScrim {
         return ganador;
     }
 
+    /**
+     * Lado ganador ({@link #LADO_A} o {@link #LADO_B}) respecto de
+     * {@link #obtenerEquipos()}, o null si la partida no terminó o el ganador
+     * se indicó con un nombre que no identifica un lado.
+     */
+    public String getLadoGanador() {
+        return ladoGanador;
+    }
+
     public int getDuracionMinutos() {
         return duracionMinutos;
     }
 
+    /**
+     * Indica si el resultado ya se aplicó a las calificaciones de los
+     * jugadores. Una partida con lado ganador y sin calificar está pendiente
+     * en el período abierto de su juego.
+     *
+     * @see aplicacion.services.CalificacionService
+     */
+    public boolean isCalificada() {
+        return calificada;
+    }
+
+    public void marcarCalificada() {
+        this.calificada = true;
+    }
+
     /**
      * Obtiene una descripción del tipo de partida basada en su duración.
      */
@@ -324,12 +422,9 @@ public class EstadisticasScrim {
             return "No hay jugadores registrados";
         }
 
-        java.util.List<EstadisticasJugador> jugadores = new java.util.ArrayList<>(estadisticasPorJugador.values());
-        java.util.Collections.shuffle(jugadores); // Usar la misma lógica que en determinarGanadorPorEstadisticas
-
-        int mitad = jugadores.size() / 2;
-        java.util.List<EstadisticasJugador> equipoA = jugadores.subList(0, mitad);
-        java.util.List<EstadisticasJugador> equipoB = jugadores.subList(mitad, jugadores.size());
+        List<List<String>> equipos = obtenerEquipos();
+        List<EstadisticasJugador> equipoA = estadisticasDe(equipos.get(0));
+        List<EstadisticasJugador> equipoB = estadisticasDe(equipos.get(1));
 
         StringBuilder sb = new StringBuilder();
         sb.append("FORMACIÓN DE EQUIPOS:\n");
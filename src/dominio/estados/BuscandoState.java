@@ -4,11 +4,13 @@ import dominio.modelo.Confirmacion;
 import dominio.modelo.Postulacion;
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.matchmaking.BalanceadorEquipos;
 import infraestructura.notificaciones.observer.ScrimNotificationObserver;
 import infraestructura.persistencia.repository.RepositorioFactory;
 import infraestructura.persistencia.repository.RepositorioUsuario;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -103,10 +105,27 @@ public class BuscandoState implements ScrimState {
      * jugador.
      */
     private void transicionarALobbyArmado(Scrim scrim) {
-        // Generar confirmaciones para cada jugador aceptado
+        // Generar confirmaciones para cada jugador aceptado; quienes ya
+        // respondieron antes de que alguien rechazara conservan la suya
+        Set<String> aceptados = scrim.getPostulacionesAceptadas().stream()
+                .map(Postulacion::getUserId)
+                .collect(Collectors.toSet());
+        scrim.getConfirmaciones().removeIf(c -> !aceptados.contains(c.getUserId()));
+        Set<String> conConfirmacion = scrim.getConfirmaciones().stream()
+                .map(Confirmacion::getUserId)
+                .collect(Collectors.toSet());
         for (Postulacion postulacion : scrim.getPostulacionesAceptadas()) {
-            Confirmacion confirmacion = new Confirmacion(scrim.getId(), postulacion.getUserId());
-            scrim.getConfirmaciones().add(confirmacion);
+            if (!conConfirmacion.contains(postulacion.getUserId())) {
+                Confirmacion confirmacion = new Confirmacion(scrim.getId(), postulacion.getUserId());
+                scrim.getConfirmaciones().add(confirmacion);
+            }
+        }
+
+        // Formar equipos balanceados por MMR (se persisten con el scrim)
+        try {
+            BalanceadorEquipos.asignarEquipos(scrim);
+        } catch (Exception e) {
+            System.err.println("Error al formar los equipos: " + e.getMessage());
         }
 
         // Cambiar estado
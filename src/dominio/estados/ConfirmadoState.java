@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import aplicacion.services.BackfillService;
 import dominio.modelo.Confirmacion;
 import dominio.modelo.Postulacion;
 import dominio.modelo.Scrim;
@@ -23,8 +24,10 @@ import infraestructura.persistencia.repository.RepositorioUsuario;
  * - A CANCELADO: si el organizador cancela antes del inicio
  * 
  * Reglas de negocio:
- * - NO se aceptan postulaciones ni confirmaciones
- * - Solo se puede iniciar o cancelar
+ * - NO se aceptan confirmaciones; las postulaciones quedan en la lista de
+ * espera
+ * - Si un jugador no se presenta o es expulsado, el mejor de la lista de
+ * espera ocupa su lugar y el scrim vuelve a LOBBY_ARMADO hasta que confirme
  * 
  * @author eScrims Team
  */
@@ -32,8 +35,11 @@ public class ConfirmadoState implements ScrimState {
 
     @Override
     public void postular(Scrim scrim, Postulacion postulacion) {
-        throw new IllegalStateException("No se pueden aceptar postulaciones en estado CONFIRMADO. " +
-                "El scrim ya está confirmado");
+        if (scrim.yaSePostulo(postulacion.getUserId())) {
+            throw new IllegalStateException("El usuario ya se postuló a este scrim");
+        }
+        // El cupo está completo: queda en la lista de espera por si alguien falta
+        new BackfillService().ponerEnEspera(scrim, postulacion);
     }
 
     @Override
@@ -11,6 +11,7 @@ import infraestructura.persistencia.repository.RepositorioUsuario;
 import infraestructura.notificaciones.observer.ScrimNotificationObserver;
 import infraestructura.persistencia.repository.RepositorioFactory;
 import dominio.estadisticas.EstadisticasScrim;
+import aplicacion.services.CalificacionService;
 import aplicacion.services.EstadisticasService;
 
 /**
@@ -23,7 +24,8 @@ import aplicacion.services.EstadisticasService;
  * - NO se pueden aceptar postulaciones ni confirmaciones
  * - NO se puede cancelar una vez iniciada
  * - Solo se puede finalizar
- * - Al finalizar, genera automáticamente estadísticas simuladas
+ * - Al finalizar, genera automáticamente estadísticas simuladas y encola el
+ * resultado para las calificaciones ({@link CalificacionService})
  * 
  * @author eScrims Team
  */
@@ -93,6 +95,9 @@ public class EnJuegoState implements ScrimState {
             // Guardar estadísticas usando el servicio
             estadisticasService.actualizarEstadisticas(estadisticas);
 
+            // Encolar el resultado para recalcular las calificaciones del juego
+            CalificacionService.getInstance().registrarPartida(scrim, estadisticas);
+
             System.out.println("Estadísticas automáticas generadas y guardadas para scrim: " + scrim.getId());
 
         } catch (Exception e) {
@@ -1,5 +1,6 @@
 package dominio.estados;
 
+import aplicacion.services.BackfillService;
 import dominio.modelo.Confirmacion;
 import dominio.modelo.Postulacion;
 import dominio.modelo.Scrim;
@@ -21,9 +22,11 @@ import java.util.stream.Collectors;
  * - A CANCELADO: si el organizador cancela el scrim
  * 
  * Reglas de negocio:
- * - NO se aceptan nuevas postulaciones
+ * - Las nuevas postulaciones quedan en la lista de espera del scrim
  * - Se esperan confirmaciones de todos los jugadores
- * - Si alguien rechaza, se debería volver a BUSCANDO (implementación futura)
+ * - Si alguien rechaza, se busca un reemplazo ({@link BackfillService}),
+ * primero en la lista de espera, que solo él debe confirmar; si no lo hay, se
+ * vuelve a BUSCANDO conservando las confirmaciones del resto
  * 
  * @author eScrims Team
  */
@@ -31,8 +34,11 @@ public class LobbyArmadoState implements ScrimState {
 
     @Override
     public void postular(Scrim scrim, Postulacion postulacion) {
-        throw new IllegalStateException("No se pueden aceptar postulaciones en estado LOBBY_ARMADO. " +
-                "El cupo ya está completo");
+        if (scrim.yaSePostulo(postulacion.getUserId())) {
+            throw new IllegalStateException("El usuario ya se postuló a este scrim");
+        }
+        // El cupo está completo: queda en la lista de espera
+        new BackfillService().ponerEnEspera(scrim, postulacion);
     }
 
     @Override
@@ -62,21 +68,9 @@ public class LobbyArmadoState implements ScrimState {
                 }
             }
         } else if (confirmacionEnScrim.isRechazada()) {
-            // Ya está rechazada, volver a BUSCANDO
-            // Remover la postulación aceptada del jugador que rechazó
-            scrim.getPostulaciones().stream()
-                    .filter(p -> p.getUserId().equals(confirmacion.getUserId()))
-                    .filter(p -> p.getEstado() == Postulacion.EstadoPostulacion.ACEPTADA)
-                    .findFirst()
-                    .ifPresent(p -> scrim.getPostulaciones().remove(p));
-
-            // IMPORTANTE: Limpiar todas las confirmaciones cuando volvemos a BUSCANDO
-            // (Alguien no confirmó)
-            // para que cuando se vuelva a llenar, se generen confirmaciones frescas
-            scrim.getConfirmaciones().clear();
-
-            // Volver a estado BUSCANDO (falta un jugador)
-            scrim.setState(new BuscandoState());
+            // Cubrir el lugar sin salir del lobby (solo el reemplazo confirma);
+            // sin reemplazo vuelve a BUSCANDO y el resto conserva su confirmación
+            new BackfillService().liberarLugar(scrim, confirmacion.getUserId());
         } else {
             // Está PENDIENTE, esto no debería pasar si el controller hace su trabajo
             throw new IllegalStateException("Error de flujo: la confirmación sigue pendiente");
@@ -0,0 +1,79 @@
+package dominio.modelo;
+
+/**
+ * Calificación Glicko-2 de un usuario en un juego.
+ *
+ * La calcula {@link aplicacion.services.CalificacionService} a partir de los
+ * resultados de los scrims finalizados; el rango que usa el matchmaking
+ * ({@link Usuario#getRangoParaJuego}) se deriva del rating.
+ *
+ * Métricas:
+ * - Rating: habilidad estimada (escala clásica, 1500 de partida)
+ * - Desviación: incertidumbre del rating; baja al jugar y sube con la
+ * inactividad
+ * - Volatilidad: cuánto fluctúa el rendimiento del jugador
+ * - Partidas calificadas y último período en el que se actualizó
+ *
+ * @author eScrims Team
+ * @see infraestructura.matchmaking.Glicko2
+ */
+public class CalificacionJuego {
+
+    private double rating;
+    private double desviacion;
+    private double volatilidad;
+    private int partidasCalificadas;
+    private long ultimoPeriodo;
+
+    public CalificacionJuego(double rating, double desviacion, double volatilidad) {
+        this.rating = rating;
+        this.desviacion = desviacion;
+        this.volatilidad = volatilidad;
+        this.partidasCalificadas = 0;
+        this.ultimoPeriodo = -1;
+    }
+
+    /**
+     * Registra el resultado de un período.
+     *
+     * @param rating      nuevo rating
+     * @param desviacion  nueva desviación
+     * @param volatilidad nueva volatilidad
+     * @param partidas    partidas jugadas en el período
+     * @param periodo     número del período
+     */
+    public void actualizar(double rating, double desviacion, double volatilidad, int partidas, long periodo) {
+        this.rating = rating;
+        this.desviacion = desviacion;
+        this.volatilidad = volatilidad;
+        this.partidasCalificadas += partidas;
+        this.ultimoPeriodo = periodo;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public double getDesviacion() {
+        return desviacion;
+    }
+
+    public double getVolatilidad() {
+        return volatilidad;
+    }
+
+    public int getPartidasCalificadas() {
+        return partidasCalificadas;
+    }
+
+    /** Último período calificado (-1 si nunca se calificó). */
+    public long getUltimoPeriodo() {
+        return ultimoPeriodo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CalificacionJuego{rating=%.1f, desviacion=%.1f, volatilidad=%.4f, partidas=%d}",
+                rating, desviacion, volatilidad, partidasCalificadas);
+    }
+}
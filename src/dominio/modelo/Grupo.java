@@ -0,0 +1,167 @@
+package dominio.modelo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Grupo de jugadores (party/premade) que se postula y juega junto.
+ *
+ * Un grupo se postula como unidad: todos sus integrantes entran al scrim o
+ * ninguno, y siempre quedan en el mismo equipo. Para validar requisitos y
+ * emparejar, el grupo cuenta como un único candidato con:
+ * - Rango agregado: el máximo del grupo o un promedio ponderado por rango
+ * (los integrantes de rango alto pesan más, para que un jugador alto no se
+ * diluya entre compañeros de rango bajo)
+ * - Latencia combinada: la peor del grupo, que es la que limita al equipo
+ *
+ * El primer integrante es el líder (quien armó el grupo).
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.PostulacionService#postularGrupo
+ * @see infraestructura.matchmaking.SeleccionConGrupos
+ */
+public class Grupo {
+
+    /**
+     * Forma de calcular el rango del grupo a partir del de sus integrantes.
+     */
+    public enum AgregacionRango {
+        /** Rango del integrante más alto. */
+        MAXIMO,
+        /** Promedio ponderado por el propio rango: suma(r²) / suma(r). */
+        PROMEDIO_PONDERADO
+    }
+
+    private final String id;
+    private final List<Usuario> integrantes;
+    private final AgregacionRango agregacion;
+    private final LocalDateTime createdAt;
+
+    /**
+     * Grupo con rango agregado por promedio ponderado.
+     *
+     * @see #Grupo(Usuario, List, AgregacionRango)
+     */
+    public Grupo(Usuario lider, List<Usuario> companieros) {
+        this(lider, companieros, AgregacionRango.PROMEDIO_PONDERADO);
+    }
+
+    /**
+     * @param lider       quien arma el grupo
+     * @param companieros resto de los integrantes
+     * @param agregacion  cálculo del rango del grupo
+     * @throws IllegalArgumentException si falta el líder o la agregación, el
+     *                                  grupo tiene menos de 2 integrantes o
+     *                                  algún integrante está repetido
+     */
+    public Grupo(Usuario lider, List<Usuario> companieros, AgregacionRango agregacion) {
+        if (lider == null || agregacion == null) {
+            throw new IllegalArgumentException("El líder y la agregación de rango del grupo son obligatorios");
+        }
+        List<Usuario> todos = new ArrayList<>();
+        todos.add(lider);
+        if (companieros != null) {
+            todos.addAll(companieros);
+        }
+        Set<String> ids = new HashSet<>();
+        for (Usuario integrante : todos) {
+            if (integrante == null || !ids.add(integrante.getId())) {
+                throw new IllegalArgumentException("Los integrantes del grupo no pueden ser null ni repetirse");
+            }
+        }
+        if (todos.size() < 2) {
+            throw new IllegalArgumentException("Un grupo necesita al menos 2 integrantes");
+        }
+        this.id = UUID.randomUUID().toString();
+        this.integrantes = List.copyOf(todos);
+        this.agregacion = agregacion;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Rango del grupo en un juego.
+     *
+     * @return rango agregado, o null si algún integrante no tiene rango en el
+     *         juego
+     */
+    public Integer getRangoAgregado(String nombreJuego) {
+        long suma = 0;
+        long sumaCuadrados = 0;
+        int maximo = Integer.MIN_VALUE;
+        for (Usuario integrante : integrantes) {
+            Integer rango = integrante.getRangoParaJuego(nombreJuego);
+            if (rango == null) {
+                return null;
+            }
+            suma += rango;
+            sumaCuadrados += (long) rango * rango;
+            maximo = Math.max(maximo, rango);
+        }
+        if (agregacion == AgregacionRango.MAXIMO || suma <= 0) {
+            return maximo;
+        }
+        return (int) Math.round((double) sumaCuadrados / suma);
+    }
+
+    /**
+     * Latencia del grupo: la peor de sus integrantes, en ms.
+     */
+    public int getLatenciaCombinada() {
+        int peor = 0;
+        for (Usuario integrante : integrantes) {
+            peor = Math.max(peor, integrante.getLatenciaPromedio());
+        }
+        return peor;
+    }
+
+    public boolean contiene(String userId) {
+        for (Usuario integrante : integrantes) {
+            if (integrante.getId().equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Usuario getLider() {
+        return integrantes.get(0);
+    }
+
+    /** Integrantes del grupo; el primero es el líder. */
+    public List<Usuario> getIntegrantes() {
+        return integrantes;
+    }
+
+    public List<String> getIdsIntegrantes() {
+        List<String> ids = new ArrayList<>(integrantes.size());
+        for (Usuario integrante : integrantes) {
+            ids.add(integrante.getId());
+        }
+        return ids;
+    }
+
+    public int getTamanio() {
+        return integrantes.size();
+    }
+
+    public AgregacionRango getAgregacion() {
+        return agregacion;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Grupo[" + getIdsIntegrantes() + ", " + agregacion + "]";
+    }
+}
@@ -34,6 +34,10 @@ public class HistorialUsuario {
     private double tasaFairPlay; // Valor entre 0.0 y 1.0 (1.0 es perfecto comportamiento)
     private LocalDateTime ultimaActividad;
 
+    // Cache del score de matchmaking (no se persiste; se recalcula al cambiar las métricas)
+    private transient double scoreMatchmaking;
+    private transient boolean scoreMatchmakingValido;
+
     /**
      * Constructor para nuevo historial de usuario.
      * 
@@ -65,6 +69,7 @@ public class HistorialUsuario {
     public void registrarPartidaCompletada() {
         this.partidasJugadas++;
         this.ultimaActividad = LocalDateTime.now();
+        invalidarScore();
     }
 
     /**
@@ -77,6 +82,7 @@ public class HistorialUsuario {
         this.ultimaActividad = LocalDateTime.now();
         // Penalizar fair play por abandono
         reducirFairPlay(0.1);
+        invalidarScore();
     }
 
     /**
@@ -98,6 +104,7 @@ public class HistorialUsuario {
      */
     public void reducirFairPlay(double cantidad) {
         this.tasaFairPlay = Math.max(0.0, this.tasaFairPlay - cantidad);
+        invalidarScore();
     }
 
     /**
@@ -107,6 +114,7 @@ public class HistorialUsuario {
      */
     public void aumentarFairPlay(double cantidad) {
         this.tasaFairPlay = Math.min(1.0, this.tasaFairPlay + cantidad);
+        invalidarScore();
     }
 
     /**
@@ -133,6 +141,40 @@ public class HistorialUsuario {
         return scoreFairPlay + scoreAbandono + scoreExperiencia;
     }
 
+    /**
+     * Score de confiabilidad usado por la estrategia de matchmaking por
+     * historial (máximo 90 puntos: fair play 40, baja tasa de abandono 30,
+     * experiencia 20).
+     *
+     * Se calcula una sola vez y queda en cache hasta que cambie alguna de las
+     * métricas (partidas, abandonos o fair play), para que seleccionar entre
+     * muchos candidatos no repita el cálculo.
+     *
+     * @return score entre 0.0 y 90.0
+     */
+    public double getScoreMatchmaking() {
+        if (!scoreMatchmakingValido) {
+            scoreMatchmaking = calcularScoreMatchmaking(tasaFairPlay, getTasaAbandono(), partidasJugadas);
+            scoreMatchmakingValido = true;
+        }
+        return scoreMatchmaking;
+    }
+
+    /**
+     * Fórmula de {@link #getScoreMatchmaking()} sobre valores sueltos, para
+     * calcularla desde columnas primitivas sin pasar por el historial.
+     */
+    public static double calcularScoreMatchmaking(double tasaFairPlay, double tasaAbandono, int partidasJugadas) {
+        double scoreFairPlay = tasaFairPlay * 40.0;
+        double scoreAbandono = (1.0 - tasaAbandono) * 30.0;
+        double scoreExperiencia = Math.min(20.0, partidasJugadas / 5.0);
+        return scoreFairPlay + scoreAbandono + scoreExperiencia;
+    }
+
+    private void invalidarScore() {
+        this.scoreMatchmakingValido = false;
+    }
+
     // Getters y Setters
 
     public String getUserId() {
@@ -145,6 +187,7 @@ public class HistorialUsuario {
 
     public void setPartidasJugadas(int partidasJugadas) {
         this.partidasJugadas = Math.max(0, partidasJugadas);
+        invalidarScore();
     }
 
     public int getPartidasAbandonadas() {
@@ -153,6 +196,7 @@ public class HistorialUsuario {
 
     public void setPartidasAbandonadas(int partidasAbandonadas) {
         this.partidasAbandonadas = Math.max(0, partidasAbandonadas);
+        invalidarScore();
     }
 
     public double getTasaFairPlay() {
@@ -161,6 +205,7 @@ public class HistorialUsuario {
 
     public void setTasaFairPlay(double tasaFairPlay) {
         this.tasaFairPlay = Math.max(0.0, Math.min(1.0, tasaFairPlay));
+        invalidarScore();
     }
 
     public LocalDateTime getUltimaActividad() {
@@ -0,0 +1,245 @@
+package dominio.modelo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Lista de espera acotada de un scrim con el cupo completo.
+ *
+ * Los jugadores que se postulan a un lobby lleno quedan en espera ordenados
+ * por el puntaje que les asigna la estrategia de matchmaking del scrim (menor
+ * es mejor; a igual puntaje, el que llegó primero). Cuando se libera un lugar
+ * (rechazo, ausencia o expulsión) el mejor de la lista ocupa el lugar.
+ *
+ * Las entradas se guardan en un árbol ordenado, por lo que agregar, quitar y
+ * tomar al mejor cuestan O(log n). Si la lista está llena, un jugador nuevo
+ * solo entra si es mejor que el peor, que queda desplazado.
+ *
+ * Se persiste con el scrim; el índice por usuario se reconstruye al cargar.
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.BackfillService
+ */
+public class ListaEspera {
+
+    public static final int CAPACIDAD_POR_DEFECTO = 10;
+
+    private int capacidad;
+    private TreeSet<EntradaEspera> entradas;
+    private long siguienteSecuencia;
+
+    // Índice por usuario (no se persiste; se reconstruye desde las entradas)
+    private transient Map<String, EntradaEspera> entradaDeUsuario;
+
+    public ListaEspera() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidad máximo de jugadores en espera
+     * @throws IllegalArgumentException si la capacidad no es positiva
+     */
+    public ListaEspera(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la lista de espera debe ser positiva");
+        }
+        this.capacidad = capacidad;
+        this.entradas = new TreeSet<>();
+        this.siguienteSecuencia = 0;
+    }
+
+    /**
+     * Agrega un jugador (o actualiza su puntaje si ya estaba en espera).
+     *
+     * Un jugador que ya estaba en espera conserva su orden de llegada y su
+     * fecha de ingreso: solo cambian sus datos, y nunca desplaza a nadie ni
+     * pierde su lugar por la capacidad.
+     *
+     * @param userId   jugador
+     * @param rango    rango del jugador en el juego del scrim
+     * @param latencia latencia del jugador en ms
+     * @param puntaje  puntaje de la estrategia (menor es mejor)
+     * @return resultado: si entró y a quién desplazó
+     */
+    public Ingreso agregar(String userId, int rango, int latencia, double puntaje) {
+        EntradaEspera anterior = indice().get(userId);
+        if (anterior != null) {
+            EntradaEspera actualizada = anterior.actualizar(rango, latencia, puntaje);
+            entradas.remove(anterior);
+            entradas.add(actualizada);
+            indice().put(userId, actualizada);
+            return new Ingreso(true, null);
+        }
+
+        EntradaEspera nueva = new EntradaEspera(userId, rango, latencia, puntaje, siguienteSecuencia);
+        EntradaEspera desplazada = null;
+        if (entradas.size() >= capacidad) {
+            EntradaEspera peor = entradas.last();
+            if (nueva.compareTo(peor) >= 0) {
+                return new Ingreso(false, null);
+            }
+            quitar(peor.getUserId());
+            desplazada = peor;
+        }
+        siguienteSecuencia++;
+        entradas.add(nueva);
+        indice().put(userId, nueva);
+        return new Ingreso(true, desplazada);
+    }
+
+    /**
+     * Quita a un jugador de la lista.
+     *
+     * @return true si estaba en espera
+     */
+    public boolean quitar(String userId) {
+        EntradaEspera entrada = indice().remove(userId);
+        return entrada != null && entradas.remove(entrada);
+    }
+
+    /**
+     * Quita y devuelve al mejor jugador en espera.
+     *
+     * @return la entrada o null si la lista está vacía
+     */
+    public EntradaEspera tomarMejor() {
+        EntradaEspera mejor = entradas.pollFirst();
+        if (mejor != null) {
+            indice().remove(mejor.getUserId());
+        }
+        return mejor;
+    }
+
+    public EntradaEspera verMejor() {
+        return entradas.isEmpty() ? null : entradas.first();
+    }
+
+    public boolean contiene(String userId) {
+        return indice().containsKey(userId);
+    }
+
+    /** Entradas de la mejor a la peor. */
+    public List<EntradaEspera> getEntradas() {
+        return new ArrayList<>(entradas);
+    }
+
+    public int getCantidad() {
+        return entradas.size();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public boolean estaVacia() {
+        return entradas.isEmpty();
+    }
+
+    private Map<String, EntradaEspera> indice() {
+        if (entradaDeUsuario == null) {
+            entradaDeUsuario = new HashMap<>();
+            for (EntradaEspera entrada : entradas) {
+                entradaDeUsuario.put(entrada.getUserId(), entrada);
+            }
+        }
+        return entradaDeUsuario;
+    }
+
+    /**
+     * Jugador en espera.
+     */
+    public static class EntradaEspera implements Comparable<EntradaEspera> {
+        private final String userId;
+        private final int rango;
+        private final int latencia;
+        private final double puntaje;
+        private final long secuencia;
+        private final LocalDateTime fechaIngreso;
+
+        public EntradaEspera(String userId, int rango, int latencia, double puntaje, long secuencia) {
+            this(userId, rango, latencia, puntaje, secuencia, LocalDateTime.now());
+        }
+
+        private EntradaEspera(String userId, int rango, int latencia, double puntaje, long secuencia,
+                LocalDateTime fechaIngreso) {
+            this.userId = userId;
+            this.rango = rango;
+            this.latencia = latencia;
+            this.puntaje = puntaje;
+            this.secuencia = secuencia;
+            this.fechaIngreso = fechaIngreso;
+        }
+
+        /** Copia con datos nuevos que conserva la secuencia y la fecha de ingreso. */
+        private EntradaEspera actualizar(int rango, int latencia, double puntaje) {
+            return new EntradaEspera(userId, rango, latencia, puntaje, secuencia, fechaIngreso);
+        }
+
+        @Override
+        public int compareTo(EntradaEspera otra) {
+            int porPuntaje = Double.compare(puntaje, otra.puntaje);
+            return porPuntaje != 0 ? porPuntaje : Long.compare(secuencia, otra.secuencia);
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof EntradaEspera)) {
+                return false;
+            }
+            EntradaEspera entrada = (EntradaEspera) otro;
+            return secuencia == entrada.secuencia && userId.equals(entrada.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(secuencia);
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public int getRango() {
+            return rango;
+        }
+
+        public int getLatencia() {
+            return latencia;
+        }
+
+        /** Puntaje de la estrategia del scrim al ingresar (menor es mejor). */
+        public double getPuntaje() {
+            return puntaje;
+        }
+
+        public LocalDateTime getFechaIngreso() {
+            return fechaIngreso;
+        }
+    }
+
+    /**
+     * Resultado de {@link #agregar}.
+     */
+    public static class Ingreso {
+        private final boolean admitido;
+        private final EntradaEspera desplazada;
+
+        public Ingreso(boolean admitido, EntradaEspera desplazada) {
+            this.admitido = admitido;
+            this.desplazada = desplazada;
+        }
+
+        public boolean isAdmitido() {
+            return admitido;
+        }
+
+        /** Jugador que perdió su lugar en la lista, o null. */
+        public EntradaEspera getDesplazada() {
+            return desplazada;
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
  * 
  * Contiene información adicional:
  * - Rango y latencia del usuario al momento de postular
+ * - Grupo con el que se postuló, si lo hizo en grupo: los requisitos se
+ * validan con el rango agregado y la latencia combinada del grupo
  * - Motivo de rechazo si aplica
  * - Timestamps de creación y actualización
  * 
@@ -33,6 +35,9 @@ public class Postulacion {
     private String userId;
     private int rangoUsuario;
     private int latenciaUsuario;
+    private String grupoId; // null = postulación individual
+    private int rangoGrupo;
+    private int latenciaGrupo;
     private EstadoPostulacion estado;
     private String motivoRechazo;
     private LocalDateTime fechaPostulacion;
@@ -57,6 +62,25 @@ public class Postulacion {
         this.fechaActualizacion = LocalDateTime.now();
     }
 
+    /**
+     * Constructor para la postulación de un integrante de un grupo.
+     * 
+     * @param scrimId         ID del scrim al que se postula
+     * @param userId          ID del integrante
+     * @param rangoUsuario    Rango del integrante
+     * @param latenciaUsuario Latencia del integrante
+     * @param grupo           Grupo con el que se postula
+     * @param rangoGrupo      Rango agregado del grupo
+     * @see Grupo#getRangoAgregado(String)
+     */
+    public Postulacion(String scrimId, String userId, int rangoUsuario, int latenciaUsuario, Grupo grupo,
+            int rangoGrupo) {
+        this(scrimId, userId, rangoUsuario, latenciaUsuario);
+        this.grupoId = grupo.getId();
+        this.rangoGrupo = rangoGrupo;
+        this.latenciaGrupo = grupo.getLatenciaCombinada();
+    }
+
     /**
      * Acepta la postulación.
      */
@@ -83,7 +107,8 @@ public class Postulacion {
     }
 
     /**
-     * Valida si el usuario cumple con los requisitos del scrim.
+     * Valida si el usuario cumple con los requisitos del scrim. En una
+     * postulación de grupo se validan el rango y la latencia del grupo.
      * 
      * @param rangoMin    Rango mínimo requerido
      * @param rangoMax    Rango máximo requerido
@@ -91,15 +116,17 @@ public class Postulacion {
      * @return null si cumple todos los requisitos, mensaje de error si no
      */
     public String validarRequisitos(int rangoMin, int rangoMax, int latenciaMax) {
-        if (rangoUsuario < rangoMin) {
+        int rango = isDeGrupo() ? rangoGrupo : rangoUsuario;
+        int latencia = isDeGrupo() ? latenciaGrupo : latenciaUsuario;
+        if (rango < rangoMin) {
             return "Rango insuficiente. Mínimo requerido: " + rangoMin;
         }
 
-        if (rangoUsuario > rangoMax) {
+        if (rango > rangoMax) {
             return "Rango demasiado alto. Máximo permitido: " + rangoMax;
         }
 
-        if (latenciaMax != -1 && latenciaUsuario > latenciaMax) {
+        if (latenciaMax != -1 && latencia > latenciaMax) {
             return "Latencia demasiado alta. Máxima permitida: " + latenciaMax + "ms";
         }
 
@@ -128,6 +155,23 @@ public class Postulacion {
         return latenciaUsuario;
     }
 
+    /** ID del grupo con el que se postuló, o null si fue individual. */
+    public String getGrupoId() {
+        return grupoId;
+    }
+
+    public boolean isDeGrupo() {
+        return grupoId != null;
+    }
+
+    public int getRangoGrupo() {
+        return rangoGrupo;
+    }
+
+    public int getLatenciaGrupo() {
+        return latenciaGrupo;
+    }
+
     public EstadoPostulacion getEstado() {
         return estado;
     }
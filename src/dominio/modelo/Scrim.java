@@ -30,6 +30,10 @@ import dominio.valueobjects.formatosScrims.ScrimFormat;
  */
 public class Scrim {
 
+    // Escala de rangos de los juegos
+    private static final int RANGO_MINIMO = 1;
+    private static final int RANGO_MAXIMO = 100;
+
     private String id;
     private Juego juego; // Cambiado de String a Juego para mejor diseño
     private ScrimFormat formato;
@@ -45,7 +49,15 @@ public class Scrim {
     private LocalDateTime createdAt;
     private transient ScrimState state; // transient = no se serializa (evita referencias circulares)
     private String estadoActual; // Estado serializable para persistencia
-    private String estrategiaMatchmaking; // Estrategia de matchmaking: "MMR", "Latency", "History"
+    private String estrategiaMatchmaking; // Estrategia de matchmaking: "MMR", "Latency", "History", "Composite"
+    private String region; // Región del scrim ("" = sin región, abierto a todas)
+    private List<String> equipoA; // Ids del equipo A (null = equipos sin formar)
+    private List<String> equipoB; // Ids del equipo B
+    private ListaEspera listaEspera; // Jugadores en espera con el cupo lleno (null en datos previos)
+    private int nivelRelajacion; // Nivel de relajación de requisitos aplicado por la espera (0 = ninguno)
+    private Integer rangoMinSolicitado; // Requisitos originales del organizador (null = nunca relajados)
+    private Integer rangoMaxSolicitado;
+    private Integer latenciaMaxSolicitada;
 
     /**
      * Constructor protegido porque usa ScrimBuilder para instanciarse.
@@ -228,6 +240,22 @@ public class Scrim {
         return plazas;
     }
 
+    /**
+     * Calcula las plazas que aún no están cubiertas por postulaciones aceptadas.
+     * Cuenta sin crear listas intermedias (se usa al ordenar búsquedas).
+     * 
+     * @return plazas libres (nunca negativo)
+     */
+    public int getPlazasLibres() {
+        int aceptadas = 0;
+        for (Postulacion postulacion : postulaciones) {
+            if (postulacion.isAceptada()) {
+                aceptadas++;
+            }
+        }
+        return Math.max(0, plazas - aceptadas);
+    }
+
     public LocalDateTime getFechaHora() {
         return fechaHora;
     }
@@ -280,6 +308,55 @@ public class Scrim {
         return latenciaMax;
     }
 
+    /**
+     * Amplía los requisitos de rango y latencia respecto de los que pidió el
+     * organizador, según cuánto lleva el scrim sin completarse. Los
+     * requisitos originales se conservan y cada nivel se calcula desde ellos
+     * (no se acumulan). La ventana ampliada no sale de la escala de rangos
+     * (1 a 100). Una latencia sin límite (-1) sigue sin límite.
+     *
+     * @param nivel         nivel de relajación aplicado (0 = requisitos
+     *                      originales)
+     * @param rangoExtra    puntos de rango que se abren a cada lado
+     * @param latenciaExtra ms que se suman a la latencia máxima
+     * @throws IllegalArgumentException si algún valor es negativo
+     * @see aplicacion.services.RelajacionMatchmakingService
+     */
+    public void relajarRequisitos(int nivel, int rangoExtra, int latenciaExtra) {
+        if (nivel < 0 || rangoExtra < 0 || latenciaExtra < 0) {
+            throw new IllegalArgumentException("El nivel y las ampliaciones no pueden ser negativos");
+        }
+        if (rangoMinSolicitado == null) {
+            rangoMinSolicitado = rangoMin;
+            rangoMaxSolicitado = rangoMax;
+            latenciaMaxSolicitada = latenciaMax;
+        }
+        this.nivelRelajacion = nivel;
+        this.rangoMin = Math.min(rangoMinSolicitado, Math.max(RANGO_MINIMO, rangoMinSolicitado - rangoExtra));
+        this.rangoMax = Math.max(rangoMaxSolicitado, Math.min(RANGO_MAXIMO, rangoMaxSolicitado + rangoExtra));
+        this.latenciaMax = latenciaMaxSolicitada == -1 ? -1 : latenciaMaxSolicitada + latenciaExtra;
+    }
+
+    /** Nivel de relajación de requisitos aplicado (0 = ninguno). */
+    public int getNivelRelajacion() {
+        return nivelRelajacion;
+    }
+
+    /** Rango mínimo que pidió el organizador, antes de relajarlo. */
+    public int getRangoMinSolicitado() {
+        return rangoMinSolicitado != null ? rangoMinSolicitado : rangoMin;
+    }
+
+    /** Rango máximo que pidió el organizador, antes de relajarlo. */
+    public int getRangoMaxSolicitado() {
+        return rangoMaxSolicitado != null ? rangoMaxSolicitado : rangoMax;
+    }
+
+    /** Latencia máxima que pidió el organizador, antes de relajarla. */
+    public int getLatenciaMaxSolicitada() {
+        return latenciaMaxSolicitada != null ? latenciaMaxSolicitada : latenciaMax;
+    }
+
     public String getCreatedBy() {
         return createdBy;
     }
@@ -303,4 +380,61 @@ public class Scrim {
     public void setEstrategiaMatchmaking(String estrategiaMatchmaking) {
         this.estrategiaMatchmaking = estrategiaMatchmaking;
     }
-}
\ No newline at end of file
+
+    /**
+     * Región del scrim. Vacía si el scrim no está restringido a una región
+     * (scrims creados antes de existir el campo o abiertos a todas).
+     */
+    public String getRegion() {
+        return region != null ? region : "";
+    }
+
+    public void setRegion(String region) {
+        this.region = region != null ? region.trim().toUpperCase() : "";
+    }
+
+    /**
+     * Fija los equipos del lobby. Se persisten con el scrim para que todas
+     * las vistas muestren la misma formación.
+     *
+     * @see infraestructura.matchmaking.BalanceadorEquipos
+     */
+    public void asignarEquipos(List<String> equipoA, List<String> equipoB) {
+        this.equipoA = new ArrayList<>(equipoA);
+        this.equipoB = new ArrayList<>(equipoB);
+    }
+
+    /**
+     * Descarta los equipos formados (ej: el lobby vuelve a BUSCANDO).
+     */
+    public void limpiarEquipos() {
+        this.equipoA = null;
+        this.equipoB = null;
+    }
+
+    public boolean tieneEquipos() {
+        return equipoA != null && equipoB != null;
+    }
+
+    /** Ids del equipo A; vacío si los equipos no se formaron. */
+    public List<String> getEquipoA() {
+        return equipoA != null ? List.copyOf(equipoA) : List.of();
+    }
+
+    /** Ids del equipo B; vacío si los equipos no se formaron. */
+    public List<String> getEquipoB() {
+        return equipoB != null ? List.copyOf(equipoB) : List.of();
+    }
+
+    /**
+     * Lista de espera del scrim (se crea vacía la primera vez).
+     *
+     * @see aplicacion.services.BackfillService
+     */
+    public ListaEspera getListaEspera() {
+        if (listaEspera == null) {
+            listaEspera = new ListaEspera();
+        }
+        return listaEspera;
+    }
+}
@@ -41,6 +41,9 @@ public class Usuario {
     // Historial de comportamiento para matchmaking
     private HistorialUsuario historial;
 
+    // Calificación Glicko-2 por juego (null en datos previos)
+    private Map<String, CalificacionJuego> calificacionPorJuego;
+
     // Preferencias de notificaciones (Observer pattern)
     private Set<NotificationEvent> subscribedEvents;
     private Set<ChannelType> preferredChannels;
@@ -224,6 +227,17 @@ public class Usuario {
         return new ArrayList<>(rolesPorJuego.getOrDefault(nombreJuego, new ArrayList<>()));
     }
 
+    /**
+     * Obtiene el rol principal (primer rol preferido) para un juego, sin
+     * copiar la lista de roles.
+     *
+     * @return rol principal o null si no hay roles configurados
+     */
+    public String getRolPrincipalParaJuego(String nombreJuego) {
+        List<String> roles = rolesPorJuego.get(nombreJuego);
+        return roles != null && !roles.isEmpty() ? roles.get(0) : null;
+    }
+
     /**
      * Obtiene el juego principal del usuario.
      * 
@@ -281,11 +295,40 @@ public class Usuario {
         return new HashMap<>(rangoPorJuego);
     }
 
+    /**
+     * Obtiene el rango del usuario para un juego sin copiar el mapa de rangos.
+     * Preferir este método en recorridos sobre muchos usuarios.
+     * 
+     * @param juego nombre del juego
+     * @return rango del usuario o null si no tiene rango en ese juego
+     */
+    public Integer getRangoParaJuego(String juego) {
+        return rangoPorJuego.get(juego);
+    }
+
     public void setRangoParaJuego(String juego, int rango) {
         this.rangoPorJuego.put(juego, rango);
         this.updatedAt = new Date();
     }
 
+    /**
+     * Obtiene la calificación Glicko-2 del usuario en un juego.
+     * 
+     * @param juego nombre del juego
+     * @return calificación o null si aún no jugó partidas calificadas
+     */
+    public CalificacionJuego getCalificacionParaJuego(String juego) {
+        return calificacionPorJuego != null ? calificacionPorJuego.get(juego) : null;
+    }
+
+    public void setCalificacionParaJuego(String juego, CalificacionJuego calificacion) {
+        if (calificacionPorJuego == null) {
+            calificacionPorJuego = new HashMap<>();
+        }
+        calificacionPorJuego.put(juego, calificacion);
+        this.updatedAt = new Date();
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
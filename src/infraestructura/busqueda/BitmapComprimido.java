@@ -0,0 +1,544 @@
+package infraestructura.busqueda;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Bitmap comprimido de enteros no negativos, organizado al estilo "Roaring".
+ *
+ * El espacio de enteros se divide en bloques de 2^16 valores. Cada bloque no
+ * vacío se guarda en el contenedor más compacto según su densidad:
+ * - Contenedor arreglo: valores ordenados (char[]) cuando hay pocos elementos
+ * - Contenedor bitmap: 1024 palabras de 64 bits cuando el bloque es denso
+ *
+ * El cambio de representación ocurre al superar/bajar de
+ * {@value #LIMITE_ARREGLO} elementos por bloque, que es el punto donde ambas
+ * representaciones ocupan lo mismo (8 KB).
+ *
+ * Las operaciones {@link #and} y {@link #or} no modifican sus operandos y
+ * trabajan bloque a bloque, por lo que el costo es proporcional a la cantidad
+ * de bloques/elementos presentes y no al universo de valores.
+ *
+ * @author eScrims Team
+ * @see IndiceBitmapScrims
+ */
+public final class BitmapComprimido {
+
+    /** Cardinalidad máxima de un contenedor arreglo. */
+    static final int LIMITE_ARREGLO = 4096;
+
+    private char[] claves;
+    private Contenedor[] contenedores;
+    private int tamanio;
+
+    public BitmapComprimido() {
+        this.claves = new char[4];
+        this.contenedores = new Contenedor[4];
+        this.tamanio = 0;
+    }
+
+    /**
+     * Crea un bitmap con todos los valores del intervalo [desde, hasta).
+     */
+    public static BitmapComprimido rango(int desde, int hasta) {
+        BitmapComprimido bitmap = new BitmapComprimido();
+        for (int valor = desde; valor < hasta; valor++) {
+            bitmap.agregar(valor);
+        }
+        return bitmap;
+    }
+
+    // ========== MODIFICACIÓN ==========
+
+    /**
+     * Agrega un valor al bitmap.
+     *
+     * @param valor entero no negativo
+     */
+    public void agregar(int valor) {
+        validar(valor);
+        char clave = (char) (valor >>> 16);
+        int indice = buscarClave(clave);
+        if (indice < 0) {
+            indice = -indice - 1;
+            insertarContenedor(indice, clave, new ContenedorArreglo());
+        }
+        contenedores[indice] = contenedores[indice].agregar((char) valor);
+    }
+
+    /**
+     * Quita un valor del bitmap (no hace nada si no estaba).
+     *
+     * @param valor entero no negativo
+     */
+    public void quitar(int valor) {
+        validar(valor);
+        int indice = buscarClave((char) (valor >>> 16));
+        if (indice < 0) {
+            return;
+        }
+        Contenedor resultado = contenedores[indice].quitar((char) valor);
+        if (resultado.cardinalidad() == 0) {
+            eliminarContenedor(indice);
+        } else {
+            contenedores[indice] = resultado;
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    public boolean contiene(int valor) {
+        if (valor < 0) {
+            return false;
+        }
+        int indice = buscarClave((char) (valor >>> 16));
+        return indice >= 0 && contenedores[indice].contiene((char) valor);
+    }
+
+    public int cardinalidad() {
+        int total = 0;
+        for (int i = 0; i < tamanio; i++) {
+            total += contenedores[i].cardinalidad();
+        }
+        return total;
+    }
+
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+
+    /**
+     * Recorre los valores en orden ascendente.
+     *
+     * @param accion acción a aplicar sobre cada valor
+     */
+    public void paraCada(IntConsumer accion) {
+        for (int i = 0; i < tamanio; i++) {
+            contenedores[i].paraCada(claves[i] << 16, accion);
+        }
+    }
+
+    /**
+     * Obtiene los valores en orden ascendente.
+     */
+    public int[] aArreglo() {
+        int[] resultado = new int[cardinalidad()];
+        int[] posicion = { 0 };
+        paraCada(valor -> resultado[posicion[0]++] = valor);
+        return resultado;
+    }
+
+    /**
+     * Bytes aproximados ocupados por los contenedores (para métricas).
+     */
+    public long bytesEstimados() {
+        long total = (long) claves.length * 2 + (long) contenedores.length * 8;
+        for (int i = 0; i < tamanio; i++) {
+            total += contenedores[i].bytesEstimados();
+        }
+        return total;
+    }
+
+    public BitmapComprimido copiar() {
+        BitmapComprimido copia = new BitmapComprimido();
+        copia.claves = Arrays.copyOf(claves, Math.max(4, tamanio));
+        copia.contenedores = new Contenedor[copia.claves.length];
+        for (int i = 0; i < tamanio; i++) {
+            copia.contenedores[i] = contenedores[i].copiar();
+        }
+        copia.tamanio = tamanio;
+        return copia;
+    }
+
+    // ========== OPERACIONES DE CONJUNTOS ==========
+
+    /**
+     * Intersección de dos bitmaps (no modifica los operandos).
+     */
+    public static BitmapComprimido and(BitmapComprimido a, BitmapComprimido b) {
+        BitmapComprimido resultado = new BitmapComprimido();
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanio && j < b.tamanio) {
+            char claveA = a.claves[i];
+            char claveB = b.claves[j];
+            if (claveA < claveB) {
+                i++;
+            } else if (claveA > claveB) {
+                j++;
+            } else {
+                Contenedor interseccion = a.contenedores[i].and(b.contenedores[j]);
+                if (interseccion.cardinalidad() > 0) {
+                    resultado.agregarAlFinal(claveA, interseccion);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Unión de dos bitmaps (no modifica los operandos).
+     */
+    public static BitmapComprimido or(BitmapComprimido a, BitmapComprimido b) {
+        BitmapComprimido resultado = new BitmapComprimido();
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanio || j < b.tamanio) {
+            if (j >= b.tamanio || (i < a.tamanio && a.claves[i] < b.claves[j])) {
+                resultado.agregarAlFinal(a.claves[i], a.contenedores[i].copiar());
+                i++;
+            } else if (i >= a.tamanio || b.claves[j] < a.claves[i]) {
+                resultado.agregarAlFinal(b.claves[j], b.contenedores[j].copiar());
+                j++;
+            } else {
+                resultado.agregarAlFinal(a.claves[i], a.contenedores[i].or(b.contenedores[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    // ========== MANEJO INTERNO DE BLOQUES ==========
+
+    private static void validar(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("El bitmap solo admite valores no negativos");
+        }
+    }
+
+    private int buscarClave(char clave) {
+        int bajo = 0;
+        int alto = tamanio - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            char valorMedio = claves[medio];
+            if (valorMedio < clave) {
+                bajo = medio + 1;
+            } else if (valorMedio > clave) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(bajo + 1);
+    }
+
+    private void asegurarCapacidad() {
+        if (tamanio == claves.length) {
+            int nuevaCapacidad = claves.length * 2;
+            claves = Arrays.copyOf(claves, nuevaCapacidad);
+            contenedores = Arrays.copyOf(contenedores, nuevaCapacidad);
+        }
+    }
+
+    private void insertarContenedor(int indice, char clave, Contenedor contenedor) {
+        asegurarCapacidad();
+        System.arraycopy(claves, indice, claves, indice + 1, tamanio - indice);
+        System.arraycopy(contenedores, indice, contenedores, indice + 1, tamanio - indice);
+        claves[indice] = clave;
+        contenedores[indice] = contenedor;
+        tamanio++;
+    }
+
+    private void eliminarContenedor(int indice) {
+        System.arraycopy(claves, indice + 1, claves, indice, tamanio - indice - 1);
+        System.arraycopy(contenedores, indice + 1, contenedores, indice, tamanio - indice - 1);
+        tamanio--;
+        contenedores[tamanio] = null;
+    }
+
+    /** Solo válido cuando las claves llegan en orden ascendente. */
+    private void agregarAlFinal(char clave, Contenedor contenedor) {
+        asegurarCapacidad();
+        claves[tamanio] = clave;
+        contenedores[tamanio] = contenedor;
+        tamanio++;
+    }
+
+    // ========== CONTENEDORES ==========
+
+    /**
+     * Bloque de 2^16 valores. Las operaciones que pueden cambiar la
+     * representación devuelven el contenedor resultante.
+     */
+    private abstract static class Contenedor {
+        abstract Contenedor agregar(char valor);
+
+        abstract Contenedor quitar(char valor);
+
+        abstract boolean contiene(char valor);
+
+        abstract int cardinalidad();
+
+        abstract Contenedor and(Contenedor otro);
+
+        abstract Contenedor or(Contenedor otro);
+
+        abstract void paraCada(int base, IntConsumer accion);
+
+        abstract Contenedor copiar();
+
+        abstract long bytesEstimados();
+    }
+
+    private static final class ContenedorArreglo extends Contenedor {
+        private char[] valores;
+        private int cantidad;
+
+        ContenedorArreglo() {
+            this.valores = new char[4];
+        }
+
+        ContenedorArreglo(char[] valores, int cantidad) {
+            this.valores = valores;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        Contenedor agregar(char valor) {
+            int indice = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (indice >= 0) {
+                return this;
+            }
+            if (cantidad >= LIMITE_ARREGLO) {
+                return aBitmap().agregar(valor);
+            }
+            indice = -indice - 1;
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(LIMITE_ARREGLO, valores.length * 2));
+            }
+            System.arraycopy(valores, indice, valores, indice + 1, cantidad - indice);
+            valores[indice] = valor;
+            cantidad++;
+            return this;
+        }
+
+        @Override
+        Contenedor quitar(char valor) {
+            int indice = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (indice >= 0) {
+                System.arraycopy(valores, indice + 1, valores, indice, cantidad - indice - 1);
+                cantidad--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contiene(char valor) {
+            return Arrays.binarySearch(valores, 0, cantidad, valor) >= 0;
+        }
+
+        @Override
+        int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        Contenedor and(Contenedor otro) {
+            char[] resultado = new char[Math.min(cantidad, otro.cardinalidad())];
+            int n = 0;
+            if (otro instanceof ContenedorArreglo) {
+                ContenedorArreglo arreglo = (ContenedorArreglo) otro;
+                int i = 0;
+                int j = 0;
+                while (i < cantidad && j < arreglo.cantidad) {
+                    if (valores[i] < arreglo.valores[j]) {
+                        i++;
+                    } else if (valores[i] > arreglo.valores[j]) {
+                        j++;
+                    } else {
+                        resultado[n++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cantidad; i++) {
+                    if (otro.contiene(valores[i])) {
+                        resultado[n++] = valores[i];
+                    }
+                }
+            }
+            return new ContenedorArreglo(resultado, n);
+        }
+
+        @Override
+        Contenedor or(Contenedor otro) {
+            if (otro instanceof ContenedorBitmap) {
+                return otro.or(this);
+            }
+            ContenedorArreglo arreglo = (ContenedorArreglo) otro;
+            char[] resultado = new char[cantidad + arreglo.cantidad];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cantidad || j < arreglo.cantidad) {
+                if (j >= arreglo.cantidad || (i < cantidad && valores[i] < arreglo.valores[j])) {
+                    resultado[n++] = valores[i++];
+                } else if (i >= cantidad || arreglo.valores[j] < valores[i]) {
+                    resultado[n++] = arreglo.valores[j++];
+                } else {
+                    resultado[n++] = valores[i];
+                    i++;
+                    j++;
+                }
+            }
+            ContenedorArreglo union = new ContenedorArreglo(resultado, n);
+            return n > LIMITE_ARREGLO ? union.aBitmap() : union;
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer accion) {
+            for (int i = 0; i < cantidad; i++) {
+                accion.accept(base | valores[i]);
+            }
+        }
+
+        @Override
+        Contenedor copiar() {
+            return new ContenedorArreglo(Arrays.copyOf(valores, Math.max(4, cantidad)), cantidad);
+        }
+
+        @Override
+        long bytesEstimados() {
+            return 16L + valores.length * 2L;
+        }
+
+        ContenedorBitmap aBitmap() {
+            ContenedorBitmap bitmap = new ContenedorBitmap();
+            for (int i = 0; i < cantidad; i++) {
+                bitmap.agregar(valores[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class ContenedorBitmap extends Contenedor {
+        private final long[] palabras;
+        private int cantidad;
+
+        ContenedorBitmap() {
+            this.palabras = new long[1024];
+        }
+
+        ContenedorBitmap(long[] palabras, int cantidad) {
+            this.palabras = palabras;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        Contenedor agregar(char valor) {
+            long mascara = 1L << valor;
+            int indice = valor >>> 6;
+            if ((palabras[indice] & mascara) == 0) {
+                palabras[indice] |= mascara;
+                cantidad++;
+            }
+            return this;
+        }
+
+        @Override
+        Contenedor quitar(char valor) {
+            long mascara = 1L << valor;
+            int indice = valor >>> 6;
+            if ((palabras[indice] & mascara) != 0) {
+                palabras[indice] &= ~mascara;
+                cantidad--;
+                if (cantidad <= LIMITE_ARREGLO) {
+                    return aArregloContenedor();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contiene(char valor) {
+            return (palabras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        Contenedor and(Contenedor otro) {
+            if (otro instanceof ContenedorArreglo) {
+                return otro.and(this);
+            }
+            ContenedorBitmap bitmap = (ContenedorBitmap) otro;
+            long[] resultado = new long[1024];
+            int total = 0;
+            for (int i = 0; i < 1024; i++) {
+                resultado[i] = palabras[i] & bitmap.palabras[i];
+                total += Long.bitCount(resultado[i]);
+            }
+            ContenedorBitmap interseccion = new ContenedorBitmap(resultado, total);
+            return total <= LIMITE_ARREGLO ? interseccion.aArregloContenedor() : interseccion;
+        }
+
+        @Override
+        Contenedor or(Contenedor otro) {
+            long[] resultado = palabras.clone();
+            int total = cantidad;
+            if (otro instanceof ContenedorBitmap) {
+                ContenedorBitmap bitmap = (ContenedorBitmap) otro;
+                total = 0;
+                for (int i = 0; i < 1024; i++) {
+                    resultado[i] |= bitmap.palabras[i];
+                    total += Long.bitCount(resultado[i]);
+                }
+                return new ContenedorBitmap(resultado, total);
+            }
+            ContenedorArreglo arreglo = (ContenedorArreglo) otro;
+            for (int i = 0; i < arreglo.cantidad; i++) {
+                char valor = arreglo.valores[i];
+                long mascara = 1L << valor;
+                if ((resultado[valor >>> 6] & mascara) == 0) {
+                    resultado[valor >>> 6] |= mascara;
+                    total++;
+                }
+            }
+            return new ContenedorBitmap(resultado, total);
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer accion) {
+            for (int i = 0; i < 1024; i++) {
+                long palabra = palabras[i];
+                while (palabra != 0) {
+                    int bit = Long.numberOfTrailingZeros(palabra);
+                    accion.accept(base | (i << 6) | bit);
+                    palabra &= palabra - 1;
+                }
+            }
+        }
+
+        @Override
+        Contenedor copiar() {
+            return new ContenedorBitmap(palabras.clone(), cantidad);
+        }
+
+        @Override
+        long bytesEstimados() {
+            return 16L + 8192L;
+        }
+
+        ContenedorArreglo aArregloContenedor() {
+            char[] valores = new char[Math.max(4, cantidad)];
+            int n = 0;
+            for (int i = 0; i < 1024; i++) {
+                long palabra = palabras[i];
+                while (palabra != 0) {
+                    int bit = Long.numberOfTrailingZeros(palabra);
+                    valores[n++] = (char) ((i << 6) | bit);
+                    palabra &= palabra - 1;
+                }
+            }
+            return new ContenedorArreglo(valores, n);
+        }
+    }
+}
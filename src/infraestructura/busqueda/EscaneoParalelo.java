@@ -0,0 +1,402 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Motor de escaneo paralelo (fork/join) para búsquedas que no pueden
+ * resolverse con un índice: filtros ad-hoc, reportes de administración o
+ * recorridos sobre todos los usuarios.
+ *
+ * Trabaja siempre sobre un snapshot (una copia de la lista del repositorio),
+ * por lo que las escrituras concurrentes no afectan el recorrido.
+ *
+ * Características:
+ * - Usa un ForkJoinPool dedicado, nunca el common pool, para que los escaneos
+ * grandes no compitan con otras tareas paralelas de la JVM
+ * - Por defecto deja un núcleo libre para los hilos que atienden pedidos
+ * - Por debajo del umbral configurado el escaneo es secuencial (el costo de
+ * dividir la tarea no compensa)
+ * - Permite recolección que preserva el orden del snapshot o, cuando el
+ * llamador no lo necesita, una recolección sin orden más barata
+ * - Procesa rangos de índices por bloques ({@link #procesarPorBloques}) para
+ * recorridos sobre columnas primitivas, como el scoring de candidatos
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * List&lt;Scrim&gt; abiertos = EscaneoParalelo.getInstance()
+ *         .filtrar(repositorio.obtenerTodos(), s -&gt; "BUSCANDO".equals(s.getEstado()));
+ * </pre>
+ *
+ * @author eScrims Team
+ */
+public class EscaneoParalelo {
+
+    /** Cantidad de elementos por debajo de la cual el escaneo es secuencial. */
+    public static final int UMBRAL_SECUENCIAL_POR_DEFECTO = 10_000;
+
+    /** Tamaño mínimo de cada bloque procesado por una hoja del fork/join. */
+    private static final int TAMANIO_BLOQUE_MINIMO = 2_048;
+
+    private static EscaneoParalelo instance;
+
+    private final ForkJoinPool pool;
+    private final int umbralSecuencial;
+
+    private EscaneoParalelo(int paralelismo, int umbralSecuencial) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser al menos 1");
+        }
+        if (umbralSecuencial < 0) {
+            throw new IllegalArgumentException("El umbral secuencial no puede ser negativo");
+        }
+        this.umbralSecuencial = umbralSecuencial;
+        this.pool = new ForkJoinPool(paralelismo, EscaneoParalelo::crearHilo, null, false);
+    }
+
+    /**
+     * Obtiene la instancia compartida (Singleton) con la configuración por
+     * defecto: paralelismo = núcleos - 1 y umbral de
+     * {@value #UMBRAL_SECUENCIAL_POR_DEFECTO} elementos.
+     */
+    public static synchronized EscaneoParalelo getInstance() {
+        if (instance == null) {
+            int nucleos = Runtime.getRuntime().availableProcessors();
+            instance = new EscaneoParalelo(Math.max(1, nucleos - 1), UMBRAL_SECUENCIAL_POR_DEFECTO);
+        }
+        return instance;
+    }
+
+    /**
+     * Reemplaza la configuración del escaneo paralelo.
+     * Solo cambia la instancia compartida: el pool anterior no se apaga,
+     * porque otros hilos pueden seguir usando la instancia (o el pool de
+     * {@link #getPool()}) que obtuvieron antes. Sus hilos son daemon y
+     * terminan solos al quedar ociosos.
+     *
+     * @param paralelismo      cantidad de hilos del pool dedicado
+     * @param umbralSecuencial tamaño mínimo para usar el camino paralelo
+     * @throws IllegalArgumentException si algún parámetro es inválido
+     */
+    public static synchronized void configurar(int paralelismo, int umbralSecuencial) {
+        instance = new EscaneoParalelo(paralelismo, umbralSecuencial);
+    }
+
+    private static ForkJoinWorkerThread crearHilo(ForkJoinPool pool) {
+        ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        hilo.setName("escaneo-paralelo-" + hilo.getPoolIndex());
+        hilo.setDaemon(true);
+        return hilo;
+    }
+
+    /**
+     * Filtra un snapshot preservando el orden original de los elementos.
+     *
+     * @param snapshot  copia de los datos a recorrer
+     * @param predicado condición que deben cumplir los elementos
+     * @return nueva lista con los elementos que cumplen, en el mismo orden
+     */
+    public <T> List<T> filtrar(List<T> snapshot, Predicate<? super T> predicado) {
+        List<T> datos = comoAccesoAleatorio(snapshot);
+        if (!usarParalelo(datos)) {
+            return filtrarRango(datos, predicado, 0, datos.size());
+        }
+        return pool.invoke(new FiltroOrdenado<>(datos, predicado, 0, datos.size(), tamanioBloque(datos.size())));
+    }
+
+    /**
+     * Filtra un snapshot sin garantizar el orden del resultado.
+     * Evita las copias intermedias del merge ordenado; usar cuando el
+     * llamador solo necesita el conjunto (ej: destinatarios de notificaciones).
+     *
+     * @param snapshot  copia de los datos a recorrer
+     * @param predicado condición que deben cumplir los elementos
+     * @return nueva lista con los elementos que cumplen, en cualquier orden
+     */
+    public <T> List<T> filtrarSinOrden(List<T> snapshot, Predicate<? super T> predicado) {
+        List<T> datos = comoAccesoAleatorio(snapshot);
+        if (!usarParalelo(datos)) {
+            return filtrarRango(datos, predicado, 0, datos.size());
+        }
+
+        ConcurrentLinkedQueue<List<T>> parciales = new ConcurrentLinkedQueue<>();
+        pool.invoke(new FiltroSinOrden<>(datos, predicado, 0, datos.size(), tamanioBloque(datos.size()), parciales));
+
+        int total = 0;
+        for (List<T> parcial : parciales) {
+            total += parcial.size();
+        }
+        List<T> resultado = new ArrayList<>(total);
+        for (List<T> parcial : parciales) {
+            resultado.addAll(parcial);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta los elementos de un snapshot que cumplen una condición.
+     *
+     * @param snapshot  copia de los datos a recorrer
+     * @param predicado condición a evaluar
+     * @return cantidad de elementos que cumplen
+     */
+    public <T> long contar(List<T> snapshot, Predicate<? super T> predicado) {
+        List<T> datos = comoAccesoAleatorio(snapshot);
+        if (!usarParalelo(datos)) {
+            return contarRango(datos, predicado, 0, datos.size());
+        }
+        return pool.invoke(new Conteo<>(datos, predicado, 0, datos.size(), tamanioBloque(datos.size())));
+    }
+
+    /**
+     * Divide el rango [0, cantidad) en bloques contiguos, procesa cada uno en
+     * el pool dedicado y devuelve los resultados en el orden de los bloques
+     * (el primero cubre los índices más bajos). Por debajo del umbral
+     * secuencial se procesa un único bloque en el hilo llamador.
+     *
+     * Pensado para recorridos sobre arreglos (ej: columnas de
+     * {@link PoolCandidatos}) en los que cada bloque arma un resultado
+     * parcial (ej: un top-K local) que el llamador combina.
+     *
+     * @param cantidad cantidad de índices a recorrer
+     * @param tarea    procesamiento de un bloque [desde, hasta)
+     * @return resultado de cada bloque, en orden
+     * @throws IllegalArgumentException si la cantidad es negativa o la tarea
+     *                                  es null
+     */
+    public <R> List<R> procesarPorBloques(int cantidad, TareaBloque<R> tarea) {
+        if (cantidad < 0 || tarea == null) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa y la tarea es obligatoria");
+        }
+        if (cantidad < umbralSecuencial || pool.getParallelism() <= 1) {
+            List<R> unico = new ArrayList<>(1);
+            unico.add(tarea.procesar(0, cantidad));
+            return unico;
+        }
+        return pool.invoke(new PorBloques<>(tarea, 0, cantidad, tamanioBloque(cantidad)));
+    }
+
+    public int getParalelismo() {
+        return pool.getParallelism();
+    }
+
+    public int getUmbralSecuencial() {
+        return umbralSecuencial;
+    }
+
+    /**
+     * Expone el pool dedicado para otros componentes de búsqueda que necesiten
+     * dividir trabajo (ej: scoring de candidatos) sin crear pools propios.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private boolean usarParalelo(List<?> datos) {
+        return datos.size() >= umbralSecuencial && pool.getParallelism() > 1;
+    }
+
+    /**
+     * Bloques de al menos {@link #TAMANIO_BLOQUE_MINIMO} elementos y como mucho
+     * 4 bloques por hilo para balancear carga sin fragmentar de más.
+     */
+    private int tamanioBloque(int cantidad) {
+        int porHilo = cantidad / (pool.getParallelism() * 4);
+        return Math.max(TAMANIO_BLOQUE_MINIMO, porHilo);
+    }
+
+    private static <T> List<T> comoAccesoAleatorio(List<T> snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("El snapshot no puede ser null");
+        }
+        return snapshot instanceof RandomAccess ? snapshot : new ArrayList<>(snapshot);
+    }
+
+    private static <T> List<T> filtrarRango(List<T> datos, Predicate<? super T> predicado, int desde, int hasta) {
+        List<T> resultado = new ArrayList<>();
+        for (int i = desde; i < hasta; i++) {
+            T elemento = datos.get(i);
+            if (predicado.test(elemento)) {
+                resultado.add(elemento);
+            }
+        }
+        return resultado;
+    }
+
+    private static <T> long contarRango(List<T> datos, Predicate<? super T> predicado, int desde, int hasta) {
+        long cantidad = 0;
+        for (int i = desde; i < hasta; i++) {
+            if (predicado.test(datos.get(i))) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Procesamiento de un bloque de índices.
+     */
+    @FunctionalInterface
+    public interface TareaBloque<R> {
+        R procesar(int desde, int hasta);
+    }
+
+    // ========== TAREAS FORK/JOIN ==========
+
+    /**
+     * Divide el rango en mitades y concatena los resultados por bloque de
+     * izquierda a derecha.
+     */
+    private static class PorBloques<R> extends RecursiveTask<List<R>> {
+        private static final long serialVersionUID = 1L;
+
+        private final TareaBloque<R> tarea;
+        private final int desde;
+        private final int hasta;
+        private final int bloque;
+
+        PorBloques(TareaBloque<R> tarea, int desde, int hasta, int bloque) {
+            this.tarea = tarea;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bloque = bloque;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (hasta - desde <= bloque) {
+                List<R> unico = new ArrayList<>(1);
+                unico.add(tarea.procesar(desde, hasta));
+                return unico;
+            }
+            int medio = (desde + hasta) >>> 1;
+            PorBloques<R> izquierda = new PorBloques<>(tarea, desde, medio, bloque);
+            PorBloques<R> derecha = new PorBloques<>(tarea, medio, hasta, bloque);
+            izquierda.fork();
+            List<R> resultadoDerecha = derecha.compute();
+            List<R> combinado = new ArrayList<>(izquierda.join());
+            combinado.addAll(resultadoDerecha);
+            return combinado;
+        }
+    }
+
+    /**
+     * Divide el rango en mitades y concatena izquierda + derecha,
+     * preservando el orden del snapshot.
+     */
+    private static class FiltroOrdenado<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> datos;
+        private final Predicate<? super T> predicado;
+        private final int desde;
+        private final int hasta;
+        private final int bloque;
+
+        FiltroOrdenado(List<T> datos, Predicate<? super T> predicado, int desde, int hasta, int bloque) {
+            this.datos = datos;
+            this.predicado = predicado;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bloque = bloque;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (hasta - desde <= bloque) {
+                return filtrarRango(datos, predicado, desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            FiltroOrdenado<T> izquierda = new FiltroOrdenado<>(datos, predicado, desde, medio, bloque);
+            FiltroOrdenado<T> derecha = new FiltroOrdenado<>(datos, predicado, medio, hasta, bloque);
+            izquierda.fork();
+            List<T> resultadoDerecha = derecha.compute();
+            List<T> resultadoIzquierda = izquierda.join();
+
+            List<T> combinado = new ArrayList<>(resultadoIzquierda.size() + resultadoDerecha.size());
+            combinado.addAll(resultadoIzquierda);
+            combinado.addAll(resultadoDerecha);
+            return combinado;
+        }
+    }
+
+    /**
+     * Cada hoja publica su resultado parcial en una cola compartida;
+     * no hay merge intermedio.
+     */
+    private static class FiltroSinOrden<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> datos;
+        private final Predicate<? super T> predicado;
+        private final int desde;
+        private final int hasta;
+        private final int bloque;
+        private final ConcurrentLinkedQueue<List<T>> parciales;
+
+        FiltroSinOrden(List<T> datos, Predicate<? super T> predicado, int desde, int hasta, int bloque,
+                ConcurrentLinkedQueue<List<T>> parciales) {
+            this.datos = datos;
+            this.predicado = predicado;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bloque = bloque;
+            this.parciales = parciales;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= bloque) {
+                List<T> parcial = filtrarRango(datos, predicado, desde, hasta);
+                if (!parcial.isEmpty()) {
+                    parciales.add(parcial);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new FiltroSinOrden<>(datos, predicado, desde, medio, bloque, parciales),
+                    new FiltroSinOrden<>(datos, predicado, medio, hasta, bloque, parciales));
+        }
+    }
+
+    private static class Conteo<T> extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> datos;
+        private final Predicate<? super T> predicado;
+        private final int desde;
+        private final int hasta;
+        private final int bloque;
+
+        Conteo(List<T> datos, Predicate<? super T> predicado, int desde, int hasta, int bloque) {
+            this.datos = datos;
+            this.predicado = predicado;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bloque = bloque;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hasta - desde <= bloque) {
+                return contarRango(datos, predicado, desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            Conteo<T> izquierda = new Conteo<>(datos, predicado, desde, medio, bloque);
+            Conteo<T> derecha = new Conteo<>(datos, predicado, medio, hasta, bloque);
+            izquierda.fork();
+            long resultadoDerecha = derecha.compute();
+            return izquierda.join() + resultadoDerecha;
+        }
+    }
+}
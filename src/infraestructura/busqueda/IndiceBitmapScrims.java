@@ -0,0 +1,381 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import aplicacion.builders.FiltrosScrim;
+import dominio.modelo.Scrim;
+
+/**
+ * Índice de bitmaps comprimidos sobre las dimensiones de baja cardinalidad de
+ * los scrims: juego, formato, región, bucket de latencia y hora del día.
+ *
+ * Cada scrim recibe un ordinal denso (su posición de inserción). Para cada
+ * valor de cada dimensión se mantiene un {@link BitmapComprimido} con los
+ * ordinales que lo tienen, de modo que una búsqueda con varios filtros se
+ * resuelve intersectando (AND) bitmaps de distintas dimensiones y uniendo (OR)
+ * los buckets de una misma dimensión. Solo se materializan los scrims del
+ * bitmap resultante, que además se verifican con
+ * {@link FiltrosScrim#coincide(Scrim)} para los filtros no indexados (estado,
+ * rangos, fechas) y los bordes de bucket.
+ *
+ * El estado no se indexa: las transiciones (State) se aplican sobre el scrim
+ * en memoria y pueden no persistirse enseguida, así que un bitmap por estado
+ * quedaría desactualizado y perdería resultados. Se verifica siempre contra el
+ * estado vivo del scrim.
+ *
+ * Mantenimiento:
+ * - El índice se actualiza en cada escritura del repositorio (guardar,
+ * actualizar, eliminar)
+ * - Los ordinales preservan el orden de inserción, por lo que los resultados
+ * salen en el mismo orden que un escaneo de la lista del repositorio
+ * - Los huecos que dejan las eliminaciones se compactan cuando superan la mitad
+ * de los ordinales asignados
+ *
+ * @author eScrims Team
+ * @see BitmapComprimido
+ */
+public class IndiceBitmapScrims {
+
+    /** Ancho en ms de cada bucket de latencia. */
+    public static final int ANCHO_BUCKET_LATENCIA = 25;
+
+    /** Último bucket de latencia; agrupa todas las latencias mayores. */
+    private static final int BUCKET_LATENCIA_MAXIMO = 1 + 1000 / ANCHO_BUCKET_LATENCIA;
+
+    /** Huecos mínimos antes de considerar una compactación. */
+    private static final int HUECOS_MINIMOS_COMPACTACION = 64;
+
+    private final Map<String, Integer> ordinalPorId;
+    private final List<Scrim> scrimPorOrdinal;
+    private final List<ClavesIndexadas> clavesPorOrdinal;
+
+    private final Map<String, BitmapComprimido> porJuego;
+    private final Map<String, BitmapComprimido> porFormato;
+    private final Map<String, BitmapComprimido> porRegion;
+    private final TreeMap<Integer, BitmapComprimido> porBucketLatencia;
+    private final BitmapComprimido[] porHora;
+
+    private int huecos;
+
+    public IndiceBitmapScrims() {
+        this.ordinalPorId = new HashMap<>();
+        this.scrimPorOrdinal = new ArrayList<>();
+        this.clavesPorOrdinal = new ArrayList<>();
+        this.porJuego = new HashMap<>();
+        this.porFormato = new HashMap<>();
+        this.porRegion = new HashMap<>();
+        this.porBucketLatencia = new TreeMap<>();
+        this.porHora = new BitmapComprimido[24];
+        for (int hora = 0; hora < porHora.length; hora++) {
+            porHora[hora] = new BitmapComprimido();
+        }
+    }
+
+    // ========== MANTENIMIENTO ==========
+
+    /**
+     * Descarta el contenido actual e indexa la lista completa en orden.
+     *
+     * @param scrims scrims del repositorio
+     */
+    public synchronized void reconstruir(List<Scrim> scrims) {
+        ordinalPorId.clear();
+        scrimPorOrdinal.clear();
+        clavesPorOrdinal.clear();
+        porJuego.clear();
+        porFormato.clear();
+        porRegion.clear();
+        porBucketLatencia.clear();
+        for (int hora = 0; hora < porHora.length; hora++) {
+            porHora[hora] = new BitmapComprimido();
+        }
+        huecos = 0;
+
+        for (Scrim scrim : scrims) {
+            indexarSinBloqueo(scrim);
+        }
+    }
+
+    /**
+     * Indexa un scrim nuevo o reindexa uno existente (mismo id), manteniendo
+     * su ordinal. También reemplaza la referencia almacenada.
+     *
+     * @param scrim scrim a indexar
+     */
+    public synchronized void indexar(Scrim scrim) {
+        if (scrim == null || scrim.getId() == null) {
+            throw new IllegalArgumentException("El scrim y su id no pueden ser null");
+        }
+        indexarSinBloqueo(scrim);
+    }
+
+    /**
+     * Quita un scrim del índice (no hace nada si no estaba).
+     *
+     * @param id id del scrim eliminado
+     */
+    public synchronized void desindexar(String id) {
+        Integer ordinal = ordinalPorId.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        quitarClaves(ordinal, clavesPorOrdinal.get(ordinal));
+        scrimPorOrdinal.set(ordinal, null);
+        clavesPorOrdinal.set(ordinal, null);
+        huecos++;
+
+        if (huecos >= HUECOS_MINIMOS_COMPACTACION && huecos * 2 > scrimPorOrdinal.size()) {
+            List<Scrim> vivos = new ArrayList<>(ordinalPorId.size());
+            for (Scrim scrim : scrimPorOrdinal) {
+                if (scrim != null) {
+                    vivos.add(scrim);
+                }
+            }
+            reconstruir(vivos);
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Indica si los filtros incluyen al menos una dimensión indexada.
+     * Si no (ej: solo estado), el bitmap no reduce nada y conviene un escaneo
+     * completo.
+     */
+    public boolean puedeResolver(FiltrosScrim filtros) {
+        return filtros != null
+                && (filtros.getJuego() != null
+                        || filtros.getFormato() != null
+                        || filtros.getRegion() != null
+                        || filtros.getLatenciaMax() != null
+                        || filtros.getHoraDesde() != null);
+    }
+
+    /**
+     * Calcula el bitmap de ordinales candidatos combinando las dimensiones
+     * indexadas de los filtros. Puede contener falsos positivos en los bordes
+     * de bucket, nunca falsos negativos.
+     *
+     * @param filtros filtros de búsqueda (al menos una dimensión indexada)
+     * @return bitmap de candidatos (nuevo, puede modificarse)
+     */
+    public synchronized BitmapComprimido candidatos(FiltrosScrim filtros) {
+        if (!puedeResolver(filtros)) {
+            throw new IllegalArgumentException("Los filtros no usan ninguna dimensión indexada");
+        }
+
+        List<BitmapComprimido> dimensiones = new ArrayList<>();
+        if (filtros.getJuego() != null) {
+            dimensiones.add(porJuego.getOrDefault(normalizar(filtros.getJuego()), new BitmapComprimido()));
+        }
+        if (filtros.getFormato() != null) {
+            dimensiones.add(porFormato.getOrDefault(normalizar(filtros.getFormato()), new BitmapComprimido()));
+        }
+        if (filtros.getRegion() != null) {
+            dimensiones.add(porRegion.getOrDefault(normalizar(filtros.getRegion()), new BitmapComprimido()));
+        }
+        if (filtros.getLatenciaMax() != null) {
+            dimensiones.add(unirBucketsLatencia(filtros.getLatenciaMax()));
+        }
+        if (filtros.getHoraDesde() != null) {
+            dimensiones.add(unirHoras(filtros));
+        }
+
+        // Intersectar de menor a mayor cardinalidad para achicar el resultado cuanto antes
+        dimensiones.sort(Comparator.comparingInt(BitmapComprimido::cardinalidad));
+        BitmapComprimido resultado = dimensiones.get(0).copiar();
+        for (int i = 1; i < dimensiones.size() && !resultado.estaVacio(); i++) {
+            resultado = BitmapComprimido.and(resultado, dimensiones.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca los scrims que cumplen los filtros: intersección de bitmaps y
+     * verificación final de cada candidato.
+     *
+     * @param filtros filtros de búsqueda (al menos una dimensión indexada)
+     * @return scrims que cumplen, en orden de inserción
+     */
+    public synchronized List<Scrim> buscar(FiltrosScrim filtros) {
+        BitmapComprimido candidatos = candidatos(filtros);
+        List<Scrim> resultado = new ArrayList<>(candidatos.cardinalidad());
+        candidatos.paraCada(ordinal -> {
+            Scrim scrim = scrimPorOrdinal.get(ordinal);
+            if (scrim != null && filtros.coincide(scrim)) {
+                resultado.add(scrim);
+            }
+        });
+        return resultado;
+    }
+
+    public synchronized int cantidadIndexada() {
+        return ordinalPorId.size();
+    }
+
+    /**
+     * Bytes aproximados ocupados por los bitmaps (sin contar los scrims).
+     */
+    public synchronized long bytesEstimados() {
+        long total = 0;
+        for (BitmapComprimido bitmap : porJuego.values()) {
+            total += bitmap.bytesEstimados();
+        }
+        for (BitmapComprimido bitmap : porFormato.values()) {
+            total += bitmap.bytesEstimados();
+        }
+        for (BitmapComprimido bitmap : porRegion.values()) {
+            total += bitmap.bytesEstimados();
+        }
+        for (BitmapComprimido bitmap : porBucketLatencia.values()) {
+            total += bitmap.bytesEstimados();
+        }
+        for (BitmapComprimido bitmap : porHora) {
+            total += bitmap.bytesEstimados();
+        }
+        return total;
+    }
+
+    /**
+     * Bucket de latencia de un scrim. El bucket 0 agrupa los scrims sin límite
+     * de latencia (valor negativo).
+     */
+    public static int bucketLatencia(int latenciaMax) {
+        if (latenciaMax < 0) {
+            return 0;
+        }
+        return Math.min(BUCKET_LATENCIA_MAXIMO, 1 + latenciaMax / ANCHO_BUCKET_LATENCIA);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void indexarSinBloqueo(Scrim scrim) {
+        ClavesIndexadas nuevas = ClavesIndexadas.de(scrim);
+        Integer ordinal = ordinalPorId.get(scrim.getId());
+
+        if (ordinal == null) {
+            ordinal = scrimPorOrdinal.size();
+            ordinalPorId.put(scrim.getId(), ordinal);
+            scrimPorOrdinal.add(scrim);
+            clavesPorOrdinal.add(nuevas);
+            agregarClaves(ordinal, nuevas);
+            return;
+        }
+
+        scrimPorOrdinal.set(ordinal, scrim);
+        ClavesIndexadas anteriores = clavesPorOrdinal.get(ordinal);
+        if (!anteriores.equals(nuevas)) {
+            quitarClaves(ordinal, anteriores);
+            agregarClaves(ordinal, nuevas);
+            clavesPorOrdinal.set(ordinal, nuevas);
+        }
+    }
+
+    private void agregarClaves(int ordinal, ClavesIndexadas claves) {
+        porJuego.computeIfAbsent(claves.juego, k -> new BitmapComprimido()).agregar(ordinal);
+        porFormato.computeIfAbsent(claves.formato, k -> new BitmapComprimido()).agregar(ordinal);
+        porRegion.computeIfAbsent(claves.region, k -> new BitmapComprimido()).agregar(ordinal);
+        porBucketLatencia.computeIfAbsent(claves.bucketLatencia, k -> new BitmapComprimido()).agregar(ordinal);
+        porHora[claves.hora].agregar(ordinal);
+    }
+
+    private void quitarClaves(int ordinal, ClavesIndexadas claves) {
+        quitarDe(porJuego, claves.juego, ordinal);
+        quitarDe(porFormato, claves.formato, ordinal);
+        quitarDe(porRegion, claves.region, ordinal);
+        quitarDe(porBucketLatencia, claves.bucketLatencia, ordinal);
+        porHora[claves.hora].quitar(ordinal);
+    }
+
+    private static <K> void quitarDe(Map<K, BitmapComprimido> dimension, K clave, int ordinal) {
+        BitmapComprimido bitmap = dimension.get(clave);
+        if (bitmap != null) {
+            bitmap.quitar(ordinal);
+            if (bitmap.estaVacio()) {
+                dimension.remove(clave);
+            }
+        }
+    }
+
+    private BitmapComprimido unirBucketsLatencia(int latenciaMax) {
+        BitmapComprimido union = new BitmapComprimido();
+        for (BitmapComprimido bitmap : porBucketLatencia.headMap(bucketLatencia(latenciaMax), true).values()) {
+            union = BitmapComprimido.or(union, bitmap);
+        }
+        return union;
+    }
+
+    private BitmapComprimido unirHoras(FiltrosScrim filtros) {
+        BitmapComprimido union = new BitmapComprimido();
+        for (int hora = 0; hora < porHora.length; hora++) {
+            if (filtros.incluyeHora(hora)) {
+                union = BitmapComprimido.or(union, porHora[hora]);
+            }
+        }
+        return union;
+    }
+
+    private static String normalizar(String valor) {
+        return valor == null ? "" : valor.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Valores indexados de un scrim, guardados para poder quitarlo de los
+     * bitmaps correctos cuando cambia o se elimina.
+     */
+    private static final class ClavesIndexadas {
+        private final String juego;
+        private final String formato;
+        private final String region;
+        private final int bucketLatencia;
+        private final int hora;
+
+        private ClavesIndexadas(String juego, String formato, String region, int bucketLatencia, int hora) {
+            this.juego = juego;
+            this.formato = formato;
+            this.region = region;
+            this.bucketLatencia = bucketLatencia;
+            this.hora = hora;
+        }
+
+        static ClavesIndexadas de(Scrim scrim) {
+            return new ClavesIndexadas(
+                    normalizar(scrim.getJuego() != null ? scrim.getJuego().getNombre() : null),
+                    normalizar(scrim.getFormato() != null ? scrim.getFormato().getFormatName() : null),
+                    normalizar(scrim.getRegion()),
+                    bucketLatencia(scrim.getLatenciaMax()),
+                    scrim.getFechaHora() != null ? scrim.getFechaHora().getHour() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClavesIndexadas)) {
+                return false;
+            }
+            ClavesIndexadas otras = (ClavesIndexadas) o;
+            return bucketLatencia == otras.bucketLatencia
+                    && hora == otras.hora
+                    && juego.equals(otras.juego)
+                    && formato.equals(otras.formato)
+                    && region.equals(otras.region);
+        }
+
+        @Override
+        public int hashCode() {
+            int resultado = juego.hashCode();
+            resultado = 31 * resultado + formato.hashCode();
+            resultado = 31 * resultado + region.hashCode();
+            resultado = 31 * resultado + bucketLatencia;
+            return 31 * resultado + hora;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package infraestructura.busqueda;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice invertido incremental con ranking BM25 para búsqueda de texto libre.
+ *
+ * Los documentos se identifican por una clave estable provista por el llamador
+ * (ej: el id del comentario). Internamente cada documento recibe un ordinal
+ * denso en orden de llegada, por lo que las listas de postings quedan
+ * ordenadas sin costo adicional. Cada documento tiene además una etiqueta
+ * entera (ej: estado de moderación) que puede cambiar sin reindexar el texto y
+ * sirve para filtrar resultados.
+ *
+ * Para persistir sin retokenizar al iniciar, la indexación se separa en dos
+ * pasos: {@link #analizar(long, String, int)} tokeniza y arma un
+ * {@link Documento} (serializable con Gson, pensado para agregarse como una
+ * línea a un archivo) y {@link #agregar(Documento)} lo incorpora al índice.
+ * Al cargar basta con volver a agregar los documentos leídos.
+ *
+ * Ranking BM25 con k1 = {@value #K1} y b = {@value #B}:
+ *
+ * <pre>
+ * score(d, q) = Σ idf(t) · tf(t,d)·(k1+1) / (tf(t,d) + k1·(1 - b + b·|d|/avgdl))
+ * idf(t) = ln(1 + (N - df + 0.5) / (df + 0.5))
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see TokenizadorTexto
+ */
+public class IndiceInvertido {
+
+    public static final double K1 = 1.2;
+    public static final double B = 0.75;
+
+    private int documentos;
+    private long longitudTotal;
+    private long[] claves;
+    private int[] longitudes;
+    private int[] etiquetas;
+    private final Map<Long, Integer> ordinalPorClave;
+    private final Map<String, Postings> postings;
+
+    public IndiceInvertido() {
+        this.claves = new long[16];
+        this.longitudes = new int[16];
+        this.etiquetas = new int[16];
+        this.ordinalPorClave = new HashMap<>();
+        this.postings = new HashMap<>();
+    }
+
+    // ========== INDEXACIÓN ==========
+
+    /**
+     * Tokeniza un documento sin modificar el índice.
+     *
+     * @param clave    clave estable del documento
+     * @param texto    contenido del documento
+     * @param etiqueta etiqueta inicial del documento
+     * @return documento analizado, listo para {@link #agregar(Documento)}
+     */
+    public static Documento analizar(long clave, String texto, int etiqueta) {
+        List<String> tokens = TokenizadorTexto.tokenizar(texto);
+        Map<String, Integer> frecuencias = new HashMap<>();
+        for (String token : tokens) {
+            frecuencias.merge(token, 1, Integer::sum);
+        }
+        return new Documento(clave, huellaDe(texto), etiqueta, tokens.size(), frecuencias);
+    }
+
+    /**
+     * Tokeniza y agrega un documento.
+     *
+     * @return documento analizado (para persistirlo)
+     * @throws IllegalArgumentException si la clave ya está indexada
+     */
+    public synchronized Documento agregarDocumento(long clave, String texto, int etiqueta) {
+        Documento documento = analizar(clave, texto, etiqueta);
+        agregar(documento);
+        return documento;
+    }
+
+    /**
+     * Agrega un documento ya analizado al final del índice.
+     *
+     * @throws IllegalArgumentException si el documento es null, está
+     *                                  incompleto o su clave ya está indexada
+     */
+    public synchronized void agregar(Documento documento) {
+        if (documento == null || documento.frecuencias == null) {
+            throw new IllegalArgumentException("El documento y sus frecuencias no pueden ser null");
+        }
+        if (ordinalPorClave.containsKey(documento.clave)) {
+            throw new IllegalArgumentException("Documento ya indexado: " + documento.clave);
+        }
+        int ordinal = documentos;
+        for (Map.Entry<String, Integer> entrada : documento.frecuencias.entrySet()) {
+            postings.computeIfAbsent(entrada.getKey(), k -> new Postings()).agregar(ordinal, entrada.getValue());
+        }
+
+        if (ordinal == longitudes.length) {
+            claves = Arrays.copyOf(claves, claves.length * 2);
+            longitudes = Arrays.copyOf(longitudes, longitudes.length * 2);
+            etiquetas = Arrays.copyOf(etiquetas, etiquetas.length * 2);
+        }
+        claves[ordinal] = documento.clave;
+        longitudes[ordinal] = documento.longitud;
+        etiquetas[ordinal] = documento.etiqueta;
+        ordinalPorClave.put(documento.clave, ordinal);
+        longitudTotal += documento.longitud;
+        documentos++;
+    }
+
+    /**
+     * Cambia la etiqueta de un documento ya indexado.
+     *
+     * @throws IllegalArgumentException si la clave no está indexada
+     */
+    public synchronized void actualizarEtiqueta(long clave, int etiqueta) {
+        Integer ordinal = ordinalPorClave.get(clave);
+        if (ordinal == null) {
+            throw new IllegalArgumentException("Documento inexistente en el índice: " + clave);
+        }
+        etiquetas[ordinal] = etiqueta;
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    /**
+     * Busca los documentos más relevantes para una consulta (unión de los
+     * términos, ordenados por BM25 descendente y orden de llegada en empates).
+     *
+     * Los puntajes se acumulan en un mapa recorriendo solo las listas de
+     * postings de los términos de la consulta, por lo que el costo depende de
+     * los documentos que contienen algún término y no del tamaño del índice.
+     *
+     * @param consulta        texto de la consulta
+     * @param limite          cantidad máxima de resultados
+     * @param filtroEtiquetas condición sobre la etiqueta del documento (null =
+     *                        todos)
+     * @return resultados ordenados por relevancia
+     */
+    public synchronized List<Resultado> buscar(String consulta, int limite, IntPredicate filtroEtiquetas) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a 0");
+        }
+        TopK<Resultado> mejores = new TopK<>(limite, Comparator.comparingDouble(Resultado::getPuntaje).reversed()
+                .thenComparingInt(resultado -> resultado.ordinal));
+        if (documentos == 0) {
+            return mejores.obtenerOrdenados();
+        }
+
+        double longitudPromedio = (double) longitudTotal / documentos;
+        Map<Integer, Double> puntajes = new HashMap<>();
+
+        for (String termino : new LinkedHashSet<>(TokenizadorTexto.tokenizar(consulta))) {
+            Postings lista = postings.get(termino);
+            if (lista == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentos - lista.cantidad + 0.5) / (lista.cantidad + 0.5));
+            for (int i = 0; i < lista.cantidad; i++) {
+                int ordinal = lista.ordinales[i];
+                if (filtroEtiquetas != null && !filtroEtiquetas.test(etiquetas[ordinal])) {
+                    continue;
+                }
+                int tf = lista.frecuencias[i];
+                double normalizacion = K1 * (1 - B + B * longitudes[ordinal] / longitudPromedio);
+                puntajes.merge(ordinal, idf * tf * (K1 + 1) / (tf + normalizacion), Double::sum);
+            }
+        }
+
+        for (Map.Entry<Integer, Double> entrada : puntajes.entrySet()) {
+            int ordinal = entrada.getKey();
+            mejores.ofrecer(new Resultado(claves[ordinal], ordinal, entrada.getValue()));
+        }
+        return mejores.obtenerOrdenados();
+    }
+
+    // ========== CONSULTAS DE ESTADO ==========
+
+    public synchronized int getDocumentos() {
+        return documentos;
+    }
+
+    public synchronized boolean contiene(long clave) {
+        return ordinalPorClave.containsKey(clave);
+    }
+
+    public synchronized int getCantidadTerminos() {
+        return postings.size();
+    }
+
+    /**
+     * Huella del contenido de un documento, guardada en {@link Documento} para
+     * verificar al cargar que el texto indexado sigue siendo el mismo.
+     */
+    public static long huellaDe(String texto) {
+        return texto == null ? 0 : texto.hashCode();
+    }
+
+    /**
+     * Documento analizado: frecuencia de cada término, longitud en tokens y
+     * huella del texto original.
+     */
+    public static class Documento {
+        private final long clave;
+        private final long huella;
+        private final int etiqueta;
+        private final int longitud;
+        private final Map<String, Integer> frecuencias;
+
+        public Documento(long clave, long huella, int etiqueta, int longitud, Map<String, Integer> frecuencias) {
+            this.clave = clave;
+            this.huella = huella;
+            this.etiqueta = etiqueta;
+            this.longitud = longitud;
+            this.frecuencias = frecuencias;
+        }
+
+        public long getClave() {
+            return clave;
+        }
+
+        public long getHuella() {
+            return huella;
+        }
+
+        public int getEtiqueta() {
+            return etiqueta;
+        }
+
+        public int getLongitud() {
+            return longitud;
+        }
+
+        public Map<String, Integer> getFrecuencias() {
+            return frecuencias;
+        }
+    }
+
+    /**
+     * Documento encontrado con su puntaje BM25.
+     */
+    public static class Resultado {
+        private final long clave;
+        private final int ordinal;
+        private final double puntaje;
+
+        private Resultado(long clave, int ordinal, double puntaje) {
+            this.clave = clave;
+            this.ordinal = ordinal;
+            this.puntaje = puntaje;
+        }
+
+        public long getClave() {
+            return clave;
+        }
+
+        public double getPuntaje() {
+            return puntaje;
+        }
+    }
+
+    /**
+     * Lista de postings de un término: ordinales ascendentes y frecuencia del
+     * término en cada documento.
+     */
+    private static class Postings {
+        private int[] ordinales = new int[4];
+        private int[] frecuencias = new int[4];
+        private int cantidad;
+
+        void agregar(int ordinal, int frecuencia) {
+            if (cantidad == ordinales.length) {
+                ordinales = Arrays.copyOf(ordinales, cantidad * 2);
+                frecuencias = Arrays.copyOf(frecuencias, cantidad * 2);
+            }
+            ordinales[cantidad] = ordinal;
+            frecuencias[cantidad] = frecuencia;
+            cantidad++;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package infraestructura.busqueda;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import dominio.modelo.HistorialUsuario;
+
+/**
+ * Árbol k-d estático sobre los jugadores de un {@link PoolCandidatos}, en
+ * tres dimensiones: rango, latencia y fiabilidad.
+ *
+ * Coordenadas de cada jugador:
+ * - Rango: el rango del juego tal cual; la consulta lo escala según la
+ * ventana de rango del scrim (ver {@link #masCercanos})
+ * - Latencia: latencia / {@value #ESCALA_LATENCIA} ms
+ * - Fiabilidad: score de matchmaking del historial / {@value #SCORE_MAXIMO}
+ * (0 a 1); sin historial vale {@value #FIABILIDAD_SIN_HISTORIAL}
+ *
+ * Los jugadores sin rango en el juego no se indexan. El árbol se guarda
+ * implícito en arreglos paralelos: cada rango de posiciones {@code [desde,
+ * hasta)} tiene su nodo en la mediana y los hijos a cada lado, y cada nodo
+ * conserva la caja que envuelve a su subárbol para podar tanto por distancia
+ * como por la ventana de rango.
+ *
+ * La distancia es euclídea ponderada al cuadrado. Se compara cuantizada (ver
+ * {@link #cuantizar(double)}) dentro de claves de {@link TopKClaves}, por lo
+ * que los empates se resuelven por posición en el pool y el resultado es el
+ * mismo que el de un barrido lineal con la misma clave.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * IndiceKD indice = IndiceKD.de(PoolCandidatos.de("Valorant", "LAS"));
+ * int[] posiciones = indice.masCercanos(objetivo, pesos, 40, 60, 10);
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see infraestructura.matchmaking.strategies.ByCompositeStrategy
+ */
+public class IndiceKD {
+
+    public static final int DIMENSIONES = 3;
+    public static final int EJE_RANGO = 0;
+    public static final int EJE_LATENCIA = 1;
+    public static final int EJE_FIABILIDAD = 2;
+
+    public static final double ESCALA_LATENCIA = 300.0;
+    public static final double SCORE_MAXIMO = 90.0;
+    public static final double FIABILIDAD_SIN_HISTORIAL = 0.5;
+
+    // Último índice construido por "juego|región", válido mientras el pool
+    // vivo devuelva la misma foto
+    private static final Map<String, IndiceKD> cache = new HashMap<>();
+
+    private final PoolCandidatos pool;
+    private final int tamanio;
+    private final int[] posiciones; // posición en el pool de cada punto del árbol
+    private final double[][] puntos; // [eje][punto]
+    private final int[] rangos;
+    private final byte[] ejeDeCorte;
+    private final double escalaRango; // 1 / extensión de rangos del pool, para elegir el eje de corte
+    private final double[][] cajaMin; // [eje][nodo]: caja del subárbol
+    private final double[][] cajaMax;
+
+    private IndiceKD(PoolCandidatos pool) {
+        this.pool = pool;
+        int[] rangosPool = pool.getRangos();
+        int n = 0;
+        for (int i = 0; i < pool.getTamanio(); i++) {
+            if (rangosPool[i] != PoolCandidatos.SIN_RANGO) {
+                n++;
+            }
+        }
+
+        this.tamanio = n;
+        this.posiciones = new int[n];
+        this.puntos = new double[DIMENSIONES][n];
+        this.rangos = new int[n];
+        this.ejeDeCorte = new byte[n];
+        this.cajaMin = new double[DIMENSIONES][n];
+        this.cajaMax = new double[DIMENSIONES][n];
+
+        int[] latencias = pool.getLatencias();
+        boolean[] conHistorial = pool.getConHistorial();
+        double[] fairPlay = pool.getFairPlay();
+        double[] tasasAbandono = pool.getTasasAbandono();
+        int[] partidas = pool.getPartidasJugadas();
+        int j = 0;
+        for (int i = 0; i < pool.getTamanio(); i++) {
+            if (rangosPool[i] == PoolCandidatos.SIN_RANGO) {
+                continue;
+            }
+            posiciones[j] = i;
+            rangos[j] = rangosPool[i];
+            puntos[EJE_RANGO][j] = rangosPool[i];
+            puntos[EJE_LATENCIA][j] = latencias[i] / ESCALA_LATENCIA;
+            puntos[EJE_FIABILIDAD][j] = conHistorial[i]
+                    ? HistorialUsuario.calcularScoreMatchmaking(fairPlay[i], tasasAbandono[i], partidas[i])
+                            / SCORE_MAXIMO
+                    : FIABILIDAD_SIN_HISTORIAL;
+            j++;
+        }
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        for (int rango : rangos) {
+            minimo = Math.min(minimo, rango);
+            maximo = Math.max(maximo, rango);
+        }
+        this.escalaRango = maximo > minimo ? 1.0 / ((double) maximo - minimo) : 0.0;
+        construir(0, n);
+    }
+
+    // ========== CONSTRUCCIÓN ==========
+
+    /**
+     * Índice efímero sobre un pool.
+     */
+    public static IndiceKD desde(PoolCandidatos pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser null");
+        }
+        return new IndiceKD(pool);
+    }
+
+    /**
+     * Índice de un pool vivo ({@link PoolCandidatos#de(String, String)}). Se
+     * reutiliza mientras el pool devuelva la misma foto; si cambió, se
+     * reconstruye en O(n log² n).
+     */
+    public static synchronized IndiceKD de(PoolCandidatos pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser null");
+        }
+        String clave = pool.getJuego() + "|" + pool.getRegion();
+        IndiceKD indice = cache.get(clave);
+        if (indice == null || indice.pool != pool) {
+            indice = new IndiceKD(pool);
+            cache.put(clave, indice);
+        }
+        return indice;
+    }
+
+    /**
+     * Ordena recursivamente {@code [desde, hasta)} por el eje de mayor
+     * extensión, deja la mediana como nodo y calcula la caja del subárbol.
+     */
+    private void construir(int desde, int hasta) {
+        if (desde >= hasta) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        int eje = ejeMasExtendido(desde, hasta);
+        seleccionar(eje, desde, hasta - 1, medio);
+        ejeDeCorte[medio] = (byte) eje;
+        construir(desde, medio);
+        construir(medio + 1, hasta);
+
+        for (int d = 0; d < DIMENSIONES; d++) {
+            double minimo = puntos[d][medio];
+            double maximo = minimo;
+            if (desde < medio) {
+                int izquierdo = (desde + medio) >>> 1;
+                minimo = Math.min(minimo, cajaMin[d][izquierdo]);
+                maximo = Math.max(maximo, cajaMax[d][izquierdo]);
+            }
+            if (medio + 1 < hasta) {
+                int derecho = (medio + 1 + hasta) >>> 1;
+                minimo = Math.min(minimo, cajaMin[d][derecho]);
+                maximo = Math.max(maximo, cajaMax[d][derecho]);
+            }
+            cajaMin[d][medio] = minimo;
+            cajaMax[d][medio] = maximo;
+        }
+    }
+
+    private int ejeMasExtendido(int desde, int hasta) {
+        int mejor = 0;
+        double mayorExtension = -1;
+        for (int d = 0; d < DIMENSIONES; d++) {
+            double minimo = Double.POSITIVE_INFINITY;
+            double maximo = Double.NEGATIVE_INFINITY;
+            for (int i = desde; i < hasta; i++) {
+                minimo = Math.min(minimo, puntos[d][i]);
+                maximo = Math.max(maximo, puntos[d][i]);
+            }
+            // El rango se lleva a 0..1 con la extensión de todo el pool para
+            // compararlo con las demás dimensiones
+            double extension = d == EJE_RANGO ? (maximo - minimo) * escalaRango : maximo - minimo;
+            if (extension > mayorExtension) {
+                mayorExtension = extension;
+                mejor = d;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Quickselect: deja en {@code k} el elemento que iría ahí si
+     * {@code [izquierda, derecha]} estuviera ordenado por el eje.
+     */
+    private void seleccionar(int eje, int izquierda, int derecha, int k) {
+        double[] valores = puntos[eje];
+        while (izquierda < derecha) {
+            double pivote = valores[(izquierda + derecha) >>> 1];
+            int i = izquierda;
+            int j = derecha;
+            while (i <= j) {
+                while (valores[i] < pivote) {
+                    i++;
+                }
+                while (valores[j] > pivote) {
+                    j--;
+                }
+                if (i <= j) {
+                    intercambiar(i++, j--);
+                }
+            }
+            if (k <= j) {
+                derecha = j;
+            } else if (k >= i) {
+                izquierda = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        int posicion = posiciones[a];
+        posiciones[a] = posiciones[b];
+        posiciones[b] = posicion;
+        int rango = rangos[a];
+        rangos[a] = rangos[b];
+        rangos[b] = rango;
+        for (int d = 0; d < DIMENSIONES; d++) {
+            double valor = puntos[d][a];
+            puntos[d][a] = puntos[d][b];
+            puntos[d][b] = valor;
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Los {@code k} jugadores más cercanos al objetivo con rango dentro de
+     * {@code [rangoMin, rangoMax]}.
+     *
+     * @param objetivo punto objetivo, en las coordenadas del índice
+     * @param pesos    peso de cada eje en la distancia (el del rango se aplica
+     *                 por unidad de rango al cuadrado)
+     * @param rangoMin rango mínimo admitido
+     * @param rangoMax rango máximo admitido
+     * @param k        cantidad de jugadores a devolver
+     * @return posiciones en el pool, de la más cercana a la más lejana
+     * @throws IllegalArgumentException si el objetivo o los pesos no tienen
+     *                                  {@value #DIMENSIONES} componentes, o
+     *                                  algún peso es negativo
+     */
+    public int[] masCercanos(double[] objetivo, double[] pesos, int rangoMin, int rangoMax, int k) {
+        if (objetivo == null || objetivo.length != DIMENSIONES || pesos == null || pesos.length != DIMENSIONES) {
+            throw new IllegalArgumentException("El objetivo y los pesos deben tener " + DIMENSIONES + " componentes");
+        }
+        for (double peso : pesos) {
+            if (peso < 0 || Double.isNaN(peso)) {
+                throw new IllegalArgumentException("Los pesos no pueden ser negativos");
+            }
+        }
+        if (k <= 0 || tamanio == 0 || rangoMin > rangoMax) {
+            return new int[0];
+        }
+
+        TopKClaves mejores = new TopKClaves(k);
+        buscar(0, tamanio, objetivo, pesos, rangoMin, rangoMax, mejores);
+        long[] ordenadas = mejores.obtenerOrdenadas();
+        int[] resultado = new int[ordenadas.length];
+        for (int i = 0; i < ordenadas.length; i++) {
+            resultado[i] = TopKClaves.posicion(ordenadas[i]);
+        }
+        return resultado;
+    }
+
+    private void buscar(int desde, int hasta, double[] objetivo, double[] pesos, int rangoMin, int rangoMax,
+            TopKClaves mejores) {
+        if (desde >= hasta) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        // La ventana de rango y la distancia mínima a la caja podan el
+        // subárbol completo
+        if (cajaMax[EJE_RANGO][medio] < rangoMin || cajaMin[EJE_RANGO][medio] > rangoMax) {
+            return;
+        }
+        if (mejores.estaLleno()) {
+            long cotaInferior = cuantizar(distanciaACaja(medio, objetivo, pesos));
+            if (cotaInferior > TopKClaves.criterio(mejores.peor())) {
+                return;
+            }
+        }
+
+        if (rangos[medio] >= rangoMin && rangos[medio] <= rangoMax) {
+            mejores.ofrecer(TopKClaves.clave(cuantizar(distancia(medio, objetivo, pesos)), posiciones[medio]));
+        }
+
+        // Primero el lado del corte donde cae el objetivo
+        int eje = ejeDeCorte[medio];
+        if (objetivo[eje] < puntos[eje][medio]) {
+            buscar(desde, medio, objetivo, pesos, rangoMin, rangoMax, mejores);
+            buscar(medio + 1, hasta, objetivo, pesos, rangoMin, rangoMax, mejores);
+        } else {
+            buscar(medio + 1, hasta, objetivo, pesos, rangoMin, rangoMax, mejores);
+            buscar(desde, medio, objetivo, pesos, rangoMin, rangoMax, mejores);
+        }
+    }
+
+    private double distancia(int punto, double[] objetivo, double[] pesos) {
+        double suma = 0;
+        for (int d = 0; d < DIMENSIONES; d++) {
+            double diferencia = puntos[d][punto] - objetivo[d];
+            suma += pesos[d] * diferencia * diferencia;
+        }
+        return suma;
+    }
+
+    private double distanciaACaja(int nodo, double[] objetivo, double[] pesos) {
+        double suma = 0;
+        for (int d = 0; d < DIMENSIONES; d++) {
+            double diferencia = 0;
+            if (objetivo[d] < cajaMin[d][nodo]) {
+                diferencia = cajaMin[d][nodo] - objetivo[d];
+            } else if (objetivo[d] > cajaMax[d][nodo]) {
+                diferencia = objetivo[d] - cajaMax[d][nodo];
+            }
+            suma += pesos[d] * diferencia * diferencia;
+        }
+        return suma;
+    }
+
+    /**
+     * Distancia cuantizada a un entero no negativo de 31 bits, apta como
+     * criterio de {@link TopKClaves#clave(long, int)}: los bits de la
+     * distancia redondeada a float. Para valores no negativos ese patrón de
+     * bits ordena igual que el valor, con precisión relativa de 2^-24 en
+     * todo el rango y sin saturarse, cualesquiera sean los pesos. Es
+     * monótona: una cota inferior de la distancia da una cota inferior de su
+     * cuantización.
+     */
+    public static long cuantizar(double distancia) {
+        return distancia > 0 ? Float.floatToIntBits((float) distancia) : 0;
+    }
+
+    // ========== GETTERS ==========
+
+    public PoolCandidatos getPool() {
+        return pool;
+    }
+
+    /** Cantidad de jugadores indexados (los que tienen rango en el juego). */
+    public int getTamanio() {
+        return tamanio;
+    }
+}
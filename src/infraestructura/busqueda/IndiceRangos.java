@@ -0,0 +1,360 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import dominio.modelo.Usuario;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Índice ordenado de rangos por juego.
+ *
+ * Para cada juego guarda un arreglo primitivo ordenado de pares
+ * (rango, ordinal) empaquetados en un long: el rango en los 32 bits altos y
+ * el ordinal del usuario en los bajos. Así el orden natural del arreglo es
+ * por rango y, en empates, por ordinal (orden de llegada del usuario), sin
+ * objetos intermedios.
+ *
+ * La búsqueda de los K jugadores más cercanos a un rango objetivo hace una
+ * búsqueda binaria del objetivo y expande hacia ambos lados, en
+ * O(log n + k) en lugar de filtrar y ordenar todos los candidatos.
+ *
+ * Se obtiene con {@link #getInstance()}: índice de todos los usuarios del
+ * repositorio, actualizado incrementalmente con cada edición de perfil. Para
+ * listas de candidatos de un solo uso no conviene construir un índice (ver
+ * {@link infraestructura.matchmaking.strategies.ByMMRStrategy}).
+ *
+ * @author eScrims Team
+ */
+public class IndiceRangos {
+
+    private static final int SIN_RANGO = Integer.MIN_VALUE;
+
+    /** Huecos mínimos antes de considerar una compactación. */
+    private static final int HUECOS_MINIMOS_COMPACTACION = 64;
+
+    private static IndiceRangos instance;
+
+    private final RepositorioUsuario repositorio;
+    private final ObservadorRepositorio<Usuario> observador;
+    private final List<Usuario> usuarioPorOrdinal;
+    private final Map<String, Integer> ordinalPorId;
+    private final Map<String, RangosDeJuego> porJuego;
+    private int huecos;
+
+    private IndiceRangos(RepositorioUsuario repositorio) {
+        this.repositorio = repositorio;
+        this.usuarioPorOrdinal = new ArrayList<>();
+        this.ordinalPorId = new HashMap<>();
+        this.porJuego = new HashMap<>();
+        this.observador = new ObservadorUsuarios();
+    }
+
+    /**
+     * Obtiene el índice de todos los usuarios del repositorio actual de
+     * {@link RepositorioFactory}. Si el repositorio fue reemplazado, el índice
+     * se vuelve a construir.
+     */
+    public static synchronized IndiceRangos getInstance() {
+        RepositorioUsuario actual = RepositorioFactory.getRepositorioUsuario();
+        if (instance == null || instance.repositorio != actual) {
+            if (instance != null) {
+                instance.repositorio.quitarObservador(instance.observador);
+            }
+            instance = new IndiceRangos(actual);
+            instance.reconstruir(actual.listarTodos());
+            actual.agregarObservador(instance.observador);
+        }
+        return instance;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Obtiene los usuarios con rango en [rangoMin, rangoMax] más cercanos al
+     * punto medio del intervalo. En empates de distancia gana el de menor
+     * ordinal, igual que un ordenamiento estable por distancia.
+     *
+     * @param juego    nombre del juego
+     * @param rangoMin rango mínimo (inclusive)
+     * @param rangoMax rango máximo (inclusive)
+     * @param cantidad cantidad máxima de usuarios a devolver
+     * @param admitido condición adicional sobre el usuario (null = todos)
+     * @return usuarios del más cercano al más lejano
+     */
+    public synchronized List<Usuario> masCercanos(String juego, int rangoMin, int rangoMax, int cantidad,
+            Predicate<? super Usuario> admitido) {
+        List<Usuario> resultado = new ArrayList<>();
+        RangosDeJuego rangos = porJuego.get(juego);
+        if (rangos == null || cantidad <= 0 || rangoMin > rangoMax) {
+            return resultado;
+        }
+
+        long[] entradas = rangos.entradas;
+        // Se trabaja con el doble del objetivo para evitar decimales
+        long objetivoDoble = (long) rangoMin + rangoMax;
+
+        // Derecha: rangos estrictamente mayores al objetivo, en orden ascendente
+        int derecha = primerIndiceConRangoMayor(rangos, objetivoDoble);
+
+        // Izquierda: grupos de igual rango de mayor a menor; dentro de cada
+        // grupo se recorre hacia adelante para respetar el orden por ordinal
+        int finGrupo = derecha;
+        int inicioGrupo = finGrupo > 0 ? inicioDeGrupo(rangos, finGrupo - 1) : 0;
+        int izquierda = inicioGrupo;
+
+        while (resultado.size() < cantidad) {
+            boolean hayIzquierda = izquierda < finGrupo && rango(entradas[izquierda]) >= rangoMin;
+            boolean hayDerecha = derecha < rangos.tamanio && rango(entradas[derecha]) <= rangoMax;
+            if (!hayIzquierda && !hayDerecha) {
+                break;
+            }
+
+            boolean tomarIzquierda;
+            if (!hayDerecha) {
+                tomarIzquierda = true;
+            } else if (!hayIzquierda) {
+                tomarIzquierda = false;
+            } else {
+                long distanciaIzquierda = objetivoDoble - 2L * rango(entradas[izquierda]);
+                long distanciaDerecha = 2L * rango(entradas[derecha]) - objetivoDoble;
+                tomarIzquierda = distanciaIzquierda < distanciaDerecha
+                        || (distanciaIzquierda == distanciaDerecha
+                                && ordinal(entradas[izquierda]) < ordinal(entradas[derecha]));
+            }
+
+            long entrada;
+            if (tomarIzquierda) {
+                entrada = entradas[izquierda++];
+                if (izquierda == finGrupo) {
+                    finGrupo = inicioGrupo;
+                    inicioGrupo = finGrupo > 0 ? inicioDeGrupo(rangos, finGrupo - 1) : 0;
+                    izquierda = inicioGrupo;
+                }
+            } else {
+                entrada = entradas[derecha++];
+            }
+
+            Usuario usuario = usuarioPorOrdinal.get(ordinal(entrada));
+            if (usuario != null && (admitido == null || admitido.test(usuario))) {
+                resultado.add(usuario);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Cantidad de usuarios con rango registrado en un juego.
+     */
+    public synchronized int cantidadConRango(String juego) {
+        RangosDeJuego rangos = porJuego.get(juego);
+        return rangos != null ? rangos.tamanio : 0;
+    }
+
+    /**
+     * Cantidad de usuarios con rango en [rangoMin, rangoMax] en un juego
+     * (dos búsquedas binarias, O(log n)).
+     */
+    public synchronized int contarEnRango(String juego, int rangoMin, int rangoMax) {
+        RangosDeJuego rangos = porJuego.get(juego);
+        if (rangos == null || rangoMin > rangoMax) {
+            return 0;
+        }
+        int fin = rangoMax == Integer.MAX_VALUE ? rangos.tamanio
+                : primeraEntradaMayorOIgual(rangos, ((long) rangoMax + 1) << 32);
+        return fin - primeraEntradaMayorOIgual(rangos, (long) rangoMin << 32);
+    }
+
+    // ========== MANTENIMIENTO (índice global) ==========
+
+    private synchronized void reconstruir(List<Usuario> usuarios) {
+        usuarioPorOrdinal.clear();
+        ordinalPorId.clear();
+        porJuego.clear();
+        huecos = 0;
+        for (Usuario usuario : usuarios) {
+            actualizarUsuario(usuario);
+        }
+    }
+
+    private synchronized void actualizarUsuario(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            return;
+        }
+        Integer ordinal = ordinalPorId.get(usuario.getId());
+        if (ordinal == null) {
+            ordinal = usuarioPorOrdinal.size();
+            ordinalPorId.put(usuario.getId(), ordinal);
+            usuarioPorOrdinal.add(usuario);
+        } else {
+            usuarioPorOrdinal.set(ordinal, usuario);
+        }
+
+        Map<String, Integer> rangosNuevos = usuario.getRangoPorJuego();
+        for (Map.Entry<String, RangosDeJuego> entrada : porJuego.entrySet()) {
+            if (!rangosNuevos.containsKey(entrada.getKey())) {
+                entrada.getValue().actualizar(ordinal, SIN_RANGO);
+            }
+        }
+        for (Map.Entry<String, Integer> entrada : rangosNuevos.entrySet()) {
+            if (entrada.getValue() != null) {
+                porJuego.computeIfAbsent(entrada.getKey(), k -> new RangosDeJuego(new long[16], 0))
+                        .actualizar(ordinal, entrada.getValue());
+            }
+        }
+    }
+
+    private synchronized void quitarUsuario(Usuario usuario) {
+        Integer ordinal = ordinalPorId.remove(usuario.getId());
+        if (ordinal == null) {
+            return;
+        }
+        usuarioPorOrdinal.set(ordinal, null);
+        for (RangosDeJuego rangos : porJuego.values()) {
+            rangos.actualizar(ordinal, SIN_RANGO);
+        }
+        huecos++;
+
+        // Los ordinales de los eliminados no se reutilizan: cuando son mayoría
+        // se reindexa a los vivos en el mismo orden (los empates no cambian)
+        if (huecos >= HUECOS_MINIMOS_COMPACTACION && huecos * 2 > usuarioPorOrdinal.size()) {
+            List<Usuario> vivos = new ArrayList<>(ordinalPorId.size());
+            for (Usuario vivo : usuarioPorOrdinal) {
+                if (vivo != null) {
+                    vivos.add(vivo);
+                }
+            }
+            reconstruir(vivos);
+        }
+    }
+
+    private class ObservadorUsuarios implements ObservadorRepositorio<Usuario> {
+        @Override
+        public void entidadGuardada(Usuario usuario) {
+            actualizarUsuario(usuario);
+        }
+
+        @Override
+        public void entidadEliminada(Usuario usuario) {
+            quitarUsuario(usuario);
+        }
+
+        @Override
+        public void repositorioReiniciado() {
+            reconstruir(repositorio.listarTodos());
+        }
+    }
+
+    // ========== EMPAQUETADO ==========
+
+    private static long empaquetar(int rango, int ordinal) {
+        return ((long) rango << 32) | (ordinal & 0xFFFFFFFFL);
+    }
+
+    private static int rango(long entrada) {
+        return (int) (entrada >> 32);
+    }
+
+    private static int ordinal(long entrada) {
+        return (int) entrada;
+    }
+
+    /** Primer índice cuyo rango cumple 2·rango > objetivoDoble. */
+    private static int primerIndiceConRangoMayor(RangosDeJuego rangos, long objetivoDoble) {
+        int bajo = 0;
+        int alto = rangos.tamanio;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (2L * rango(rangos.entradas[medio]) > objetivoDoble) {
+                alto = medio;
+            } else {
+                bajo = medio + 1;
+            }
+        }
+        return bajo;
+    }
+
+    /** Primer índice cuya entrada empaquetada es &gt;= limite. */
+    private static int primeraEntradaMayorOIgual(RangosDeJuego rangos, long limite) {
+        int bajo = 0;
+        int alto = rangos.tamanio;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (rangos.entradas[medio] < limite) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /** Primer índice del grupo de entradas con el mismo rango que la posición dada. */
+    private static int inicioDeGrupo(RangosDeJuego rangos, int posicion) {
+        long primeraDelGrupo = empaquetar(rango(rangos.entradas[posicion]), 0) & 0xFFFFFFFF00000000L;
+        int bajo = 0;
+        int alto = posicion;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (rangos.entradas[medio] < primeraDelGrupo) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Arreglo ordenado de entradas de un juego, con el rango actual de cada
+     * ordinal para poder ubicar su entrada al actualizarlo.
+     */
+    private static class RangosDeJuego {
+        private long[] entradas;
+        private int tamanio;
+        private int[] rangoPorOrdinal;
+
+        RangosDeJuego(long[] entradas, int tamanio) {
+            this.entradas = entradas;
+            this.tamanio = tamanio;
+            this.rangoPorOrdinal = new int[0];
+        }
+
+        /** Mueve la entrada del ordinal a su nuevo rango (SIN_RANGO = quitarla). */
+        void actualizar(int ordinal, int nuevoRango) {
+            if (ordinal >= rangoPorOrdinal.length) {
+                int anterior = rangoPorOrdinal.length;
+                rangoPorOrdinal = Arrays.copyOf(rangoPorOrdinal, Math.max(16, Math.max(ordinal + 1, anterior * 2)));
+                Arrays.fill(rangoPorOrdinal, anterior, rangoPorOrdinal.length, SIN_RANGO);
+            }
+            int rangoActual = rangoPorOrdinal[ordinal];
+            if (rangoActual == nuevoRango) {
+                return;
+            }
+            if (rangoActual != SIN_RANGO) {
+                int posicion = Arrays.binarySearch(entradas, 0, tamanio, empaquetar(rangoActual, ordinal));
+                if (posicion >= 0) {
+                    System.arraycopy(entradas, posicion + 1, entradas, posicion, tamanio - posicion - 1);
+                    tamanio--;
+                }
+            }
+            if (nuevoRango != SIN_RANGO) {
+                long entrada = empaquetar(nuevoRango, ordinal);
+                int posicion = -Arrays.binarySearch(entradas, 0, tamanio, entrada) - 1;
+                if (tamanio == entradas.length) {
+                    entradas = Arrays.copyOf(entradas, Math.max(16, entradas.length * 2));
+                }
+                System.arraycopy(entradas, posicion, entradas, posicion + 1, tamanio - posicion);
+                entradas[posicion] = entrada;
+                tamanio++;
+            }
+            rangoPorOrdinal[ordinal] = nuevoRango;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dominio.modelo.Scrim;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioScrim;
+
+/**
+ * Índice inverso de scrims abiertos (BUSCANDO) por juego y región, para
+ * responder "¿a qué scrims puede entrar este jugador?" sin recorrer todos los
+ * scrims.
+ *
+ * Cada shard ("juego|región") guarda sus scrims en arreglos ordenados por
+ * rango mínimo (y orden de llegada en empates) junto con un árbol de máximos
+ * sobre el rango máximo: la consulta de un rango {@code r} ubica por búsqueda
+ * binaria el prefijo con {@code rangoMin <= r} y desciende solo por los
+ * subárboles cuyo máximo {@code rangoMax} alcanza {@code r}. Cuesta
+ * O((k + 1) log n) para k scrims que admiten el rango; la latencia se
+ * verifica en las hojas (una latencia máxima de -1 no tiene límite).
+ *
+ * El índice se sincroniza con el repositorio mediante
+ * {@link ObservadorRepositorio} y se actualiza en el lugar, sin reordenar:
+ * - Guardar un scrim sin cambiar su rango mínimo (postulaciones, rango
+ * máximo, latencia máxima) actualiza su hoja y sus ancestros en O(log n)
+ * - Un alta, una baja o un cambio de rango mínimo desplaza los arreglos
+ * desde la posición afectada y recalcula esa parte del árbol, O(n) en el
+ * peor caso pero sin volver a ordenar ni reservar memoria
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * List&lt;Scrim&gt; abiertos = IndiceScrimsAbiertos.getInstance()
+ *         .scrimsQueAdmiten("Valorant", "LAS", 1800, 60);
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see ParticionRegional
+ */
+public class IndiceScrimsAbiertos {
+
+    private static IndiceScrimsAbiertos instance;
+
+    private final RepositorioScrim repositorio;
+    private final ObservadorRepositorio<Scrim> observador;
+    private final Map<String, Shard> shards;
+    private final Map<String, Ubicacion> ubicacionDeScrim;
+
+    private IndiceScrimsAbiertos(RepositorioScrim repositorio) {
+        this.repositorio = repositorio;
+        this.observador = new ObservadorScrims();
+        this.shards = new HashMap<>();
+        this.ubicacionDeScrim = new HashMap<>();
+    }
+
+    /**
+     * Obtiene el índice de los scrims del repositorio actual de
+     * {@link RepositorioFactory}. Si el repositorio fue reemplazado, el índice
+     * se vuelve a construir.
+     */
+    public static synchronized IndiceScrimsAbiertos getInstance() {
+        RepositorioScrim actual = RepositorioFactory.getRepositorioScrim();
+        if (instance == null || instance.repositorio != actual) {
+            if (instance != null) {
+                instance.repositorio.quitarObservador(instance.observador);
+            }
+            instance = new IndiceScrimsAbiertos(actual);
+            instance.cargar();
+            actual.agregarObservador(instance.observador);
+        }
+        return instance;
+    }
+
+    private static String claveShard(String juego, String region) {
+        return juego + "|" + ParticionRegional.normalizarRegion(region);
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Scrims abiertos de un juego cuya ventana de rango incluye al rango dado
+     * y cuya latencia máxima admite la latencia dada. Recorre el shard de la
+     * región y el de los scrims sin región (que aceptan a cualquiera).
+     *
+     * @param juego    nombre del juego
+     * @param region   región del jugador
+     * @param rango    rango del jugador en el juego
+     * @param latencia latencia del jugador en ms
+     * @return scrims que admiten al jugador, primero los de su región
+     */
+    public synchronized List<Scrim> scrimsQueAdmiten(String juego, String region, int rango, int latencia) {
+        List<Scrim> resultado = new ArrayList<>();
+        String clave = ParticionRegional.normalizarRegion(region);
+        consultarShard(shards.get(claveShard(juego, clave)), rango, latencia, resultado);
+        if (!clave.equals(ParticionRegional.SIN_REGION)) {
+            consultarShard(shards.get(claveShard(juego, ParticionRegional.SIN_REGION)), rango, latencia,
+                    resultado);
+        }
+        return resultado;
+    }
+
+    /** Cantidad de scrims abiertos indexados. */
+    public synchronized int getCantidad() {
+        return ubicacionDeScrim.size();
+    }
+
+    private void consultarShard(Shard shard, int rango, int latencia, List<Scrim> destino) {
+        if (shard != null) {
+            shard.consultar(rango, latencia, destino);
+        }
+    }
+
+    // ========== MANTENIMIENTO ==========
+
+    private synchronized void cargar() {
+        shards.clear();
+        ubicacionDeScrim.clear();
+        for (Scrim scrim : repositorio.obtenerTodos()) {
+            ubicar(scrim);
+        }
+    }
+
+    private synchronized void ubicar(Scrim scrim) {
+        if (scrim == null || scrim.getId() == null) {
+            return;
+        }
+        if (!"BUSCANDO".equals(scrim.getEstado()) || scrim.getJuego() == null) {
+            quitar(scrim.getId());
+            return;
+        }
+        String clave = claveShard(scrim.getJuego().getNombre(), scrim.getRegion());
+        Ubicacion anterior = ubicacionDeScrim.get(scrim.getId());
+        if (anterior != null && anterior.clave.equals(clave) && anterior.rangoMin == scrim.getRangoMin()) {
+            // Misma posición en el orden: solo cambian los datos de la hoja
+            Shard shard = shards.get(clave);
+            shard.reemplazar(shard.posicionDe(anterior.rangoMin, anterior.secuencia), scrim);
+            return;
+        }
+        quitar(scrim.getId());
+        Shard shard = shards.computeIfAbsent(clave, k -> new Shard());
+        long secuencia = shard.insertar(scrim);
+        ubicacionDeScrim.put(scrim.getId(), new Ubicacion(clave, scrim.getRangoMin(), secuencia));
+    }
+
+    private synchronized void quitar(String id) {
+        Ubicacion ubicacion = ubicacionDeScrim.remove(id);
+        if (ubicacion != null) {
+            Shard shard = shards.get(ubicacion.clave);
+            shard.quitar(shard.posicionDe(ubicacion.rangoMin, ubicacion.secuencia));
+            if (shard.tamanio == 0) {
+                shards.remove(ubicacion.clave);
+            }
+        }
+    }
+
+    private class ObservadorScrims implements ObservadorRepositorio<Scrim> {
+        @Override
+        public void entidadGuardada(Scrim scrim) {
+            ubicar(scrim);
+        }
+
+        @Override
+        public void entidadEliminada(Scrim scrim) {
+            quitar(scrim.getId());
+        }
+
+        @Override
+        public void repositorioReiniciado() {
+            cargar();
+        }
+    }
+
+    /** Shard de un scrim y su clave de orden dentro del shard. */
+    private static class Ubicacion {
+        private final String clave;
+        private final int rangoMin;
+        private final long secuencia;
+
+        Ubicacion(String clave, int rangoMin, long secuencia) {
+            this.clave = clave;
+            this.rangoMin = rangoMin;
+            this.secuencia = secuencia;
+        }
+    }
+
+    /**
+     * Scrims de un shard en arreglos paralelos ordenados por (rango mínimo,
+     * secuencia de llegada) y árbol de máximos (implícito, base potencia de
+     * 2) sobre el rango máximo. Los valores se toman al guardar el scrim.
+     */
+    private static class Shard {
+        private Scrim[] scrims = new Scrim[4];
+        private int[] rangosMin = new int[4];
+        private long[] secuencias = new long[4];
+        private int[] latenciasMax = new int[4];
+        private int[] maximos = nuevoArbol(4);
+        private int base = 4;
+        private int tamanio;
+        private long siguienteSecuencia;
+
+        private static int[] nuevoArbol(int base) {
+            int[] arbol = new int[2 * base];
+            Arrays.fill(arbol, Integer.MIN_VALUE);
+            return arbol;
+        }
+
+        /** Posición de un scrim presente, por búsqueda binaria. */
+        int posicionDe(int rangoMin, long secuencia) {
+            int posicion = primeraPosterior(rangoMin, secuencia - 1);
+            if (posicion >= tamanio || rangosMin[posicion] != rangoMin || secuencias[posicion] != secuencia) {
+                throw new IllegalStateException("Scrim ausente del shard (rango " + rangoMin + ")");
+            }
+            return posicion;
+        }
+
+        /** Primera posición cuya clave (rangoMin, secuencia) es mayor a la dada. */
+        private int primeraPosterior(int rangoMin, long secuencia) {
+            int bajo = 0;
+            int alto = tamanio;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (rangosMin[medio] < rangoMin
+                        || (rangosMin[medio] == rangoMin && secuencias[medio] <= secuencia)) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        /**
+         * Inserta un scrim en su posición de orden.
+         *
+         * @return secuencia asignada (desempate entre rangos mínimos iguales)
+         */
+        long insertar(Scrim scrim) {
+            if (tamanio == base) {
+                crecer(base * 2);
+            }
+            long secuencia = siguienteSecuencia++;
+            int posicion = primeraPosterior(scrim.getRangoMin(), secuencia);
+            int aMover = tamanio - posicion;
+            System.arraycopy(scrims, posicion, scrims, posicion + 1, aMover);
+            System.arraycopy(rangosMin, posicion, rangosMin, posicion + 1, aMover);
+            System.arraycopy(secuencias, posicion, secuencias, posicion + 1, aMover);
+            System.arraycopy(latenciasMax, posicion, latenciasMax, posicion + 1, aMover);
+            System.arraycopy(maximos, base + posicion, maximos, base + posicion + 1, aMover);
+            tamanio++;
+            cargar(posicion, scrim, secuencia);
+            recalcular(posicion, tamanio);
+            return secuencia;
+        }
+
+        void quitar(int posicion) {
+            int aMover = tamanio - posicion - 1;
+            System.arraycopy(scrims, posicion + 1, scrims, posicion, aMover);
+            System.arraycopy(rangosMin, posicion + 1, rangosMin, posicion, aMover);
+            System.arraycopy(secuencias, posicion + 1, secuencias, posicion, aMover);
+            System.arraycopy(latenciasMax, posicion + 1, latenciasMax, posicion, aMover);
+            System.arraycopy(maximos, base + posicion + 1, maximos, base + posicion, aMover);
+            tamanio--;
+            scrims[tamanio] = null;
+            maximos[base + tamanio] = Integer.MIN_VALUE;
+            recalcular(posicion, tamanio + 1);
+        }
+
+        /** Actualiza un scrim cuyo rango mínimo no cambió. */
+        void reemplazar(int posicion, Scrim scrim) {
+            cargar(posicion, scrim, secuencias[posicion]);
+            recalcular(posicion, posicion + 1);
+        }
+
+        private void cargar(int posicion, Scrim scrim, long secuencia) {
+            scrims[posicion] = scrim;
+            rangosMin[posicion] = scrim.getRangoMin();
+            secuencias[posicion] = secuencia;
+            latenciasMax[posicion] = scrim.getLatenciaMax();
+            maximos[base + posicion] = scrim.getRangoMax();
+        }
+
+        /** Recalcula los ancestros de las hojas [desde, hasta). */
+        private void recalcular(int desde, int hasta) {
+            int izquierdo = (base + desde) >>> 1;
+            int derecho = (base + hasta - 1) >>> 1;
+            while (izquierdo >= 1) {
+                for (int nodo = izquierdo; nodo <= derecho; nodo++) {
+                    maximos[nodo] = Math.max(maximos[2 * nodo], maximos[2 * nodo + 1]);
+                }
+                izquierdo >>>= 1;
+                derecho >>>= 1;
+            }
+        }
+
+        private void crecer(int nuevaBase) {
+            scrims = Arrays.copyOf(scrims, nuevaBase);
+            rangosMin = Arrays.copyOf(rangosMin, nuevaBase);
+            secuencias = Arrays.copyOf(secuencias, nuevaBase);
+            latenciasMax = Arrays.copyOf(latenciasMax, nuevaBase);
+            int[] arbol = nuevoArbol(nuevaBase);
+            System.arraycopy(maximos, base, arbol, nuevaBase, tamanio);
+            maximos = arbol;
+            base = nuevaBase;
+            recalcular(0, Math.max(1, tamanio));
+        }
+
+        void consultar(int rango, int latencia, List<Scrim> destino) {
+            // Prefijo con rangoMin <= rango
+            int bajo = 0;
+            int alto = tamanio;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (rangosMin[medio] <= rango) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            if (bajo > 0) {
+                visitar(1, 0, base, bajo, rango, latencia, destino);
+            }
+        }
+
+        private void visitar(int nodo, int desde, int hasta, int limite, int rango, int latencia,
+                List<Scrim> destino) {
+            if (desde >= limite || maximos[nodo] < rango) {
+                return;
+            }
+            if (nodo >= base) {
+                int i = nodo - base;
+                if (latenciasMax[i] == -1 || latenciasMax[i] >= latencia) {
+                    destino.add(scrims[i]);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            visitar(2 * nodo, desde, medio, limite, rango, latencia, destino);
+            visitar(2 * nodo + 1, medio, hasta, limite, rango, latencia, destino);
+        }
+    }
+}
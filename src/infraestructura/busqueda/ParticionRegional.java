@@ -0,0 +1,300 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioScrim;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Partición en memoria de usuarios y scrims abiertos por región.
+ *
+ * Mantiene un shard por región con los usuarios de esa región y otro con los
+ * scrims en estado BUSCANDO, de modo que la búsqueda de candidatos, las
+ * notificaciones y la búsqueda de scrims trabajen sobre un conjunto
+ * proporcional a la región y no sobre toda la base de jugadores.
+ *
+ * Los shards se sincronizan con los repositorios mediante
+ * {@link ObservadorRepositorio}: cada alta, modificación (incluido el cambio
+ * de región de un usuario o de estado de un scrim) o baja mueve la entidad al
+ * shard correcto. Los usuarios y scrims sin región quedan en el shard
+ * {@link #SIN_REGION}.
+ *
+ * Sin región significa "cualquier región": un usuario sin región es candidato
+ * de los scrims de todas las regiones y un scrim sin región admite usuarios de
+ * cualquiera. La misma regla aplican el matchmaking, el backfill, la
+ * relajación y las notificaciones.
+ *
+ * Dentro de cada shard se conserva el orden de llegada, por lo que los pools
+ * regionales respetan el mismo orden relativo que el repositorio.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * List&lt;Usuario&gt; pool = ParticionRegional.getInstance().candidatosPara(scrim, true);
+ * </pre>
+ *
+ * @author eScrims Team
+ */
+public class ParticionRegional {
+
+    /** Clave del shard de usuarios/scrims sin región. */
+    public static final String SIN_REGION = "";
+
+    private static ParticionRegional instance;
+
+    private final RepositorioUsuario repositorioUsuario;
+    private final RepositorioScrim repositorioScrim;
+    private final ObservadorUsuarios observadorUsuarios;
+    private final ObservadorScrims observadorScrims;
+
+    // TreeMap: las regiones se recorren siempre en el mismo orden (fallback determinista)
+    private final Map<String, LinkedHashMap<String, Usuario>> usuariosPorRegion;
+    private final Map<String, String> regionDeUsuario;
+    private final Map<String, LinkedHashMap<String, Scrim>> scrimsAbiertosPorRegion;
+    private final Map<String, String> regionDeScrim;
+
+    private ParticionRegional(RepositorioUsuario repositorioUsuario, RepositorioScrim repositorioScrim) {
+        this.repositorioUsuario = repositorioUsuario;
+        this.repositorioScrim = repositorioScrim;
+        this.usuariosPorRegion = new TreeMap<>();
+        this.regionDeUsuario = new HashMap<>();
+        this.scrimsAbiertosPorRegion = new TreeMap<>();
+        this.regionDeScrim = new HashMap<>();
+        this.observadorUsuarios = new ObservadorUsuarios();
+        this.observadorScrims = new ObservadorScrims();
+
+        cargarUsuarios();
+        cargarScrims();
+        repositorioUsuario.agregarObservador(observadorUsuarios);
+        repositorioScrim.agregarObservador(observadorScrims);
+    }
+
+    /**
+     * Obtiene la partición asociada a los repositorios actuales de
+     * {@link RepositorioFactory}. Si los repositorios fueron reemplazados
+     * (ej: pruebas o simulaciones), la partición se vuelve a construir.
+     */
+    public static synchronized ParticionRegional getInstance() {
+        RepositorioUsuario usuarios = RepositorioFactory.getRepositorioUsuario();
+        RepositorioScrim scrims = RepositorioFactory.getRepositorioScrim();
+        if (instance == null || instance.repositorioUsuario != usuarios || instance.repositorioScrim != scrims) {
+            if (instance != null) {
+                instance.desvincular();
+            }
+            instance = new ParticionRegional(usuarios, scrims);
+        }
+        return instance;
+    }
+
+    /**
+     * Normaliza un código de región a la clave de shard (mayúsculas, sin
+     * espacios; null o vacío = {@link #SIN_REGION}).
+     */
+    public static String normalizarRegion(String region) {
+        return region == null ? SIN_REGION : region.trim().toUpperCase();
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Usuarios de una región, en orden de llegada.
+     */
+    public synchronized List<Usuario> usuariosDeRegion(String region) {
+        LinkedHashMap<String, Usuario> shard = usuariosPorRegion.get(normalizarRegion(region));
+        return shard != null ? new ArrayList<>(shard.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Usuarios de todas las demás regiones, recorriendo las regiones en orden
+     * alfabético. No incluye a los usuarios sin región, que ya son candidatos
+     * de la región indicada.
+     */
+    public synchronized List<Usuario> usuariosFueraDeRegion(String region) {
+        String clave = normalizarRegion(region);
+        List<Usuario> resultado = new ArrayList<>();
+        for (Map.Entry<String, LinkedHashMap<String, Usuario>> entrada : usuariosPorRegion.entrySet()) {
+            if (!entrada.getKey().equals(clave) && !entrada.getKey().equals(SIN_REGION)) {
+                resultado.addAll(entrada.getValue().values());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Pool de candidatos para un scrim: los usuarios de su región y los
+     * usuarios sin región. Un scrim sin región usa el pool global.
+     *
+     * @param scrim                  scrim que busca jugadores
+     * @param fallbackInterRegional  si la región no alcanza a cubrir las plazas,
+     *                               agrega al final los usuarios de otras
+     *                               regiones
+     * @return candidatos, primero los de la región del scrim y después los
+     *         usuarios sin región
+     */
+    public synchronized List<Usuario> candidatosPara(Scrim scrim, boolean fallbackInterRegional) {
+        String region = normalizarRegion(scrim.getRegion());
+        if (region.equals(SIN_REGION)) {
+            return repositorioUsuario.listarTodos();
+        }
+        List<Usuario> candidatos = usuariosDeRegion(region);
+        candidatos.addAll(usuariosDeRegion(SIN_REGION));
+        if (fallbackInterRegional && candidatos.size() < scrim.getPlazas()) {
+            candidatos.addAll(usuariosFueraDeRegion(region));
+        }
+        return candidatos;
+    }
+
+    /**
+     * Scrims abiertos (BUSCANDO) de una región, más los scrims abiertos sin
+     * región que aceptan jugadores de cualquier región.
+     *
+     * @param region                región del jugador
+     * @param fallbackInterRegional si no hay scrims en la región, incluir los
+     *                              de todas las demás
+     */
+    public synchronized List<Scrim> scrimsAbiertos(String region, boolean fallbackInterRegional) {
+        String clave = normalizarRegion(region);
+        List<Scrim> resultado = new ArrayList<>();
+        agregarShard(resultado, clave);
+        if (!clave.equals(SIN_REGION)) {
+            agregarShard(resultado, SIN_REGION);
+        }
+        if (fallbackInterRegional && resultado.isEmpty()) {
+            for (Map.Entry<String, LinkedHashMap<String, Scrim>> entrada : scrimsAbiertosPorRegion.entrySet()) {
+                if (!entrada.getKey().equals(clave) && !entrada.getKey().equals(SIN_REGION)) {
+                    resultado.addAll(entrada.getValue().values());
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Cantidad de usuarios por región (para reportes y métricas).
+     */
+    public synchronized Map<String, Integer> contarUsuariosPorRegion() {
+        Map<String, Integer> conteo = new TreeMap<>();
+        for (Map.Entry<String, LinkedHashMap<String, Usuario>> entrada : usuariosPorRegion.entrySet()) {
+            conteo.put(entrada.getKey(), entrada.getValue().size());
+        }
+        return conteo;
+    }
+
+    // ========== MANTENIMIENTO DE SHARDS ==========
+
+    private void agregarShard(List<Scrim> destino, String region) {
+        LinkedHashMap<String, Scrim> shard = scrimsAbiertosPorRegion.get(region);
+        if (shard != null) {
+            destino.addAll(shard.values());
+        }
+    }
+
+    private synchronized void cargarUsuarios() {
+        usuariosPorRegion.clear();
+        regionDeUsuario.clear();
+        for (Usuario usuario : repositorioUsuario.listarTodos()) {
+            ubicarUsuario(usuario);
+        }
+    }
+
+    private synchronized void cargarScrims() {
+        scrimsAbiertosPorRegion.clear();
+        regionDeScrim.clear();
+        for (Scrim scrim : repositorioScrim.obtenerTodos()) {
+            ubicarScrim(scrim);
+        }
+    }
+
+    private synchronized void ubicarUsuario(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            return;
+        }
+        quitarUsuario(usuario.getId());
+        String region = normalizarRegion(usuario.getRegion());
+        usuariosPorRegion.computeIfAbsent(region, k -> new LinkedHashMap<>()).put(usuario.getId(), usuario);
+        regionDeUsuario.put(usuario.getId(), region);
+    }
+
+    private synchronized void quitarUsuario(String id) {
+        String region = regionDeUsuario.remove(id);
+        if (region != null) {
+            LinkedHashMap<String, Usuario> shard = usuariosPorRegion.get(region);
+            shard.remove(id);
+            if (shard.isEmpty()) {
+                usuariosPorRegion.remove(region);
+            }
+        }
+    }
+
+    private synchronized void ubicarScrim(Scrim scrim) {
+        if (scrim == null || scrim.getId() == null) {
+            return;
+        }
+        quitarScrim(scrim.getId());
+        if (!"BUSCANDO".equals(scrim.getEstado())) {
+            return;
+        }
+        String region = normalizarRegion(scrim.getRegion());
+        scrimsAbiertosPorRegion.computeIfAbsent(region, k -> new LinkedHashMap<>()).put(scrim.getId(), scrim);
+        regionDeScrim.put(scrim.getId(), region);
+    }
+
+    private synchronized void quitarScrim(String id) {
+        String region = regionDeScrim.remove(id);
+        if (region != null) {
+            LinkedHashMap<String, Scrim> shard = scrimsAbiertosPorRegion.get(region);
+            shard.remove(id);
+            if (shard.isEmpty()) {
+                scrimsAbiertosPorRegion.remove(region);
+            }
+        }
+    }
+
+    private void desvincular() {
+        repositorioUsuario.quitarObservador(observadorUsuarios);
+        repositorioScrim.quitarObservador(observadorScrims);
+    }
+
+    private class ObservadorUsuarios implements ObservadorRepositorio<Usuario> {
+        @Override
+        public void entidadGuardada(Usuario usuario) {
+            ubicarUsuario(usuario);
+        }
+
+        @Override
+        public void entidadEliminada(Usuario usuario) {
+            quitarUsuario(usuario.getId());
+        }
+
+        @Override
+        public void repositorioReiniciado() {
+            cargarUsuarios();
+        }
+    }
+
+    private class ObservadorScrims implements ObservadorRepositorio<Scrim> {
+        @Override
+        public void entidadGuardada(Scrim scrim) {
+            ubicarScrim(scrim);
+        }
+
+        @Override
+        public void entidadEliminada(Scrim scrim) {
+            quitarScrim(scrim.getId());
+        }
+
+        @Override
+        public void repositorioReiniciado() {
+            cargarScrims();
+        }
+    }
+}
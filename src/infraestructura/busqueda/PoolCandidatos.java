@@ -0,0 +1,442 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Usuario;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Foto inmutable de un pool de candidatos en columnas primitivas.
+ *
+ * En lugar de una {@code List<Usuario>} (donde cada candidato implica copiar
+ * el mapa de rangos, la lista de roles y seguir el puntero al historial), el
+ * pool guarda arreglos paralelos con los datos que usan las estrategias de
+ * matchmaking: rango en el juego, latencia, fair play, tasa de abandono,
+ * partidas jugadas y rol principal (como id en {@link #getNombreRol(int)}).
+ * La posición {@code i} de todas las columnas corresponde al mismo jugador.
+ * Recorrer el pool es un barrido secuencial sobre arreglos, sin objetos
+ * intermedios por candidato.
+ *
+ * Dos formas de obtenerlo:
+ * - {@link #de(String, String)}: pool de un juego y una región sobre todos
+ * los usuarios del repositorio. Se mantiene vivo y se actualiza con cada
+ * alta, modificación o baja de usuario; la foto se vuelve a materializar
+ * solo si hubo cambios desde la anterior.
+ * - {@link #desde(List, String)}: pool efímero sobre una lista de candidatos
+ * (la posición es la de la lista).
+ *
+ * Costo de la foto: las columnas guardan los valores del usuario al momento
+ * de guardarlo en el repositorio (un cambio en memoria sin guardar no se
+ * ve). Cualquier guardado que afecte al pool invalida la foto, y la próxima
+ * consulta la vuelve a copiar entera en O(n). El pool conviene cuando las
+ * consultas son más frecuentes que los guardados; si se guarda un usuario
+ * entre cada consulta, cada una paga esa copia.
+ *
+ * Los jugadores conservan el orden de registro, por lo que los empates se
+ * resuelven igual que sobre la lista equivalente.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * PoolCandidatos pool = PoolCandidatos.de("League of Legends", "LAS");
+ * List&lt;Usuario&gt; elegidos = estrategia.seleccionar(pool, scrim);
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see infraestructura.matchmaking.MatchmakingStrategy#seleccionar(PoolCandidatos, dominio.modelo.Scrim)
+ */
+public class PoolCandidatos {
+
+    /** Valor de la columna de rangos para jugadores sin rango en el juego. */
+    public static final int SIN_RANGO = Integer.MIN_VALUE;
+
+    /** Valor de la columna de roles para jugadores sin rol en el juego. */
+    public static final int SIN_ROL = -1;
+
+    // Pools vivos por "juego|región", ligados al repositorio actual
+    private static final Map<String, Columnas> vivos = new HashMap<>();
+    private static final Map<String, Integer> ordinalPorId = new HashMap<>();
+    private static RepositorioUsuario repositorio;
+    private static ObservadorRepositorio<Usuario> observador;
+
+    private final String juego;
+    private final String region;
+    private final int tamanio;
+    private final Usuario[] usuarios;
+    private final int[] ordinales;
+    private final int[] rangos;
+    private final int[] latencias;
+    private final double[] fairPlay;
+    private final double[] tasasAbandono;
+    private final int[] partidasJugadas;
+    private final int[] rolesPrincipales;
+    private final boolean[] conHistorial;
+    private final String[] nombresRol;
+
+    private PoolCandidatos(String juego, String region, Columnas columnas) {
+        // Copia compacta: las bajas del pool vivo quedan afuera
+        int n = 0;
+        for (int i = 0; i < columnas.tamanio; i++) {
+            if (columnas.usuarios[i] != null) {
+                n++;
+            }
+        }
+        this.juego = juego;
+        this.region = region;
+        this.tamanio = n;
+        this.usuarios = new Usuario[n];
+        this.ordinales = new int[n];
+        this.rangos = new int[n];
+        this.latencias = new int[n];
+        this.fairPlay = new double[n];
+        this.tasasAbandono = new double[n];
+        this.partidasJugadas = new int[n];
+        this.rolesPrincipales = new int[n];
+        this.conHistorial = new boolean[n];
+        this.nombresRol = columnas.nombresRol.toArray(new String[0]);
+
+        int j = 0;
+        for (int i = 0; i < columnas.tamanio; i++) {
+            if (columnas.usuarios[i] == null) {
+                continue;
+            }
+            usuarios[j] = columnas.usuarios[i];
+            ordinales[j] = columnas.ordinales[i];
+            rangos[j] = columnas.rangos[i];
+            latencias[j] = columnas.latencias[i];
+            fairPlay[j] = columnas.fairPlay[i];
+            tasasAbandono[j] = columnas.tasasAbandono[i];
+            partidasJugadas[j] = columnas.partidasJugadas[i];
+            rolesPrincipales[j] = columnas.rolesPrincipales[i];
+            conHistorial[j] = columnas.conHistorial[i];
+            j++;
+        }
+    }
+
+    // ========== CONSTRUCCIÓN ==========
+
+    /**
+     * Pool efímero sobre una lista de candidatos. El ordinal de cada jugador
+     * es su posición en la lista.
+     *
+     * @param candidatos  usuarios candidatos
+     * @param nombreJuego juego del que se toman rango y rol
+     */
+    public static PoolCandidatos desde(List<Usuario> candidatos, String nombreJuego) {
+        Columnas columnas = new Columnas(nombreJuego, Math.max(1, candidatos.size()));
+        for (int i = 0; i < candidatos.size(); i++) {
+            columnas.agregar(candidatos.get(i), i);
+        }
+        return new PoolCandidatos(nombreJuego, ParticionRegional.SIN_REGION, columnas);
+    }
+
+    /**
+     * Pool de un juego y una región sobre los usuarios del repositorio actual
+     * de {@link RepositorioFactory}. La primera consulta construye el pool;
+     * las siguientes devuelven la misma foto mientras no cambie ningún
+     * usuario de esa región. El pool de una región incluye a los usuarios sin
+     * región (ver {@link ParticionRegional}).
+     *
+     * @param nombreJuego juego del que se toman rango y rol
+     * @param region      región (vacía o null = todos los usuarios)
+     */
+    public static synchronized PoolCandidatos de(String nombreJuego, String region) {
+        RepositorioUsuario actual = RepositorioFactory.getRepositorioUsuario();
+        if (repositorio != actual) {
+            vincular(actual);
+        }
+        String clave = ParticionRegional.normalizarRegion(region);
+        Columnas columnas = vivos.get(nombreJuego + "|" + clave);
+        if (columnas == null) {
+            columnas = new Columnas(nombreJuego, 64);
+            columnas.region = clave;
+            for (Usuario usuario : repositorio.listarTodos()) {
+                if (usuario != null && usuario.getId() != null && perteneceA(usuario, clave)) {
+                    columnas.agregar(usuario, ordinalDe(usuario));
+                }
+            }
+            vivos.put(nombreJuego + "|" + clave, columnas);
+        }
+        if (columnas.foto == null) {
+            columnas.compactarSiHaceFalta();
+            columnas.foto = new PoolCandidatos(nombreJuego, clave, columnas);
+        }
+        return columnas.foto;
+    }
+
+    // ========== MANTENIMIENTO (pools vivos) ==========
+
+    private static void vincular(RepositorioUsuario nuevo) {
+        if (repositorio != null) {
+            repositorio.quitarObservador(observador);
+        }
+        vivos.clear();
+        ordinalPorId.clear();
+        repositorio = nuevo;
+        observador = new ObservadorUsuarios();
+        repositorio.agregarObservador(observador);
+    }
+
+    private static int ordinalDe(Usuario usuario) {
+        return ordinalPorId.computeIfAbsent(usuario.getId(), id -> ordinalPorId.size());
+    }
+
+    private static boolean perteneceA(Usuario usuario, String region) {
+        String regionUsuario = ParticionRegional.normalizarRegion(usuario.getRegion());
+        return region.equals(ParticionRegional.SIN_REGION) || regionUsuario.equals(ParticionRegional.SIN_REGION)
+                || region.equals(regionUsuario);
+    }
+
+    private static synchronized void usuarioGuardado(Usuario usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            return;
+        }
+        for (Columnas columnas : vivos.values()) {
+            Integer posicion = columnas.posicionPorId.get(usuario.getId());
+            if (perteneceA(usuario, columnas.region)) {
+                if (posicion == null) {
+                    columnas.agregar(usuario, ordinalDe(usuario));
+                } else {
+                    columnas.cargar(posicion, usuario, columnas.ordinales[posicion]);
+                }
+                columnas.foto = null;
+            } else if (posicion != null) {
+                columnas.quitar(posicion);
+                columnas.foto = null;
+            }
+        }
+    }
+
+    private static synchronized void usuarioEliminado(Usuario usuario) {
+        for (Columnas columnas : vivos.values()) {
+            Integer posicion = columnas.posicionPorId.get(usuario.getId());
+            if (posicion != null) {
+                columnas.quitar(posicion);
+                columnas.foto = null;
+            }
+        }
+    }
+
+    private static synchronized void repositorioReiniciado() {
+        // Los pools se reconstruyen en la próxima consulta
+        vivos.clear();
+    }
+
+    private static class ObservadorUsuarios implements ObservadorRepositorio<Usuario> {
+        @Override
+        public void entidadGuardada(Usuario usuario) {
+            usuarioGuardado(usuario);
+        }
+
+        @Override
+        public void entidadEliminada(Usuario usuario) {
+            usuarioEliminado(usuario);
+        }
+
+        @Override
+        public void repositorioReiniciado() {
+            PoolCandidatos.repositorioReiniciado();
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public String getJuego() {
+        return juego;
+    }
+
+    /** Región del pool (vacía = todos los usuarios). */
+    public String getRegion() {
+        return region;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public Usuario getUsuario(int posicion) {
+        return usuarios[posicion];
+    }
+
+    /** Usuarios del pool en orden de registro. */
+    public List<Usuario> getUsuarios() {
+        return new ArrayList<>(Arrays.asList(usuarios));
+    }
+
+    /**
+     * Las columnas se exponen sin copiar (compartidas por todos los que
+     * tienen la foto); no deben modificarse.
+     */
+    public int[] getOrdinales() {
+        return ordinales;
+    }
+
+    /** Rango en el juego del pool, o {@link #SIN_RANGO}. */
+    public int[] getRangos() {
+        return rangos;
+    }
+
+    public int[] getLatencias() {
+        return latencias;
+    }
+
+    /** Tasa de fair play (0 si el jugador no tiene historial). */
+    public double[] getFairPlay() {
+        return fairPlay;
+    }
+
+    /** Tasa de abandono (0 si el jugador no tiene historial). */
+    public double[] getTasasAbandono() {
+        return tasasAbandono;
+    }
+
+    public int[] getPartidasJugadas() {
+        return partidasJugadas;
+    }
+
+    /** Id del rol principal en el juego, o {@link #SIN_ROL}. */
+    public int[] getRolesPrincipales() {
+        return rolesPrincipales;
+    }
+
+    public boolean[] getConHistorial() {
+        return conHistorial;
+    }
+
+    /** Cantidad de roles distintos (los ids van de 0 a este valor - 1). */
+    public int getCantidadRoles() {
+        return nombresRol.length;
+    }
+
+    public String getNombreRol(int idRol) {
+        return nombresRol[idRol];
+    }
+
+    // ========== COLUMNAS MUTABLES ==========
+
+    /**
+     * Arreglos paralelos que crecen con las altas. Una baja deja la posición
+     * vacía (usuario null) para no mover al resto; las vacantes se compactan
+     * al materializar una foto si superan la mitad.
+     */
+    private static class Columnas {
+        private final String juego;
+        private String region = ParticionRegional.SIN_REGION;
+        private final Map<String, Integer> posicionPorId = new HashMap<>();
+        private final Map<String, Integer> codigoRol = new HashMap<>();
+        private final List<String> nombresRol = new ArrayList<>();
+        private PoolCandidatos foto;
+        private int tamanio;
+        private int vacantes;
+
+        private Usuario[] usuarios;
+        private int[] ordinales;
+        private int[] rangos;
+        private int[] latencias;
+        private double[] fairPlay;
+        private double[] tasasAbandono;
+        private int[] partidasJugadas;
+        private int[] rolesPrincipales;
+        private boolean[] conHistorial;
+
+        Columnas(String juego, int capacidad) {
+            this.juego = juego;
+            this.usuarios = new Usuario[capacidad];
+            this.ordinales = new int[capacidad];
+            this.rangos = new int[capacidad];
+            this.latencias = new int[capacidad];
+            this.fairPlay = new double[capacidad];
+            this.tasasAbandono = new double[capacidad];
+            this.partidasJugadas = new int[capacidad];
+            this.rolesPrincipales = new int[capacidad];
+            this.conHistorial = new boolean[capacidad];
+        }
+
+        void agregar(Usuario usuario, int ordinal) {
+            if (tamanio == usuarios.length) {
+                crecer(usuarios.length * 2);
+            }
+            cargar(tamanio, usuario, ordinal);
+            if (usuario.getId() != null) {
+                posicionPorId.put(usuario.getId(), tamanio);
+            }
+            tamanio++;
+        }
+
+        void cargar(int i, Usuario usuario, int ordinal) {
+            usuarios[i] = usuario;
+            ordinales[i] = ordinal;
+            Integer rango = usuario.getRangoParaJuego(juego);
+            rangos[i] = rango != null ? rango : SIN_RANGO;
+            latencias[i] = usuario.getLatenciaPromedio();
+            HistorialUsuario historial = usuario.getHistorial();
+            conHistorial[i] = historial != null;
+            fairPlay[i] = historial != null ? historial.getTasaFairPlay() : 0.0;
+            tasasAbandono[i] = historial != null ? historial.getTasaAbandono() : 0.0;
+            partidasJugadas[i] = historial != null ? historial.getPartidasJugadas() : 0;
+            String rol = usuario.getRolPrincipalParaJuego(juego);
+            if (rol == null) {
+                rolesPrincipales[i] = SIN_ROL;
+            } else {
+                Integer codigo = codigoRol.get(rol);
+                if (codigo == null) {
+                    codigo = nombresRol.size();
+                    codigoRol.put(rol, codigo);
+                    nombresRol.add(rol);
+                }
+                rolesPrincipales[i] = codigo;
+            }
+        }
+
+        void quitar(int i) {
+            posicionPorId.remove(usuarios[i].getId());
+            usuarios[i] = null;
+            vacantes++;
+        }
+
+        void compactarSiHaceFalta() {
+            if (vacantes * 2 <= tamanio) {
+                return;
+            }
+            int j = 0;
+            for (int i = 0; i < tamanio; i++) {
+                if (usuarios[i] == null) {
+                    continue;
+                }
+                usuarios[j] = usuarios[i];
+                ordinales[j] = ordinales[i];
+                rangos[j] = rangos[i];
+                latencias[j] = latencias[i];
+                fairPlay[j] = fairPlay[i];
+                tasasAbandono[j] = tasasAbandono[i];
+                partidasJugadas[j] = partidasJugadas[i];
+                rolesPrincipales[j] = rolesPrincipales[i];
+                conHistorial[j] = conHistorial[i];
+                posicionPorId.put(usuarios[j].getId(), j);
+                j++;
+            }
+            Arrays.fill(usuarios, j, tamanio, null);
+            tamanio = j;
+            vacantes = 0;
+        }
+
+        private void crecer(int capacidad) {
+            usuarios = Arrays.copyOf(usuarios, capacidad);
+            ordinales = Arrays.copyOf(ordinales, capacidad);
+            rangos = Arrays.copyOf(rangos, capacidad);
+            latencias = Arrays.copyOf(latencias, capacidad);
+            fairPlay = Arrays.copyOf(fairPlay, capacidad);
+            tasasAbandono = Arrays.copyOf(tasasAbandono, capacidad);
+            partidasJugadas = Arrays.copyOf(partidasJugadas, capacidad);
+            rolesPrincipales = Arrays.copyOf(rolesPrincipales, capacidad);
+            conHistorial = Arrays.copyOf(conHistorial, capacidad);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package infraestructura.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizador de texto libre en español para el índice invertido.
+ *
+ * Normalización aplicada a cada token:
+ * - Minúsculas
+ * - Plegado de acentos y diacríticos ("partída" → "partida", "ñ" → "n"),
+ * para que las búsquedas funcionen aunque el usuario no escriba tildes
+ * - Separación por cualquier caracter que no sea letra o dígito
+ * - Descarte de palabras vacías muy frecuentes ("de", "la", "que"...)
+ *
+ * La misma normalización se aplica al indexar y al consultar.
+ *
+ * @author eScrims Team
+ */
+public final class TokenizadorTexto {
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los",
+            "me", "mi", "muy", "o", "para", "pero", "por", "que", "se", "su", "un",
+            "una", "y", "ya");
+
+    private TokenizadorTexto() {
+    }
+
+    /**
+     * Divide un texto en tokens normalizados, en el orden en que aparecen
+     * (puede haber repetidos).
+     *
+     * @param texto texto a tokenizar (null se trata como vacío)
+     * @return lista de tokens
+     */
+    public static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return tokens;
+        }
+
+        String normalizado = plegarAcentos(texto).toLowerCase(Locale.ROOT);
+        StringBuilder actual = new StringBuilder();
+        for (int i = 0; i < normalizado.length(); i++) {
+            char c = normalizado.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                actual.append(c);
+            } else if (actual.length() > 0) {
+                agregarToken(tokens, actual.toString());
+                actual.setLength(0);
+            }
+        }
+        if (actual.length() > 0) {
+            agregarToken(tokens, actual.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Quita los diacríticos de un texto (descomposición NFD y eliminación de
+     * las marcas combinables).
+     */
+    public static String plegarAcentos(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+
+    private static void agregarToken(List<String> tokens, String token) {
+        if (!PALABRAS_VACIAS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+}
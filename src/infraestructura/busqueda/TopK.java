@@ -0,0 +1,110 @@
+package infraestructura.busqueda;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Heap acotado que conserva los K mejores elementos de un recorrido.
+ *
+ * Permite responder consultas del tipo "los mejores 20" sin materializar ni
+ * ordenar el resultado completo: cada elemento ofrecido cuesta O(log K) y la
+ * memoria queda acotada a K elementos.
+ *
+ * El comparador define el orden deseado del resultado: el elemento "menor"
+ * según el comparador es el mejor. Internamente el heap guarda el peor de los
+ * K en la cabeza para poder descartarlo en O(1).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * TopK&lt;Scrim&gt; proximos = new TopK&lt;&gt;(20, Comparator.comparing(Scrim::getFechaHora));
+ * repositorio.recorrerConFiltros(filtros, proximos::ofrecer);
+ * List&lt;Scrim&gt; resultado = proximos.obtenerOrdenados();
+ * </pre>
+ *
+ * @param <T> tipo de los elementos
+ * @author eScrims Team
+ */
+public class TopK<T> {
+
+    private final int limite;
+    private final Comparator<? super T> orden;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param limite cantidad máxima de elementos a conservar (K)
+     * @param orden  comparador del resultado (el menor es el mejor)
+     * @throws IllegalArgumentException si el límite no es positivo o el
+     *                                  comparador es null
+     */
+    public TopK(int limite, Comparator<? super T> orden) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor a 0");
+        }
+        if (orden == null) {
+            throw new IllegalArgumentException("El comparador no puede ser null");
+        }
+        this.limite = limite;
+        this.orden = orden;
+        // Cabeza = peor elemento conservado
+        Comparator<T> inverso = (a, b) -> orden.compare(b, a);
+        this.heap = new PriorityQueue<>(Math.min(limite, 1024) + 1, inverso);
+    }
+
+    /**
+     * Ofrece un elemento; se conserva solo si está entre los K mejores vistos.
+     *
+     * @param elemento elemento a evaluar
+     * @return true si el elemento quedó dentro del top-K
+     */
+    public boolean ofrecer(T elemento) {
+        if (heap.size() < limite) {
+            heap.add(elemento);
+            return true;
+        }
+        if (orden.compare(elemento, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(elemento);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Incorpora los elementos conservados por otro TopK con el mismo orden.
+     * Útil para combinar resultados parciales calculados en paralelo.
+     *
+     * @param otro heap parcial a combinar
+     */
+    public void combinar(TopK<? extends T> otro) {
+        for (T elemento : otro.heap) {
+            ofrecer(elemento);
+        }
+    }
+
+    /**
+     * Obtiene los elementos conservados, del mejor al peor.
+     * Solo ordena K elementos.
+     *
+     * @return nueva lista ordenada
+     */
+    public List<T> obtenerOrdenados() {
+        List<T> resultado = new ArrayList<>(heap);
+        resultado.sort(orden);
+        return resultado;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public boolean estaLleno() {
+        return heap.size() >= limite;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+}
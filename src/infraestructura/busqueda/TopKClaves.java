@@ -0,0 +1,150 @@
+package infraestructura.busqueda;
+
+import java.util.Arrays;
+
+/**
+ * Variante primitiva de {@link TopK} que conserva las K claves
+ * {@code long} más chicas de un recorrido.
+ *
+ * Pensada para recorridos sobre arreglos paralelos (ver
+ * {@link PoolCandidatos}): la clave empaqueta el criterio de orden en los 32
+ * bits altos y la posición del elemento en los bajos, de modo que el orden
+ * natural de las claves resuelve los empates por posición. No crea objetos
+ * por elemento ofrecido.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * TopKClaves mejores = new TopKClaves(plazas);
+ * for (int i = 0; i &lt; pool.getTamanio(); i++) {
+ *     mejores.ofrecer(TopKClaves.clave(latencias[i], i));
+ * }
+ * long[] ordenadas = mejores.obtenerOrdenadas();
+ * </pre>
+ *
+ * @author eScrims Team
+ */
+public class TopKClaves {
+
+    private final int limite;
+    private final long[] heap; // max-heap: la cabeza es la peor clave conservada
+    private int tamanio;
+
+    /**
+     * @param limite cantidad máxima de claves a conservar (K)
+     * @throws IllegalArgumentException si el límite es negativo
+     */
+    public TopKClaves(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        this.limite = limite;
+        this.heap = new long[limite];
+    }
+
+    /**
+     * Empaqueta un criterio y una posición en una clave ordenable.
+     *
+     * @param criterio valor a minimizar
+     * @param posicion posición del elemento (desempate ascendente)
+     */
+    public static long clave(long criterio, int posicion) {
+        return (criterio << 32) | (posicion & 0xFFFFFFFFL);
+    }
+
+    /** Posición empaquetada en una clave. */
+    public static int posicion(long clave) {
+        return (int) clave;
+    }
+
+    /** Criterio empaquetado en una clave. */
+    public static long criterio(long clave) {
+        return clave >> 32;
+    }
+
+    /**
+     * Ofrece una clave; se conserva solo si está entre las K menores vistas.
+     *
+     * @return true si la clave quedó dentro del top-K
+     */
+    public boolean ofrecer(long clave) {
+        if (tamanio < limite) {
+            heap[tamanio] = clave;
+            subir(tamanio++);
+            return true;
+        }
+        if (limite > 0 && clave < heap[0]) {
+            heap[0] = clave;
+            hundir(0);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Claves conservadas en orden ascendente.
+     *
+     * @return nuevo arreglo ordenado
+     */
+    public long[] obtenerOrdenadas() {
+        long[] resultado = Arrays.copyOf(heap, tamanio);
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    /**
+     * Peor clave conservada (la mayor).
+     *
+     * @throws IllegalStateException si no hay claves
+     */
+    public long peor() {
+        if (tamanio == 0) {
+            throw new IllegalStateException("No hay claves conservadas");
+        }
+        return heap[0];
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean estaLleno() {
+        return tamanio >= limite;
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (heap[padre] >= heap[i]) {
+                return;
+            }
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void hundir(int i) {
+        while (true) {
+            int mayor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamanio && heap[izquierdo] > heap[mayor]) {
+                mayor = izquierdo;
+            }
+            if (derecho < tamanio && heap[derecho] > heap[mayor]) {
+                mayor = derecho;
+            }
+            if (mayor == i) {
+                return;
+            }
+            intercambiar(i, mayor);
+            i = mayor;
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        long temporal = heap[a];
+        heap[a] = heap[b];
+        heap[b] = temporal;
+    }
+}
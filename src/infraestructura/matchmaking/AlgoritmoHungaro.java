@@ -0,0 +1,107 @@
+package infraestructura.matchmaking;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmo húngaro (Kuhn-Munkres) para el problema de asignación de costo
+ * mínimo.
+ *
+ * Asigna cada fila (jugador) a una columna (puesto) distinta minimizando la
+ * suma de costos, en O(n²·m) con potenciales por fila y columna y caminos de
+ * aumento más cortos. Admite matrices rectangulares con filas ≤ columnas: las
+ * columnas sobrantes quedan libres.
+ *
+ * El resultado es determinista: ante empates se elige siempre la columna de
+ * menor índice.
+ *
+ * @author eScrims Team
+ */
+public final class AlgoritmoHungaro {
+
+    private static final long INFINITO = Long.MAX_VALUE / 4;
+
+    private AlgoritmoHungaro() {
+    }
+
+    /**
+     * Resuelve la asignación de costo mínimo.
+     *
+     * @param costos matriz filas × columnas (filas ≤ columnas)
+     * @return para cada fila, el índice de la columna asignada
+     * @throws IllegalArgumentException si la matriz no es rectangular o tiene
+     *                                  más filas que columnas
+     */
+    public static int[] resolver(long[][] costos) {
+        int n = costos.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int m = costos[0].length;
+        for (long[] fila : costos) {
+            if (fila.length != m) {
+                throw new IllegalArgumentException("La matriz de costos debe ser rectangular");
+            }
+        }
+        if (n > m) {
+            throw new IllegalArgumentException("Hay más filas (" + n + ") que columnas (" + m + ")");
+        }
+
+        // Índices desde 1; la columna 0 es ficticia y sostiene la fila que se agrega
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] filaDeColumna = new int[m + 1];
+        int[] previa = new int[m + 1];
+        long[] minimo = new long[m + 1];
+        boolean[] usada = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            filaDeColumna[0] = i;
+            int j0 = 0;
+            Arrays.fill(minimo, INFINITO);
+            Arrays.fill(usada, false);
+            do {
+                usada[j0] = true;
+                int i0 = filaDeColumna[j0];
+                long delta = INFINITO;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!usada[j]) {
+                        long reducido = costos[i0 - 1][j - 1] - u[i0] - v[j];
+                        if (reducido < minimo[j]) {
+                            minimo[j] = reducido;
+                            previa[j] = j0;
+                        }
+                        if (minimo[j] < delta) {
+                            delta = minimo[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (usada[j]) {
+                        u[filaDeColumna[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minimo[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (filaDeColumna[j0] != 0);
+
+            // Aumentar a lo largo del camino encontrado
+            do {
+                int j1 = previa[j0];
+                filaDeColumna[j0] = filaDeColumna[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] columnaDeFila = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (filaDeColumna[j] != 0) {
+                columnaDeFila[filaDeColumna[j] - 1] = j - 1;
+            }
+        }
+        return columnaDeFila;
+    }
+}
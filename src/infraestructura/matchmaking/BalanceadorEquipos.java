@@ -0,0 +1,787 @@
+package infraestructura.matchmaking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Divide a los jugadores de un lobby en dos equipos minimizando la diferencia
+ * de MMR entre ambos.
+ *
+ * Según el tamaño del lobby se usa:
+ * - Enumeración exhaustiva (hasta {@link #MAXIMO_ENUMERACION} jugadores)
+ * cuando se consideran roles: minimiza primero los roles repetidos dentro de
+ * un mismo equipo y después la diferencia de MMR.
+ * - Meet-in-the-middle (hasta {@link #MAXIMO_EXACTO} jugadores) sin roles:
+ * se enumeran las sumas de cada mitad de la lista y, para cada subconjunto de
+ * la primera, se busca por búsqueda binaria el complemento de la segunda que
+ * deja la suma más cercana a la mitad del total. Resultado óptimo.
+ * - Para formatos más grandes, reparto goloso (el más alto al equipo con
+ * menos MMR) seguido de intercambios de a pares mientras mejoren el costo.
+ *
+ * Los integrantes de un grupo (party) quedan siempre en el mismo equipo. Con
+ * grupos, la enumeración con roles descarta las divisiones que separan a un
+ * grupo y, sin roles, se usa una mochila exacta sobre (jugadores, suma de
+ * MMR) en la que cada grupo es un único ítem con peso igual a su tamaño. La
+ * heurística ubica primero a los grupos y solo intercambia jugadores sueltos.
+ *
+ * El resultado es determinista: los jugadores se ordenan por id antes de
+ * dividir, por lo que el mismo lobby produce siempre los mismos equipos sin
+ * importar el orden de entrada. El equipo A es el que contiene al jugador de
+ * menor id.
+ *
+ * @author eScrims Team
+ */
+public final class BalanceadorEquipos {
+
+    /** Máxima cantidad de jugadores resuelta por meet-in-the-middle. */
+    public static final int MAXIMO_EXACTO = 32;
+
+    /** Máxima cantidad de jugadores resuelta por enumeración con roles. */
+    public static final int MAXIMO_ENUMERACION = 20;
+
+    /** Tamaño máximo de la tabla de la mochila con grupos (ítems × jugadores × suma). */
+    private static final long MAXIMO_CELDAS_MOCHILA = 4_000_000;
+
+    private BalanceadorEquipos() {
+    }
+
+    // ========== API ==========
+
+    /**
+     * Calcula y persiste en el scrim los equipos de sus postulaciones
+     * aceptadas. Considera roles si el scrim tiene roles requeridos y mantiene
+     * juntos a los que se postularon en grupo.
+     *
+     * @return la división calculada
+     */
+    public static Division asignarEquipos(Scrim scrim) {
+        List<String> ids = new ArrayList<>();
+        List<String> grupos = new ArrayList<>();
+        Map<String, Integer> rangoPostulado = new HashMap<>();
+        for (Postulacion postulacion : scrim.getPostulacionesAceptadas()) {
+            ids.add(postulacion.getUserId());
+            grupos.add(postulacion.getGrupoId());
+            rangoPostulado.put(postulacion.getUserId(), postulacion.getRangoUsuario());
+        }
+        boolean conRoles = scrim.getRolesRequeridos() != null && !scrim.getRolesRequeridos().isEmpty();
+        Division division = balancearJugadores(ids, scrim.getJuego().getNombre(), rangoPostulado, conRoles,
+                grupos);
+        scrim.asignarEquipos(division.getEquipoA(), division.getEquipoB());
+        return division;
+    }
+
+    /**
+     * Balancea jugadores tomando el rango y el rol principal de cada uno desde
+     * el repositorio de usuarios.
+     *
+     * @param ids             ids de los jugadores
+     * @param nombreJuego     juego del que se toma el rango y el rol
+     * @param rangoAlternativo rango a usar si el usuario no tiene rango en el
+     *                        juego (puede ser null; por defecto 0)
+     * @param conRoles        penalizar roles principales repetidos en un equipo
+     */
+    public static Division balancearJugadores(List<String> ids, String nombreJuego,
+            Map<String, Integer> rangoAlternativo, boolean conRoles) {
+        return balancearJugadores(ids, nombreJuego, rangoAlternativo, conRoles, null);
+    }
+
+    /**
+     * Igual que {@link #balancearJugadores(List, String, Map, boolean)},
+     * manteniendo juntos a los jugadores de un mismo grupo.
+     *
+     * @param grupos id del grupo de cada jugador, en el mismo orden que los
+     *               ids (null = sin grupos; un grupo null es un jugador suelto)
+     */
+    public static Division balancearJugadores(List<String> ids, String nombreJuego,
+            Map<String, Integer> rangoAlternativo, boolean conRoles, List<String> grupos) {
+        RepositorioUsuario repositorio = RepositorioFactory.getRepositorioUsuario();
+        int[] rangos = new int[ids.size()];
+        List<String> roles = conRoles ? new ArrayList<>(ids.size()) : null;
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            Usuario usuario = repositorio.buscarPorId(id);
+            Integer rango = usuario != null ? usuario.getRangoParaJuego(nombreJuego) : null;
+            if (rango == null && rangoAlternativo != null) {
+                rango = rangoAlternativo.get(id);
+            }
+            rangos[i] = rango != null ? rango : 0;
+            if (roles != null) {
+                roles.add(usuario != null ? usuario.getRolPrincipalParaJuego(nombreJuego) : null);
+            }
+        }
+        return balancear(ids, rangos, roles, grupos);
+    }
+
+    /**
+     * Divide a los jugadores en dos equipos.
+     *
+     * @param ids    ids de los jugadores (sin repetidos)
+     * @param rangos rango de cada jugador, en el mismo orden que los ids
+     * @param roles  rol principal de cada jugador (null = no considerar roles;
+     *               un rol null nunca cuenta como repetido)
+     * @throws IllegalArgumentException si los tamaños no coinciden
+     */
+    public static Division balancear(List<String> ids, int[] rangos, List<String> roles) {
+        return balancear(ids, rangos, roles, null);
+    }
+
+    /**
+     * Divide a los jugadores en dos equipos sin separar a los grupos.
+     *
+     * @param ids    ids de los jugadores (sin repetidos)
+     * @param rangos rango de cada jugador, en el mismo orden que los ids
+     * @param roles  rol principal de cada jugador (null = no considerar roles)
+     * @param grupos id del grupo de cada jugador (null = sin grupos; un grupo
+     *               null es un jugador suelto)
+     * @throws IllegalArgumentException si los tamaños no coinciden o los
+     *                                  grupos no entran en dos equipos
+     */
+    public static Division balancear(List<String> ids, int[] rangos, List<String> roles, List<String> grupos) {
+        int n = ids.size();
+        if (rangos.length != n || (roles != null && roles.size() != n) || (grupos != null && grupos.size() != n)) {
+            throw new IllegalArgumentException("Cada jugador debe tener un rango (y un rol si se consideran roles)");
+        }
+        if (n < 2) {
+            return new Division(ids, List.of(), n == 1 ? Math.max(0, rangos[0]) : 0, 0, 0, true);
+        }
+
+        // Orden canónico por id: el resultado no depende del orden de entrada
+        Integer[] orden = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> ids.get(a).compareTo(ids.get(b)));
+
+        String[] id = new String[n];
+        int[] rango = new int[n];
+        int[] rol = new int[n];
+        int[] grupo = new int[n];
+        Map<String, Integer> codigoRol = new HashMap<>();
+        Map<String, Integer> codigoGrupo = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            id[i] = ids.get(orden[i]);
+            rango[i] = Math.max(0, rangos[orden[i]]);
+            String nombreRol = roles != null ? roles.get(orden[i]) : null;
+            rol[i] = nombreRol == null ? -1 : codigoRol.computeIfAbsent(nombreRol, k -> codigoRol.size());
+            String idGrupo = grupos != null ? grupos.get(orden[i]) : null;
+            grupo[i] = idGrupo == null ? -1 : codigoGrupo.computeIfAbsent(idGrupo, k -> codigoGrupo.size());
+        }
+
+        boolean conRoles = !codigoRol.isEmpty();
+        int[][] items = items(grupo, codigoGrupo.size());
+        boolean conGrupos = items.length < n;
+        if (conGrupos && !gruposEntran(n, tamaniosGrupos(items))) {
+            throw new IllegalArgumentException("Los grupos no entran en dos equipos de " + (n - n / 2) + " y "
+                    + (n / 2) + " jugadores");
+        }
+
+        boolean[] enA;
+        boolean exacta = true;
+        if (conRoles && n <= MAXIMO_ENUMERACION) {
+            enA = desdeMascara(enumerar(rango, rol, codigoRol.size(), mascaras(items)), n);
+        } else if (!conRoles && !conGrupos && n <= MAXIMO_EXACTO) {
+            enA = desdeMascara(meetInTheMiddle(rango), n);
+        } else if (!conRoles && conGrupos && celdasMochila(items.length, n, rango) <= MAXIMO_CELDAS_MOCHILA) {
+            enA = mochila(rango, items);
+        } else {
+            enA = heuristica(rango, rol, codigoRol.size(), items);
+            exacta = false;
+        }
+        return construir(id, rango, rol, enA, exacta);
+    }
+
+    /**
+     * Indica si grupos de los tamaños dados pueden repartirse, sin separarse,
+     * en los dos equipos de un lobby (los jugadores sueltos completan el
+     * resto).
+     *
+     * @param jugadores       tamaño total del lobby
+     * @param tamaniosGrupos  tamaño de cada grupo
+     */
+    public static boolean gruposEntran(int jugadores, List<Integer> tamaniosGrupos) {
+        int tamanioA = jugadores - jugadores / 2;
+        int tamanioB = jugadores / 2;
+        int total = 0;
+        boolean[] alcanzable = new boolean[tamanioA + 1];
+        alcanzable[0] = true;
+        for (int tamanio : tamaniosGrupos) {
+            total += tamanio;
+            for (int c = tamanioA; c >= tamanio; c--) {
+                alcanzable[c] |= alcanzable[c - tamanio];
+            }
+        }
+        for (int c = 0; c <= tamanioA; c++) {
+            if (alcanzable[c] && total - c <= tamanioB) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========== ALGORITMOS ==========
+
+    /**
+     * Tamaños válidos del equipo A: la mitad, o las dos mitades posibles si la
+     * cantidad de jugadores es impar.
+     */
+    private static boolean tamanioValido(int tamanioA, int n) {
+        return tamanioA == n / 2 || tamanioA == n - n / 2;
+    }
+
+    /**
+     * Prueba todas las divisiones con el jugador 0 en el equipo A que no
+     * separan a ningún grupo y se queda con la de menor (roles repetidos,
+     * diferencia de MMR).
+     */
+    private static long enumerar(int[] rango, int[] rol, int cantidadRoles, long[] mascarasGrupo) {
+        int n = rango.length;
+        long total = suma(rango);
+        long mejor = -1;
+        long mejorCosto = Long.MAX_VALUE;
+        int[] conteoA = new int[cantidadRoles];
+        int[] conteoB = new int[cantidadRoles];
+        for (long m = 1; m < (1L << n); m += 2) {
+            if (!tamanioValido(Long.bitCount(m), n) || separaGrupo(m, mascarasGrupo)) {
+                continue;
+            }
+            long sumaA = 0;
+            Arrays.fill(conteoA, 0);
+            Arrays.fill(conteoB, 0);
+            int repetidos = 0;
+            for (int i = 0; i < n; i++) {
+                boolean enA = (m & (1L << i)) != 0;
+                if (enA) {
+                    sumaA += rango[i];
+                }
+                if (rol[i] >= 0) {
+                    int[] conteo = enA ? conteoA : conteoB;
+                    if (conteo[rol[i]]++ > 0) {
+                        repetidos++;
+                    }
+                }
+            }
+            long costo = costo(repetidos, Math.abs(2 * sumaA - total));
+            if (costo < mejorCosto) {
+                mejorCosto = costo;
+                mejor = m;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Partición óptima por MMR: subconjuntos de la primera mitad (con el
+     * jugador 0) combinados con los de la segunda mitad agrupados por tamaño y
+     * ordenados por suma.
+     */
+    private static long meetInTheMiddle(int[] rango) {
+        int n = rango.length;
+        int h = n / 2;
+        int r = n - h;
+        long total = suma(rango);
+
+        // Sumas de la segunda mitad por cantidad de elementos: (suma << 32 | máscara)
+        int[] porTamanio = new int[r + 1];
+        for (int m = 0; m < (1 << r); m++) {
+            porTamanio[Integer.bitCount(m)]++;
+        }
+        long[][] derecha = new long[r + 1][];
+        for (int k = 0; k <= r; k++) {
+            derecha[k] = new long[porTamanio[k]];
+        }
+        int[] llenos = new int[r + 1];
+        for (int m = 0; m < (1 << r); m++) {
+            long s = 0;
+            for (int i = 0; i < r; i++) {
+                if ((m & (1 << i)) != 0) {
+                    s += rango[h + i];
+                }
+            }
+            int k = Integer.bitCount(m);
+            derecha[k][llenos[k]++] = (s << 32) | m;
+        }
+        for (long[] grupo : derecha) {
+            Arrays.sort(grupo);
+        }
+
+        long mejor = -1;
+        long mejorDiferencia = Long.MAX_VALUE;
+        for (int m = 1; m < (1 << h) && mejorDiferencia > 0; m += 2) {
+            long sumaIzquierda = 0;
+            for (int i = 0; i < h; i++) {
+                if ((m & (1 << i)) != 0) {
+                    sumaIzquierda += rango[i];
+                }
+            }
+            int k = Integer.bitCount(m);
+            for (int tamanioA = n / 2; tamanioA <= n - n / 2; tamanioA++) {
+                int faltan = tamanioA - k;
+                if (faltan < 0 || faltan > r) {
+                    continue;
+                }
+                long[] grupo = derecha[faltan];
+                // Primera suma de la derecha con 2*(izq+der) >= total
+                long objetivo = Math.max(0, (total - 2 * sumaIzquierda + 1) / 2);
+                int pos = primeraSumaDesde(grupo, objetivo);
+                for (int p = pos - 1; p <= pos; p++) {
+                    if (p < 0 || p >= grupo.length) {
+                        continue;
+                    }
+                    long sumaA = sumaIzquierda + (grupo[p] >>> 32);
+                    long diferencia = Math.abs(2 * sumaA - total);
+                    if (diferencia < mejorDiferencia) {
+                        mejorDiferencia = diferencia;
+                        mejor = m | ((grupo[p] & 0xFFFFFFFFL) << h);
+                    }
+                }
+            }
+        }
+        return mejor;
+    }
+
+    private static int primeraSumaDesde(long[] grupo, long suma) {
+        int lo = 0;
+        int hi = grupo.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if ((grupo[mid] >>> 32) < suma) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean separaGrupo(long m, long[] mascarasGrupo) {
+        for (long mascara : mascarasGrupo) {
+            long enA = m & mascara;
+            if (enA != 0 && enA != mascara) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Partición óptima por MMR con grupos: mochila 0/1 sobre los ítems (un
+     * grupo o un jugador suelto) que registra qué pares (jugadores, suma) del
+     * equipo A son alcanzables. El ítem del jugador 0 va siempre en A.
+     */
+    private static boolean[] mochila(int[] rango, int[][] items) {
+        int n = rango.length;
+        int k = items.length;
+        int maximoA = n - n / 2;
+        int total = (int) suma(rango);
+        int[] tamanio = new int[k];
+        int[] sumaItem = new int[k];
+        for (int j = 0; j < k; j++) {
+            tamanio[j] = items[j].length;
+            for (int i : items[j]) {
+                sumaItem[j] += rango[i];
+            }
+        }
+
+        // alcanzable[j][c][s]: con los primeros j ítems, A puede tener c jugadores que suman s
+        boolean[][][] alcanzable = new boolean[k + 1][maximoA + 1][total + 1];
+        alcanzable[1][tamanio[0]][sumaItem[0]] = true;
+        for (int j = 1; j < k; j++) {
+            for (int c = 0; c <= maximoA; c++) {
+                for (int s = 0; s <= total; s++) {
+                    if (!alcanzable[j][c][s]) {
+                        continue;
+                    }
+                    alcanzable[j + 1][c][s] = true;
+                    if (c + tamanio[j] <= maximoA) {
+                        alcanzable[j + 1][c + tamanio[j]][s + sumaItem[j]] = true;
+                    }
+                }
+            }
+        }
+
+        int mejorC = -1;
+        int mejorS = -1;
+        long mejorDiferencia = Long.MAX_VALUE;
+        for (int c = 0; c <= maximoA; c++) {
+            if (!tamanioValido(c, n)) {
+                continue;
+            }
+            for (int s = 0; s <= total; s++) {
+                long diferencia = Math.abs(2L * s - total);
+                if (alcanzable[k][c][s] && diferencia < mejorDiferencia) {
+                    mejorDiferencia = diferencia;
+                    mejorC = c;
+                    mejorS = s;
+                }
+            }
+        }
+
+        // Reconstrucción: se saltea el ítem siempre que se pueda llegar sin él
+        boolean[] enA = new boolean[n];
+        for (int j = k; j >= 1; j--) {
+            if (j > 1 && alcanzable[j - 1][mejorC][mejorS]) {
+                continue;
+            }
+            for (int i : items[j - 1]) {
+                enA[i] = true;
+            }
+            mejorC -= tamanio[j - 1];
+            mejorS -= sumaItem[j - 1];
+        }
+        return enA;
+    }
+
+    /**
+     * Reparto goloso por rango descendente y mejora local por intercambios de
+     * a pares hasta que ningún intercambio reduzca el costo. Los grupos se
+     * ubican primero y no participan de los intercambios.
+     */
+    private static boolean[] heuristica(int[] rango, int[] rol, int cantidadRoles, int[][] items) {
+        int n = rango.length;
+        int tamanioA = n - n / 2;
+        boolean[] enA = new boolean[n];
+        boolean[] fijo = new boolean[n];
+        long sumaA = 0;
+        long sumaB = 0;
+        int enEquipoA = 0;
+        int enEquipoB = 0;
+        for (int[] grupoEnA : ubicarGrupos(items, tamanioA, n - tamanioA)) {
+            for (int i : grupoEnA) {
+                enA[i] = true;
+            }
+        }
+        for (int[] item : items) {
+            if (item.length < 2) {
+                continue;
+            }
+            for (int i : item) {
+                fijo[i] = true;
+                if (enA[i]) {
+                    sumaA += rango[i];
+                    enEquipoA++;
+                } else {
+                    sumaB += rango[i];
+                    enEquipoB++;
+                }
+            }
+        }
+
+        List<Integer> sueltos = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (!fijo[i]) {
+                sueltos.add(i);
+            }
+        }
+        Integer[] porRango = sueltos.toArray(new Integer[0]);
+        Arrays.sort(porRango, (a, b) -> rango[a] != rango[b] ? Integer.compare(rango[b], rango[a])
+                : Integer.compare(a, b));
+        for (int i : porRango) {
+            boolean haciaA = enEquipoB >= n - tamanioA || (enEquipoA < tamanioA && sumaA <= sumaB);
+            enA[i] = haciaA;
+            if (haciaA) {
+                sumaA += rango[i];
+                enEquipoA++;
+            } else {
+                sumaB += rango[i];
+                enEquipoB++;
+            }
+        }
+
+        int[] conteoA = new int[cantidadRoles];
+        int[] conteoB = new int[cantidadRoles];
+        for (int i = 0; i < n; i++) {
+            if (rol[i] >= 0) {
+                (enA[i] ? conteoA : conteoB)[rol[i]]++;
+            }
+        }
+        long total = sumaA + sumaB;
+        int repetidos = repetidos(conteoA) + repetidos(conteoB);
+        long costoActual = costo(repetidos, Math.abs(2 * sumaA - total));
+
+        while (true) {
+            long mejorCosto = costoActual;
+            int mejorA = -1;
+            int mejorB = -1;
+            for (int a = 0; a < n; a++) {
+                if (!enA[a] || fijo[a]) {
+                    continue;
+                }
+                for (int b = 0; b < n; b++) {
+                    if (enA[b] || fijo[b]) {
+                        continue;
+                    }
+                    long nuevaSumaA = sumaA - rango[a] + rango[b];
+                    int nuevosRepetidos = repetidos + deltaRepetidos(rol[a], rol[b], conteoA, conteoB);
+                    long c = costo(nuevosRepetidos, Math.abs(2 * nuevaSumaA - total));
+                    if (c < mejorCosto) {
+                        mejorCosto = c;
+                        mejorA = a;
+                        mejorB = b;
+                    }
+                }
+            }
+            if (mejorA < 0) {
+                break;
+            }
+            repetidos += deltaRepetidos(rol[mejorA], rol[mejorB], conteoA, conteoB);
+            mover(rol[mejorA], conteoA, conteoB);
+            mover(rol[mejorB], conteoB, conteoA);
+            sumaA += rango[mejorB] - rango[mejorA];
+            enA[mejorA] = false;
+            enA[mejorB] = true;
+            costoActual = mejorCosto;
+        }
+
+        return enA;
+    }
+
+    /**
+     * Elige qué grupos van al equipo A de modo que ambos equipos tengan lugar
+     * para sus grupos (mochila sobre los tamaños).
+     */
+    private static List<int[]> ubicarGrupos(int[][] items, int tamanioA, int tamanioB) {
+        List<int[]> grupos = new ArrayList<>();
+        int total = 0;
+        for (int[] item : items) {
+            if (item.length >= 2) {
+                grupos.add(item);
+                total += item.length;
+            }
+        }
+        int g = grupos.size();
+        boolean[][] alcanzable = new boolean[g + 1][tamanioA + 1];
+        alcanzable[0][0] = true;
+        for (int j = 0; j < g; j++) {
+            int tamanio = grupos.get(j).length;
+            for (int c = 0; c <= tamanioA; c++) {
+                alcanzable[j + 1][c] = alcanzable[j][c] || (c >= tamanio && alcanzable[j][c - tamanio]);
+            }
+        }
+        int c = tamanioA;
+        while (!alcanzable[g][c] || total - c > tamanioB) {
+            c--;
+        }
+        List<int[]> enA = new ArrayList<>();
+        for (int j = g; j >= 1; j--) {
+            if (!alcanzable[j - 1][c]) {
+                enA.add(grupos.get(j - 1));
+                c -= grupos.get(j - 1).length;
+            }
+        }
+        return enA;
+    }
+
+    // ========== AUXILIARES ==========
+
+    /**
+     * Ítems a repartir en orden de su primer jugador: cada grupo es un ítem
+     * con todos sus jugadores y cada jugador suelto, uno propio.
+     */
+    private static int[][] items(int[] grupo, int cantidadGrupos) {
+        int n = grupo.length;
+        int[] tamanioGrupo = new int[cantidadGrupos];
+        for (int g : grupo) {
+            if (g >= 0) {
+                tamanioGrupo[g]++;
+            }
+        }
+        int[][] deGrupo = new int[cantidadGrupos][];
+        int[] llenos = new int[cantidadGrupos];
+        List<int[]> items = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int g = grupo[i];
+            if (g < 0) {
+                items.add(new int[] { i });
+                continue;
+            }
+            if (deGrupo[g] == null) {
+                deGrupo[g] = new int[tamanioGrupo[g]];
+                items.add(deGrupo[g]);
+            }
+            deGrupo[g][llenos[g]++] = i;
+        }
+        return items.toArray(new int[0][]);
+    }
+
+    private static List<Integer> tamaniosGrupos(int[][] items) {
+        List<Integer> tamanios = new ArrayList<>();
+        for (int[] item : items) {
+            if (item.length >= 2) {
+                tamanios.add(item.length);
+            }
+        }
+        return tamanios;
+    }
+
+    /** Máscara de jugadores de cada grupo (solo para n de hasta 64). */
+    private static long[] mascaras(int[][] items) {
+        List<Long> mascaras = new ArrayList<>();
+        for (int[] item : items) {
+            if (item.length < 2) {
+                continue;
+            }
+            long mascara = 0;
+            for (int i : item) {
+                mascara |= 1L << i;
+            }
+            mascaras.add(mascara);
+        }
+        long[] resultado = new long[mascaras.size()];
+        for (int j = 0; j < resultado.length; j++) {
+            resultado[j] = mascaras.get(j);
+        }
+        return resultado;
+    }
+
+    private static long celdasMochila(int items, int n, int[] rango) {
+        return (long) (items + 1) * (n - n / 2 + 1) * (suma(rango) + 1);
+    }
+
+    /** Costo lexicográfico: primero roles repetidos, después diferencia. */
+    private static long costo(int repetidos, long diferencia) {
+        return ((long) repetidos << 40) | diferencia;
+    }
+
+    private static int repetidos(int[] conteo) {
+        int r = 0;
+        for (int c : conteo) {
+            r += Math.max(0, c - 1);
+        }
+        return r;
+    }
+
+    /** Cambio en roles repetidos al pasar a de A a B y b de B a A. */
+    private static int deltaRepetidos(int rolA, int rolB, int[] conteoA, int[] conteoB) {
+        if (rolA == rolB) {
+            return 0;
+        }
+        int delta = 0;
+        if (rolA >= 0) {
+            delta += (conteoA[rolA] > 1 ? -1 : 0) + (conteoB[rolA] > 0 ? 1 : 0);
+        }
+        if (rolB >= 0) {
+            delta += (conteoB[rolB] > 1 ? -1 : 0) + (conteoA[rolB] > 0 ? 1 : 0);
+        }
+        return delta;
+    }
+
+    private static void mover(int rol, int[] desde, int[] hacia) {
+        if (rol >= 0) {
+            desde[rol]--;
+            hacia[rol]++;
+        }
+    }
+
+    private static long suma(int[] valores) {
+        long s = 0;
+        for (int v : valores) {
+            s += v;
+        }
+        return s;
+    }
+
+    private static boolean[] desdeMascara(long mascara, int n) {
+        boolean[] enA = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            enA[i] = (mascara & (1L << i)) != 0;
+        }
+        return enA;
+    }
+
+    /** Arma el resultado; el equipo A es siempre el que contiene al jugador 0. */
+    private static Division construir(String[] id, int[] rango, int[] rol, boolean[] enA, boolean exacta) {
+        boolean invertir = !enA[0];
+        List<String> equipoA = new ArrayList<>();
+        List<String> equipoB = new ArrayList<>();
+        long sumaA = 0;
+        long sumaB = 0;
+        Map<Integer, Integer> rolesA = new HashMap<>();
+        Map<Integer, Integer> rolesB = new HashMap<>();
+        int repetidos = 0;
+        for (int i = 0; i < id.length; i++) {
+            boolean aA = enA[i] != invertir;
+            (aA ? equipoA : equipoB).add(id[i]);
+            if (aA) {
+                sumaA += rango[i];
+            } else {
+                sumaB += rango[i];
+            }
+            if (rol[i] >= 0 && (aA ? rolesA : rolesB).merge(rol[i], 1, Integer::sum) > 1) {
+                repetidos++;
+            }
+        }
+        return new Division(equipoA, equipoB, sumaA, sumaB, repetidos, exacta);
+    }
+
+    // ========== RESULTADO ==========
+
+    /**
+     * División de un lobby en dos equipos.
+     */
+    public static class Division {
+        private final List<String> equipoA;
+        private final List<String> equipoB;
+        private final long sumaA;
+        private final long sumaB;
+        private final int rolesRepetidos;
+        private final boolean exacta;
+
+        public Division(List<String> equipoA, List<String> equipoB, long sumaA, long sumaB, int rolesRepetidos,
+                boolean exacta) {
+            this.equipoA = List.copyOf(equipoA);
+            this.equipoB = List.copyOf(equipoB);
+            this.sumaA = sumaA;
+            this.sumaB = sumaB;
+            this.rolesRepetidos = rolesRepetidos;
+            this.exacta = exacta;
+        }
+
+        /** Ids del equipo A (contiene al jugador de menor id), ordenados por id. */
+        public List<String> getEquipoA() {
+            return equipoA;
+        }
+
+        /** Ids del equipo B, ordenados por id. */
+        public List<String> getEquipoB() {
+            return equipoB;
+        }
+
+        public long getSumaA() {
+            return sumaA;
+        }
+
+        public long getSumaB() {
+            return sumaB;
+        }
+
+        /** Diferencia absoluta de MMR total entre los equipos. */
+        public long getDiferencia() {
+            return Math.abs(sumaA - sumaB);
+        }
+
+        /** Jugadores cuyo rol principal ya estaba cubierto en su equipo. */
+        public int getRolesRepetidos() {
+            return rolesRepetidos;
+        }
+
+        /** true si la división es óptima (no heurística). */
+        public boolean isExacta() {
+            return exacta;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Division[A=%s (%d), B=%s (%d), dif=%d, roles repetidos=%d%s]", equipoA, sumaA,
+                    equipoB, sumaB, getDiferencia(), rolesRepetidos, exacta ? "" : ", heurística");
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package infraestructura.matchmaking;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import dominio.juegos.Juego;
+import dominio.modelo.Usuario;
+import dominio.valueobjects.formatosScrims.ScrimFormat;
+
+/**
+ * Cola de espera de matchmaking para un juego y formato.
+ *
+ * Cola acotada en orden de llegada: al superar la capacidad se rechaza el
+ * ingreso en lugar de crecer sin límite. Cada entrada guarda una copia del
+ * rango, la latencia y los roles del jugador al momento de encolarse, junto
+ * con el instante de ingreso para medir la espera y ensanchar la ventana de
+ * búsqueda de los que llevan más tiempo.
+ *
+ * Las métricas acumuladas (ingresos, rechazos por capacidad, abandonos,
+ * emparejados y tiempos de espera) se consultan con
+ * {@link #getMetricas(long)}.
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.ColaMatchmakingService
+ */
+public class ColaMatchmaking {
+
+    private final Juego juego;
+    private final ScrimFormat formato;
+    private final int capacidad;
+    private final LinkedHashMap<String, EntradaCola> entradas;
+
+    private long ingresos;
+    private long rechazadosPorCapacidad;
+    private long abandonos;
+    private long emparejados;
+    private long esperaTotalEmparejadosMs;
+    private long esperaMaximaEmparejadosMs;
+
+    /**
+     * @param juego     juego de la cola
+     * @param formato   formato de las partidas
+     * @param capacidad cantidad máxima de jugadores en espera
+     * @throws IllegalArgumentException si falta el juego o el formato, o la
+     *                                  capacidad no es positiva
+     */
+    public ColaMatchmaking(Juego juego, ScrimFormat formato, int capacidad) {
+        if (juego == null || formato == null) {
+            throw new IllegalArgumentException("El juego y el formato de la cola son obligatorios");
+        }
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cola debe ser mayor a 0");
+        }
+        this.juego = juego;
+        this.formato = formato;
+        this.capacidad = capacidad;
+        this.entradas = new LinkedHashMap<>();
+    }
+
+    /**
+     * Encola un jugador.
+     *
+     * @throws IllegalStateException si la cola está llena o el jugador ya está
+     *                               en ella
+     */
+    public synchronized EntradaCola encolar(Usuario usuario, int rango, int latencia, List<String> roles,
+            long ahoraMs) {
+        if (entradas.containsKey(usuario.getId())) {
+            throw new IllegalStateException("El usuario ya está en la cola de " + getNombre());
+        }
+        if (entradas.size() >= capacidad) {
+            rechazadosPorCapacidad++;
+            throw new IllegalStateException("La cola de " + getNombre() + " está llena (" + capacidad
+                    + " jugadores)");
+        }
+        EntradaCola entrada = new EntradaCola(usuario, rango, latencia, roles, ahoraMs);
+        entradas.put(usuario.getId(), entrada);
+        ingresos++;
+        return entrada;
+    }
+
+    /**
+     * Saca a un jugador de la cola por decisión propia.
+     *
+     * @return true si estaba en la cola
+     */
+    public synchronized boolean abandonar(String userId) {
+        if (entradas.remove(userId) != null) {
+            abandonos++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retira de la cola a los jugadores ubicados en un lobby y registra su
+     * tiempo de espera.
+     */
+    public synchronized void retirarEmparejados(List<EntradaCola> emparejadas, long ahoraMs) {
+        for (EntradaCola entrada : emparejadas) {
+            if (entradas.remove(entrada.getUsuario().getId()) != null) {
+                long espera = entrada.getEsperaMs(ahoraMs);
+                emparejados++;
+                esperaTotalEmparejadosMs += espera;
+                esperaMaximaEmparejadosMs = Math.max(esperaMaximaEmparejadosMs, espera);
+            }
+        }
+    }
+
+    /**
+     * Copia de las entradas en orden de llegada (la primera es la que más
+     * espera).
+     */
+    public synchronized List<EntradaCola> getEntradas() {
+        return new ArrayList<>(entradas.values());
+    }
+
+    public synchronized boolean contiene(String userId) {
+        return entradas.containsKey(userId);
+    }
+
+    public synchronized int getTamanio() {
+        return entradas.size();
+    }
+
+    public Juego getJuego() {
+        return juego;
+    }
+
+    public ScrimFormat getFormato() {
+        return formato;
+    }
+
+    /** Nombre legible de la cola ("juego - formato"). */
+    public String getNombre() {
+        return juego.getNombre() + " - " + formato.getFormatName();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Foto de las métricas de la cola.
+     *
+     * @param ahoraMs instante de referencia para la espera actual
+     */
+    public synchronized MetricasCola getMetricas(long ahoraMs) {
+        // La primera entrada es la más antigua
+        long esperaActualMaxima = entradas.isEmpty() ? 0
+                : entradas.values().iterator().next().getEsperaMs(ahoraMs);
+        return new MetricasCola(getNombre(), entradas.size(), capacidad, ingresos, rechazadosPorCapacidad,
+                abandonos, emparejados,
+                emparejados > 0 ? (double) esperaTotalEmparejadosMs / emparejados : 0.0,
+                esperaMaximaEmparejadosMs, esperaActualMaxima);
+    }
+
+    /**
+     * Jugador en espera con los datos con los que se encoló.
+     */
+    public static class EntradaCola {
+        private final Usuario usuario;
+        private final int rango;
+        private final int latencia;
+        private final List<String> roles;
+        private final long ingresoMs;
+
+        public EntradaCola(Usuario usuario, int rango, int latencia, List<String> roles, long ingresoMs) {
+            this.usuario = usuario;
+            this.rango = rango;
+            this.latencia = latencia;
+            this.roles = roles != null ? List.copyOf(roles) : List.of();
+            this.ingresoMs = ingresoMs;
+        }
+
+        public Usuario getUsuario() {
+            return usuario;
+        }
+
+        public int getRango() {
+            return rango;
+        }
+
+        public int getLatencia() {
+            return latencia;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public long getIngresoMs() {
+            return ingresoMs;
+        }
+
+        public long getEsperaMs(long ahoraMs) {
+            return Math.max(0, ahoraMs - ingresoMs);
+        }
+    }
+
+    /**
+     * Métricas de una cola en un instante dado.
+     */
+    public static class MetricasCola {
+        private final String cola;
+        private final int enEspera;
+        private final int capacidad;
+        private final long ingresos;
+        private final long rechazadosPorCapacidad;
+        private final long abandonos;
+        private final long emparejados;
+        private final double esperaPromedioMs;
+        private final long esperaMaximaMs;
+        private final long esperaActualMaximaMs;
+
+        public MetricasCola(String cola, int enEspera, int capacidad, long ingresos,
+                long rechazadosPorCapacidad, long abandonos, long emparejados, double esperaPromedioMs,
+                long esperaMaximaMs, long esperaActualMaximaMs) {
+            this.cola = cola;
+            this.enEspera = enEspera;
+            this.capacidad = capacidad;
+            this.ingresos = ingresos;
+            this.rechazadosPorCapacidad = rechazadosPorCapacidad;
+            this.abandonos = abandonos;
+            this.emparejados = emparejados;
+            this.esperaPromedioMs = esperaPromedioMs;
+            this.esperaMaximaMs = esperaMaximaMs;
+            this.esperaActualMaximaMs = esperaActualMaximaMs;
+        }
+
+        /** Nombre de la cola ("juego - formato"). */
+        public String getCola() {
+            return cola;
+        }
+
+        public int getEnEspera() {
+            return enEspera;
+        }
+
+        public int getCapacidad() {
+            return capacidad;
+        }
+
+        public long getIngresos() {
+            return ingresos;
+        }
+
+        public long getRechazadosPorCapacidad() {
+            return rechazadosPorCapacidad;
+        }
+
+        public long getAbandonos() {
+            return abandonos;
+        }
+
+        public long getEmparejados() {
+            return emparejados;
+        }
+
+        /** Espera promedio de los jugadores ya emparejados. */
+        public double getEsperaPromedioMs() {
+            return esperaPromedioMs;
+        }
+
+        /** Espera más larga de un jugador ya emparejado. */
+        public long getEsperaMaximaMs() {
+            return esperaMaximaMs;
+        }
+
+        /** Espera del jugador que más tiempo lleva en la cola. */
+        public long getEsperaActualMaximaMs() {
+            return esperaActualMaximaMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cola[%s: %d/%d en espera, %d emparejados, espera prom=%.0fms, "
+                    + "máx=%dms, rechazados=%d, abandonos=%d]", cola, enEspera, capacidad, emparejados,
+                    esperaPromedioMs, esperaMaximaMs, rechazadosPorCapacidad, abandonos);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package infraestructura.matchmaking;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de una estrategia de matchmaking (pesos, umbrales), como pares
+ * nombre → valor en texto.
+ *
+ * Es inmutable: una estrategia configurada es otra instancia
+ * ({@link MatchmakingStrategy#configurar}), por lo que las estrategias se
+ * pueden compartir entre hilos sin sincronizar. Los parámetros que una
+ * estrategia no reconoce se ignoran.
+ *
+ * Ejemplo ({@code data/matchmaking.properties}):
+ *
+ * <pre>
+ * Composite.pesoRango=0.6
+ * Composite.pesoLatencia=0.3
+ * Latency.limiteLatencia=200
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see MatchmakingRegistry
+ */
+public final class ConfiguracionEstrategia {
+
+    public static final ConfiguracionEstrategia VACIA = new ConfiguracionEstrategia(Map.of());
+
+    private final Map<String, String> parametros;
+
+    public ConfiguracionEstrategia(Map<String, String> parametros) {
+        this.parametros = Collections.unmodifiableMap(new LinkedHashMap<>(parametros));
+    }
+
+    /**
+     * Configuración con los parámetros de esta más los de otra (los de la
+     * otra prevalecen).
+     */
+    public ConfiguracionEstrategia combinar(ConfiguracionEstrategia otra) {
+        Map<String, String> combinados = new LinkedHashMap<>(parametros);
+        combinados.putAll(otra.parametros);
+        return new ConfiguracionEstrategia(combinados);
+    }
+
+    /**
+     * @throws IllegalArgumentException si el valor no es un número
+     */
+    public double getDouble(String nombre, double porDefecto) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Double.parseDouble(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " debe ser numérico: " + valor);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException si el valor no es un entero
+     */
+    public int getInt(String nombre, int porDefecto) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " debe ser entero: " + valor);
+        }
+    }
+
+    public boolean estaVacia() {
+        return parametros.isEmpty();
+    }
+
+    public Map<String, String> getParametros() {
+        return parametros;
+    }
+
+    @Override
+    public String toString() {
+        return parametros.toString();
+    }
+}
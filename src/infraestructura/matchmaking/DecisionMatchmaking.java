@@ -0,0 +1,157 @@
+package infraestructura.matchmaking;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Registro inmutable de una decisión de matchmaking: qué estrategia se usó,
+ * sobre cuántos candidatos, cuánto tardó y la calidad del grupo elegido.
+ *
+ * Los campos que la estrategia no informa valen -1 (ej: el umbral final
+ * solo existe en la estrategia por latencia).
+ *
+ * @author eScrims Team
+ * @see TrazadorMatchmaking
+ */
+public class DecisionMatchmaking {
+
+    private final long secuencia;
+    private final Instant instante;
+    private final String estrategia;
+    private final String origen;
+    private final String scrimId;
+    private final String juego;
+    private final int plazas;
+    private final int nivelRelajacion;
+    private final int tamanioPool;
+    private final int poolFiltrado;
+    private final int umbralFinal;
+    private final int seleccionados;
+    private final long duracionNanos;
+    private final int dispersionRango;
+    private final double desvioRango;
+    private final double latenciaPromedio;
+    private final double varianzaRoles;
+    private final double fiabilidad;
+
+    DecisionMatchmaking(long secuencia, Instant instante, String estrategia, String origen, String scrimId,
+            String juego, int plazas, int nivelRelajacion, int tamanioPool, int poolFiltrado, int umbralFinal, int seleccionados,
+            long duracionNanos, int dispersionRango, double desvioRango, double latenciaPromedio,
+            double varianzaRoles, double fiabilidad) {
+        this.secuencia = secuencia;
+        this.instante = instante;
+        this.estrategia = estrategia;
+        this.origen = origen;
+        this.scrimId = scrimId;
+        this.juego = juego;
+        this.plazas = plazas;
+        this.nivelRelajacion = nivelRelajacion;
+        this.tamanioPool = tamanioPool;
+        this.poolFiltrado = poolFiltrado;
+        this.umbralFinal = umbralFinal;
+        this.seleccionados = seleccionados;
+        this.duracionNanos = duracionNanos;
+        this.dispersionRango = dispersionRango;
+        this.desvioRango = desvioRango;
+        this.latenciaPromedio = latenciaPromedio;
+        this.varianzaRoles = varianzaRoles;
+        this.fiabilidad = fiabilidad;
+    }
+
+    /** Número de orden de la decisión desde el último reinicio del trazador. */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public Instant getInstante() {
+        return instante;
+    }
+
+    public String getEstrategia() {
+        return estrategia;
+    }
+
+    /** API por la que entró la selección: "lista", "pool", "region" o "grupos". */
+    public String getOrigen() {
+        return origen;
+    }
+
+    public String getScrimId() {
+        return scrimId;
+    }
+
+    public String getJuego() {
+        return juego;
+    }
+
+    public int getPlazas() {
+        return plazas;
+    }
+
+    /** Nivel de relajación de requisitos del scrim al decidir (0 = ninguno). */
+    public int getNivelRelajacion() {
+        return nivelRelajacion;
+    }
+
+    /** Candidatos recibidos por la estrategia (-1 si no se conoce). */
+    public int getTamanioPool() {
+        return tamanioPool;
+    }
+
+    /** Candidatos que pasaron el filtro de la estrategia (-1 si no lo informa). */
+    public int getPoolFiltrado() {
+        return poolFiltrado;
+    }
+
+    /** Umbral de latencia final en ms (-1 si la estrategia no expande umbrales). */
+    public int getUmbralFinal() {
+        return umbralFinal;
+    }
+
+    public int getSeleccionados() {
+        return seleccionados;
+    }
+
+    public boolean isCompleta() {
+        return seleccionados >= plazas;
+    }
+
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    /** Rango máximo menos mínimo del grupo elegido (-1 sin rangos). */
+    public int getDispersionRango() {
+        return dispersionRango;
+    }
+
+    /** Desvío estándar de rango del grupo elegido. */
+    public double getDesvioRango() {
+        return desvioRango;
+    }
+
+    /** Latencia promedio del grupo elegido, en ms. */
+    public double getLatenciaPromedio() {
+        return latenciaPromedio;
+    }
+
+    /** Diversidad de roles del grupo, 0-1 (1 = todos los roles distintos). */
+    public double getVarianzaRoles() {
+        return varianzaRoles;
+    }
+
+    /** Fiabilidad grupal del historial, 0-100. */
+    public double getFiabilidad() {
+        return fiabilidad;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "#%d %s/%s scrim=%s juego=%s relajacion=%d pool=%d filtrado=%d umbral=%d elegidos=%d/%d %.3fms "
+                        + "dispersion=%d latencia=%.1fms roles=%.2f fiabilidad=%.1f",
+                secuencia, estrategia, origen, scrimId, juego, nivelRelajacion, tamanioPool, poolFiltrado, umbralFinal,
+                seleccionados, plazas, duracionNanos / 1_000_000.0, dispersionRango, latenciaPromedio,
+                varianzaRoles, fiabilidad);
+    }
+}
@@ -0,0 +1,545 @@
+package infraestructura.matchmaking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.IndiceKD;
+import infraestructura.persistencia.repository.RepositorioFactory;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Emparejamiento global en lote: asigna jugadores a varios scrims abiertos a
+ * la vez maximizando la calidad total de los emparejamientos.
+ *
+ * Llenar los scrims de a uno deja que los primeros se queden con los mejores
+ * jugadores y permite elegir al mismo jugador para varios scrims. Acá cada
+ * plaza libre de cada scrim es un "postor" en un algoritmo de subasta
+ * (Bertsekas) y cada jugador es un "objeto" con precio: una plaza puja por el
+ * jugador que más le conviene descontando su precio, y un jugador solo puede
+ * quedar asignado a una plaza. Una plaza también puede quedar vacía (valor 0)
+ * si ningún jugador compatible le resulta conveniente.
+ *
+ * Restricciones para que un jugador sea compatible con una plaza:
+ * - MMR: rango del jugador en el juego dentro de [rangoMin, rangoMax]
+ * (rangoMax = Integer.MAX_VALUE es sin límite)
+ * - Latencia: latencia promedio &lt;= latenciaMax del scrim (-1 = sin límite)
+ * - Región: si el scrim tiene región, la misma región del jugador (un
+ * jugador sin región entra en cualquiera)
+ * - Rol: si el scrim tiene roles requeridos, las plazas libres son los roles
+ * que faltan cubrir (los requeridos, repetidos en forma circular hasta
+ * completar las plazas, menos el rol principal de cada aceptado); un jugador
+ * con rol principal solo ocupa plazas de su rol, uno sin roles configurados
+ * ocupa cualquiera
+ * - No estar ya postulado al scrim
+ *
+ * Calidad de un par jugador-scrim (1 a 1001 puntos):
+ * - Cercanía al centro del rango del scrim: hasta 500
+ * - Latencia baja respecto del máximo del scrim (o de
+ * {@link IndiceKD#ESCALA_LATENCIA} ms si no tiene límite): hasta 300
+ * - Confiabilidad del historial: hasta 200
+ *
+ * La subasta usa un incremento mínimo de puja epsilon = 1 sobre valores
+ * multiplicados por la cantidad de plazas + 1, por lo que termina en la
+ * asignación óptima. No se usa escalado de epsilon: hay más jugadores que
+ * plazas, y la optimalidad exige que los jugadores sin asignar tengan el
+ * precio mínimo, algo que no se cumple al arrastrar precios entre fases sin
+ * una subasta inversa. El algoritmo respeta un presupuesto de tiempo: si se
+ * agota, devuelve la asignación de una pasada voraz inicial.
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.MatchmakerService#emparejarEnLote(List, List, long)
+ */
+public class EmparejamientoGlobal {
+
+    private static final int PESO_RANGO = 500;
+    private static final int PESO_LATENCIA = 300;
+    private static final int PESO_CONFIABILIDAD = 200;
+    private static final double SCORE_HISTORIAL_MAXIMO = 90.0;
+
+    private static final int PUJAS_ENTRE_CONTROLES = 256;
+
+    private final long presupuestoNanos;
+    private final RepositorioUsuario repositorioUsuario;
+
+    /**
+     * @param presupuestoMs tiempo máximo de cálculo en milisegundos
+     * @throws IllegalArgumentException si el presupuesto no es positivo
+     */
+    public EmparejamientoGlobal(long presupuestoMs) {
+        this(presupuestoMs, RepositorioFactory.getRepositorioUsuario());
+    }
+
+    /**
+     * @param presupuestoMs      tiempo máximo de cálculo en milisegundos
+     * @param repositorioUsuario repositorio para consultar el rol de los
+     *                           jugadores ya aceptados en cada scrim
+     * @throws IllegalArgumentException si el presupuesto no es positivo o el
+     *                                  repositorio es null
+     */
+    public EmparejamientoGlobal(long presupuestoMs, RepositorioUsuario repositorioUsuario) {
+        if (presupuestoMs <= 0) {
+            throw new IllegalArgumentException("El presupuesto de tiempo debe ser mayor a 0");
+        }
+        if (repositorioUsuario == null) {
+            throw new IllegalArgumentException("El repositorio de usuarios no puede ser null");
+        }
+        this.presupuestoNanos = presupuestoMs * 1_000_000L;
+        this.repositorioUsuario = repositorioUsuario;
+    }
+
+    /**
+     * Calcula la asignación global de jugadores a scrims.
+     *
+     * @param scrims    scrims que buscan jugadores
+     * @param jugadores pool de jugadores disponibles
+     * @return asignación por scrim y métricas del cálculo
+     * @throws IllegalArgumentException si alguna lista es null
+     */
+    public Resultado emparejar(List<Scrim> scrims, List<Usuario> jugadores) {
+        if (scrims == null || jugadores == null) {
+            throw new IllegalArgumentException("Scrims y jugadores no pueden ser null");
+        }
+        long limite = System.nanoTime() + presupuestoNanos;
+
+        // ===== Plazas (postores) =====
+        List<Scrim> scrimDePlaza = new ArrayList<>();
+        List<String> rolDePlaza = new ArrayList<>();
+        for (Scrim scrim : scrims) {
+            for (String rol : rolesFaltantes(scrim)) {
+                scrimDePlaza.add(scrim);
+                rolDePlaza.add(rol);
+            }
+        }
+        int cantidadPlazas = scrimDePlaza.size();
+
+        // ===== Valores: las plazas iguales (mismo scrim y rol) comparten lista =====
+        Map<String, PerfilesDeJuego> perfilesPorJuego = new HashMap<>();
+        Map<String, Opciones> opcionesPorGrupo = new HashMap<>();
+        Opciones[] opcionesDePlaza = new Opciones[cantidadPlazas];
+        long escala = cantidadPlazas + 1L;
+        for (int plaza = 0; plaza < cantidadPlazas; plaza++) {
+            Scrim scrim = scrimDePlaza.get(plaza);
+            String clave = scrim.getId() + "|" + rolDePlaza.get(plaza);
+            if (!opcionesPorGrupo.containsKey(clave)) {
+                if (System.nanoTime() > limite) {
+                    // Sin tiempo para evaluar más scrims: sus plazas quedan sin opciones
+                    opcionesPorGrupo.put(clave, new Opciones());
+                } else {
+                    PerfilesDeJuego perfiles = perfilesPorJuego.computeIfAbsent(scrim.getJuego().getNombre(),
+                            juego -> new PerfilesDeJuego(jugadores, juego));
+                    calcularOpciones(scrim, perfiles, escala, opcionesPorGrupo);
+                }
+            }
+            Opciones opciones = opcionesPorGrupo.get(clave);
+            opcionesDePlaza[plaza] = opciones;
+        }
+
+        // ===== Solución inicial voraz (resultado mínimo si no alcanza el tiempo) =====
+        int[] mejorAsignacion = new int[cantidadPlazas];
+        long[] mejoresValores = new long[cantidadPlazas];
+        asignarVoraz(opcionesDePlaza, jugadores.size(), mejorAsignacion, mejoresValores);
+
+        // ===== Subasta =====
+        int[] jugadorDePlaza = new int[cantidadPlazas];
+        long[] valorDePlaza = new long[cantidadPlazas];
+        boolean completa = subastar(opcionesDePlaza, jugadores.size(), jugadorDePlaza, valorDePlaza, limite);
+        if (completa) {
+            mejorAsignacion = jugadorDePlaza;
+            mejoresValores = valorDePlaza;
+        }
+
+        return construirResultado(scrims, scrimDePlaza, mejorAsignacion, mejoresValores, jugadores,
+                escala, completa);
+    }
+
+    /**
+     * Roles de las plazas libres de un scrim: los roles requeridos repetidos
+     * en forma circular hasta cubrir todas las plazas, menos el rol principal
+     * de cada jugador aceptado. Un aceptado sin rol (o con un rol que ya no
+     * falta) descuenta una plaza del rol que más se repite. Sin roles
+     * requeridos, todas las plazas libres son null (cualquier rol).
+     */
+    private List<String> rolesFaltantes(Scrim scrim) {
+        List<String> roles = scrim.getRolesRequeridos();
+        int plazasLibres = scrim.getPlazasLibres();
+        List<String> faltantes = new ArrayList<>(plazasLibres);
+        if (roles == null || roles.isEmpty()) {
+            for (int k = 0; k < plazasLibres; k++) {
+                faltantes.add(null);
+            }
+            return faltantes;
+        }
+
+        for (int k = 0; k < scrim.getPlazas(); k++) {
+            faltantes.add(roles.get(k % roles.size()));
+        }
+        String juego = scrim.getJuego().getNombre();
+        int sinRolCubierto = 0;
+        for (Postulacion postulacion : scrim.getPostulacionesAceptadas()) {
+            Usuario aceptado = repositorioUsuario.buscarPorId(postulacion.getUserId());
+            String rol = aceptado != null ? aceptado.getRolPrincipalParaJuego(juego) : null;
+            if (rol == null || !faltantes.remove(rol)) {
+                sinRolCubierto++;
+            }
+        }
+        for (int k = 0; k < sinRolCubierto && !faltantes.isEmpty(); k++) {
+            faltantes.remove(rolMasRepetido(faltantes));
+        }
+        return faltantes.size() > plazasLibres ? faltantes.subList(0, plazasLibres) : faltantes;
+    }
+
+    private static String rolMasRepetido(List<String> roles) {
+        Map<String, Integer> cantidades = new HashMap<>();
+        String masRepetido = roles.get(0);
+        for (String rol : roles) {
+            int cantidad = cantidades.merge(rol, 1, Integer::sum);
+            if (cantidad > cantidades.get(masRepetido)) {
+                masRepetido = rol;
+            }
+        }
+        return masRepetido;
+    }
+
+    /**
+     * Asignación voraz: cada plaza, en orden, toma el jugador libre de mayor
+     * valor. Es lineal en la cantidad de opciones y sirve como resultado si
+     * la subasta no termina dentro del presupuesto.
+     */
+    private void asignarVoraz(Opciones[] opcionesDePlaza, int cantidadJugadores, int[] jugadorDePlaza,
+            long[] valorDePlaza) {
+        boolean[] asignado = new boolean[cantidadJugadores];
+        for (int plaza = 0; plaza < opcionesDePlaza.length; plaza++) {
+            Opciones opciones = opcionesDePlaza[plaza];
+            int mejor = -1;
+            for (int i = 0; i < opciones.cantidad; i++) {
+                if (!asignado[opciones.jugadores[i]] && (mejor < 0 || opciones.valores[i] > opciones.valores[mejor])) {
+                    mejor = i;
+                }
+            }
+            jugadorDePlaza[plaza] = mejor >= 0 ? opciones.jugadores[mejor] : -1;
+            valorDePlaza[plaza] = mejor >= 0 ? opciones.valores[mejor] : 0;
+            if (mejor >= 0) {
+                asignado[opciones.jugadores[mejor]] = true;
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la subasta con epsilon 1 partiendo de precios en 0. Un jugador
+     * que recibe una puja queda asignado hasta el final, así que los que
+     * nunca reciben pujas terminan con precio 0, el mínimo: con más
+     * jugadores que plazas es la condición que, junto con epsilon·plazas
+     * menor a la escala de los valores, hace exacta la asignación.
+     *
+     * @return false si se agotó el presupuesto antes de terminar
+     */
+    private boolean subastar(Opciones[] opcionesDePlaza, int cantidadJugadores, int[] jugadorDePlaza,
+            long[] valorDePlaza, long limite) {
+        int cantidadPlazas = opcionesDePlaza.length;
+        long[] precios = new long[cantidadJugadores];
+        int[] plazaDeJugador = new int[cantidadJugadores];
+        Arrays.fill(plazaDeJugador, -1);
+        Arrays.fill(jugadorDePlaza, -1);
+
+        // Cola circular de plazas sin jugador: cada plaza está a lo sumo una vez
+        int[] pendientes = new int[Math.max(1, cantidadPlazas)];
+        for (int plaza = 0; plaza < cantidadPlazas; plaza++) {
+            pendientes[plaza] = plaza;
+        }
+        int inicio = 0;
+        int cantidadPendientes = cantidadPlazas;
+
+        int pujas = 0;
+        while (cantidadPendientes > 0) {
+            if (++pujas % PUJAS_ENTRE_CONTROLES == 0 && System.nanoTime() > limite) {
+                return false;
+            }
+            int plaza = pendientes[inicio];
+            inicio = (inicio + 1) % pendientes.length;
+            cantidadPendientes--;
+            Opciones opciones = opcionesDePlaza[plaza];
+
+            // Mejor y segunda mejor ganancia; quedar vacía vale 0
+            int mejorJugador = -1;
+            long mejorValor = 0;
+            long mejorGanancia = 0;
+            long segundaGanancia = 0;
+            for (int i = 0; i < opciones.cantidad; i++) {
+                int jugador = opciones.jugadores[i];
+                long ganancia = opciones.valores[i] - precios[jugador];
+                if (ganancia > mejorGanancia) {
+                    segundaGanancia = mejorGanancia;
+                    mejorGanancia = ganancia;
+                    mejorJugador = jugador;
+                    mejorValor = opciones.valores[i];
+                } else if (ganancia > segundaGanancia) {
+                    segundaGanancia = ganancia;
+                }
+            }
+
+            if (mejorJugador < 0) {
+                // Ningún jugador conviene más que dejar la plaza vacía
+                continue;
+            }
+
+            precios[mejorJugador] += mejorGanancia - segundaGanancia + 1;
+            int desplazada = plazaDeJugador[mejorJugador];
+            if (desplazada >= 0) {
+                jugadorDePlaza[desplazada] = -1;
+                valorDePlaza[desplazada] = 0;
+                pendientes[(inicio + cantidadPendientes) % pendientes.length] = desplazada;
+                cantidadPendientes++;
+            }
+            plazaDeJugador[mejorJugador] = plaza;
+            jugadorDePlaza[plaza] = mejorJugador;
+            valorDePlaza[plaza] = mejorValor;
+        }
+        return true;
+    }
+
+    /**
+     * Evalúa los jugadores de un scrim y reparte los compatibles entre los
+     * grupos de plazas (uno por rol requerido, o uno solo si no hay roles).
+     * Solo recorre los jugadores cuyo rango cae en el intervalo del scrim.
+     */
+    private void calcularOpciones(Scrim scrim, PerfilesDeJuego perfiles, long escala,
+            Map<String, Opciones> opcionesPorGrupo) {
+        List<String> roles = scrim.getRolesRequeridos();
+        List<String> grupos = new ArrayList<>();
+        if (roles == null || roles.isEmpty()) {
+            grupos.add(null);
+        } else {
+            for (String rol : roles) {
+                if (!grupos.contains(rol)) {
+                    grupos.add(rol);
+                }
+            }
+        }
+        Opciones[] opciones = new Opciones[grupos.size()];
+        for (int g = 0; g < grupos.size(); g++) {
+            opciones[g] = new Opciones();
+            opcionesPorGrupo.put(scrim.getId() + "|" + grupos.get(g), opciones[g]);
+        }
+
+        Set<String> postulados = new HashSet<>();
+        for (Postulacion postulacion : scrim.getPostulaciones()) {
+            postulados.add(postulacion.getUserId());
+        }
+        String region = scrim.getRegion();
+
+        int latenciaMax = scrim.getLatenciaMax();
+        int desde = perfiles.primeraPosicionConRango(scrim.getRangoMin());
+        // Sin límite de rango, rangoMax + 1 desbordaría
+        int hasta = scrim.getRangoMax() == Integer.MAX_VALUE ? perfiles.rangos.length
+                : perfiles.primeraPosicionConRango(scrim.getRangoMax() + 1);
+        for (int k = desde; k < hasta; k++) {
+            int jugador = perfiles.orden[k];
+            if (latenciaMax != -1 && perfiles.latencias[jugador] > latenciaMax) {
+                continue;
+            }
+            if (!region.isEmpty() && !perfiles.regiones[jugador].isEmpty()
+                    && !region.equals(perfiles.regiones[jugador])) {
+                continue;
+            }
+            if (!postulados.isEmpty() && postulados.contains(perfiles.ids[jugador])) {
+                continue;
+            }
+            long valor = calidad(perfiles.rangos[k], perfiles.latencias[jugador], perfiles.confiabilidades[jugador],
+                    scrim) * escala;
+            String rolPrincipal = perfiles.rolesPrincipales[jugador];
+            for (int g = 0; g < grupos.size(); g++) {
+                String rol = grupos.get(g);
+                if (rol == null || rolPrincipal == null || rolPrincipal.equals(rol)) {
+                    opciones[g].agregar(jugador, valor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calidad de un jugador para un scrim (mayor es mejor, siempre positiva).
+     */
+    private static long calidad(int rango, int latenciaJugador, double confiabilidad, Scrim scrim) {
+        // En double: con un rango sin límite la suma desborda un int
+        double centro = ((double) scrim.getRangoMin() + scrim.getRangoMax()) / 2.0;
+        double semiancho = Math.max(1.0, ((double) scrim.getRangoMax() - scrim.getRangoMin()) / 2.0);
+        double cercania = 1.0 - Math.min(1.0, Math.abs(rango - centro) / semiancho);
+
+        double latenciaReferencia = scrim.getLatenciaMax() > 0 ? scrim.getLatenciaMax() + 1.0
+                : IndiceKD.ESCALA_LATENCIA;
+        double latencia = 1.0 - Math.min(1.0, Math.max(0, latenciaJugador) / latenciaReferencia);
+
+        return 1 + Math.round(cercania * PESO_RANGO + latencia * PESO_LATENCIA
+                + confiabilidad * PESO_CONFIABILIDAD);
+    }
+
+    private static double confiabilidad(Usuario jugador) {
+        HistorialUsuario historial = jugador.getHistorial();
+        return historial != null
+                ? Math.min(1.0, historial.getScoreMatchmaking() / SCORE_HISTORIAL_MAXIMO)
+                : 0.5;
+    }
+
+    private Resultado construirResultado(List<Scrim> scrims, List<Scrim> scrimDePlaza, int[] jugadorDePlaza,
+            long[] valorDePlaza, List<Usuario> jugadores, long escala, boolean optimo) {
+        Map<String, List<Usuario>> asignaciones = new LinkedHashMap<>();
+        for (Scrim scrim : scrims) {
+            asignaciones.put(scrim.getId(), new ArrayList<>());
+        }
+        long calidadTotal = 0;
+        int cubiertas = 0;
+        for (int plaza = 0; plaza < jugadorDePlaza.length; plaza++) {
+            int jugador = jugadorDePlaza[plaza];
+            if (jugador < 0) {
+                continue;
+            }
+            asignaciones.get(scrimDePlaza.get(plaza).getId()).add(jugadores.get(jugador));
+            calidadTotal += valorDePlaza[plaza] / escala;
+            cubiertas++;
+        }
+        return new Resultado(asignaciones, calidadTotal, cubiertas, jugadorDePlaza.length, optimo);
+    }
+
+    /**
+     * Jugadores compatibles con un grupo de plazas y el valor de cada uno.
+     */
+    private static class Opciones {
+        private int[] jugadores = new int[16];
+        private long[] valores = new long[16];
+        private int cantidad;
+
+        void agregar(int jugador, long valor) {
+            if (cantidad == jugadores.length) {
+                jugadores = Arrays.copyOf(jugadores, cantidad * 2);
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            jugadores[cantidad] = jugador;
+            valores[cantidad] = valor;
+            cantidad++;
+        }
+    }
+
+    /**
+     * Datos de los jugadores para un juego en arreglos primitivos, con las
+     * posiciones ordenadas por rango para ubicar por búsqueda binaria los
+     * jugadores del intervalo de cada scrim. Los jugadores sin rango en el
+     * juego quedan afuera.
+     */
+    private static class PerfilesDeJuego {
+        private final int[] orden;
+        private final int[] rangos;
+        private final int[] latencias;
+        private final double[] confiabilidades;
+        private final String[] rolesPrincipales;
+        private final String[] regiones;
+        private final String[] ids;
+
+        PerfilesDeJuego(List<Usuario> jugadores, String juego) {
+            int n = jugadores.size();
+            latencias = new int[n];
+            confiabilidades = new double[n];
+            rolesPrincipales = new String[n];
+            regiones = new String[n];
+            ids = new String[n];
+
+            long[] conRango = new long[n];
+            int cantidad = 0;
+            for (int j = 0; j < n; j++) {
+                Usuario jugador = jugadores.get(j);
+                Integer rango = jugador.getRangoParaJuego(juego);
+                if (rango == null) {
+                    continue;
+                }
+                conRango[cantidad++] = ((long) rango << 32) | j;
+                latencias[j] = jugador.getLatenciaPromedio();
+                confiabilidades[j] = confiabilidad(jugador);
+                rolesPrincipales[j] = jugador.getRolPrincipalParaJuego(juego);
+                regiones[j] = jugador.getRegion().trim().toUpperCase();
+                ids[j] = jugador.getId();
+            }
+            Arrays.sort(conRango, 0, cantidad);
+            orden = new int[cantidad];
+            rangos = new int[cantidad];
+            for (int k = 0; k < cantidad; k++) {
+                rangos[k] = (int) (conRango[k] >> 32);
+                orden[k] = (int) conRango[k];
+            }
+        }
+
+        /** Primera posición (en orden de rango) con rango &gt;= el indicado. */
+        int primeraPosicionConRango(int rango) {
+            int bajo = 0;
+            int alto = rangos.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (rangos[medio] < rango) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+    }
+
+    /**
+     * Resultado del emparejamiento global.
+     */
+    public static class Resultado {
+        private final Map<String, List<Usuario>> asignaciones;
+        private final long calidadTotal;
+        private final int plazasCubiertas;
+        private final int plazasTotales;
+        private final boolean optimo;
+
+        public Resultado(Map<String, List<Usuario>> asignaciones, long calidadTotal, int plazasCubiertas,
+                int plazasTotales, boolean optimo) {
+            this.asignaciones = asignaciones;
+            this.calidadTotal = calidadTotal;
+            this.plazasCubiertas = plazasCubiertas;
+            this.plazasTotales = plazasTotales;
+            this.optimo = optimo;
+        }
+
+        /** Jugadores asignados por ID de scrim (en el orden de los scrims recibidos). */
+        public Map<String, List<Usuario>> getAsignaciones() {
+            return Collections.unmodifiableMap(asignaciones);
+        }
+
+        public List<Usuario> getAsignados(String scrimId) {
+            return asignaciones.getOrDefault(scrimId, List.of());
+        }
+
+        /** Suma de la calidad de todos los pares asignados. */
+        public long getCalidadTotal() {
+            return calidadTotal;
+        }
+
+        public int getPlazasCubiertas() {
+            return plazasCubiertas;
+        }
+
+        public int getPlazasTotales() {
+            return plazasTotales;
+        }
+
+        /**
+         * Indica si la subasta terminó dentro del presupuesto (asignación
+         * óptima). Si es false, el resultado es el de la pasada voraz.
+         */
+        public boolean isOptimo() {
+            return optimo;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package infraestructura.matchmaking;
+
+/**
+ * Sistema de calificación Glicko-2 (Glickman, 2012).
+ *
+ * Cada jugador tiene un rating, una desviación (incertidumbre sobre el
+ * rating) y una volatilidad (cuánto se espera que fluctúe). Los resultados se
+ * procesan por períodos: todas las partidas de un período se evalúan contra
+ * los valores de los rivales al inicio del período, por lo que el orden de las
+ * partidas dentro del período no importa.
+ *
+ * Un jugador que no juega durante un período no cambia de rating, pero su
+ * desviación crece ({@link #desviacionTrasInactividad}); así, quien vuelve
+ * tras mucho tiempo se recalibra rápido.
+ *
+ * Los valores se expresan en la escala clásica (rating inicial
+ * {@value #RATING_INICIAL}, desviación inicial {@value #DESVIACION_INICIAL});
+ * la conversión a la escala interna de Glicko-2 es interna a la clase.
+ *
+ * @author eScrims Team
+ */
+public final class Glicko2 {
+
+    public static final double RATING_INICIAL = 1500.0;
+    public static final double DESVIACION_INICIAL = 350.0;
+    public static final double VOLATILIDAD_INICIAL = 0.06;
+
+    /** Restringe el cambio de volatilidad entre períodos (0.3 a 1.2 según Glickman). */
+    public static final double TAU = 0.5;
+
+    private static final double ESCALA = 173.7178;
+    private static final double TOLERANCIA = 0.000001;
+
+    private Glicko2() {
+    }
+
+    /**
+     * Calcula el nuevo estado de un jugador al cerrar un período.
+     *
+     * @param rating              rating al inicio del período
+     * @param desviacion          desviación al inicio del período
+     * @param volatilidad         volatilidad al inicio del período
+     * @param ratingsRivales      rating de cada rival (uno por partida)
+     * @param desviacionesRivales desviación de cada rival
+     * @param resultados          resultado de cada partida: 1 victoria, 0.5
+     *                            empate, 0 derrota
+     * @return estado del jugador al final del período
+     * @throws IllegalArgumentException si los arreglos de partidas tienen
+     *                                  distinto largo
+     */
+    public static Resultado actualizar(double rating, double desviacion, double volatilidad,
+            double[] ratingsRivales, double[] desviacionesRivales, double[] resultados) {
+        int partidas = ratingsRivales.length;
+        if (desviacionesRivales.length != partidas || resultados.length != partidas) {
+            throw new IllegalArgumentException("Rivales, desviaciones y resultados deben tener el mismo largo");
+        }
+        if (partidas == 0) {
+            return new Resultado(rating, desviacionTrasInactividad(desviacion, volatilidad, 1), volatilidad);
+        }
+
+        double mu = (rating - RATING_INICIAL) / ESCALA;
+        double phi = desviacion / ESCALA;
+
+        // Varianza estimada (v) y mejora estimada (delta / v) según los resultados
+        double inversaV = 0.0;
+        double sumaMejora = 0.0;
+        for (int j = 0; j < partidas; j++) {
+            double muRival = (ratingsRivales[j] - RATING_INICIAL) / ESCALA;
+            double g = g(desviacionesRivales[j] / ESCALA);
+            double esperado = 1.0 / (1.0 + Math.exp(-g * (mu - muRival)));
+            inversaV += g * g * esperado * (1.0 - esperado);
+            sumaMejora += g * (resultados[j] - esperado);
+        }
+        double v = 1.0 / inversaV;
+        double delta = v * sumaMejora;
+
+        double nuevaVolatilidad = nuevaVolatilidad(phi, volatilidad, v, delta);
+        double phiPrevia = Math.sqrt(phi * phi + nuevaVolatilidad * nuevaVolatilidad);
+        double nuevoPhi = 1.0 / Math.sqrt(1.0 / (phiPrevia * phiPrevia) + 1.0 / v);
+        double nuevoMu = mu + nuevoPhi * nuevoPhi * sumaMejora;
+
+        return new Resultado(nuevoMu * ESCALA + RATING_INICIAL, nuevoPhi * ESCALA, nuevaVolatilidad);
+    }
+
+    /**
+     * Desviación de un jugador tras varios períodos sin jugar: cada período
+     * suma la volatilidad a la varianza, sin superar la desviación inicial.
+     */
+    public static double desviacionTrasInactividad(double desviacion, double volatilidad, long periodos) {
+        if (periodos <= 0) {
+            return desviacion;
+        }
+        double phi = desviacion / ESCALA;
+        double varianza = phi * phi + periodos * volatilidad * volatilidad;
+        return Math.min(DESVIACION_INICIAL, Math.sqrt(varianza) * ESCALA);
+    }
+
+    /**
+     * Probabilidad esperada de que el jugador gane al rival.
+     */
+    public static double probabilidadVictoria(double rating, double ratingRival, double desviacionRival) {
+        double g = g(desviacionRival / ESCALA);
+        return 1.0 / (1.0 + Math.exp(-g * (rating - ratingRival) / ESCALA));
+    }
+
+    private static double g(double phi) {
+        return 1.0 / Math.sqrt(1.0 + 3.0 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    /**
+     * Nueva volatilidad: raíz de f(x) por el método de Illinois (regula falsi
+     * modificada), paso 5 del algoritmo de Glickman.
+     */
+    private static double nuevaVolatilidad(double phi, double volatilidad, double v, double delta) {
+        double a = Math.log(volatilidad * volatilidad);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double extremoA = a;
+        double extremoB;
+        if (delta2 > phi2 + v) {
+            extremoB = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (f(a - k * TAU, a, phi2, v, delta2) < 0) {
+                k++;
+            }
+            extremoB = a - k * TAU;
+        }
+
+        double fA = f(extremoA, a, phi2, v, delta2);
+        double fB = f(extremoB, a, phi2, v, delta2);
+        while (Math.abs(extremoB - extremoA) > TOLERANCIA) {
+            double c = extremoA + (extremoA - extremoB) * fA / (fB - fA);
+            double fC = f(c, a, phi2, v, delta2);
+            if (fC * fB <= 0) {
+                extremoA = extremoB;
+                fA = fB;
+            } else {
+                fA = fA / 2.0;
+            }
+            extremoB = c;
+            fB = fC;
+        }
+        return Math.exp(extremoA / 2.0);
+    }
+
+    private static double f(double x, double a, double phi2, double v, double delta2) {
+        double ex = Math.exp(x);
+        double denominador = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2.0 * denominador * denominador) - (x - a) / (TAU * TAU);
+    }
+
+    /**
+     * Estado de un jugador al final de un período.
+     */
+    public static class Resultado {
+        private final double rating;
+        private final double desviacion;
+        private final double volatilidad;
+
+        public Resultado(double rating, double desviacion, double volatilidad) {
+            this.rating = rating;
+            this.desviacion = desviacion;
+            this.volatilidad = volatilidad;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public double getDesviacion() {
+            return desviacion;
+        }
+
+        public double getVolatilidad() {
+            return volatilidad;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package infraestructura.matchmaking;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Histograma log-lineal de bajo costo para métricas de matchmaking.
+ *
+ * Los valores se escalan a enteros ({@code escala}, ej: 1000 para guardar
+ * tres decimales) y se cuentan en buckets de ancho creciente: exactos hasta
+ * 63 y, a partir de ahí, 32 buckets por potencia de 2, con un error relativo
+ * máximo de ~3%. Registrar un valor es un par de operaciones atómicas sin
+ * locks ni asignaciones, por lo que puede llamarse en cada decisión desde
+ * varios hilos.
+ *
+ * @author eScrims Team
+ * @see TrazadorMatchmaking
+ */
+public class Histograma {
+
+    private static final int BITS_SUB_BUCKET = 5;
+    private static final int SUB_BUCKETS = 1 << BITS_SUB_BUCKET; // 32
+    private static final int LINEALES = 2 * SUB_BUCKETS; // valores exactos 0..63
+    private static final int CANTIDAD_BUCKETS = (63 - BITS_SUB_BUCKET) * SUB_BUCKETS + LINEALES;
+
+    private final String nombre;
+    private final double escala;
+    private final AtomicLongArray conteos;
+    private final AtomicLong cantidad;
+    private final DoubleAdder suma;
+    private final AtomicLong minimo;
+    private final AtomicLong maximo;
+
+    /**
+     * @param nombre nombre de la métrica (para reportes)
+     * @param escala factor con el que se multiplican los valores antes de
+     *               contarlos (1 para enteros)
+     * @throws IllegalArgumentException si la escala no es positiva
+     */
+    public Histograma(String nombre, double escala) {
+        if (escala <= 0) {
+            throw new IllegalArgumentException("La escala debe ser positiva");
+        }
+        this.nombre = nombre;
+        this.escala = escala;
+        this.conteos = new AtomicLongArray(CANTIDAD_BUCKETS);
+        this.cantidad = new AtomicLong();
+        this.suma = new DoubleAdder();
+        this.minimo = new AtomicLong(Long.MAX_VALUE);
+        this.maximo = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Registra un valor. Los negativos y NaN cuentan como 0.
+     */
+    public void registrar(double valor) {
+        long escalado = Double.isNaN(valor) || valor <= 0 ? 0 : Math.round(valor * escala);
+        conteos.incrementAndGet(indice(escalado));
+        cantidad.incrementAndGet();
+        suma.add(escalado);
+        minimo.accumulateAndGet(escalado, Math::min);
+        maximo.accumulateAndGet(escalado, Math::max);
+    }
+
+    static int indice(long valor) {
+        if (valor < LINEALES) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUB_BUCKET;
+        return exponente * SUB_BUCKETS + (int) (valor >>> exponente);
+    }
+
+    /** Punto medio del bucket, en unidades escaladas. */
+    static double valorRepresentativo(int indice) {
+        if (indice < LINEALES) {
+            return indice;
+        }
+        int exponente = indice / SUB_BUCKETS - 1;
+        long mantisa = indice % SUB_BUCKETS + SUB_BUCKETS;
+        long inferior = mantisa << exponente;
+        return inferior + ((1L << exponente) - 1) / 2.0;
+    }
+
+    /**
+     * Percentil aproximado (error relativo ~3%).
+     *
+     * @param percentil entre 0 y 1 (ej: 0.99)
+     * @return valor en la unidad original, o 0 si no hay registros
+     */
+    public double percentil(double percentil) {
+        long total = cantidad.get();
+        if (total == 0) {
+            return 0.0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, percentil)) * total));
+        long acumulado = 0;
+        for (int i = 0; i < CANTIDAD_BUCKETS; i++) {
+            acumulado += conteos.get(i);
+            if (acumulado >= objetivo) {
+                // El valor exacto nunca sale del rango registrado
+                return Math.max(minimo.get(), Math.min(valorRepresentativo(i), maximo.get())) / escala;
+            }
+        }
+        return maximo.get() / escala;
+    }
+
+    public long getCantidad() {
+        return cantidad.get();
+    }
+
+    public double getPromedio() {
+        long total = cantidad.get();
+        return total == 0 ? 0.0 : suma.sum() / total / escala;
+    }
+
+    public double getMinimo() {
+        return cantidad.get() == 0 ? 0.0 : minimo.get() / escala;
+    }
+
+    public double getMaximo() {
+        return cantidad.get() == 0 ? 0.0 : maximo.get() / escala;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Borra los registros.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CANTIDAD_BUCKETS; i++) {
+            conteos.set(i, 0);
+        }
+        cantidad.set(0);
+        suma.reset();
+        minimo.set(Long.MAX_VALUE);
+        maximo.set(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.ROOT, "%s: n=%d prom=%.2f p50=%.2f p99=%.2f máx=%.2f", nombre,
+                getCantidad(), getPromedio(), percentil(0.50), percentil(0.99), getMaximo());
+    }
+}
@@ -1,8 +1,25 @@
 package infraestructura.matchmaking;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
+import dominio.modelo.Scrim;
+import infraestructura.matchmaking.strategies.ByCompositeStrategy;
 import infraestructura.matchmaking.strategies.ByHistoryStrategy;
 import infraestructura.matchmaking.strategies.ByLatencyStrategy;
 import infraestructura.matchmaking.strategies.ByMMRStrategy;
@@ -10,27 +27,53 @@ import infraestructura.matchmaking.strategies.ByMMRStrategy;
 /**
  * Registry (Singleton) que centraliza todas las estrategias de matchmaking
  * disponibles.
- * 
+ *
  * Proporciona acceso a las diferentes implementaciones de MatchmakingStrategy
  * y permite obtenerlas por número o nombre para su uso en la interfaz de
  * usuario.
- * 
+ *
+ * Además de las estrategias incluidas, descubre con {@link ServiceLoader}
+ * las implementaciones declaradas en
+ * {@code META-INF/services/infraestructura.matchmaking.MatchmakingStrategy}
+ * de los jars del classpath: una estrategia afinada puede distribuirse en su
+ * propio jar sin tocar el núcleo. Una estrategia externa con el nombre de
+ * una incluida la reemplaza (conserva su número).
+ *
+ * Cada estrategia se configura con los parámetros
+ * {@code <Nombre>.<parámetro>} del archivo {@value #ARCHIVO_CONFIGURACION}
+ * (opcional) o con {@link #configurar(String, ConfiguracionEstrategia)}.
+ *
+ * Es seguro entre hilos: el catálogo (lista y mapa nombre → estrategia) es
+ * inmutable y se reemplaza completo al recargar o configurar, por lo que las
+ * consultas no toman locks y la búsqueda por nombre es O(1).
+ *
  * @author eScrims Team
- * @version 1.0
+ * @version 1.1
  */
 public class MatchmakingRegistry {
+
+    public static final String ARCHIVO_CONFIGURACION = "data/matchmaking.properties";
+
+    /** Estrategia para scrims sin estrategia o con una desconocida. */
+    public static final String ESTRATEGIA_POR_DEFECTO = "MMR";
+
     private static MatchmakingRegistry instance;
-    private final List<MatchmakingStrategy> estrategias;
+
+    private final Map<String, ConfiguracionEstrategia> configuraciones;
+    private ClassLoader cargador;
+    private volatile Catalogo catalogo;
 
     private MatchmakingRegistry() {
-        estrategias = new ArrayList<>();
+        this.configuraciones = new HashMap<>();
+        this.cargador = Thread.currentThread().getContextClassLoader();
+        leerArchivoConfiguracion(Paths.get(ARCHIVO_CONFIGURACION));
         cargarEstrategias();
     }
 
     /**
      * Obtiene la única instancia del registry (Singleton).
      */
-    public static MatchmakingRegistry getInstance() {
+    public static synchronized MatchmakingRegistry getInstance() {
         if (instance == null) {
             instance = new MatchmakingRegistry();
         }
@@ -38,25 +81,163 @@ public class MatchmakingRegistry {
     }
 
     /**
-     * Carga todas las estrategias disponibles.
+     * Carga todas las estrategias disponibles: las incluidas, en orden fijo,
+     * y luego las descubiertas por {@link ServiceLoader}.
+     */
+    private synchronized void cargarEstrategias() {
+        List<MatchmakingStrategy> encontradas = new ArrayList<>();
+        encontradas.add(new ByMMRStrategy());
+        encontradas.add(new ByLatencyStrategy());
+        encontradas.add(new ByHistoryStrategy());
+        encontradas.add(new ByCompositeStrategy());
+
+        Iterator<MatchmakingStrategy> proveedores = ServiceLoader.load(MatchmakingStrategy.class, cargador)
+                .iterator();
+        while (true) {
+            MatchmakingStrategy externa;
+            try {
+                if (!proveedores.hasNext()) {
+                    break;
+                }
+                externa = proveedores.next();
+            } catch (ServiceConfigurationError e) {
+                // Un jar mal empaquetado no debe impedir cargar el resto
+                System.err.println("[MatchmakingRegistry] Estrategia externa ignorada: " + e.getMessage());
+                continue;
+            }
+            agregarExterna(encontradas, externa);
+        }
+
+        List<MatchmakingStrategy> configuradas = new ArrayList<>(encontradas.size());
+        for (MatchmakingStrategy estrategia : encontradas) {
+            configuradas.add(aplicarConfiguracion(estrategia));
+        }
+        catalogo = new Catalogo(configuradas);
+    }
+
+    private static void agregarExterna(List<MatchmakingStrategy> encontradas, MatchmakingStrategy externa) {
+        for (int i = 0; i < encontradas.size(); i++) {
+            if (encontradas.get(i).getNombre().equalsIgnoreCase(externa.getNombre())) {
+                if (encontradas.get(i).getClass().equals(externa.getClass())) {
+                    return;
+                }
+                System.err.println("[MatchmakingRegistry] " + externa.getClass().getName() + " reemplaza a la estrategia "
+                        + externa.getNombre());
+                encontradas.set(i, externa);
+                return;
+            }
+        }
+        encontradas.add(externa);
+    }
+
+    private MatchmakingStrategy aplicarConfiguracion(MatchmakingStrategy estrategia) {
+        ConfiguracionEstrategia configuracion = configuraciones.get(clave(estrategia.getNombre()));
+        if (configuracion == null || configuracion.estaVacia()) {
+            return estrategia;
+        }
+        try {
+            return estrategia.configurar(configuracion);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[MatchmakingRegistry] Configuración inválida para " + estrategia.getNombre() + ": "
+                    + e.getMessage());
+            return estrategia;
+        }
+    }
+
+    private synchronized void leerArchivoConfiguracion(Path archivo) {
+        if (!Files.isRegularFile(archivo)) {
+            return;
+        }
+        Properties propiedades = new Properties();
+        try (Reader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            propiedades.load(reader);
+        } catch (IOException e) {
+            System.err.println("[MatchmakingRegistry] No se pudo leer " + archivo + ": " + e.getMessage());
+            return;
+        }
+
+        Map<String, Map<String, String>> porEstrategia = new LinkedHashMap<>();
+        for (String propiedad : propiedades.stringPropertyNames()) {
+            int punto = propiedad.indexOf('.');
+            if (punto <= 0 || punto == propiedad.length() - 1) {
+                continue;
+            }
+            porEstrategia.computeIfAbsent(clave(propiedad.substring(0, punto)), k -> new LinkedHashMap<>())
+                    .put(propiedad.substring(punto + 1), propiedades.getProperty(propiedad));
+        }
+        for (Map.Entry<String, Map<String, String>> entrada : porEstrategia.entrySet()) {
+            configuraciones.merge(entrada.getKey(), new ConfiguracionEstrategia(entrada.getValue()),
+                    ConfiguracionEstrategia::combinar);
+        }
+    }
+
+    private static String clave(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    /**
+     * Configura una estrategia por nombre. Los parámetros se suman a los ya
+     * configurados (los nuevos prevalecen) y la estrategia se vuelve a crear
+     * con ellos; las consultas en curso siguen viendo el catálogo anterior.
+     *
+     * @param nombre        nombre de la estrategia
+     * @param configuracion parámetros
+     * @throws IllegalArgumentException si la estrategia no existe o la
+     *                                  configuración es inválida
+     */
+    public synchronized void configurar(String nombre, ConfiguracionEstrategia configuracion) {
+        if (nombre == null || configuracion == null) {
+            throw new IllegalArgumentException("Nombre y configuración no pueden ser null");
+        }
+        if (obtenerPorNombre(nombre) == null) {
+            throw new IllegalArgumentException("No existe la estrategia: " + nombre);
+        }
+        ConfiguracionEstrategia anterior = configuraciones.getOrDefault(clave(nombre), ConfiguracionEstrategia.VACIA);
+        ConfiguracionEstrategia combinada = anterior.combinar(configuracion);
+        // Validar antes de publicar: una configuración inválida no se guarda
+        for (MatchmakingStrategy estrategia : catalogo.lista) {
+            if (clave(estrategia.getNombre()).equals(clave(nombre))) {
+                estrategia.configurar(combinada);
+            }
+        }
+        configuraciones.put(clave(nombre), combinada);
+        cargarEstrategias();
+    }
+
+    /**
+     * Configuración actual de una estrategia (vacía si no tiene).
+     */
+    public synchronized ConfiguracionEstrategia obtenerConfiguracion(String nombre) {
+        return configuraciones.getOrDefault(clave(nombre), ConfiguracionEstrategia.VACIA);
+    }
+
+    /**
+     * Vuelve a descubrir las estrategias con otro class loader (ej: tras
+     * agregar jars en tiempo de ejecución).
+     *
+     * @param nuevoCargador class loader donde buscar implementaciones
      */
-    private void cargarEstrategias() {
-        estrategias.add(new ByMMRStrategy());
-        estrategias.add(new ByLatencyStrategy());
-        estrategias.add(new ByHistoryStrategy());
+    public synchronized void recargar(ClassLoader nuevoCargador) {
+        this.cargador = nuevoCargador;
+        cargarEstrategias();
     }
 
+    // ========== CONSULTA ==========
+
     /**
      * Obtiene todas las estrategias disponibles.
      */
     public List<MatchmakingStrategy> getEstrategiasDisponibles() {
-        return new ArrayList<>(estrategias);
+        return new ArrayList<>(catalogo.lista);
     }
 
     /**
      * Obtiene una estrategia por su número (1-indexed).
      */
     public MatchmakingStrategy obtenerPorNumero(int numero) {
+        List<MatchmakingStrategy> estrategias = catalogo.lista;
         if (numero < 1 || numero > estrategias.size()) {
             throw new IllegalArgumentException("Número de estrategia inválido: " + numero);
         }
@@ -64,19 +245,28 @@ public class MatchmakingRegistry {
     }
 
     /**
-     * Obtiene una estrategia por su nombre.
+     * Obtiene una estrategia por su nombre (sin distinguir mayúsculas).
+     *
+     * @return la estrategia o null si no existe
      */
     public MatchmakingStrategy obtenerPorNombre(String nombre) {
-        return estrategias.stream()
-                .filter(estrategia -> estrategia.getNombre().equalsIgnoreCase(nombre))
-                .findFirst()
-                .orElse(null);
+        return nombre != null ? catalogo.porNombre.get(clave(nombre)) : null;
+    }
+
+    /**
+     * Estrategia configurada en un scrim, o la estrategia por defecto
+     * ({@value #ESTRATEGIA_POR_DEFECTO}) si no tiene o no existe.
+     */
+    public MatchmakingStrategy obtenerParaScrim(Scrim scrim) {
+        MatchmakingStrategy estrategia = obtenerPorNombre(scrim.getEstrategiaMatchmaking());
+        return estrategia != null ? estrategia : obtenerPorNombre(ESTRATEGIA_POR_DEFECTO);
     }
 
     /**
      * Obtiene el número de una estrategia específica.
      */
     public int obtenerNumero(MatchmakingStrategy estrategia) {
+        List<MatchmakingStrategy> estrategias = catalogo.lista;
         for (int i = 0; i < estrategias.size(); i++) {
             if (estrategias.get(i).getClass().equals(estrategia.getClass())) {
                 return i + 1;
@@ -89,6 +279,21 @@ public class MatchmakingRegistry {
      * Obtiene la cantidad total de estrategias disponibles.
      */
     public int getCantidadEstrategias() {
-        return estrategias.size();
+        return catalogo.lista.size();
+    }
+
+    /** Estrategias cargadas: lista ordenada e índice por nombre, inmutables. */
+    private static class Catalogo {
+        private final List<MatchmakingStrategy> lista;
+        private final Map<String, MatchmakingStrategy> porNombre;
+
+        Catalogo(List<MatchmakingStrategy> estrategias) {
+            this.lista = Collections.unmodifiableList(new ArrayList<>(estrategias));
+            Map<String, MatchmakingStrategy> indice = new HashMap<>();
+            for (MatchmakingStrategy estrategia : estrategias) {
+                indice.putIfAbsent(clave(estrategia.getNombre()), estrategia);
+            }
+            this.porNombre = Collections.unmodifiableMap(indice);
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.busqueda.PoolCandidatos;
 
 /**
  * Interfaz que define el contrato para estrategias de emparejamiento
@@ -18,6 +19,8 @@ import dominio.modelo.Usuario;
  * - ByMMRStrategy: Selecciona por rango/MMR dentro de diferencia configurable
  * - ByLatencyStrategy: Prioriza jugadores con latencia baja
  * - ByHistoryStrategy: Considera historial, compatibilidad de roles y fair play
+ * - ByCompositeStrategy: Combina rango, latencia y fiabilidad (vecinos más
+ * cercanos en un árbol k-d)
  * 
  * Responsabilidades de las implementaciones:
  * 1. Filtrar candidatos según criterios específicos
@@ -36,6 +39,7 @@ import dominio.modelo.Usuario;
  * @see infraestructura.matchmaking.strategies.ByMMRStrategy
  * @see infraestructura.matchmaking.strategies.ByLatencyStrategy
  * @see infraestructura.matchmaking.strategies.ByHistoryStrategy
+ * @see infraestructura.matchmaking.strategies.ByCompositeStrategy
  */
 public interface MatchmakingStrategy {
 
@@ -51,10 +55,90 @@ public interface MatchmakingStrategy {
      */
     List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim);
 
+    /**
+     * Variante sobre un pool en columnas primitivas ({@link PoolCandidatos}).
+     * Debe devolver lo mismo que {@link #seleccionar(List, Scrim)} sobre los
+     * usuarios del pool en el mismo orden.
+     * 
+     * La implementación por defecto materializa la lista de usuarios; las
+     * estrategias incluidas la sobrescriben para puntuar directamente sobre
+     * las columnas.
+     * 
+     * @param pool  pool de candidatos del juego del scrim
+     * @param scrim Scrim que requiere jugadores
+     * @return Lista de usuarios seleccionados
+     * @throws IllegalArgumentException si pool o scrim son null
+     */
+    default List<Usuario> seleccionar(PoolCandidatos pool, Scrim scrim) {
+        if (pool == null || scrim == null) {
+            throw new IllegalArgumentException("Pool y scrim no pueden ser null");
+        }
+        return seleccionar(pool.getUsuarios(), scrim);
+    }
+
+    /**
+     * Puntaje de un candidato individual para un scrim, con el mismo criterio
+     * con el que la estrategia ordena su selección (menor es mejor). Se usa
+     * para ordenar la lista de espera del scrim.
+     * 
+     * La implementación por defecto mide la distancia del rango del
+     * candidato al centro de la ventana de rango del scrim.
+     * 
+     * @param candidato usuario a puntuar
+     * @param scrim     scrim al que aspira
+     * @return puntaje (menor es mejor); {@link Double#MAX_VALUE} si el
+     *         candidato no tiene rango en el juego
+     */
+    default double puntuar(Usuario candidato, Scrim scrim) {
+        Integer rango = candidato.getRangoParaJuego(scrim.getJuego().getNombre());
+        if (rango == null) {
+            return Double.MAX_VALUE;
+        }
+        return Math.abs(rango - ((double) scrim.getRangoMin() + scrim.getRangoMax()) / 2.0);
+    }
+
+    /**
+     * Devuelve la estrategia con los parámetros dados (pesos, umbrales). Las
+     * estrategias son inmutables: la configurada es otra instancia y los
+     * parámetros ausentes conservan su valor por defecto.
+     * 
+     * La implementación por defecto no admite parámetros y devuelve la misma
+     * instancia.
+     * 
+     * @param configuracion parámetros de la estrategia
+     * @return estrategia configurada
+     * @throws IllegalArgumentException si algún parámetro es inválido
+     * @see MatchmakingRegistry
+     */
+    default MatchmakingStrategy configurar(ConfiguracionEstrategia configuracion) {
+        return this;
+    }
+
+    /**
+     * Devuelve la estrategia con los requisitos de fiabilidad (fair play,
+     * abandono) relajados en la fracción dada, para scrims que llevan mucho
+     * tiempo sin completarse. Los requisitos de rango y latencia no pasan por
+     * acá: se amplían en el propio scrim ({@link Scrim#relajarRequisitos}).
+     * 
+     * La implementación por defecto no tiene requisitos de fiabilidad y
+     * devuelve la misma instancia.
+     * 
+     * @param fraccion cuánto relajar, de 0 (nada) a 1 (sin requisitos)
+     * @return estrategia relajada
+     * @throws IllegalArgumentException si la fracción está fuera de [0, 1]
+     * @see PoliticaRelajacion
+     */
+    default MatchmakingStrategy relajarFiabilidad(double fraccion) {
+        if (fraccion < 0 || fraccion > 1) {
+            throw new IllegalArgumentException("La fracción de relajación debe estar entre 0 y 1");
+        }
+        return this;
+    }
+
     /**
      * Obtiene el nombre descriptivo de la estrategia.
      * 
-     * @return nombre de la estrategia (ej: "MMR", "Latency", "History")
+     * @return nombre de la estrategia (ej: "MMR", "Latency", "History", "Composite")
      */
     String getNombre();
 
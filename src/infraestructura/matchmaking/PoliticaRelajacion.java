@@ -0,0 +1,178 @@
+package infraestructura.matchmaking;
+
+/**
+ * Curva de relajación de requisitos según el tiempo que un scrim lleva
+ * abierto sin completarse.
+ *
+ * La espera se traduce a un nivel entero entre 0 y {@code niveles}: nada
+ * durante el período de gracia y, desde ahí, sube hasta el máximo en
+ * {@code duracionMs} siguiendo una potencia de la fracción de tiempo
+ * transcurrida ({@code exponente} 1 = lineal, mayor a 1 = relaja poco al
+ * principio y mucho al final, menor a 1 = al revés). Cada nivel amplía en
+ * proporción:
+ * - la ventana de rango, hasta ±{@code rangoExtraMaximo} puntos
+ * - la latencia máxima, hasta +{@code latenciaExtraMaxima} ms
+ * - los requisitos de fiabilidad, hasta la fracción
+ * {@code fiabilidadMaxima} (ver {@link MatchmakingStrategy#relajarFiabilidad})
+ *
+ * Es inmutable. Se configura con los parámetros {@code Relajacion.<nombre>}
+ * de {@value MatchmakingRegistry#ARCHIVO_CONFIGURACION}:
+ *
+ * <pre>
+ * Relajacion.graciaMs=60000
+ * Relajacion.duracionMs=600000
+ * Relajacion.exponente=1.5
+ * Relajacion.niveles=10
+ * Relajacion.rangoExtraMaximo=30
+ * Relajacion.latenciaExtraMaxima=120
+ * Relajacion.fiabilidadMaxima=0.5
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.RelajacionMatchmakingService
+ */
+public final class PoliticaRelajacion {
+
+    /** Prefijo de los parámetros en el archivo de configuración. */
+    public static final String NOMBRE_CONFIGURACION = "Relajacion";
+
+    private static final long GRACIA_MS = 60_000;
+    private static final long DURACION_MS = 10 * 60_000;
+    private static final double EXPONENTE = 1.0;
+    private static final int NIVELES = 10;
+    private static final int RANGO_EXTRA_MAXIMO = 30;
+    private static final int LATENCIA_EXTRA_MAXIMA = 120;
+    private static final double FIABILIDAD_MAXIMA = 0.5;
+
+    public static final PoliticaRelajacion POR_DEFECTO = new PoliticaRelajacion(GRACIA_MS, DURACION_MS, EXPONENTE,
+            NIVELES, RANGO_EXTRA_MAXIMO, LATENCIA_EXTRA_MAXIMA, FIABILIDAD_MAXIMA);
+
+    private final long graciaMs;
+    private final long duracionMs;
+    private final double exponente;
+    private final int niveles;
+    private final int rangoExtraMaximo;
+    private final int latenciaExtraMaxima;
+    private final double fiabilidadMaxima;
+
+    /**
+     * @param graciaMs            espera sin relajación
+     * @param duracionMs          tiempo desde el fin de la gracia hasta el
+     *                            nivel máximo
+     * @param exponente           forma de la curva (1 = lineal)
+     * @param niveles             cantidad de niveles (nivel máximo)
+     * @param rangoExtraMaximo    puntos de rango a cada lado en el nivel máximo
+     * @param latenciaExtraMaxima ms extra de latencia en el nivel máximo
+     * @param fiabilidadMaxima    relajación de fiabilidad en el nivel máximo
+     *                            (0 a 1)
+     * @throws IllegalArgumentException si algún valor está fuera de rango
+     */
+    public PoliticaRelajacion(long graciaMs, long duracionMs, double exponente, int niveles, int rangoExtraMaximo,
+            int latenciaExtraMaxima, double fiabilidadMaxima) {
+        if (graciaMs < 0 || duracionMs <= 0) {
+            throw new IllegalArgumentException("La gracia no puede ser negativa y la duración debe ser positiva");
+        }
+        if (exponente <= 0 || niveles <= 0) {
+            throw new IllegalArgumentException("El exponente y la cantidad de niveles deben ser positivos");
+        }
+        if (rangoExtraMaximo < 0 || latenciaExtraMaxima < 0 || fiabilidadMaxima < 0 || fiabilidadMaxima > 1) {
+            throw new IllegalArgumentException("Las ampliaciones no pueden ser negativas y la fiabilidad "
+                    + "debe estar entre 0 y 1");
+        }
+        this.graciaMs = graciaMs;
+        this.duracionMs = duracionMs;
+        this.exponente = exponente;
+        this.niveles = niveles;
+        this.rangoExtraMaximo = rangoExtraMaximo;
+        this.latenciaExtraMaxima = latenciaExtraMaxima;
+        this.fiabilidadMaxima = fiabilidadMaxima;
+    }
+
+    /**
+     * Política con los parámetros dados (los ausentes toman el valor por
+     * defecto).
+     *
+     * @throws IllegalArgumentException si algún parámetro es inválido
+     */
+    public static PoliticaRelajacion desde(ConfiguracionEstrategia configuracion) {
+        if (configuracion == null || configuracion.estaVacia()) {
+            return POR_DEFECTO;
+        }
+        return new PoliticaRelajacion(
+                (long) configuracion.getDouble("graciaMs", GRACIA_MS),
+                (long) configuracion.getDouble("duracionMs", DURACION_MS),
+                configuracion.getDouble("exponente", EXPONENTE),
+                configuracion.getInt("niveles", NIVELES),
+                configuracion.getInt("rangoExtraMaximo", RANGO_EXTRA_MAXIMO),
+                configuracion.getInt("latenciaExtraMaxima", LATENCIA_EXTRA_MAXIMA),
+                configuracion.getDouble("fiabilidadMaxima", FIABILIDAD_MAXIMA));
+    }
+
+    /**
+     * Política configurada en {@link MatchmakingRegistry} (o la por defecto).
+     */
+    public static PoliticaRelajacion configurada() {
+        return desde(MatchmakingRegistry.getInstance().obtenerConfiguracion(NOMBRE_CONFIGURACION));
+    }
+
+    /**
+     * Nivel de relajación para una espera.
+     *
+     * @param esperaMs tiempo que el scrim lleva abierto
+     * @return nivel entre 0 y {@link #getNiveles()}
+     */
+    public int nivel(long esperaMs) {
+        if (esperaMs <= graciaMs) {
+            return 0;
+        }
+        double fraccion = Math.min(1.0, (double) (esperaMs - graciaMs) / duracionMs);
+        return (int) Math.floor(Math.pow(fraccion, exponente) * niveles);
+    }
+
+    /** Puntos de rango que se abren a cada lado en un nivel. */
+    public int rangoExtra(int nivel) {
+        return (int) Math.round((double) rangoExtraMaximo * acotar(nivel) / niveles);
+    }
+
+    /** Ms que se suman a la latencia máxima en un nivel. */
+    public int latenciaExtra(int nivel) {
+        return (int) Math.round((double) latenciaExtraMaxima * acotar(nivel) / niveles);
+    }
+
+    /** Fracción de relajación de fiabilidad en un nivel (0 a 1). */
+    public double relajacionFiabilidad(int nivel) {
+        return fiabilidadMaxima * acotar(nivel) / niveles;
+    }
+
+    private int acotar(int nivel) {
+        return Math.max(0, Math.min(niveles, nivel));
+    }
+
+    public long getGraciaMs() {
+        return graciaMs;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public double getExponente() {
+        return exponente;
+    }
+
+    public int getNiveles() {
+        return niveles;
+    }
+
+    public int getRangoExtraMaximo() {
+        return rangoExtraMaximo;
+    }
+
+    public int getLatenciaExtraMaxima() {
+        return latenciaExtraMaxima;
+    }
+
+    public double getFiabilidadMaxima() {
+        return fiabilidadMaxima;
+    }
+}
@@ -0,0 +1,321 @@
+package infraestructura.matchmaking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dominio.modelo.Grupo;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+
+/**
+ * Selección de jugadores para un scrim cuando parte de los candidatos vienen
+ * en grupo (party/premade).
+ *
+ * Cada candidato es un ítem con peso igual a la cantidad de plazas que ocupa:
+ * 1 para un jugador suelto y el tamaño del grupo para un grupo. El costo de
+ * un ítem es la suma de {@link MatchmakingStrategy#puntuar} de sus jugadores,
+ * así que el criterio de cada estrategia se conserva. Un grupo es elegible si
+ * su rango agregado y su latencia combinada cumplen los requisitos del scrim
+ * (lo mismo que valida su postulación) y la estrategia no descarta a ninguno
+ * de sus integrantes.
+ *
+ * El llenado es una mochila sobre los dos equipos: el estado (a, b) es la
+ * cantidad de plazas ocupadas en cada equipo y cada ítem se saltea o entra
+ * entero en uno de ellos, por lo que un grupo nunca queda repartido. Se
+ * maximizan las plazas cubiertas y, entre ellas, se minimiza el costo. Antes
+ * se descartan los ítems que nunca pueden elegirse: de cada tamaño solo
+ * sirven los más baratos que entran en el lobby. Para lobbies de 10 a 20
+ * jugadores quedan unas decenas de ítems y la mochila tiene ~100 estados.
+ *
+ * A igual costo se prefiere el candidato que aparece antes en la entrada, por
+ * lo que el resultado es determinista.
+ *
+ * @author eScrims Team
+ * @see Grupo
+ * @see BalanceadorEquipos
+ */
+public final class SeleccionConGrupos {
+
+    private static final byte SALTEAR = 0;
+    private static final byte EQUIPO_A = 1;
+    private static final byte EQUIPO_B = 2;
+
+    private SeleccionConGrupos() {
+    }
+
+    /**
+     * Selecciona jugadores sueltos y grupos para completar las plazas del
+     * scrim.
+     *
+     * @param estrategia estrategia con la que se puntúa a cada jugador
+     * @param sueltos    jugadores que se postulan solos
+     * @param grupos     grupos que se postulan juntos
+     * @param scrim      scrim que necesita jugadores
+     * @return selección, con los equipos balanceados si se completó el lobby
+     * @throws IllegalArgumentException si algún parámetro es null o un
+     *                                  jugador aparece más de una vez
+     */
+    public static Resultado seleccionar(MatchmakingStrategy estrategia, List<Usuario> sueltos, List<Grupo> grupos,
+            Scrim scrim) {
+        if (estrategia == null || sueltos == null || grupos == null || scrim == null) {
+            throw new IllegalArgumentException("Estrategia, candidatos y scrim no pueden ser null");
+        }
+        int plazas = Math.max(0, scrim.getPlazas());
+        int tamanioA = plazas - plazas / 2;
+        int tamanioB = plazas / 2;
+        Set<String> vistos = new HashSet<>();
+        for (Usuario usuario : sueltos) {
+            if (!vistos.add(usuario.getId())) {
+                throw new IllegalArgumentException("El jugador " + usuario.getId() + " aparece más de una vez");
+            }
+        }
+        for (Grupo grupo : grupos) {
+            for (String id : grupo.getIdsIntegrantes()) {
+                if (!vistos.add(id)) {
+                    throw new IllegalArgumentException("El jugador " + id + " aparece más de una vez");
+                }
+            }
+        }
+
+        // Ítems elegibles en orden de entrada: primero los sueltos, después los grupos
+        List<Item> elegibles = new ArrayList<>();
+        for (Usuario usuario : sueltos) {
+            Integer rango = usuario.getRangoParaJuego(scrim.getJuego().getNombre());
+            double costo = estrategia.puntuar(usuario, scrim);
+            if (rango != null && cumpleRequisitos(rango, usuario.getLatenciaPromedio(), scrim)
+                    && costo != Double.MAX_VALUE) {
+                elegibles.add(new Item(elegibles.size(), List.of(usuario), null, costo));
+            }
+        }
+        for (Grupo grupo : grupos) {
+            Item item = itemDeGrupo(estrategia, grupo, scrim, elegibles.size(), tamanioA);
+            if (item != null) {
+                elegibles.add(item);
+            }
+        }
+        int jugadoresElegibles = 0;
+        for (Item item : elegibles) {
+            jugadoresElegibles += item.getPeso();
+        }
+        TrazadorMatchmaking.anotarFiltrado(jugadoresElegibles);
+
+        Item[] items = podar(elegibles, tamanioA, tamanioB);
+        int[] equipo = llenar(items, tamanioA, tamanioB);
+
+        List<Usuario> seleccionados = new ArrayList<>();
+        List<Grupo> gruposElegidos = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        List<String> idsGrupo = new ArrayList<>();
+        for (int j = 0; j < items.length; j++) {
+            if (equipo[j] == SALTEAR) {
+                continue;
+            }
+            Item item = items[j];
+            seleccionados.addAll(item.jugadores);
+            if (item.grupo != null) {
+                gruposElegidos.add(item.grupo);
+            }
+            for (Usuario jugador : item.jugadores) {
+                ids.add(jugador.getId());
+                idsGrupo.add(item.grupo != null ? item.grupo.getId() : null);
+            }
+        }
+
+        BalanceadorEquipos.Division division = null;
+        if (plazas > 0 && seleccionados.size() == plazas) {
+            String juego = scrim.getJuego().getNombre();
+            int[] rangos = new int[seleccionados.size()];
+            for (int i = 0; i < rangos.length; i++) {
+                rangos[i] = seleccionados.get(i).getRangoParaJuego(juego);
+            }
+            division = BalanceadorEquipos.balancear(ids, rangos, null, idsGrupo);
+        }
+        return new Resultado(seleccionados, gruposElegidos, division);
+    }
+
+    /**
+     * Ítem de un grupo, o null si el grupo no es elegible o no entra en un
+     * equipo.
+     */
+    private static Item itemDeGrupo(MatchmakingStrategy estrategia, Grupo grupo, Scrim scrim, int orden,
+            int tamanioA) {
+        Integer rango = grupo.getRangoAgregado(scrim.getJuego().getNombre());
+        if (rango == null || grupo.getTamanio() > tamanioA
+                || !cumpleRequisitos(rango, grupo.getLatenciaCombinada(), scrim)) {
+            return null;
+        }
+        double costo = 0;
+        for (Usuario integrante : grupo.getIntegrantes()) {
+            double puntaje = estrategia.puntuar(integrante, scrim);
+            if (puntaje == Double.MAX_VALUE) {
+                return null;
+            }
+            costo += puntaje;
+        }
+        return new Item(orden, grupo.getIntegrantes(), grupo, costo);
+    }
+
+    private static boolean cumpleRequisitos(int rango, int latencia, Scrim scrim) {
+        return rango >= scrim.getRangoMin() && rango <= scrim.getRangoMax()
+                && (scrim.getLatenciaMax() == -1 || latencia <= scrim.getLatenciaMax());
+    }
+
+    /**
+     * De cada peso solo pueden elegirse tantos ítems como entran en los dos
+     * equipos, y conviene que sean los más baratos (a igual costo, el
+     * primero): cambiar uno elegido por otro más barato del mismo peso no
+     * cambia las plazas ocupadas. Devuelve los ítems que sobreviven, en orden
+     * de entrada.
+     */
+    private static Item[] podar(List<Item> elegibles, int tamanioA, int tamanioB) {
+        Map<Integer, List<Item>> porPeso = new HashMap<>();
+        for (Item item : elegibles) {
+            porPeso.computeIfAbsent(item.getPeso(), k -> new ArrayList<>()).add(item);
+        }
+        List<Item> conservados = new ArrayList<>();
+        for (Map.Entry<Integer, List<Item>> entrada : porPeso.entrySet()) {
+            int peso = entrada.getKey();
+            int cupo = tamanioA / peso + tamanioB / peso;
+            List<Item> delPeso = entrada.getValue();
+            delPeso.sort((x, y) -> x.costo != y.costo ? Double.compare(x.costo, y.costo)
+                    : Integer.compare(x.orden, y.orden));
+            conservados.addAll(delPeso.subList(0, Math.min(cupo, delPeso.size())));
+        }
+        conservados.sort((x, y) -> Integer.compare(x.orden, y.orden));
+        return conservados.toArray(new Item[0]);
+    }
+
+    /**
+     * Mochila sobre (plazas en A, plazas en B).
+     *
+     * @return equipo de cada ítem ({@link #SALTEAR}, {@link #EQUIPO_A} o
+     *         {@link #EQUIPO_B})
+     */
+    private static int[] llenar(Item[] items, int tamanioA, int tamanioB) {
+        byte[][][] eleccion = new byte[items.length][][];
+        double[][] costo = new double[tamanioA + 1][tamanioB + 1];
+        for (double[] fila : costo) {
+            Arrays.fill(fila, Double.POSITIVE_INFINITY);
+        }
+        costo[0][0] = 0;
+
+        // Recorrido descendente: cada celda usa valores del ítem anterior (0/1)
+        for (int j = 0; j < items.length; j++) {
+            int peso = items[j].getPeso();
+            double costoItem = items[j].costo;
+            eleccion[j] = new byte[tamanioA + 1][tamanioB + 1];
+            for (int a = tamanioA; a >= 0; a--) {
+                for (int b = tamanioB; b >= 0; b--) {
+                    if (a >= peso && costo[a - peso][b] + costoItem < costo[a][b]) {
+                        costo[a][b] = costo[a - peso][b] + costoItem;
+                        eleccion[j][a][b] = EQUIPO_A;
+                    }
+                    if (b >= peso && costo[a][b - peso] + costoItem < costo[a][b]) {
+                        costo[a][b] = costo[a][b - peso] + costoItem;
+                        eleccion[j][a][b] = EQUIPO_B;
+                    }
+                }
+            }
+        }
+
+        // Más plazas cubiertas y, entre ellas, menor costo
+        int mejorA = 0;
+        int mejorB = 0;
+        for (int a = 0; a <= tamanioA; a++) {
+            for (int b = 0; b <= tamanioB; b++) {
+                if (costo[a][b] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int cubiertas = a + b;
+                int mejorCubiertas = mejorA + mejorB;
+                if (cubiertas > mejorCubiertas
+                        || (cubiertas == mejorCubiertas && costo[a][b] < costo[mejorA][mejorB])) {
+                    mejorA = a;
+                    mejorB = b;
+                }
+            }
+        }
+
+        int[] equipo = new int[items.length];
+        int a = mejorA;
+        int b = mejorB;
+        for (int j = items.length - 1; j >= 0; j--) {
+            equipo[j] = eleccion[j][a][b];
+            if (equipo[j] == EQUIPO_A) {
+                a -= items[j].getPeso();
+            } else if (equipo[j] == EQUIPO_B) {
+                b -= items[j].getPeso();
+            }
+        }
+        return equipo;
+    }
+
+    /** Jugador suelto o grupo: ocupa tantas plazas como jugadores tiene. */
+    private static class Item {
+        private final int orden;
+        private final List<Usuario> jugadores;
+        private final Grupo grupo;
+        private final double costo;
+
+        Item(int orden, List<Usuario> jugadores, Grupo grupo, double costo) {
+            this.orden = orden;
+            this.jugadores = jugadores;
+            this.grupo = grupo;
+            this.costo = costo;
+        }
+
+        int getPeso() {
+            return jugadores.size();
+        }
+    }
+
+    // ========== RESULTADO ==========
+
+    /**
+     * Jugadores elegidos y, si se completó el lobby, su división en equipos.
+     */
+    public static class Resultado {
+        private final List<Usuario> seleccionados;
+        private final List<Grupo> grupos;
+        private final BalanceadorEquipos.Division division;
+
+        public Resultado(List<Usuario> seleccionados, List<Grupo> grupos, BalanceadorEquipos.Division division) {
+            this.seleccionados = List.copyOf(seleccionados);
+            this.grupos = List.copyOf(grupos);
+            this.division = division;
+        }
+
+        /** Jugadores elegidos; los de un grupo aparecen juntos. */
+        public List<Usuario> getSeleccionados() {
+            return seleccionados;
+        }
+
+        /** Grupos elegidos (cada uno entra completo). */
+        public List<Grupo> getGrupos() {
+            return grupos;
+        }
+
+        /**
+         * Equipos balanceados sin separar grupos, o null si el lobby no se
+         * completó.
+         */
+        public BalanceadorEquipos.Division getDivision() {
+            return division;
+        }
+
+        public boolean isCompleta() {
+            return division != null;
+        }
+
+        @Override
+        public String toString() {
+            return "Resultado[" + seleccionados.size() + " jugadores, " + grupos.size() + " grupos"
+                    + (division != null ? ", " + division : "") + "]";
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package infraestructura.matchmaking;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.matchmaking.strategies.ByHistoryStrategy;
+import infraestructura.matchmaking.strategies.ByLatencyStrategy;
+
+/**
+ * Traza de decisiones de matchmaking y métricas de calidad por estrategia.
+ *
+ * Cada selección envuelta con {@link #trazar} deja un
+ * {@link DecisionMatchmaking} en un buffer circular de las últimas
+ * {@link #CAPACIDAD_POR_DEFECTO} decisiones (consultable con
+ * {@link #getRecientes(int)} y {@link #buscar(Predicate, int)}) y suma sus
+ * valores a los {@link Histograma} de la estrategia.
+ *
+ * Los datos que solo la estrategia conoce (candidatos que pasaron el filtro,
+ * umbral final) se informan con las anotaciones estáticas
+ * {@link #anotarFiltrado(int)}, {@link #anotarPool(int)} y
+ * {@link #anotarUmbral(int)}, que guardan en una variable del hilo y no
+ * hacen nada si no hay una decisión en curso. Las métricas de calidad se
+ * calculan sobre los jugadores elegidos (a lo sumo las plazas del scrim),
+ * por lo que el costo no crece con el pool.
+ *
+ * El trazador arranca deshabilitado: algunas anotaciones (ej: cuántos
+ * candidatos del pool quedan bajo el umbral de latencia) cuestan una pasada
+ * extra sobre el pool que la selección en sí no necesita.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * TrazadorMatchmaking trazador = TrazadorMatchmaking.getInstance();
+ * trazador.setHabilitado(true);
+ * // ... selecciones ...
+ * trazador.getRecientes(10).forEach(System.out::println);
+ * System.out.println(trazador.resumen());
+ * </pre>
+ *
+ * @author eScrims Team
+ * @see aplicacion.services.MatchmakerService
+ */
+public class TrazadorMatchmaking {
+
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    private static TrazadorMatchmaking instance;
+
+    private static final ThreadLocal<Anotaciones> ANOTACIONES = ThreadLocal.withInitial(Anotaciones::new);
+
+    private final AtomicReferenceArray<DecisionMatchmaking> recientes;
+    private final AtomicLong secuencia;
+    private final Map<String, MetricasEstrategia> metricas;
+    private volatile boolean habilitado;
+
+    private TrazadorMatchmaking(int capacidad) {
+        this.recientes = new AtomicReferenceArray<>(capacidad);
+        this.secuencia = new AtomicLong();
+        this.metricas = new ConcurrentHashMap<>();
+        this.habilitado = false;
+    }
+
+    public static synchronized TrazadorMatchmaking getInstance() {
+        if (instance == null) {
+            instance = new TrazadorMatchmaking(CAPACIDAD_POR_DEFECTO);
+        }
+        return instance;
+    }
+
+    // ========== TRAZADO ==========
+
+    /**
+     * Ejecuta una selección midiendo su duración y registra la decisión.
+     *
+     * Si el trazador está deshabilitado, o si ya hay una decisión en curso en
+     * el hilo (ej: el fallback inter-regional que vuelve a seleccionar), la
+     * selección se ejecuta sin registrar nada aparte: las anotaciones de la
+     * selección interna se suman a la decisión externa.
+     *
+     * @param estrategia nombre de la estrategia
+     * @param origen     API usada ("lista", "pool", "region" o "grupos")
+     * @param scrim      scrim para el que se selecciona
+     * @param seleccion  selección a ejecutar
+     * @return el resultado de la selección, sin modificar
+     */
+    public List<Usuario> trazar(String estrategia, String origen, Scrim scrim, Supplier<List<Usuario>> seleccion) {
+        Anotaciones anotaciones = ANOTACIONES.get();
+        if (!habilitado || anotaciones.activa) {
+            return seleccion.get();
+        }
+
+        anotaciones.iniciar();
+        long inicio = System.nanoTime();
+        List<Usuario> seleccionados;
+        try {
+            seleccionados = seleccion.get();
+        } finally {
+            anotaciones.activa = false;
+        }
+        registrar(estrategia, origen, scrim, seleccionados, System.nanoTime() - inicio, anotaciones);
+        return seleccionados;
+    }
+
+    /**
+     * Indica si el hilo actual está dentro de una decisión trazada. Las
+     * estrategias lo usan para evitar cálculos que solo sirven a la traza.
+     */
+    public static boolean trazando() {
+        return ANOTACIONES.get().activa;
+    }
+
+    /**
+     * Suma candidatos que pasaron el filtro de la estrategia a la decisión en
+     * curso del hilo.
+     */
+    public static void anotarFiltrado(int cantidad) {
+        Anotaciones anotaciones = ANOTACIONES.get();
+        if (anotaciones.activa) {
+            anotaciones.filtrado = Math.max(0, anotaciones.filtrado) + cantidad;
+        }
+    }
+
+    /**
+     * Suma candidatos considerados a la decisión en curso del hilo.
+     */
+    public static void anotarPool(int cantidad) {
+        Anotaciones anotaciones = ANOTACIONES.get();
+        if (anotaciones.activa) {
+            anotaciones.pool = Math.max(0, anotaciones.pool) + cantidad;
+        }
+    }
+
+    /**
+     * Informa el umbral final (ms) de la decisión en curso del hilo.
+     */
+    public static void anotarUmbral(int umbral) {
+        Anotaciones anotaciones = ANOTACIONES.get();
+        if (anotaciones.activa) {
+            anotaciones.umbral = umbral;
+        }
+    }
+
+    private void registrar(String estrategia, String origen, Scrim scrim, List<Usuario> seleccionados,
+            long duracionNanos, Anotaciones anotaciones) {
+        String juego = scrim.getJuego() != null ? scrim.getJuego().getNombre() : null;
+        List<Usuario> elegidos = seleccionados != null ? seleccionados : List.of();
+
+        // Dispersión de rango del grupo elegido
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        int conRango = 0;
+        double suma = 0;
+        double sumaCuadrados = 0;
+        for (Usuario usuario : elegidos) {
+            Integer rango = juego != null ? usuario.getRangoParaJuego(juego) : null;
+            if (rango != null) {
+                minimo = Math.min(minimo, rango);
+                maximo = Math.max(maximo, rango);
+                suma += rango;
+                sumaCuadrados += (double) rango * rango;
+                conRango++;
+            }
+        }
+        int dispersion = conRango > 0 ? maximo - minimo : -1;
+        double desvio = 0.0;
+        if (conRango > 0) {
+            double media = suma / conRango;
+            desvio = Math.sqrt(Math.max(0.0, sumaCuadrados / conRango - media * media));
+        }
+
+        long numero = secuencia.getAndIncrement();
+        DecisionMatchmaking decision = new DecisionMatchmaking(numero, Instant.now(), estrategia, origen,
+                scrim.getId(), juego, scrim.getPlazas(), scrim.getNivelRelajacion(), anotaciones.pool,
+                anotaciones.filtrado, anotaciones.umbral, elegidos.size(), duracionNanos, dispersion, desvio,
+                ByLatencyStrategy.calcularLatenciaPromedio(elegidos),
+                juego != null ? ByHistoryStrategy.calcularVarianzaRoles(elegidos, juego) : 0.0,
+                ByHistoryStrategy.evaluarCompatibilidadGrupal(elegidos));
+
+        recientes.set((int) (numero % recientes.length()), decision);
+        metricas.computeIfAbsent(estrategia, MetricasEstrategia::new).registrar(decision);
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Últimas decisiones registradas, de la más nueva a la más vieja.
+     *
+     * @param limite cantidad máxima a devolver
+     */
+    public List<DecisionMatchmaking> getRecientes(int limite) {
+        return buscar(decision -> true, limite);
+    }
+
+    /**
+     * Decisiones del buffer que cumplen una condición, de la más nueva a la
+     * más vieja.
+     *
+     * @param condicion filtro sobre cada decisión
+     * @param limite    cantidad máxima a devolver
+     */
+    public List<DecisionMatchmaking> buscar(Predicate<DecisionMatchmaking> condicion, int limite) {
+        List<DecisionMatchmaking> encontradas = new ArrayList<>();
+        long ultima = secuencia.get() - 1;
+        long primera = Math.max(0, ultima - recientes.length() + 1);
+        for (long numero = ultima; numero >= primera && encontradas.size() < limite; numero--) {
+            DecisionMatchmaking decision = recientes.get((int) (numero % recientes.length()));
+            // La posición pudo ser sobrescrita por una decisión más nueva
+            if (decision != null && decision.getSecuencia() == numero && condicion.test(decision)) {
+                encontradas.add(decision);
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Decisiones recientes de un scrim.
+     */
+    public List<DecisionMatchmaking> getDecisionesDeScrim(String scrimId) {
+        return buscar(decision -> scrimId != null && scrimId.equals(decision.getScrimId()), recientes.length());
+    }
+
+    /**
+     * Métricas acumuladas de una estrategia, o null si no hay decisiones.
+     */
+    public MetricasEstrategia getMetricas(String estrategia) {
+        return metricas.get(estrategia);
+    }
+
+    /**
+     * Métricas acumuladas por nombre de estrategia.
+     */
+    public Map<String, MetricasEstrategia> getMetricas() {
+        return Collections.unmodifiableMap(new TreeMap<>(metricas));
+    }
+
+    /**
+     * Resumen legible de las métricas de todas las estrategias.
+     */
+    public String resumen() {
+        StringBuilder sb = new StringBuilder();
+        for (MetricasEstrategia metricasEstrategia : getMetricas().values()) {
+            sb.append(metricasEstrategia).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /** Habilita o deshabilita el registro de decisiones (por defecto deshabilitado). */
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Borra el buffer de decisiones y las métricas acumuladas.
+     */
+    public synchronized void reiniciar() {
+        for (int i = 0; i < recientes.length(); i++) {
+            recientes.set(i, null);
+        }
+        secuencia.set(0);
+        metricas.clear();
+    }
+
+    /** Valores informados por la estrategia durante la decisión en curso del hilo. */
+    private static class Anotaciones {
+        private boolean activa;
+        private int pool;
+        private int filtrado;
+        private int umbral;
+
+        void iniciar() {
+            activa = true;
+            pool = -1;
+            filtrado = -1;
+            umbral = -1;
+        }
+    }
+
+    /**
+     * Histogramas acumulados de las decisiones de una estrategia.
+     */
+    public static class MetricasEstrategia {
+        private final String estrategia;
+        private final AtomicLong decisiones = new AtomicLong();
+        private final AtomicLong incompletas = new AtomicLong();
+        private final Histograma duracionMs = new Histograma("duracionMs", 1000);
+        private final Histograma poolFiltrado = new Histograma("poolFiltrado", 1);
+        private final Histograma umbralFinal = new Histograma("umbralFinalMs", 1);
+        private final Histograma dispersionRango = new Histograma("dispersionRango", 1);
+        private final Histograma latenciaPromedio = new Histograma("latenciaPromedioMs", 10);
+        private final Histograma varianzaRoles = new Histograma("varianzaRoles", 1000);
+        private final Histograma fiabilidad = new Histograma("fiabilidad", 10);
+        private final Histograma nivelRelajacion = new Histograma("nivelRelajacion", 1);
+
+        MetricasEstrategia(String estrategia) {
+            this.estrategia = estrategia;
+        }
+
+        void registrar(DecisionMatchmaking decision) {
+            decisiones.incrementAndGet();
+            if (!decision.isCompleta()) {
+                incompletas.incrementAndGet();
+            }
+            duracionMs.registrar(decision.getDuracionNanos() / 1_000_000.0);
+            nivelRelajacion.registrar(decision.getNivelRelajacion());
+            if (decision.getPoolFiltrado() >= 0) {
+                poolFiltrado.registrar(decision.getPoolFiltrado());
+            }
+            if (decision.getUmbralFinal() >= 0) {
+                umbralFinal.registrar(decision.getUmbralFinal());
+            }
+            if (decision.getSeleccionados() > 0) {
+                if (decision.getDispersionRango() >= 0) {
+                    dispersionRango.registrar(decision.getDispersionRango());
+                }
+                latenciaPromedio.registrar(decision.getLatenciaPromedio());
+                varianzaRoles.registrar(decision.getVarianzaRoles());
+                fiabilidad.registrar(decision.getFiabilidad());
+            }
+        }
+
+        public String getEstrategia() {
+            return estrategia;
+        }
+
+        public long getDecisiones() {
+            return decisiones.get();
+        }
+
+        /** Decisiones que no cubrieron todas las plazas. */
+        public long getIncompletas() {
+            return incompletas.get();
+        }
+
+        public Histograma getDuracionMs() {
+            return duracionMs;
+        }
+
+        public Histograma getPoolFiltrado() {
+            return poolFiltrado;
+        }
+
+        public Histograma getUmbralFinal() {
+            return umbralFinal;
+        }
+
+        public Histograma getDispersionRango() {
+            return dispersionRango;
+        }
+
+        public Histograma getLatenciaPromedio() {
+            return latenciaPromedio;
+        }
+
+        public Histograma getVarianzaRoles() {
+            return varianzaRoles;
+        }
+
+        public Histograma getFiabilidad() {
+            return fiabilidad;
+        }
+
+        public Histograma getNivelRelajacion() {
+            return nivelRelajacion;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "[%s] decisiones=%d incompletas=%d",
+                    estrategia, getDecisiones(), getIncompletas()));
+            for (Histograma histograma : List.of(duracionMs, poolFiltrado, umbralFinal, dispersionRango,
+                    latenciaPromedio, varianzaRoles, fiabilidad, nivelRelajacion)) {
+                if (histograma.getCantidad() > 0) {
+                    sb.append(System.lineSeparator()).append("  ").append(histograma);
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
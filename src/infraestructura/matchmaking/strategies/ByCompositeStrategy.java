@@ -0,0 +1,265 @@
+package infraestructura.matchmaking.strategies;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.IndiceKD;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.busqueda.TopKClaves;
+import infraestructura.matchmaking.ConfiguracionEstrategia;
+import infraestructura.matchmaking.MatchmakingStrategy;
+
+/**
+ * Estrategia de matchmaking compuesta: rango, latencia y fiabilidad a la vez.
+ *
+ * Cada una de las otras estrategias mira un solo eje; esta ubica a cada
+ * jugador como un punto (rango, latencia, fiabilidad) en un árbol k-d
+ * ({@link IndiceKD}) y elige los K vecinos más cercanos al punto ideal del
+ * scrim con una distancia euclídea ponderada.
+ *
+ * Algoritmo:
+ * 1. Indexar el pool de candidatos del juego en un árbol k-d (el índice del
+ * pool vivo se reutiliza entre scrims mientras el pool no cambie)
+ * 2. Punto objetivo: rango medio de la ventana, latencia 0 y fiabilidad
+ * máxima
+ * 3. Escalar cada eje según el scrim: un jugador en el borde de la ventana de
+ * rango, o con latencia igual a la máxima del scrim, suma el peso completo
+ * de ese eje
+ * 4. Buscar los {@code plazas} vecinos más cercanos con rango dentro de
+ * [rangoMin, rangoMax], podando por distancia y por ventana de rango
+ *
+ * Sobre una lista suelta de candidatos no conviene construir el árbol para
+ * una sola consulta: se recorre la lista una vez con un {@link TopKClaves}
+ * sobre la misma distancia cuantizada, lo que da el mismo resultado.
+ *
+ * Pesos de la distancia (configurables, ver {@link #configurar}):
+ * - Rango: {@value #PESO_RANGO}
+ * - Latencia: {@value #PESO_LATENCIA}
+ * - Fiabilidad (score de historial, 0 a 1): {@value #PESO_FIABILIDAD}
+ *
+ * Criterios de selección:
+ * - Rango dentro de la ventana del scrim (obligatorio)
+ * - Latencia: no se excluye a nadie, pero se penaliza cuadráticamente
+ * - Jugadores sin historial: fiabilidad neutra
+ * ({@value IndiceKD#FIABILIDAD_SIN_HISTORIAL})
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * Scrim con rangoMin=1500, rangoMax=2000, latenciaMax=100ms
+ * Objetivo: (1750, 0ms, 1.0)
+ *
+ * A: 1750, 90ms, fiabilidad 0.6 → 0.3·0.81 + 0.2·0.16 = 0.275
+ * B: 1900, 30ms, fiabilidad 0.9 → 0.5·0.36 + 0.3·0.09 + 0.2·0.01 = 0.209
+ * Resultado: [B, A]
+ * </pre>
+ *
+ * @author eScrims Team
+ * @version 1.0
+ * @see MatchmakingStrategy
+ * @see IndiceKD
+ */
+public class ByCompositeStrategy implements MatchmakingStrategy {
+
+    private static final String NOMBRE = "Composite";
+    private static final String DESCRIPCION = "Combina rango, latencia y fiabilidad: elige los jugadores más " +
+            "cercanos al perfil ideal del scrim con un índice multidimensional.";
+
+    // Pesos de la distancia por defecto (suman 1)
+    private static final double PESO_RANGO = 0.5;
+    private static final double PESO_LATENCIA = 0.3;
+    private static final double PESO_FIABILIDAD = 0.2;
+
+    private final double pesoRango;
+    private final double pesoLatencia;
+    private final double pesoFiabilidad;
+
+    public ByCompositeStrategy() {
+        this(PESO_RANGO, PESO_LATENCIA, PESO_FIABILIDAD);
+    }
+
+    /**
+     * @throws IllegalArgumentException si algún peso es negativo o todos son 0
+     */
+    public ByCompositeStrategy(double pesoRango, double pesoLatencia, double pesoFiabilidad) {
+        if (pesoRango < 0 || pesoLatencia < 0 || pesoFiabilidad < 0
+                || pesoRango + pesoLatencia + pesoFiabilidad <= 0) {
+            throw new IllegalArgumentException("Los pesos deben ser no negativos y no todos 0");
+        }
+        this.pesoRango = pesoRango;
+        this.pesoLatencia = pesoLatencia;
+        this.pesoFiabilidad = pesoFiabilidad;
+    }
+
+    /**
+     * Parámetros: {@code pesoRango}, {@code pesoLatencia} y
+     * {@code pesoFiabilidad}.
+     */
+    @Override
+    public ByCompositeStrategy configurar(ConfiguracionEstrategia configuracion) {
+        return new ByCompositeStrategy(configuracion.getDouble("pesoRango", PESO_RANGO),
+                configuracion.getDouble("pesoLatencia", PESO_LATENCIA),
+                configuracion.getDouble("pesoFiabilidad", PESO_FIABILIDAD));
+    }
+
+    /**
+     * Reduce el peso de la fiabilidad en la fracción dada; si todos los pesos
+     * quedarían en 0 se conserva la estrategia.
+     */
+    @Override
+    public ByCompositeStrategy relajarFiabilidad(double fraccion) {
+        if (fraccion < 0 || fraccion > 1) {
+            throw new IllegalArgumentException("La fracción de relajación debe estar entre 0 y 1");
+        }
+        if (fraccion == 0 || pesoRango + pesoLatencia + pesoFiabilidad * (1 - fraccion) <= 0) {
+            return this;
+        }
+        return new ByCompositeStrategy(pesoRango, pesoLatencia, pesoFiabilidad * (1 - fraccion));
+    }
+
+    @Override
+    public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
+        // Validaciones
+        if (candidatos == null || scrim == null) {
+            throw new IllegalArgumentException("Candidatos y scrim no pueden ser null");
+        }
+
+        int plazas = scrim.getPlazas();
+        if (candidatos.isEmpty() || plazas <= 0 || scrim.getRangoMin() > scrim.getRangoMax()) {
+            return new ArrayList<>();
+        }
+
+        // Un solo recorrido con la clave del árbol k-d: (distancia cuantizada, posición)
+        String juego = scrim.getJuego().getNombre();
+        double[] objetivo = calcularObjetivo(scrim);
+        double[] pesos = calcularPesos(scrim, pesoRango, pesoLatencia, pesoFiabilidad);
+        TopKClaves mejores = new TopKClaves(plazas);
+        for (int i = 0; i < candidatos.size(); i++) {
+            Usuario candidato = candidatos.get(i);
+            Integer rango = candidato.getRangoParaJuego(juego);
+            if (rango != null && rango >= scrim.getRangoMin() && rango <= scrim.getRangoMax()) {
+                mejores.ofrecer(TopKClaves.clave(IndiceKD.cuantizar(distancia(candidato, rango, objetivo, pesos)), i));
+            }
+        }
+
+        long[] ordenadas = mejores.obtenerOrdenadas();
+        List<Usuario> seleccionados = new ArrayList<>(ordenadas.length);
+        for (long clave : ordenadas) {
+            seleccionados.add(candidatos.get(TopKClaves.posicion(clave)));
+        }
+        return seleccionados;
+    }
+
+    /**
+     * Variante sobre un pool vivo: reutiliza el árbol k-d del pool mientras
+     * su foto no cambie, por lo que cada scrim solo paga la consulta.
+     */
+    @Override
+    public List<Usuario> seleccionar(PoolCandidatos pool, Scrim scrim) {
+        if (pool == null || scrim == null) {
+            throw new IllegalArgumentException("Pool y scrim no pueden ser null");
+        }
+        return seleccionarDesdeIndice(IndiceKD.de(pool), scrim);
+    }
+
+    /**
+     * Consulta de vecinos más cercanos sobre un índice ya construido.
+     *
+     * @param indice índice k-d del pool de candidatos
+     * @param scrim  scrim que necesita jugadores
+     * @return jugadores seleccionados, del más cercano al más lejano
+     */
+    public List<Usuario> seleccionarDesdeIndice(IndiceKD indice, Scrim scrim) {
+        if (indice == null || scrim == null) {
+            throw new IllegalArgumentException("Índice y scrim no pueden ser null");
+        }
+        int[] posiciones = indice.masCercanos(calcularObjetivo(scrim),
+                calcularPesos(scrim, pesoRango, pesoLatencia, pesoFiabilidad),
+                scrim.getRangoMin(), scrim.getRangoMax(), scrim.getPlazas());
+
+        List<Usuario> seleccionados = new ArrayList<>(posiciones.length);
+        for (int posicion : posiciones) {
+            seleccionados.add(indice.getPool().getUsuario(posicion));
+        }
+        return seleccionados;
+    }
+
+    /**
+     * Punto ideal del scrim en las coordenadas de {@link IndiceKD}.
+     */
+    public static double[] calcularObjetivo(Scrim scrim) {
+        double[] objetivo = new double[IndiceKD.DIMENSIONES];
+        objetivo[IndiceKD.EJE_RANGO] = ((double) scrim.getRangoMin() + scrim.getRangoMax()) / 2.0;
+        objetivo[IndiceKD.EJE_LATENCIA] = 0.0;
+        objetivo[IndiceKD.EJE_FIABILIDAD] = 1.0;
+        return objetivo;
+    }
+
+    /**
+     * Pesos por eje escalados al scrim, con los pesos por defecto.
+     */
+    public static double[] calcularPesos(Scrim scrim) {
+        return calcularPesos(scrim, PESO_RANGO, PESO_LATENCIA, PESO_FIABILIDAD);
+    }
+
+    /**
+     * Pesos por eje escalados al scrim: la mitad de la ventana de rango y la
+     * latencia máxima del scrim valen una unidad de distancia.
+     */
+    public static double[] calcularPesos(Scrim scrim, double pesoRango, double pesoLatencia,
+            double pesoFiabilidad) {
+        double semiancho = Math.max(1.0, (scrim.getRangoMax() - (double) scrim.getRangoMin()) / 2.0);
+        double latenciaReferencia = scrim.getLatenciaMax() > 0 ? scrim.getLatenciaMax() : IndiceKD.ESCALA_LATENCIA;
+        double escalaLatencia = IndiceKD.ESCALA_LATENCIA / latenciaReferencia;
+
+        double[] pesos = new double[IndiceKD.DIMENSIONES];
+        pesos[IndiceKD.EJE_RANGO] = pesoRango / (semiancho * semiancho);
+        pesos[IndiceKD.EJE_LATENCIA] = pesoLatencia * escalaLatencia * escalaLatencia;
+        pesos[IndiceKD.EJE_FIABILIDAD] = pesoFiabilidad;
+        return pesos;
+    }
+
+    /**
+     * Distancia ponderada del candidato al punto ideal del scrim, en las
+     * mismas coordenadas que {@link IndiceKD}.
+     */
+    @Override
+    public double puntuar(Usuario candidato, Scrim scrim) {
+        Integer rango = candidato.getRangoParaJuego(scrim.getJuego().getNombre());
+        if (rango == null) {
+            return Double.MAX_VALUE;
+        }
+        return distancia(candidato, rango, calcularObjetivo(scrim),
+                calcularPesos(scrim, pesoRango, pesoLatencia, pesoFiabilidad));
+    }
+
+    private static double distancia(Usuario candidato, int rango, double[] objetivo, double[] pesos) {
+        HistorialUsuario historial = candidato.getHistorial();
+        double[] punto = new double[IndiceKD.DIMENSIONES];
+        punto[IndiceKD.EJE_RANGO] = rango;
+        punto[IndiceKD.EJE_LATENCIA] = candidato.getLatenciaPromedio() / IndiceKD.ESCALA_LATENCIA;
+        punto[IndiceKD.EJE_FIABILIDAD] = historial != null
+                ? historial.getScoreMatchmaking() / IndiceKD.SCORE_MAXIMO
+                : IndiceKD.FIABILIDAD_SIN_HISTORIAL;
+
+        double distancia = 0.0;
+        for (int eje = 0; eje < IndiceKD.DIMENSIONES; eje++) {
+            double diferencia = punto[eje] - objetivo[eje];
+            distancia += pesos[eje] * diferencia * diferencia;
+        }
+        return distancia;
+    }
+
+    @Override
+    public String getNombre() {
+        return NOMBRE;
+    }
+
+    @Override
+    public String getDescripcion() {
+        return DESCRIPCION;
+    }
+}
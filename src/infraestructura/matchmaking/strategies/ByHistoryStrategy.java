@@ -1,7 +1,8 @@
 package infraestructura.matchmaking.strategies;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,7 +10,11 @@ import java.util.Map;
 import dominio.modelo.HistorialUsuario;
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.matchmaking.ConfiguracionEstrategia;
 import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.TrazadorMatchmaking;
 
 /**
  * Estrategia de matchmaking basada en historial y compatibilidad.
@@ -81,6 +86,60 @@ public class ByHistoryStrategy implements MatchmakingStrategy {
     private static final double UMBRAL_FAIR_PLAY_MINIMO = 0.5;
     private static final double UMBRAL_ABANDONO_MAXIMO = 0.30;
 
+    private final double umbralFairPlayMinimo;
+    private final double umbralAbandonoMaximo;
+
+    public ByHistoryStrategy() {
+        this(UMBRAL_FAIR_PLAY_MINIMO, UMBRAL_ABANDONO_MAXIMO);
+    }
+
+    /**
+     * @param umbralFairPlayMinimo fair play mínimo para ser elegible (0 a 1)
+     * @param umbralAbandonoMaximo tasa de abandono máxima (0 a 1)
+     * @throws IllegalArgumentException si algún umbral está fuera de [0, 1]
+     */
+    public ByHistoryStrategy(double umbralFairPlayMinimo, double umbralAbandonoMaximo) {
+        if (umbralFairPlayMinimo < 0 || umbralFairPlayMinimo > 1 || umbralAbandonoMaximo < 0
+                || umbralAbandonoMaximo > 1) {
+            throw new IllegalArgumentException("Los umbrales deben estar entre 0 y 1");
+        }
+        this.umbralFairPlayMinimo = umbralFairPlayMinimo;
+        this.umbralAbandonoMaximo = umbralAbandonoMaximo;
+    }
+
+    /**
+     * Parámetros: {@code umbralFairPlay} y {@code umbralAbandono}.
+     */
+    @Override
+    public ByHistoryStrategy configurar(ConfiguracionEstrategia configuracion) {
+        return new ByHistoryStrategy(configuracion.getDouble("umbralFairPlay", UMBRAL_FAIR_PLAY_MINIMO),
+                configuracion.getDouble("umbralAbandono", UMBRAL_ABANDONO_MAXIMO));
+    }
+
+    /**
+     * Baja el fair play mínimo y sube la tasa de abandono máxima en la
+     * fracción dada (con 1 se admite cualquier historial).
+     */
+    @Override
+    public ByHistoryStrategy relajarFiabilidad(double fraccion) {
+        if (fraccion < 0 || fraccion > 1) {
+            throw new IllegalArgumentException("La fracción de relajación debe estar entre 0 y 1");
+        }
+        if (fraccion == 0) {
+            return this;
+        }
+        return new ByHistoryStrategy(umbralFairPlayMinimo * (1 - fraccion),
+                umbralAbandonoMaximo + (1 - umbralAbandonoMaximo) * fraccion);
+    }
+
+    public double getUmbralFairPlayMinimo() {
+        return umbralFairPlayMinimo;
+    }
+
+    public double getUmbralAbandonoMaximo() {
+        return umbralAbandonoMaximo;
+    }
+
     @Override
     public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
         // Validaciones
@@ -95,175 +154,450 @@ public class ByHistoryStrategy implements MatchmakingStrategy {
         int plazas = scrim.getPlazas();
         String nombreJuego = scrim.getJuego().getNombre();
 
-        // Paso 1: Filtrar candidatos con comportamiento aceptable
-        List<Usuario> candidatosFiltrados = candidatos.stream()
-                .filter(usuario -> {
-                    HistorialUsuario historial = usuario.getHistorial();
-                    // Rechazar si no hay historial o si el comportamiento es inaceptable
-                    return historial != null
-                            && historial.getTasaFairPlay() >= UMBRAL_FAIR_PLAY_MINIMO
-                            && historial.getTasaAbandono() <= UMBRAL_ABANDONO_MAXIMO;
-                })
-                .toList();
+        // Paso 1: Filtrar candidatos con comportamiento aceptable y calcular
+        // su score en arreglos paralelos (sin boxing); los roles se codifican
+        // como enteros para contarlos sin mapas
+        int n = candidatos.size();
+        Usuario[] aceptados = new Usuario[n];
+        int[] rolesPrincipales = new int[n];
+        double[] scores = new double[n];
+        Map<String, Integer> codigoRol = new HashMap<>();
+        int cantidad = 0;
+
+        for (Usuario usuario : candidatos) {
+            HistorialUsuario historial = usuario.getHistorial();
+            // Rechazar si no hay historial o si el comportamiento es inaceptable
+            if (historial == null
+                    || historial.getTasaFairPlay() < umbralFairPlayMinimo
+                    || historial.getTasaAbandono() > umbralAbandonoMaximo) {
+                continue;
+            }
+            String rolPrincipal = usuario.getRolPrincipalParaJuego(nombreJuego);
+            aceptados[cantidad] = usuario;
+            rolesPrincipales[cantidad] = rolPrincipal == null ? PoolCandidatos.SIN_ROL
+                    : codigoRol.computeIfAbsent(rolPrincipal, k -> codigoRol.size());
+            scores[cantidad] = calcularScoreCompatibilidad(historial.getScoreMatchmaking(), rolPrincipal != null);
+            cantidad++;
+        }
+
+        TrazadorMatchmaking.anotarFiltrado(cantidad);
 
         // Si no hay candidatos válidos, retornar lista vacía
-        if (candidatosFiltrados.isEmpty()) {
+        if (cantidad == 0) {
             return new ArrayList<>();
         }
 
-        // Paso 2: Calcular score de cada candidato
-        Map<Usuario, Double> scoresPorUsuario = new HashMap<>();
-        Map<String, Integer> contadorRoles = new HashMap<>();
+        // Pasos 2 y 3: Seleccionar por score descendente con balance de roles
+        List<Usuario> seleccionados = new ArrayList<>();
+        for (int posicion : seleccionarConBalanceRoles(rolesPrincipales, scores, cantidad, codigoRol.size(),
+                plazas)) {
+            seleccionados.add(aceptados[posicion]);
+        }
+        return seleccionados;
+    }
+
+    /**
+     * Variante sobre columnas primitivas: el filtro y el score se calculan
+     * directamente desde las columnas de fair play, abandono, partidas y rol
+     * del pool, sin tocar los objetos Usuario ni su historial. Mismo
+     * resultado que {@link #seleccionar(List, Scrim)}.
+     * 
+     * El pool se recorre por bloques en el pool de {@link EscaneoParalelo}
+     * (en paralelo si es grande). Cada bloque conserva solo a los candidatos
+     * que la selección con balance de roles puede llegar a elegir: los
+     * {@code plazas} mejores del bloque, los {@code plazas} mejores sin rol y
+     * los {@code limiteRol} mejores de cada rol. Los demás nunca se eligen
+     * (su rol ya está completo o las plazas se cubren antes), así que la
+     * selección sobre la unión de los bloques, en el orden del pool, es
+     * idéntica a la secuencial, empates incluidos.
+     */
+    @Override
+    public List<Usuario> seleccionar(PoolCandidatos pool, Scrim scrim) {
+        if (pool == null || scrim == null) {
+            throw new IllegalArgumentException("Pool y scrim no pueden ser null");
+        }
+
+        int plazas = Math.max(0, scrim.getPlazas());
+        int cantidadRoles = pool.getCantidadRoles();
+        List<CandidatosParciales> parciales = EscaneoParalelo.getInstance().procesarPorBloques(pool.getTamanio(),
+                (desde, hasta) -> puntuarBloque(pool, desde, hasta, plazas, cantidadRoles));
 
-        for (Usuario usuario : candidatosFiltrados) {
-            double score = calcularScoreCompatibilidad(
-                    usuario,
-                    nombreJuego,
-                    contadorRoles);
-            scoresPorUsuario.put(usuario, score);
+        int aceptados = 0;
+        int cantidad = 0;
+        for (CandidatosParciales parcial : parciales) {
+            aceptados += parcial.aceptados;
+            cantidad += parcial.posiciones.length;
         }
+        TrazadorMatchmaking.anotarFiltrado(aceptados);
 
-        // Paso 3: Ordenar por score descendente
-        List<Usuario> candidatosOrdenados = new ArrayList<>(candidatosFiltrados);
-        candidatosOrdenados.sort(Comparator.comparingDouble(
-                usuario -> -scoresPorUsuario.get(usuario) // Negativo para orden descendente
-        ));
+        if (cantidad == 0) {
+            return new ArrayList<>();
+        }
 
-        // Paso 4: Seleccionar top N con balance de roles
-        List<Usuario> seleccionados = seleccionarConBalanceRoles(
-                candidatosOrdenados,
-                plazas,
-                nombreJuego);
+        // Los bloques están en orden y cada uno en orden del pool
+        int[] posiciones = new int[cantidad];
+        int[] rolesPrincipales = new int[cantidad];
+        double[] scores = new double[cantidad];
+        int destino = 0;
+        for (CandidatosParciales parcial : parciales) {
+            int largo = parcial.posiciones.length;
+            System.arraycopy(parcial.posiciones, 0, posiciones, destino, largo);
+            System.arraycopy(parcial.roles, 0, rolesPrincipales, destino, largo);
+            System.arraycopy(parcial.scores, 0, scores, destino, largo);
+            destino += largo;
+        }
 
+        List<Usuario> seleccionados = new ArrayList<>();
+        for (int posicion : seleccionarConBalanceRoles(rolesPrincipales, scores, cantidad, cantidadRoles, plazas)) {
+            seleccionados.add(pool.getUsuario(posiciones[posicion]));
+        }
         return seleccionados;
     }
 
     /**
-     * Calcula el score de compatibilidad de un usuario.
-     * 
-     * @param usuario       usuario a evaluar
-     * @param nombreJuego   nombre del juego
-     * @param contadorRoles contador de roles ya seleccionados
-     * @return score total (0-100)
+     * Filtra y puntúa el bloque [desde, hasta) del pool y conserva solo a los
+     * candidatos que pueden llegar a elegirse (ver
+     * {@link #seleccionar(PoolCandidatos, Scrim)}), en orden del pool.
      */
-    private double calcularScoreCompatibilidad(
-            Usuario usuario,
-            String nombreJuego,
-            Map<String, Integer> contadorRoles) {
-
-        HistorialUsuario historial = usuario.getHistorial();
+    private CandidatosParciales puntuarBloque(PoolCandidatos pool, int desde, int hasta, int plazas,
+            int cantidadRoles) {
+        boolean[] conHistorial = pool.getConHistorial();
+        double[] fairPlay = pool.getFairPlay();
+        double[] tasasAbandono = pool.getTasasAbandono();
+        int[] partidas = pool.getPartidasJugadas();
+        int[] rolesPool = pool.getRolesPrincipales();
+
+        MejoresPorScore mejores = new MejoresPorScore(plazas);
+        MejoresPorScore sinRol = new MejoresPorScore(plazas);
+        MejoresPorScore[] porRol = new MejoresPorScore[cantidadRoles];
+        int limite = limiteRol(plazas);
+        int aceptados = 0;
+        for (int i = desde; i < hasta; i++) {
+            if (!conHistorial[i]
+                    || fairPlay[i] < umbralFairPlayMinimo
+                    || tasasAbandono[i] > umbralAbandonoMaximo) {
+                continue;
+            }
+            double score = scoreEnPool(fairPlay, tasasAbandono, partidas, rolesPool, i);
+            aceptados++;
+
+            mejores.ofrecer(score, i);
+            int rol = rolesPool[i];
+            if (rol == PoolCandidatos.SIN_ROL) {
+                sinRol.ofrecer(score, i);
+            } else {
+                if (porRol[rol] == null) {
+                    porRol[rol] = new MejoresPorScore(limite);
+                }
+                porRol[rol].ofrecer(score, i);
+            }
+        }
 
-        // Component 1: Fair play (40 puntos)
-        double scoreFairPlay = historial.getTasaFairPlay() * PESO_FAIR_PLAY;
+        // Unión de los conservados en orden del pool. Solo se reserva memoria
+        // proporcional a los conservados (no al tamaño del bloque); el score
+        // de cada uno se recalcula desde las columnas
+        int total = mejores.tamanio + sinRol.tamanio;
+        for (MejoresPorScore delRol : porRol) {
+            total += delRol != null ? delRol.tamanio : 0;
+        }
+        int[] posiciones = new int[total];
+        int cantidad = mejores.copiarPosiciones(posiciones, 0);
+        cantidad = sinRol.copiarPosiciones(posiciones, cantidad);
+        for (MejoresPorScore delRol : porRol) {
+            if (delRol != null) {
+                cantidad = delRol.copiarPosiciones(posiciones, cantidad);
+            }
+        }
+        Arrays.sort(posiciones, 0, cantidad);
+        int distintas = 0;
+        for (int k = 0; k < cantidad; k++) {
+            if (distintas == 0 || posiciones[distintas - 1] != posiciones[k]) {
+                posiciones[distintas++] = posiciones[k];
+            }
+        }
+        posiciones = Arrays.copyOf(posiciones, distintas);
 
-        // Component 2: Baja tasa de abandono (30 puntos)
-        double scoreAbandono = (1.0 - historial.getTasaAbandono()) * PESO_ABANDONO;
+        int[] roles = new int[distintas];
+        double[] scores = new double[distintas];
+        for (int j = 0; j < distintas; j++) {
+            roles[j] = rolesPool[posiciones[j]];
+            scores[j] = scoreEnPool(fairPlay, tasasAbandono, partidas, rolesPool, posiciones[j]);
+        }
+        return new CandidatosParciales(posiciones, roles, scores, aceptados);
+    }
 
-        // Component 3: Experiencia (20 puntos)
-        int partidasJugadas = historial.getPartidasJugadas();
-        double scoreExperiencia = Math.min(PESO_EXPERIENCIA, partidasJugadas / 5.0);
+    /** Score de compatibilidad del jugador en la posición i del pool. */
+    private double scoreEnPool(double[] fairPlay, double[] tasasAbandono, int[] partidas, int[] rolesPool, int i) {
+        double scoreHistorial = HistorialUsuario.calcularScoreMatchmaking(fairPlay[i], tasasAbandono[i], partidas[i]);
+        return calcularScoreCompatibilidad(scoreHistorial, rolesPool[i] != PoolCandidatos.SIN_ROL);
+    }
 
-        // Component 4: Diversidad de roles (10 puntos)
-        double scoreDiversidad = calcularScoreDiversidadRoles(
-                usuario,
-                nombreJuego,
-                contadorRoles);
+    /**
+     * Calcula el score de compatibilidad de un usuario.
+     * 
+     * La parte de comportamiento y experiencia viene del score en cache del
+     * historial ({@link HistorialUsuario#getScoreMatchmaking()}).
+     * 
+     * @param scoreHistorial fair play (40), abandono (30) y experiencia (20)
+     * @param tieneRol       si el usuario tiene rol principal en el juego
+     * @return score total (0-100)
+     */
+    private double calcularScoreCompatibilidad(double scoreHistorial, boolean tieneRol) {
+        // Componente 4: Diversidad de roles (10 puntos si tiene rol configurado;
+        // la repetición de roles se controla al seleccionar)
+        double scoreDiversidad = tieneRol ? PESO_DIVERSIDAD_ROL : 0.0;
 
-        return scoreFairPlay + scoreAbandono + scoreExperiencia + scoreDiversidad;
+        return scoreHistorial + scoreDiversidad;
     }
 
     /**
-     * Calcula el score de diversidad de roles.
-     * Penaliza roles ya seleccionados múltiples veces.
+     * Selecciona usuarios con balance de roles.
+     * Evita seleccionar demasiados jugadores del mismo rol.
+     * 
+     * Los candidatos se extraen en orden de score descendente desde un heap
+     * construido en O(n); solo se extraen los necesarios para completar las
+     * plazas, por lo que el costo es O(n + k log n). Los empates de score
+     * respetan el orden original de los candidatos.
      * 
-     * @param usuario       usuario a evaluar
-     * @param nombreJuego   nombre del juego
-     * @param contadorRoles contador de roles seleccionados
-     * @return score de diversidad (0-10)
+     * @param rolesPrincipales id del rol principal de cada candidato
+     *                         ({@link PoolCandidatos#SIN_ROL} = sin rol)
+     * @param scores           score de cada candidato
+     * @param cantidad         cantidad de candidatos en los arreglos
+     * @param cantidadRoles    cantidad de ids de rol distintos
+     * @param plazas           número de jugadores a seleccionar
+     * @return posiciones de los candidatos seleccionados, en orden de elección
      */
-    private double calcularScoreDiversidadRoles(
-            Usuario usuario,
-            String nombreJuego,
-            Map<String, Integer> contadorRoles) {
+    private int[] seleccionarConBalanceRoles(
+            int[] rolesPrincipales,
+            double[] scores,
+            int cantidad,
+            int cantidadRoles,
+            int plazas) {
+
+        int[] seleccionados = new int[Math.max(0, Math.min(plazas, cantidad))];
+        int cantidadSeleccionados = 0;
+        int[] contadorRoles = new int[cantidadRoles];
+        BitSet elegidos = new BitSet(cantidad);
+        int[] extraidos = new int[cantidad];
+        int cantidadExtraidos = 0;
+
+        int limiteRol = limiteRol(plazas);
+
+        HeapPorScore heap = new HeapPorScore(scores, cantidad);
+        while (cantidadSeleccionados < seleccionados.length && !heap.estaVacio()) {
+            int candidato = heap.extraer();
+            extraidos[cantidadExtraidos++] = candidato;
+
+            int rolPrincipal = rolesPrincipales[candidato];
+            if (rolPrincipal == PoolCandidatos.SIN_ROL) {
+                // Sin roles, pero aún puede ser seleccionado si hay espacio
+                seleccionados[cantidadSeleccionados++] = candidato;
+                elegidos.set(candidato);
+                continue;
+            }
 
-        List<String> rolesUsuario = usuario.getRolesPreferidosParaJuego(nombreJuego);
+            // Verificar si ya alcanzamos el límite de este rol
+            if (contadorRoles[rolPrincipal] < limiteRol) {
+                seleccionados[cantidadSeleccionados++] = candidato;
+                elegidos.set(candidato);
+                contadorRoles[rolPrincipal]++;
+            }
+        }
 
-        if (rolesUsuario.isEmpty()) {
-            return 0.0; // Sin roles configurados
+        // Si no completamos las plazas por restricciones de rol, agregar los
+        // mejores candidatos restantes sin restricción (el heap quedó vacío,
+        // así que todos fueron extraídos en orden de score)
+        for (int i = 0; i < cantidadExtraidos && cantidadSeleccionados < seleccionados.length; i++) {
+            int candidato = extraidos[i];
+            if (!elegidos.get(candidato)) {
+                seleccionados[cantidadSeleccionados++] = candidato;
+                elegidos.set(candidato);
+            }
         }
 
-        // Tomar el rol principal (primer rol de la lista)
-        String rolPrincipal = rolesUsuario.get(0);
-        int vecesSeleccionado = contadorRoles.getOrDefault(rolPrincipal, 0);
+        return seleccionados.length == cantidadSeleccionados ? seleccionados
+                : Arrays.copyOf(seleccionados, cantidadSeleccionados);
+    }
+
+    /**
+     * Límite máximo de jugadores por rol (para evitar 5 del mismo rol).
+     */
+    private static int limiteRol(int plazas) {
+        return Math.max(2, plazas / 3);
+    }
 
-        // Penalizar roles ya seleccionados
-        // 0 veces = 10 puntos, 1 vez = 7 puntos, 2+ veces = 3 puntos
-        if (vecesSeleccionado == 0) {
-            return PESO_DIVERSIDAD_ROL;
-        } else if (vecesSeleccionado == 1) {
-            return PESO_DIVERSIDAD_ROL * 0.7;
-        } else {
-            return PESO_DIVERSIDAD_ROL * 0.3;
+    /** Candidatos conservados de un bloque del pool, en orden del pool. */
+    private static class CandidatosParciales {
+        private final int[] posiciones;
+        private final int[] roles;
+        private final double[] scores;
+        private final int aceptados;
+
+        CandidatosParciales(int[] posiciones, int[] roles, double[] scores, int aceptados) {
+            this.posiciones = posiciones;
+            this.roles = roles;
+            this.scores = scores;
+            this.aceptados = aceptados;
         }
     }
 
     /**
-     * Selecciona usuarios con balance de roles.
-     * Evita seleccionar demasiados jugadores del mismo rol.
-     * 
-     * @param candidatos  lista ordenada por score
-     * @param plazas      número de jugadores a seleccionar
-     * @param nombreJuego nombre del juego
-     * @return lista de usuarios seleccionados
+     * Heap acotado con los K mejores (score descendente, posición ascendente
+     * en empates); la cabeza es el peor conservado.
      */
-    private List<Usuario> seleccionarConBalanceRoles(
-            List<Usuario> candidatos,
-            int plazas,
-            String nombreJuego) {
+    private static class MejoresPorScore {
+        private final int limite;
+        private final double[] scores;
+        private final int[] posiciones;
+        private int tamanio;
+
+        MejoresPorScore(int limite) {
+            this.limite = limite;
+            this.scores = new double[limite];
+            this.posiciones = new int[limite];
+        }
 
-        List<Usuario> seleccionados = new ArrayList<>();
-        Map<String, Integer> contadorRoles = new HashMap<>();
+        void ofrecer(double score, int posicion) {
+            if (tamanio < limite) {
+                scores[tamanio] = score;
+                posiciones[tamanio] = posicion;
+                subir(tamanio++);
+            } else if (limite > 0 && peor(scores[0], posiciones[0], score, posicion)) {
+                scores[0] = score;
+                posiciones[0] = posicion;
+                hundir(0);
+            }
+        }
 
-        // Límite máximo de jugadores por rol (para evitar 5 del mismo rol)
-        int limiteRol = Math.max(2, plazas / 3);
+        /**
+         * Copia las posiciones conservadas a partir de {@code inicio}.
+         *
+         * @return índice siguiente a la última posición copiada
+         */
+        int copiarPosiciones(int[] destino, int inicio) {
+            System.arraycopy(posiciones, 0, destino, inicio, tamanio);
+            return inicio + tamanio;
+        }
 
-        for (Usuario candidato : candidatos) {
-            if (seleccionados.size() >= plazas) {
-                break;
-            }
+        /** Indica si (scoreA, posicionA) es peor que (scoreB, posicionB). */
+        private static boolean peor(double scoreA, int posicionA, double scoreB, int posicionB) {
+            return scoreA < scoreB || (scoreA == scoreB && posicionA > posicionB);
+        }
 
-            List<String> roles = candidato.getRolesPreferidosParaJuego(nombreJuego);
+        private void subir(int i) {
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (!peor(scores[i], posiciones[i], scores[padre], posiciones[padre])) {
+                    return;
+                }
+                intercambiar(i, padre);
+                i = padre;
+            }
+        }
 
-            if (roles.isEmpty()) {
-                // Sin roles, pero aún puede ser seleccionado si hay espacio
-                seleccionados.add(candidato);
-                continue;
+        private void hundir(int i) {
+            while (true) {
+                int peorHijo = i;
+                int izquierdo = 2 * i + 1;
+                int derecho = izquierdo + 1;
+                if (izquierdo < tamanio
+                        && peor(scores[izquierdo], posiciones[izquierdo], scores[peorHijo], posiciones[peorHijo])) {
+                    peorHijo = izquierdo;
+                }
+                if (derecho < tamanio
+                        && peor(scores[derecho], posiciones[derecho], scores[peorHijo], posiciones[peorHijo])) {
+                    peorHijo = derecho;
+                }
+                if (peorHijo == i) {
+                    return;
+                }
+                intercambiar(i, peorHijo);
+                i = peorHijo;
             }
+        }
 
-            String rolPrincipal = roles.get(0);
-            int cantidadRol = contadorRoles.getOrDefault(rolPrincipal, 0);
+        private void intercambiar(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int posicion = posiciones[a];
+            posiciones[a] = posiciones[b];
+            posiciones[b] = posicion;
+        }
+    }
 
-            // Verificar si ya alcanzamos el límite de este rol
-            if (cantidadRol < limiteRol) {
-                seleccionados.add(candidato);
-                contadorRoles.put(rolPrincipal, cantidadRol + 1);
+    /**
+     * Heap binario de posiciones ordenado por score descendente y, en
+     * empates, por posición ascendente.
+     */
+    private static class HeapPorScore {
+        private final double[] scores;
+        private final int[] posiciones;
+        private int tamanio;
+
+        HeapPorScore(double[] scores, int cantidad) {
+            this.scores = scores;
+            this.posiciones = new int[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                posiciones[i] = i;
+            }
+            this.tamanio = cantidad;
+            for (int i = tamanio / 2 - 1; i >= 0; i--) {
+                hundir(i);
             }
         }
 
-        // Si no completamos las plazas por restricciones de rol,
-        // agregar los mejores candidatos restantes sin restricción
-        if (seleccionados.size() < plazas) {
-            for (Usuario candidato : candidatos) {
-                if (seleccionados.size() >= plazas) {
-                    break;
+        boolean estaVacio() {
+            return tamanio == 0;
+        }
+
+        int extraer() {
+            int mejor = posiciones[0];
+            posiciones[0] = posiciones[--tamanio];
+            hundir(0);
+            return mejor;
+        }
+
+        private void hundir(int i) {
+            while (true) {
+                int izquierdo = 2 * i + 1;
+                if (izquierdo >= tamanio) {
+                    return;
                 }
-                if (!seleccionados.contains(candidato)) {
-                    seleccionados.add(candidato);
+                int mayor = izquierdo;
+                int derecho = izquierdo + 1;
+                if (derecho < tamanio && antes(posiciones[derecho], posiciones[izquierdo])) {
+                    mayor = derecho;
                 }
+                if (!antes(posiciones[mayor], posiciones[i])) {
+                    return;
+                }
+                int temporal = posiciones[i];
+                posiciones[i] = posiciones[mayor];
+                posiciones[mayor] = temporal;
+                i = mayor;
             }
         }
 
-        return seleccionados;
+        private boolean antes(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+        }
+    }
+
+    /**
+     * Score de compatibilidad con signo invertido (menor es mejor); los
+     * candidatos que la estrategia descarta por comportamiento van al final.
+     */
+    @Override
+    public double puntuar(Usuario candidato, Scrim scrim) {
+        HistorialUsuario historial = candidato.getHistorial();
+        if (historial == null
+                || historial.getTasaFairPlay() < umbralFairPlayMinimo
+                || historial.getTasaAbandono() > umbralAbandonoMaximo) {
+            return Double.MAX_VALUE;
+        }
+        boolean tieneRol = candidato.getRolPrincipalParaJuego(scrim.getJuego().getNombre()) != null;
+        return -calcularScoreCompatibilidad(historial.getScoreMatchmaking(), tieneRol);
     }
 
     @Override
@@ -315,9 +649,8 @@ public class ByHistoryStrategy implements MatchmakingStrategy {
         Map<String, Integer> contadorRoles = new HashMap<>();
 
         for (Usuario usuario : usuarios) {
-            List<String> roles = usuario.getRolesPreferidosParaJuego(nombreJuego);
-            if (!roles.isEmpty()) {
-                String rolPrincipal = roles.get(0);
+            String rolPrincipal = usuario.getRolPrincipalParaJuego(nombreJuego);
+            if (rolPrincipal != null) {
                 contadorRoles.put(rolPrincipal, contadorRoles.getOrDefault(rolPrincipal, 0) + 1);
             }
         }
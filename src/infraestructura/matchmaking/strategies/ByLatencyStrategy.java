@@ -6,7 +6,11 @@ import java.util.List;
 
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.busqueda.TopKClaves;
+import infraestructura.matchmaking.ConfiguracionEstrategia;
 import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.TrazadorMatchmaking;
 
 /**
  * Estrategia de matchmaking basada en latencia/ping.
@@ -16,10 +20,13 @@ import infraestructura.matchmaking.MatchmakingStrategy;
  * latencia óptima, expande progresivamente el umbral aceptable.
  * 
  * Algoritmo:
- * 1. Filtrar candidatos con latencia <= latenciaMax del scrim
- * 2. Ordenar por latencia ascendente (menor latencia = mayor prioridad)
- * 3. Si no hay suficientes, expandir umbral en pasos de 20ms
- * 4. Seleccionar hasta completar plazas disponibles
+ * 1. Ordenar los candidatos por latencia ascendente una sola vez
+ * (menor latencia = mayor prioridad)
+ * 2. Tomar el prefijo con latencia <= latenciaMax del scrim
+ * 3. Si no hay suficientes, expandir umbral en pasos de 20ms extendiendo
+ * el prefijo (sin volver a filtrar ni ordenar)
+ * 4. Seleccionar hasta completar plazas disponibles e informar el umbral
+ * final ({@link SeleccionPorLatencia})
  * 
  * Criterios de selección:
  * - Latencia máxima permitida por el scrim
@@ -63,73 +70,236 @@ public class ByLatencyStrategy implements MatchmakingStrategy {
     private static final String DESCRIPCION = "Prioriza jugadores con baja latencia/ping. " +
             "Expande el umbral progresivamente si no hay suficientes candidatos.";
 
-    // Constantes de configuración
+    // Configuración por defecto
     private static final int PASO_EXPANSION = 20; // Incremento en ms por intento
     private static final int LIMITE_LATENCIA = 300; // Latencia máxima absoluta en ms
 
+    private final int pasoExpansion;
+    private final int limiteLatencia;
+
+    public ByLatencyStrategy() {
+        this(PASO_EXPANSION, LIMITE_LATENCIA);
+    }
+
+    /**
+     * @param pasoExpansion  incremento del umbral por intento, en ms
+     * @param limiteLatencia latencia máxima hasta la que se expande el umbral
+     * @throws IllegalArgumentException si algún valor no es positivo
+     */
+    public ByLatencyStrategy(int pasoExpansion, int limiteLatencia) {
+        if (pasoExpansion <= 0 || limiteLatencia <= 0) {
+            throw new IllegalArgumentException("El paso de expansión y el límite de latencia deben ser positivos");
+        }
+        this.pasoExpansion = pasoExpansion;
+        this.limiteLatencia = limiteLatencia;
+    }
+
+    /**
+     * Parámetros: {@code pasoExpansion} y {@code limiteLatencia} (ms).
+     */
+    @Override
+    public ByLatencyStrategy configurar(ConfiguracionEstrategia configuracion) {
+        return new ByLatencyStrategy(configuracion.getInt("pasoExpansion", PASO_EXPANSION),
+                configuracion.getInt("limiteLatencia", LIMITE_LATENCIA));
+    }
+
     @Override
     public List<Usuario> seleccionar(List<Usuario> candidatos, Scrim scrim) {
+        return seleccionarConUmbral(candidatos, scrim).getSeleccionados();
+    }
+
+    /**
+     * Igual que {@link #seleccionar(List, Scrim)}, pero informa además el
+     * umbral de latencia con el que terminó la expansión.
+     * 
+     * Los candidatos se ordenan por latencia una sola vez; cada paso de
+     * expansión solo extiende el prefijo de la vista ordenada, por lo que el
+     * costo total es O(n log n) sin importar cuántos pasos se necesiten.
+     * 
+     * @param candidatos lista de candidatos
+     * @param scrim      scrim que necesita jugadores
+     * @return jugadores seleccionados y umbral final
+     */
+    public SeleccionPorLatencia seleccionarConUmbral(List<Usuario> candidatos, Scrim scrim) {
         // Validaciones
         if (candidatos == null || scrim == null) {
             throw new IllegalArgumentException("Candidatos y scrim no pueden ser null");
         }
 
         if (candidatos.isEmpty()) {
-            return new ArrayList<>();
+            return new SeleccionPorLatencia(new ArrayList<>(), scrim.getLatenciaMax(), false);
+        }
+
+        return seleccionarDesdeOrdenados(ordenarPorLatencia(candidatos), scrim);
+    }
+
+    /**
+     * Selecciona jugadores desde una vista ya ordenada por latencia (ver
+     * {@link #ordenarPorLatencia(List)}), que puede compartirse entre varios
+     * scrims del mismo pool. Cada consulta cuesta O(log n + k).
+     * 
+     * @param ordenados candidatos ordenados por latencia ascendente
+     * @param scrim     scrim que necesita jugadores
+     * @return jugadores seleccionados y umbral final
+     */
+    public SeleccionPorLatencia seleccionarDesdeOrdenados(List<Usuario> ordenados, Scrim scrim) {
+        if (ordenados == null || scrim == null) {
+            throw new IllegalArgumentException("Candidatos y scrim no pueden ser null");
         }
 
         int plazas = scrim.getPlazas();
-        int latenciaMaxInicial = scrim.getLatenciaMax();
+        int umbral = scrim.getLatenciaMax();
+
+        if (plazas <= 0) {
+            return new SeleccionPorLatencia(new ArrayList<>(), umbral, true);
+        }
+
+        // Si hay suficientes jugadores en total, el umbral final es el
+        // primer paso que alcanza la latencia del último jugador necesario
+        if (ordenados.size() >= plazas) {
+            int latenciaNecesaria = ordenados.get(plazas - 1).getLatenciaPromedio();
+            if (latenciaNecesaria > umbral) {
+                int pasos = (latenciaNecesaria - umbral + pasoExpansion - 1) / pasoExpansion;
+                umbral += pasos * pasoExpansion;
+            }
+            if (umbral == scrim.getLatenciaMax() || umbral <= limiteLatencia) {
+                if (TrazadorMatchmaking.trazando()) {
+                    anotarTraza(cantidadHastaLatencia(ordenados, umbral), umbral);
+                }
+                return new SeleccionPorLatencia(new ArrayList<>(ordenados.subList(0, plazas)), umbral, true);
+            }
+        }
+
+        // No se completan las plazas: el umbral llega al último paso permitido
+        umbral = scrim.getLatenciaMax();
+        if (umbral + pasoExpansion <= limiteLatencia) {
+            umbral += (limiteLatencia - umbral) / pasoExpansion * pasoExpansion;
+        }
+        int disponibles = cantidadHastaLatencia(ordenados, umbral);
+        anotarTraza(disponibles, umbral);
+        return new SeleccionPorLatencia(new ArrayList<>(ordenados.subList(0, disponibles)), umbral, false);
+    }
 
-        // Intentar con la latencia máxima configurada en el scrim
-        List<Usuario> seleccionados = intentarSeleccionPorLatencia(
-                candidatos, plazas, latenciaMaxInicial);
+    @Override
+    public List<Usuario> seleccionar(PoolCandidatos pool, Scrim scrim) {
+        return seleccionarConUmbral(pool, scrim).getSeleccionados();
+    }
 
-        // Si encontramos suficientes jugadores, retornar
-        if (seleccionados.size() >= plazas) {
-            return seleccionados.subList(0, plazas);
+    /**
+     * Variante de {@link #seleccionarConUmbral(List, Scrim)} sobre columnas
+     * primitivas. En lugar de ordenar todo el pool, conserva en un heap
+     * acotado las {@code plazas} claves (latencia, posición) más chicas: el
+     * resultado siempre es un prefijo de ese top-K, porque si no se completan
+     * las plazas el umbral final queda por debajo de la latencia del último
+     * jugador necesario. O(n log k) sin objetos por candidato.
+     * 
+     * @param pool  pool de candidatos
+     * @param scrim scrim que necesita jugadores
+     * @return jugadores seleccionados y umbral final
+     */
+    public SeleccionPorLatencia seleccionarConUmbral(PoolCandidatos pool, Scrim scrim) {
+        if (pool == null || scrim == null) {
+            throw new IllegalArgumentException("Pool y scrim no pueden ser null");
         }
 
-        // Si no hay suficientes, expandir progresivamente el umbral
-        int umbralActual = latenciaMaxInicial + PASO_EXPANSION;
+        int plazas = scrim.getPlazas();
+        int umbral = scrim.getLatenciaMax();
+        if (pool.getTamanio() == 0) {
+            return new SeleccionPorLatencia(new ArrayList<>(), umbral, false);
+        }
+        if (plazas <= 0) {
+            return new SeleccionPorLatencia(new ArrayList<>(), umbral, true);
+        }
 
-        while (umbralActual <= LIMITE_LATENCIA && seleccionados.size() < plazas) {
-            seleccionados = intentarSeleccionPorLatencia(candidatos, plazas, umbralActual);
+        int[] latencias = pool.getLatencias();
+        TopKClaves menores = new TopKClaves(plazas);
+        for (int i = 0; i < pool.getTamanio(); i++) {
+            menores.ofrecer(TopKClaves.clave(latencias[i], i));
+        }
+        long[] ordenadas = menores.obtenerOrdenadas();
 
-            if (seleccionados.size() >= plazas) {
-                return seleccionados.subList(0, plazas);
+        if (ordenadas.length >= plazas) {
+            int latenciaNecesaria = (int) TopKClaves.criterio(ordenadas[plazas - 1]);
+            if (latenciaNecesaria > umbral) {
+                int pasos = (latenciaNecesaria - umbral + pasoExpansion - 1) / pasoExpansion;
+                umbral += pasos * pasoExpansion;
             }
+            if (umbral == scrim.getLatenciaMax() || umbral <= limiteLatencia) {
+                if (TrazadorMatchmaking.trazando()) {
+                    // Solo para la traza: el top-K no dice cuántos quedan bajo el umbral
+                    int bajoUmbral = 0;
+                    for (int i = 0; i < pool.getTamanio(); i++) {
+                        if (latencias[i] <= umbral) {
+                            bajoUmbral++;
+                        }
+                    }
+                    anotarTraza(bajoUmbral, umbral);
+                }
+                return new SeleccionPorLatencia(usuariosDe(pool, ordenadas, plazas), umbral, true);
+            }
+        }
 
-            umbralActual += PASO_EXPANSION;
+        umbral = scrim.getLatenciaMax();
+        if (umbral + pasoExpansion <= limiteLatencia) {
+            umbral += (limiteLatencia - umbral) / pasoExpansion * pasoExpansion;
+        }
+        int disponibles = 0;
+        while (disponibles < ordenadas.length && TopKClaves.criterio(ordenadas[disponibles]) <= umbral) {
+            disponibles++;
         }
+        // Sin completar las plazas, todo candidato bajo el umbral está en el top-K
+        anotarTraza(disponibles, umbral);
+        return new SeleccionPorLatencia(usuariosDe(pool, ordenadas, disponibles), umbral, false);
+    }
 
-        // Retornar todos los candidatos encontrados (aunque sean menos que las plazas)
-        return seleccionados;
+    private static void anotarTraza(int filtrados, int umbral) {
+        TrazadorMatchmaking.anotarFiltrado(filtrados);
+        TrazadorMatchmaking.anotarUmbral(umbral);
+    }
+
+    private static List<Usuario> usuariosDe(PoolCandidatos pool, long[] claves, int cantidad) {
+        List<Usuario> usuarios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            usuarios.add(pool.getUsuario(TopKClaves.posicion(claves[i])));
+        }
+        return usuarios;
     }
 
     /**
-     * Intenta seleccionar jugadores con latencia máxima especificada.
+     * Copia los candidatos ordenados por latencia ascendente (orden estable:
+     * en empates se conserva el orden original).
      * 
-     * @param candidatos       lista de candidatos
-     * @param plazasRequeridas número de jugadores necesarios
-     * @param latenciaMax      latencia máxima permitida
-     * @return lista de usuarios seleccionados (ordenados por latencia)
+     * @param candidatos lista de candidatos
+     * @return nueva lista ordenada
      */
-    private List<Usuario> intentarSeleccionPorLatencia(
-            List<Usuario> candidatos,
-            int plazasRequeridas,
-            int latenciaMax) {
-
-        // Filtrar por latencia
-        List<Usuario> candidatosFiltrados = candidatos.stream()
-                .filter(usuario -> usuario.getLatenciaPromedio() <= latenciaMax)
-                .toList();
+    public static List<Usuario> ordenarPorLatencia(List<Usuario> candidatos) {
+        List<Usuario> ordenados = new ArrayList<>(candidatos);
+        ordenados.sort(Comparator.comparingInt(Usuario::getLatenciaPromedio));
+        return ordenados;
+    }
 
-        // Ordenar por latencia ascendente (menor latencia primero)
-        List<Usuario> candidatosOrdenados = new ArrayList<>(candidatosFiltrados);
-        candidatosOrdenados.sort(Comparator.comparingInt(Usuario::getLatenciaPromedio));
+    /**
+     * Cantidad de jugadores de la vista ordenada con latencia &lt;= umbral
+     * (búsqueda binaria del fin del prefijo).
+     */
+    private static int cantidadHastaLatencia(List<Usuario> ordenados, int umbral) {
+        int bajo = 0;
+        int alto = ordenados.size();
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (ordenados.get(medio).getLatenciaPromedio() <= umbral) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
 
-        return candidatosOrdenados;
+    /** Menor latencia, mejor puntaje. */
+    @Override
+    public double puntuar(Usuario candidato, Scrim scrim) {
+        return candidato.getLatenciaPromedio();
     }
 
     @Override
@@ -191,4 +361,34 @@ public class ByLatencyStrategy implements MatchmakingStrategy {
                 .average()
                 .orElse(0.0);
     }
+
+    /**
+     * Resultado de la selección por latencia: jugadores elegidos y umbral
+     * con el que terminó la expansión.
+     */
+    public static class SeleccionPorLatencia {
+        private final List<Usuario> seleccionados;
+        private final int umbralFinal;
+        private final boolean completa;
+
+        public SeleccionPorLatencia(List<Usuario> seleccionados, int umbralFinal, boolean completa) {
+            this.seleccionados = seleccionados;
+            this.umbralFinal = umbralFinal;
+            this.completa = completa;
+        }
+
+        public List<Usuario> getSeleccionados() {
+            return seleccionados;
+        }
+
+        /** Umbral de latencia (ms) usado en el último paso de expansión. */
+        public int getUmbralFinal() {
+            return umbralFinal;
+        }
+
+        /** Indica si se cubrieron todas las plazas del scrim. */
+        public boolean isCompleta() {
+            return completa;
+        }
+    }
 }
@@ -1,12 +1,18 @@
 package infraestructura.matchmaking.strategies;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
 
 import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.IndiceRangos;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.busqueda.TopKClaves;
 import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.TrazadorMatchmaking;
 
 /**
  * Estrategia de matchmaking basada en MMR/Rango.
@@ -16,10 +22,15 @@ import infraestructura.matchmaking.MatchmakingStrategy;
  * permitido por el scrim, priorizando aquellos más cercanos al rango objetivo.
  * 
  * Algoritmo:
- * 1. Filtrar candidatos dentro del rango [rangoMin, rangoMax] del scrim
- * 2. Calcular rango promedio objetivo (media entre min y max)
- * 3. Ordenar candidatos por cercanía al rango objetivo
- * 4. Seleccionar hasta completar plazas disponibles
+ * 1. Calcular rango promedio objetivo (media entre min y max)
+ * 2. Recorrer los candidatos una vez, descartando los que están fuera de
+ * [rangoMin, rangoMax], y conservar en un heap acotado los más cercanos al
+ * objetivo
+ * 3. Seleccionar hasta completar plazas disponibles
+ *
+ * Con un índice de rangos ya construido (ej: el índice global de usuarios)
+ * se usa {@link #seleccionarDesdeIndice}, que ubica el objetivo por búsqueda
+ * binaria sin recorrer toda la base.
  * 
  * Criterios de selección:
  * - Cumplimiento de requisitos de rango mínimo y máximo
@@ -62,45 +73,133 @@ public class ByMMRStrategy implements MatchmakingStrategy {
             return new ArrayList<>();
         }
 
-        // Obtener requisitos del scrim
         int rangoMin = scrim.getRangoMin();
         int rangoMax = scrim.getRangoMax();
-        int plazas = scrim.getPlazas();
+        if (scrim.getPlazas() <= 0 || rangoMin > rangoMax) {
+            return new ArrayList<>();
+        }
+
+        // Lista de un solo uso: un barrido con top-K acotado, O(n log k), sin
+        // construir ni ordenar un índice que se descarta enseguida
         String nombreJuego = scrim.getJuego().getNombre();
+        long objetivoDoble = (long) rangoMin + rangoMax;
+        List<Usuario> porPosicion = candidatos instanceof RandomAccess ? candidatos : new ArrayList<>(candidatos);
+        TopKClaves mejores = new TopKClaves(scrim.getPlazas());
+        int enVentana = 0;
+        for (int i = 0; i < porPosicion.size(); i++) {
+            Integer rango = porPosicion.get(i).getRangoParaJuego(nombreJuego);
+            if (rango != null && rango >= rangoMin && rango <= rangoMax) {
+                mejores.ofrecer(TopKClaves.clave(Math.abs(2L * rango - objetivoDoble), i));
+                enVentana++;
+            }
+        }
+        TrazadorMatchmaking.anotarFiltrado(enVentana);
 
-        // Calcular rango objetivo (promedio)
-        double rangoObjetivo = (rangoMin + rangoMax) / 2.0;
+        long[] ordenadas = mejores.obtenerOrdenadas();
+        List<Usuario> seleccionados = new ArrayList<>(ordenadas.length);
+        for (long clave : ordenadas) {
+            seleccionados.add(porPosicion.get(TopKClaves.posicion(clave)));
+        }
+        return seleccionados;
+    }
 
-        // Filtrar candidatos que cumplan con el rango requerido
-        List<Usuario> candidatosFiltrados = candidatos.stream()
-                .filter(usuario -> {
-                    // Obtener el rango del usuario para este juego
-                    Integer rangoUsuario = usuario.getRangoPorJuego().get(nombreJuego);
+    /**
+     * Selecciona jugadores directamente desde un índice de rangos ya
+     * construido (ej: el índice global de usuarios), sin recorrer toda la
+     * base de candidatos.
+     * 
+     * Busca el rango objetivo por búsqueda binaria y expande hacia ambos
+     * lados dentro de [rangoMin, rangoMax] hasta cubrir las plazas:
+     * O(log n + k). Los empates de distancia se resuelven por orden de
+     * llegada, igual que un ordenamiento estable por distancia.
+     * 
+     * @param indice   índice de rangos a consultar
+     * @param scrim    scrim que necesita jugadores
+     * @param admitido condición adicional sobre cada jugador (null = todos)
+     * @return jugadores seleccionados, del más cercano al más lejano
+     */
+    public List<Usuario> seleccionarDesdeIndice(IndiceRangos indice, Scrim scrim,
+            Predicate<? super Usuario> admitido) {
+        if (indice == null || scrim == null) {
+            throw new IllegalArgumentException("Índice y scrim no pueden ser null");
+        }
+        return indice.masCercanos(scrim.getJuego().getNombre(), scrim.getRangoMin(), scrim.getRangoMax(),
+                scrim.getPlazas(), admitido);
+    }
 
-                    // Si el usuario no tiene rango para este juego, rechazar
-                    if (rangoUsuario == null) {
-                        return false;
-                    }
+    /**
+     * Variante sobre columnas primitivas: un barrido de la columna de rangos
+     * conservando en un heap acotado las {@code plazas} claves
+     * (distancia al objetivo, posición) más chicas. O(n log k) sin objetos
+     * por candidato; mismo resultado que {@link #seleccionar(List, Scrim)}.
+     * 
+     * En pools grandes el barrido se reparte por bloques en el pool de
+     * {@link EscaneoParalelo}: cada bloque arma su propio top-K y al final se
+     * combinan. Como las claves incluyen la posición, el top-K combinado es
+     * exactamente el del barrido secuencial, empates incluidos.
+     */
+    @Override
+    public List<Usuario> seleccionar(PoolCandidatos pool, Scrim scrim) {
+        if (pool == null || scrim == null) {
+            throw new IllegalArgumentException("Pool y scrim no pueden ser null");
+        }
+        int rangoMin = scrim.getRangoMin();
+        int rangoMax = scrim.getRangoMax();
+        if (scrim.getPlazas() <= 0 || rangoMin > rangoMax) {
+            return new ArrayList<>();
+        }
 
-                    // Verificar que esté dentro del rango permitido
-                    return rangoUsuario >= rangoMin && rangoUsuario <= rangoMax;
-                })
-                .toList();
+        // Se trabaja con el doble del objetivo para evitar decimales
+        long objetivoDoble = (long) rangoMin + rangoMax;
+        int[] rangos = pool.getRangos();
+        int plazas = scrim.getPlazas();
+        List<TopKParcial> parciales = EscaneoParalelo.getInstance().procesarPorBloques(pool.getTamanio(),
+                (desde, hasta) -> {
+                    TopKClaves mejores = new TopKClaves(plazas);
+                    int enVentana = 0;
+                    for (int i = desde; i < hasta; i++) {
+                        int rango = rangos[i];
+                        if (rango != PoolCandidatos.SIN_RANGO && rango >= rangoMin && rango <= rangoMax) {
+                            mejores.ofrecer(TopKClaves.clave(Math.abs(2L * rango - objetivoDoble), i));
+                            enVentana++;
+                        }
+                    }
+                    return new TopKParcial(mejores.obtenerOrdenadas(), enVentana);
+                });
+
+        long[] ordenadas;
+        int enVentana = 0;
+        if (parciales.size() == 1) {
+            ordenadas = parciales.get(0).claves;
+            enVentana = parciales.get(0).enVentana;
+        } else {
+            TopKClaves mejores = new TopKClaves(plazas);
+            for (TopKParcial parcial : parciales) {
+                for (long clave : parcial.claves) {
+                    mejores.ofrecer(clave);
+                }
+                enVentana += parcial.enVentana;
+            }
+            ordenadas = mejores.obtenerOrdenadas();
+        }
+        TrazadorMatchmaking.anotarFiltrado(enVentana);
 
-        // Si no hay candidatos válidos, retornar lista vacía
-        if (candidatosFiltrados.isEmpty()) {
-            return new ArrayList<>();
+        List<Usuario> seleccionados = new ArrayList<>(ordenadas.length);
+        for (long clave : ordenadas) {
+            seleccionados.add(pool.getUsuario(TopKClaves.posicion(clave)));
         }
+        return seleccionados;
+    }
 
-        // Ordenar por cercanía al rango objetivo
-        List<Usuario> candidatosOrdenados = new ArrayList<>(candidatosFiltrados);
-        candidatosOrdenados.sort(Comparator.comparingDouble(usuario -> {
-            Integer rangoUsuario = usuario.getRangoPorJuego().get(nombreJuego);
-            return Math.abs(rangoUsuario - rangoObjetivo);
-        }));
+    /** Top-K de un bloque del pool y cantidad de candidatos en la ventana. */
+    private static class TopKParcial {
+        private final long[] claves;
+        private final int enVentana;
 
-        // Seleccionar hasta completar las plazas disponibles (o todos si hay menos)
-        return candidatosOrdenados.subList(0, Math.min(plazas, candidatosOrdenados.size()));
+        TopKParcial(long[] claves, int enVentana) {
+            this.claves = claves;
+            this.enVentana = enVentana;
+        }
     }
 
     @Override
@@ -122,8 +221,8 @@ public class ByMMRStrategy implements MatchmakingStrategy {
      * @return diferencia absoluta de rango, o -1 si alguno no tiene rango
      */
     public static int calcularDiferenciaMMR(Usuario usuario1, Usuario usuario2, String nombreJuego) {
-        Integer rango1 = usuario1.getRangoPorJuego().get(nombreJuego);
-        Integer rango2 = usuario2.getRangoPorJuego().get(nombreJuego);
+        Integer rango1 = usuario1.getRangoParaJuego(nombreJuego);
+        Integer rango2 = usuario2.getRangoParaJuego(nombreJuego);
 
         if (rango1 == null || rango2 == null) {
             return -1;
@@ -141,7 +240,7 @@ public class ByMMRStrategy implements MatchmakingStrategy {
      */
     public static boolean cumpleRequisitosRango(Usuario usuario, Scrim scrim) {
         String nombreJuego = scrim.getJuego().getNombre();
-        Integer rangoUsuario = usuario.getRangoPorJuego().get(nombreJuego);
+        Integer rangoUsuario = usuario.getRangoParaJuego(nombreJuego);
 
         if (rangoUsuario == null) {
             return false;
@@ -4,9 +4,8 @@ import dominio.modelo.Scrim;
 import dominio.modelo.Usuario;
 import dominio.modelo.Confirmacion;
 import dominio.modelo.Postulacion;
+import infraestructura.busqueda.ParticionRegional;
 import infraestructura.notificaciones.NotificationManager;
-import infraestructura.persistencia.repository.RepositorioFactory;
-import infraestructura.persistencia.repository.RepositorioUsuario;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -71,10 +70,35 @@ public class ScrimNotificationObserver {
         notificationManager.notificarUsuarios(usuariosInteresados, mensaje, NotificationEvent.BUSCANDO);
     }
     
+    /**
+     * Avisa a los jugadores que pasan a cumplir los requisitos de un scrim
+     * cuyos requisitos se ampliaron por la espera (ver
+     * {@link aplicacion.services.RelajacionMatchmakingService}).
+     */
+    public void notificarRequisitosAmpliados(Scrim scrim, List<Usuario> usuarios) {
+        String titulo = getTituloScrim(scrim);
+        String mensaje = "El scrim '" + titulo + "' amplio sus requisitos y ahora coincide con tu perfil. "
+                + "Postulate!";
+        notificationManager.notificarUsuarios(usuarios, mensaje, NotificationEvent.BUSCANDO);
+    }
+    
+    /**
+     * Avisa a un jugador de los scrims abiertos que mejor le quedan (ver
+     * {@link aplicacion.services.MatchmakingInversoService}).
+     */
+    public void notificarScrimsRecomendados(Usuario usuario, List<Scrim> scrims) {
+        String titulos = scrims.stream()
+                .map(this::getTituloScrim)
+                .collect(Collectors.joining(", "));
+        String mensaje = "Hay scrims buscando jugadores que encajan con tu perfil: " + titulos;
+        notificationManager.notificarUsuario(usuario, mensaje, NotificationEvent.BUSCANDO);
+    }
+    
     public static void notificarScrimCreado(Scrim scrim) {
         try {
-            RepositorioUsuario repo = RepositorioFactory.getRepositorioUsuario();
-            List<Usuario> todosLosUsuarios = repo.listarTodos();
+            // Los mismos candidatos que el matchmaking: la región del scrim y
+            // los usuarios sin región (todos si el scrim no tiene región)
+            List<Usuario> todosLosUsuarios = ParticionRegional.getInstance().candidatosPara(scrim, false);
             
             List<Usuario> usuariosInteresados = todosLosUsuarios.stream()
                     .filter(u -> !u.getId().equals(scrim.getCreatedBy()))
@@ -14,8 +14,11 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.reflect.TypeToken;
+import infraestructura.busqueda.IndiceInvertido;
 import infraestructura.persistencia.adapters.JuegoAdapter;
 import infraestructura.persistencia.adapters.ScrimFormatAdapter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -29,6 +32,13 @@ import java.util.stream.Collectors;
  * Implementación JSON del repositorio de estadísticas.
  * Maneja la persistencia en archivos JSON separados para cada tipo de dato.
  * 
+ * Los comentarios tienen además un índice invertido para búsqueda por
+ * palabras clave, indexado por id de comentario. Se persiste como un diario
+ * en data/comentarios_indice.jsonl (una línea por comentario ya tokenizado)
+ * al que cada comentario nuevo solo agrega su línea, sin reescribir el
+ * archivo ni retokenizar todo al iniciar. El repositorio garantiza que los
+ * ids de comentario sean únicos.
+ * 
  * @author eScrims Team
  */
 public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
@@ -36,11 +46,16 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
     private static final String ARCHIVO_ESTADISTICAS_SCRIM = "data/estadisticas_scrims.json";
     private static final String ARCHIVO_REPORTES = "data/reportes_conducta.json";
     private static final String ARCHIVO_COMENTARIOS = "data/comentarios.json";
+    private static final String ARCHIVO_INDICE_COMENTARIOS = "data/comentarios_indice.jsonl";
 
     private final Gson gson;
+    private final Gson gsonIndice = new Gson();
     private Map<String, EstadisticasScrim> estadisticasScrims;
     private List<ReporteConducta> reportesConducta;
     private List<Comentario> comentarios;
+    private Map<Long, Comentario> comentarioPorId;
+    private long ultimoIdComentario;
+    private IndiceInvertido indiceComentarios;
 
     public RepositorioEstadisticasJSON() {
         this.gson = new GsonBuilder()
@@ -83,6 +98,7 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
         cargarEstadisticasScrims();
         cargarReportesConducta();
         cargarComentarios();
+        cargarIndiceComentarios();
     }
 
     private void cargarEstadisticasScrims() {
@@ -134,6 +150,107 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
         } catch (IOException | com.google.gson.JsonSyntaxException e) {
             comentarios = new ArrayList<>();
         }
+        if (renumerarIdsRepetidos()) {
+            guardarComentarios();
+        }
+    }
+
+    /**
+     * Arma el mapa por id y asigna un id nuevo a los comentarios sin id o con
+     * un id repetido (versiones anteriores numeraban desde 1 en cada sesión).
+     *
+     * @return true si se cambió algún id
+     */
+    private boolean renumerarIdsRepetidos() {
+        comentarioPorId = new HashMap<>();
+        ultimoIdComentario = 0;
+        for (Comentario comentario : comentarios) {
+            if (comentario.getId() != null) {
+                ultimoIdComentario = Math.max(ultimoIdComentario, comentario.getId());
+            }
+        }
+        boolean renumerados = false;
+        for (Comentario comentario : comentarios) {
+            if (comentario.getId() == null || comentarioPorId.containsKey(comentario.getId())) {
+                comentario.setId(++ultimoIdComentario);
+                renumerados = true;
+            }
+            comentarioPorId.put(comentario.getId(), comentario);
+        }
+        return renumerados;
+    }
+
+    /**
+     * Carga el diario del índice de comentarios y lo valida contra la lista
+     * cargada: cada línea debe corresponder a un comentario existente con el
+     * mismo contenido. Los comentarios que faltan en el diario (ej: se cortó
+     * el proceso entre ambos guardados) se indexan y se agregan al final; si
+     * alguna línea no corresponde o está incompleta, el diario se reescribe
+     * completo.
+     */
+    private void cargarIndiceComentarios() {
+        indiceComentarios = new IndiceInvertido();
+        if (!leerDiarioIndice()) {
+            indiceComentarios = new IndiceInvertido();
+            List<IndiceInvertido.Documento> documentos = new ArrayList<>(comentarios.size());
+            for (Comentario comentario : comentarios) {
+                documentos.add(indiceComentarios.agregarDocumento(comentario.getId(), comentario.getContenido(),
+                        etiquetaDe(comentario)));
+            }
+            escribirDiarioIndice(documentos, false);
+            return;
+        }
+
+        List<IndiceInvertido.Documento> faltantes = new ArrayList<>();
+        for (Comentario comentario : comentarios) {
+            if (indiceComentarios.contiene(comentario.getId())) {
+                // El estado de moderación se toma siempre de los comentarios
+                indiceComentarios.actualizarEtiqueta(comentario.getId(), etiquetaDe(comentario));
+            } else {
+                faltantes.add(indiceComentarios.agregarDocumento(comentario.getId(), comentario.getContenido(),
+                        etiquetaDe(comentario)));
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            escribirDiarioIndice(faltantes, true);
+        }
+    }
+
+    /**
+     * Agrega al índice los documentos del diario.
+     *
+     * @return false si el diario no se pudo leer o no corresponde a los
+     *         comentarios cargados
+     */
+    private boolean leerDiarioIndice() {
+        java.io.File archivo = new java.io.File(ARCHIVO_INDICE_COMENTARIOS);
+        if (!archivo.exists()) {
+            return true;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(archivo))) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                IndiceInvertido.Documento documento = gsonIndice.fromJson(linea, IndiceInvertido.Documento.class);
+                Comentario comentario = documento != null ? comentarioPorId.get(documento.getClave()) : null;
+                if (comentario == null || documento.getFrecuencias() == null
+                        || documento.getHuella() != IndiceInvertido.huellaDe(comentario.getContenido())
+                        || indiceComentarios.contiene(documento.getClave())) {
+                    return false;
+                }
+                indiceComentarios.agregar(documento);
+            }
+            return true;
+        } catch (IOException | com.google.gson.JsonParseException e) {
+            return false;
+        }
+    }
+
+    private static int etiquetaDe(Comentario comentario) {
+        return comentario.getEstado() != null ? comentario.getEstado().ordinal()
+                : Comentario.EstadoModeracion.PENDIENTE.ordinal();
     }
 
     private void guardarEstadisticasScrims() {
@@ -176,6 +293,29 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
         }
     }
 
+    /**
+     * Escribe documentos del índice en el diario, una línea JSON por
+     * documento.
+     *
+     * @param agregar true para agregarlos al final, false para reemplazar el
+     *                contenido del archivo
+     */
+    private void escribirDiarioIndice(List<IndiceInvertido.Documento> documentos, boolean agregar) {
+        try {
+            java.io.File file = new java.io.File(ARCHIVO_INDICE_COMENTARIOS);
+            file.getParentFile().mkdirs();
+
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, agregar))) {
+                for (IndiceInvertido.Documento documento : documentos) {
+                    writer.write(gsonIndice.toJson(documento));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error al guardar índice de comentarios: " + e.getMessage());
+        }
+    }
+
     // ========== ESTADÍSTICAS DE SCRIM ==========
 
     @Override
@@ -187,12 +327,12 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
     }
 
     @Override
-    public EstadisticasScrim obtenerEstadisticasScrim(String scrimId) {
+    public synchronized EstadisticasScrim obtenerEstadisticasScrim(String scrimId) {
         return estadisticasScrims.get(scrimId);
     }
 
     @Override
-    public List<EstadisticasScrim> obtenerTodasLasEstadisticasScrims() {
+    public synchronized List<EstadisticasScrim> obtenerTodasLasEstadisticasScrims() {
         return new ArrayList<>(estadisticasScrims.values());
     }
 
@@ -225,7 +365,7 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
     }
 
     @Override
-    public EstadisticasJugador obtenerEstadisticasJugador(String scrimId, String jugadorId) {
+    public synchronized EstadisticasJugador obtenerEstadisticasJugador(String scrimId, String jugadorId) {
         EstadisticasScrim estadisticasScrim = estadisticasScrims.get(scrimId);
         if (estadisticasScrim != null) {
             return estadisticasScrim.getEstadisticasPorJugador().get(jugadorId);
@@ -234,7 +374,7 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
     }
 
     @Override
-    public Map<String, EstadisticasJugador> obtenerEstadisticasJugadorGeneral(String jugadorId) {
+    public synchronized Map<String, EstadisticasJugador> obtenerEstadisticasJugadorGeneral(String jugadorId) {
         Map<String, EstadisticasJugador> estadisticasJugador = new HashMap<>();
 
         for (Map.Entry<String, EstadisticasScrim> entry : estadisticasScrims.entrySet()) {
@@ -258,21 +398,21 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
     }
 
     @Override
-    public List<ReporteConducta> obtenerReportesScrim(String scrimId) {
+    public synchronized List<ReporteConducta> obtenerReportesScrim(String scrimId) {
         return reportesConducta.stream()
                 .filter(reporte -> scrimId.equals(reporte.getScrimId()))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ReporteConducta> obtenerReportesPendientes() {
+    public synchronized List<ReporteConducta> obtenerReportesPendientes() {
         return reportesConducta.stream()
                 .filter(reporte -> !reporte.isRevisado())
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ReporteConducta> obtenerReportesUsuario(String usuarioId) {
+    public synchronized List<ReporteConducta> obtenerReportesUsuario(String usuarioId) {
         return reportesConducta.stream()
                 .filter(reporte -> usuarioId.equals(reporte.getUsuarioReportadoId()))
                 .collect(Collectors.toList());
@@ -300,20 +440,28 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
     @Override
     public synchronized void guardarComentario(Comentario comentario) {
         if (comentario != null) {
+            if (comentario.getId() == null || comentarioPorId.containsKey(comentario.getId())) {
+                comentario.setId(ultimoIdComentario + 1);
+            }
+            ultimoIdComentario = Math.max(ultimoIdComentario, comentario.getId());
             comentarios.add(comentario);
+            comentarioPorId.put(comentario.getId(), comentario);
+            IndiceInvertido.Documento documento = indiceComentarios.agregarDocumento(comentario.getId(),
+                    comentario.getContenido(), etiquetaDe(comentario));
             guardarComentarios();
+            escribirDiarioIndice(List.of(documento), true);
         }
     }
 
     @Override
-    public List<Comentario> obtenerComentariosScrim(String scrimId) {
+    public synchronized List<Comentario> obtenerComentariosScrim(String scrimId) {
         return comentarios.stream()
                 .filter(comentario -> scrimId.equals(comentario.getScrimId()))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<Comentario> obtenerComentariosPendientes() {
+    public synchronized List<Comentario> obtenerComentariosPendientes() {
         return comentarios.stream()
                 .filter(comentario -> Comentario.EstadoModeracion.PENDIENTE.equals(comentario.getEstado()))
                 .collect(Collectors.toList());
@@ -321,23 +469,41 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
 
     @Override
     public synchronized void moderarComentario(String comentarioId, boolean aprobado) {
-        comentarios.stream()
-                .filter(comentario -> comentarioId.equals(String.valueOf(comentario.getId())))
-                .findFirst()
-                .ifPresent(comentario -> {
-                    if (aprobado) {
-                        comentario.setEstado(Comentario.EstadoModeracion.APROBADO);
-                    } else {
-                        comentario.setEstado(Comentario.EstadoModeracion.RECHAZADO);
-                    }
-                    guardarComentarios();
-                });
+        for (int i = 0; i < comentarios.size(); i++) {
+            Comentario comentario = comentarios.get(i);
+            if (comentarioId.equals(String.valueOf(comentario.getId()))) {
+                if (aprobado) {
+                    comentario.setEstado(Comentario.EstadoModeracion.APROBADO);
+                } else {
+                    comentario.setEstado(Comentario.EstadoModeracion.RECHAZADO);
+                }
+                indiceComentarios.actualizarEtiqueta(comentario.getId(), etiquetaDe(comentario));
+                guardarComentarios();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<Comentario> buscarComentarios(String consulta, Comentario.EstadoModeracion estado, int limite) {
+        if (consulta == null || consulta.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<IndiceInvertido.Resultado> resultados = indiceComentarios.buscar(consulta, limite,
+                estado == null ? null : etiqueta -> etiqueta == estado.ordinal());
+
+        List<Comentario> encontrados = new ArrayList<>(resultados.size());
+        for (IndiceInvertido.Resultado resultado : resultados) {
+            encontrados.add(comentarioPorId.get(resultado.getClave()));
+        }
+        return encontrados;
     }
 
     // ========== UTILIDADES ==========
 
     @Override
-    public int contarEstadisticas() {
+    public synchronized int contarEstadisticas() {
         return estadisticasScrims.size();
     }
 
@@ -346,8 +512,12 @@ public class RepositorioEstadisticasJSON implements RepositorioEstadisticas {
         estadisticasScrims.clear();
         reportesConducta.clear();
         comentarios.clear();
+        comentarioPorId.clear();
+        ultimoIdComentario = 0;
+        indiceComentarios = new IndiceInvertido();
         guardarEstadisticasScrims();
         guardarReportesConducta();
         guardarComentarios();
+        escribirDiarioIndice(List.of(), false);
     }
 }
\ No newline at end of file
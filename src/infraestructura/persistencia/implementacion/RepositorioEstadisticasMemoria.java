@@ -0,0 +1,223 @@
+package infraestructura.persistencia.implementacion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import dominio.estadisticas.Comentario;
+import dominio.estadisticas.EstadisticasJugador;
+import dominio.estadisticas.EstadisticasScrim;
+import dominio.estadisticas.ReporteConducta;
+import infraestructura.busqueda.IndiceInvertido;
+import infraestructura.persistencia.repository.RepositorioEstadisticas;
+
+/**
+ * Implementación en memoria del repositorio de estadísticas, sin persistencia.
+ *
+ * Misma semántica que {@link RepositorioEstadisticasJSON} (la búsqueda de
+ * comentarios también usa un {@link IndiceInvertido}) sin reescribir los
+ * archivos JSON en cada guardado. Pensada para simulaciones de carga y
+ * pruebas.
+ *
+ * Se instala con {@code RepositorioFactory.setRepositorioEstadisticas(...)}.
+ *
+ * @author eScrims Team
+ */
+public class RepositorioEstadisticasMemoria implements RepositorioEstadisticas {
+
+    private final Map<String, EstadisticasScrim> estadisticasScrims = new LinkedHashMap<>();
+    private final List<ReporteConducta> reportesConducta = new ArrayList<>();
+    private final List<Comentario> comentarios = new ArrayList<>();
+    private final Map<Long, Comentario> comentarioPorId = new HashMap<>();
+    private long ultimoIdComentario;
+    private IndiceInvertido indiceComentarios = new IndiceInvertido();
+
+    // ========== ESTADÍSTICAS DE SCRIM ==========
+
+    @Override
+    public synchronized void guardarEstadisticasScrim(EstadisticasScrim estadisticas) {
+        if (estadisticas != null && estadisticas.getScrimId() != null) {
+            estadisticasScrims.put(estadisticas.getScrimId(), estadisticas);
+        }
+    }
+
+    @Override
+    public synchronized EstadisticasScrim obtenerEstadisticasScrim(String scrimId) {
+        return estadisticasScrims.get(scrimId);
+    }
+
+    @Override
+    public synchronized List<EstadisticasScrim> obtenerTodasLasEstadisticasScrims() {
+        return new ArrayList<>(estadisticasScrims.values());
+    }
+
+    @Override
+    public synchronized void actualizarEstadisticasScrim(EstadisticasScrim estadisticas) {
+        if (estadisticas != null && estadisticas.getScrimId() != null
+                && estadisticasScrims.containsKey(estadisticas.getScrimId())) {
+            estadisticasScrims.put(estadisticas.getScrimId(), estadisticas);
+        }
+    }
+
+    @Override
+    public synchronized void eliminarEstadisticasScrim(String scrimId) {
+        estadisticasScrims.remove(scrimId);
+    }
+
+    // ========== ESTADÍSTICAS DE JUGADOR ==========
+
+    @Override
+    public synchronized void guardarEstadisticasJugador(String scrimId, String jugadorId,
+            EstadisticasJugador estadisticas) {
+        EstadisticasScrim estadisticasScrim = estadisticasScrims.get(scrimId);
+        if (estadisticasScrim != null) {
+            estadisticasScrim.getEstadisticasPorJugador().put(jugadorId, estadisticas);
+        }
+    }
+
+    @Override
+    public synchronized EstadisticasJugador obtenerEstadisticasJugador(String scrimId, String jugadorId) {
+        EstadisticasScrim estadisticasScrim = estadisticasScrims.get(scrimId);
+        return estadisticasScrim != null ? estadisticasScrim.getEstadisticasPorJugador().get(jugadorId) : null;
+    }
+
+    @Override
+    public synchronized Map<String, EstadisticasJugador> obtenerEstadisticasJugadorGeneral(String jugadorId) {
+        Map<String, EstadisticasJugador> estadisticasJugador = new HashMap<>();
+        for (Map.Entry<String, EstadisticasScrim> entry : estadisticasScrims.entrySet()) {
+            EstadisticasJugador stats = entry.getValue().getEstadisticasPorJugador().get(jugadorId);
+            if (stats != null) {
+                estadisticasJugador.put(entry.getKey(), stats);
+            }
+        }
+        return estadisticasJugador;
+    }
+
+    // ========== REPORTES DE CONDUCTA ==========
+
+    @Override
+    public synchronized void guardarReporteConducta(ReporteConducta reporte) {
+        if (reporte != null) {
+            reportesConducta.add(reporte);
+        }
+    }
+
+    @Override
+    public synchronized List<ReporteConducta> obtenerReportesScrim(String scrimId) {
+        return reportesConducta.stream()
+                .filter(reporte -> scrimId.equals(reporte.getScrimId()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized List<ReporteConducta> obtenerReportesPendientes() {
+        return reportesConducta.stream()
+                .filter(reporte -> !reporte.isRevisado())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized List<ReporteConducta> obtenerReportesUsuario(String usuarioId) {
+        return reportesConducta.stream()
+                .filter(reporte -> usuarioId.equals(reporte.getUsuarioReportadoId()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void actualizarEstadoReporte(String reporteId, String nuevoEstado) {
+        for (ReporteConducta reporte : reportesConducta) {
+            if (reporteId.equals(reporte.getId())) {
+                if ("REVISADO".equals(nuevoEstado)) {
+                    reporte.setRevisado(true);
+                } else if ("SANCIONADO".equals(nuevoEstado)) {
+                    reporte.setSancionado(true);
+                    reporte.setRevisado(true);
+                }
+                return;
+            }
+        }
+    }
+
+    // ========== COMENTARIOS ==========
+
+    @Override
+    public synchronized void guardarComentario(Comentario comentario) {
+        if (comentario != null) {
+            if (comentario.getId() == null || comentarioPorId.containsKey(comentario.getId())) {
+                comentario.setId(ultimoIdComentario + 1);
+            }
+            ultimoIdComentario = Math.max(ultimoIdComentario, comentario.getId());
+            comentarios.add(comentario);
+            comentarioPorId.put(comentario.getId(), comentario);
+            indiceComentarios.agregarDocumento(comentario.getId(), comentario.getContenido(), etiquetaDe(comentario));
+        }
+    }
+
+    @Override
+    public synchronized List<Comentario> obtenerComentariosScrim(String scrimId) {
+        return comentarios.stream()
+                .filter(comentario -> scrimId.equals(comentario.getScrimId()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized List<Comentario> obtenerComentariosPendientes() {
+        return comentarios.stream()
+                .filter(comentario -> Comentario.EstadoModeracion.PENDIENTE.equals(comentario.getEstado()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void moderarComentario(String comentarioId, boolean aprobado) {
+        for (int i = 0; i < comentarios.size(); i++) {
+            Comentario comentario = comentarios.get(i);
+            if (comentarioId.equals(String.valueOf(comentario.getId()))) {
+                comentario.setEstado(aprobado ? Comentario.EstadoModeracion.APROBADO
+                        : Comentario.EstadoModeracion.RECHAZADO);
+                indiceComentarios.actualizarEtiqueta(comentario.getId(), etiquetaDe(comentario));
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<Comentario> buscarComentarios(String consulta, Comentario.EstadoModeracion estado,
+            int limite) {
+        if (consulta == null || consulta.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<IndiceInvertido.Resultado> resultados = indiceComentarios.buscar(consulta, limite,
+                estado == null ? null : etiqueta -> etiqueta == estado.ordinal());
+
+        List<Comentario> encontrados = new ArrayList<>(resultados.size());
+        for (IndiceInvertido.Resultado resultado : resultados) {
+            encontrados.add(comentarioPorId.get(resultado.getClave()));
+        }
+        return encontrados;
+    }
+
+    // ========== UTILIDADES ==========
+
+    @Override
+    public synchronized int contarEstadisticas() {
+        return estadisticasScrims.size();
+    }
+
+    @Override
+    public synchronized void limpiarTodas() {
+        estadisticasScrims.clear();
+        reportesConducta.clear();
+        comentarios.clear();
+        comentarioPorId.clear();
+        ultimoIdComentario = 0;
+        indiceComentarios = new IndiceInvertido();
+    }
+
+    private static int etiquetaDe(Comentario comentario) {
+        return comentario.getEstado() != null ? comentario.getEstado().ordinal()
+                : Comentario.EstadoModeracion.PENDIENTE.ordinal();
+    }
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -24,8 +25,11 @@ import aplicacion.builders.FiltrosScrim;
 import dominio.juegos.Juego;
 import dominio.modelo.Scrim;
 import dominio.valueobjects.formatosScrims.ScrimFormat;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.IndiceBitmapScrims;
 import infraestructura.persistencia.adapters.JuegoAdapter;
 import infraestructura.persistencia.adapters.ScrimFormatAdapter;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
 import infraestructura.persistencia.repository.RepositorioScrim;
 
 /**
@@ -36,6 +40,18 @@ import infraestructura.persistencia.repository.RepositorioScrim;
  * El campo ScrimState se excluye de la serialización (transient) para evitar
  * referencias circulares, y se reconstruye al cargar desde JSON.
  * 
+ * Las búsquedas por juego, formato, región, latencia u hora del día se
+ * resuelven con un índice de bitmaps ({@link IndiceBitmapScrims}) que se
+ * mantiene en cada escritura; el resto (incluido un filtro solo por estado,
+ * que puede cambiar en memoria sin guardarse) usa un escaneo completo.
+ * 
+ * Es seguro usarlo desde varios hilos (ej: la interfaz y los servicios de
+ * matchmaking en segundo plano): la lista, el índice y la escritura del
+ * archivo se protegen con el monitor del repositorio. Los observadores se
+ * notifican y los consumidores de {@link #recorrerConFiltros} se ejecutan
+ * fuera del monitor, para que puedan tomar otros locks sin riesgo de
+ * deadlock.
+ * 
  * @author eScrims Team
  */
 public class RepositorioScrimJson implements RepositorioScrim {
@@ -44,6 +60,8 @@ public class RepositorioScrimJson implements RepositorioScrim {
     private final Gson gson;
     private static RepositorioScrimJson instance;
     private List<Scrim> scrims;
+    private final IndiceBitmapScrims indice;
+    private final List<ObservadorRepositorio<Scrim>> observadores = new CopyOnWriteArrayList<>();
 
     /**
      * Constructor privado para Singleton.
@@ -75,7 +93,9 @@ public class RepositorioScrimJson implements RepositorioScrim {
                 .setPrettyPrinting()
                 .create();
 
+        this.indice = new IndiceBitmapScrims();
         this.scrims = cargarScrims();
+        this.indice.reconstruir(scrims);
     }
 
     /**
@@ -151,18 +171,22 @@ public class RepositorioScrimJson implements RepositorioScrim {
             return false;
         }
 
-        // Verificar si ya existe
-        if (buscarPorId(scrim.getId()) != null) {
-            return false; // Ya existe
-        }
+        synchronized (this) {
+            // Verificar si ya existe
+            if (buscarPorId(scrim.getId()) != null) {
+                return false; // Ya existe
+            }
 
-        scrims.add(scrim);
-        guardarScrims(); // Persistir en JSON
+            scrims.add(scrim);
+            indice.indexar(scrim);
+            guardarScrims(); // Persistir en JSON
+        }
+        notificarGuardado(scrim);
         return true;
     }
 
     @Override
-    public Scrim buscarPorId(String id) {
+    public synchronized Scrim buscarPorId(String id) {
         if (id == null) {
             return null;
         }
@@ -174,7 +198,7 @@ public class RepositorioScrimJson implements RepositorioScrim {
     }
 
     @Override
-    public List<Scrim> obtenerTodos() {
+    public synchronized List<Scrim> obtenerTodos() {
         return new ArrayList<>(scrims);
     }
 
@@ -184,72 +208,38 @@ public class RepositorioScrimJson implements RepositorioScrim {
             return obtenerTodos();
         }
 
-        return scrims.stream()
-                .filter(scrim -> cumpleFiltros(scrim, filtros))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Verifica si un scrim cumple con los filtros especificados.
-     */
-    private boolean cumpleFiltros(Scrim scrim, FiltrosScrim filtros) {
-        // Filtro por juego
-        if (filtros.getJuego() != null) {
-            if (!scrim.getJuego().getNombre().equalsIgnoreCase(filtros.getJuego())) {
-                return false;
-            }
-        }
-
-        // Filtro por formato
-        if (filtros.getFormato() != null) {
-            if (!scrim.getFormato().getFormatName().equalsIgnoreCase(filtros.getFormato())) {
-                return false;
-            }
-        }
-
-        // Filtro por rango mínimo
-        if (filtros.getRangoMin() != null) {
-            if (scrim.getRangoMin() < filtros.getRangoMin()) {
-                return false;
-            }
-        }
-
-        // Filtro por rango máximo
-        if (filtros.getRangoMax() != null) {
-            if (scrim.getRangoMax() > filtros.getRangoMax()) {
-                return false;
+        List<Scrim> snapshot;
+        synchronized (this) {
+            // Dimensiones de baja cardinalidad: intersección de bitmaps
+            if (indice.puedeResolver(filtros)) {
+                return indice.buscar(filtros);
             }
+            snapshot = new ArrayList<>(scrims);
         }
 
-        // Filtro por latencia máxima
-        if (filtros.getLatenciaMax() != null) {
-            if (scrim.getLatenciaMax() > filtros.getLatenciaMax()) {
-                return false;
-            }
-        }
+        // Escaneo completo sobre un snapshot: paralelo si el volumen lo justifica
+        return EscaneoParalelo.getInstance().filtrar(snapshot, filtros::coincide);
+    }
 
-        // Filtro por fecha desde
-        if (filtros.getFechaDesde() != null) {
-            if (scrim.getFechaHora().isBefore(filtros.getFechaDesde())) {
-                return false;
-            }
+    @Override
+    public void recorrerConFiltros(FiltrosScrim filtros, Consumer<Scrim> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser null");
         }
 
-        // Filtro por fecha hasta
-        if (filtros.getFechaHasta() != null) {
-            if (scrim.getFechaHora().isAfter(filtros.getFechaHasta())) {
-                return false;
-            }
+        // Snapshot para que el consumidor pueda leer el repositorio sin conflictos
+        List<Scrim> snapshot;
+        boolean resueltoPorIndice;
+        synchronized (this) {
+            resueltoPorIndice = indice.puedeResolver(filtros);
+            snapshot = resueltoPorIndice ? indice.buscar(filtros) : new ArrayList<>(scrims);
         }
 
-        // Filtro por estado
-        if (filtros.getEstado() != null) {
-            if (!scrim.getEstado().equalsIgnoreCase(filtros.getEstado())) {
-                return false;
+        for (Scrim scrim : snapshot) {
+            if (resueltoPorIndice || filtros == null || filtros.coincide(scrim)) {
+                consumidor.accept(scrim);
             }
         }
-
-        return true;
     }
 
     @Override
@@ -258,17 +248,25 @@ public class RepositorioScrimJson implements RepositorioScrim {
             return false;
         }
 
-        // Buscar el índice del scrim existente
-        for (int i = 0; i < scrims.size(); i++) {
-            if (scrims.get(i).getId().equals(scrim.getId())) {
-                scrims.set(i, scrim);
-                guardarScrims(); // Persistir en JSON
-                return true;
+        synchronized (this) {
+            // Buscar el índice del scrim existente
+            int posicion = -1;
+            for (int i = 0; i < scrims.size() && posicion < 0; i++) {
+                if (scrims.get(i).getId().equals(scrim.getId())) {
+                    posicion = i;
+                }
             }
-        }
 
-        // Si no existe, no actualizamos nada
-        return false;
+            // Si no existe, no actualizamos nada
+            if (posicion < 0) {
+                return false;
+            }
+            scrims.set(posicion, scrim);
+            indice.indexar(scrim);
+            guardarScrims(); // Persistir en JSON
+        }
+        notificarGuardado(scrim);
+        return true;
     }
 
     @Override
@@ -277,15 +275,25 @@ public class RepositorioScrimJson implements RepositorioScrim {
             return false;
         }
 
-        boolean eliminado = scrims.removeIf(s -> s.getId().equals(id));
-        if (eliminado) {
+        Scrim eliminado;
+        synchronized (this) {
+            eliminado = buscarPorId(id);
+            if (eliminado == null) {
+                return false;
+            }
+
+            scrims.removeIf(s -> s.getId().equals(id));
+            indice.desindexar(id);
             guardarScrims(); // Persistir en JSON
         }
-        return eliminado;
+        for (ObservadorRepositorio<Scrim> observador : observadores) {
+            observador.entidadEliminada(eliminado);
+        }
+        return true;
     }
 
     @Override
-    public int contar() {
+    public synchronized int contar() {
         return scrims.size();
     }
 
@@ -294,8 +302,12 @@ public class RepositorioScrimJson implements RepositorioScrim {
      * También elimina el contenido del archivo JSON.
      */
     public void limpiar() {
-        scrims.clear();
-        guardarScrims();
+        synchronized (this) {
+            scrims.clear();
+            indice.reconstruir(scrims);
+            guardarScrims();
+        }
+        notificarReinicio();
     }
 
     /**
@@ -303,6 +315,35 @@ public class RepositorioScrimJson implements RepositorioScrim {
      * Útil para sincronizar con cambios externos.
      */
     public void recargar() {
-        this.scrims = cargarScrims();
+        synchronized (this) {
+            this.scrims = cargarScrims();
+            this.indice.reconstruir(scrims);
+        }
+        notificarReinicio();
+    }
+
+    @Override
+    public void agregarObservador(ObservadorRepositorio<Scrim> observador) {
+        if (observador == null) {
+            throw new IllegalArgumentException("El observador no puede ser null");
+        }
+        observadores.add(observador);
+    }
+
+    @Override
+    public void quitarObservador(ObservadorRepositorio<Scrim> observador) {
+        observadores.remove(observador);
+    }
+
+    private void notificarGuardado(Scrim scrim) {
+        for (ObservadorRepositorio<Scrim> observador : observadores) {
+            observador.entidadGuardada(scrim);
+        }
+    }
+
+    private void notificarReinicio() {
+        for (ObservadorRepositorio<Scrim> observador : observadores) {
+            observador.repositorioReiniciado();
+        }
     }
 }
@@ -0,0 +1,159 @@
+package infraestructura.persistencia.implementacion;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import aplicacion.builders.FiltrosScrim;
+import dominio.modelo.Scrim;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.IndiceBitmapScrims;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioScrim;
+
+/**
+ * Implementación en memoria del repositorio de scrims, sin persistencia.
+ *
+ * Misma semántica que {@link RepositorioScrimJson} (incluido el índice de
+ * bitmaps para los filtros de baja cardinalidad y la notificación a los
+ * observadores) pero sin escribir data/scrims.json, y con búsqueda por id en
+ * O(1). Pensada para simulaciones de carga y pruebas.
+ *
+ * Se instala con {@code RepositorioFactory.setRepositorioScrim(...)}.
+ *
+ * @author eScrims Team
+ */
+public class RepositorioScrimMemoria implements RepositorioScrim {
+
+    private final Map<String, Scrim> scrims = new LinkedHashMap<>();
+    private final IndiceBitmapScrims indice = new IndiceBitmapScrims();
+    private final List<ObservadorRepositorio<Scrim>> observadores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean guardar(Scrim scrim) {
+        if (scrim == null) {
+            return false;
+        }
+        synchronized (this) {
+            if (scrims.containsKey(scrim.getId())) {
+                return false; // Ya existe
+            }
+            scrims.put(scrim.getId(), scrim);
+            indice.indexar(scrim);
+        }
+        notificarGuardado(scrim);
+        return true;
+    }
+
+    @Override
+    public synchronized Scrim buscarPorId(String id) {
+        return id != null ? scrims.get(id) : null;
+    }
+
+    @Override
+    public synchronized List<Scrim> obtenerTodos() {
+        return new ArrayList<>(scrims.values());
+    }
+
+    @Override
+    public List<Scrim> buscarConFiltros(FiltrosScrim filtros) {
+        if (filtros == null) {
+            return obtenerTodos();
+        }
+        if (indice.puedeResolver(filtros)) {
+            return indice.buscar(filtros);
+        }
+        return EscaneoParalelo.getInstance().filtrar(obtenerTodos(), filtros::coincide);
+    }
+
+    @Override
+    public void recorrerConFiltros(FiltrosScrim filtros, Consumer<Scrim> consumidor) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("El consumidor no puede ser null");
+        }
+        if (indice.puedeResolver(filtros)) {
+            for (Scrim scrim : indice.buscar(filtros)) {
+                consumidor.accept(scrim);
+            }
+            return;
+        }
+        // Snapshot para que el consumidor pueda escribir en el repositorio
+        for (Scrim scrim : obtenerTodos()) {
+            if (filtros == null || filtros.coincide(scrim)) {
+                consumidor.accept(scrim);
+            }
+        }
+    }
+
+    @Override
+    public boolean actualizar(Scrim scrim) {
+        if (scrim == null || scrim.getId() == null) {
+            return false;
+        }
+        synchronized (this) {
+            if (!scrims.containsKey(scrim.getId())) {
+                return false;
+            }
+            scrims.put(scrim.getId(), scrim);
+            indice.indexar(scrim);
+        }
+        notificarGuardado(scrim);
+        return true;
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        Scrim eliminado;
+        synchronized (this) {
+            eliminado = id != null ? scrims.remove(id) : null;
+            if (eliminado == null) {
+                return false;
+            }
+            indice.desindexar(id);
+        }
+        for (ObservadorRepositorio<Scrim> observador : observadores) {
+            observador.entidadEliminada(eliminado);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized int contar() {
+        return scrims.size();
+    }
+
+    /**
+     * Elimina todos los scrims.
+     */
+    public void limpiar() {
+        synchronized (this) {
+            scrims.clear();
+            indice.reconstruir(new ArrayList<>());
+        }
+        for (ObservadorRepositorio<Scrim> observador : observadores) {
+            observador.repositorioReiniciado();
+        }
+    }
+
+    @Override
+    public void agregarObservador(ObservadorRepositorio<Scrim> observador) {
+        if (observador == null) {
+            throw new IllegalArgumentException("El observador no puede ser null");
+        }
+        observadores.add(observador);
+    }
+
+    @Override
+    public void quitarObservador(ObservadorRepositorio<Scrim> observador) {
+        observadores.remove(observador);
+    }
+
+    private void notificarGuardado(Scrim scrim) {
+        for (ObservadorRepositorio<Scrim> observador : observadores) {
+            observador.entidadGuardada(scrim);
+        }
+    }
+}
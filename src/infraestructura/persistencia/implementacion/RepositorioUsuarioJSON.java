@@ -8,6 +8,7 @@ import com.google.gson.reflect.TypeToken;
 
 import dominio.modelo.Usuario;
 import dominio.juegos.Juego;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
 import infraestructura.persistencia.repository.RepositorioUsuario;
 import infraestructura.persistencia.adapters.JuegoAdapter;
 
@@ -26,15 +27,21 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implementación de RepositorioUsuario que guarda los datos en un archivo JSON.
+ *
+ * La lista y la escritura del archivo se protegen con el monitor del
+ * repositorio, ya que los servicios de matchmaking en segundo plano lo usan a
+ * la vez que la interfaz. Los observadores se notifican fuera del monitor.
  */
 public class RepositorioUsuarioJSON implements RepositorioUsuario {
 
     private static final String ARCHIVO_JSON = "data/usuarios.json";
     private final Gson gson;
     private List<Usuario> usuarios;
+    private final List<ObservadorRepositorio<Usuario>> observadores = new CopyOnWriteArrayList<>();
 
     public RepositorioUsuarioJSON() {
         // Register adapters for java.time to avoid reflection errors under the module
@@ -128,22 +135,27 @@ public class RepositorioUsuarioJSON implements RepositorioUsuario {
             throw new IllegalArgumentException("El usuario no puede ser nulo");
         }
 
-        // Si el usuario ya existe (mismo email), actualizarlo
-        for (int i = 0; i < usuarios.size(); i++) {
-            if (usuarios.get(i).getEmail().equals(usuario.getEmail())) {
-                usuarios.set(i, usuario);
-                guardarUsuarios();
-                return;
+        synchronized (this) {
+            // Si el usuario ya existe (mismo email), actualizarlo
+            boolean existente = false;
+            for (int i = 0; i < usuarios.size() && !existente; i++) {
+                if (usuarios.get(i).getEmail().equals(usuario.getEmail())) {
+                    usuarios.set(i, usuario);
+                    existente = true;
+                }
             }
-        }
 
-        // Si no existe, agregarlo
-        usuarios.add(usuario);
-        guardarUsuarios();
+            // Si no existe, agregarlo
+            if (!existente) {
+                usuarios.add(usuario);
+            }
+            guardarUsuarios();
+        }
+        notificarGuardado(usuario);
     }
 
     @Override
-    public Usuario buscarPorId(String id) {
+    public synchronized Usuario buscarPorId(String id) {
         if (id == null || id.trim().isEmpty()) {
             return null;
         }
@@ -154,7 +166,7 @@ public class RepositorioUsuarioJSON implements RepositorioUsuario {
     }
 
     @Override
-    public Usuario buscarPorEmail(String email) {
+    public synchronized Usuario buscarPorEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             return null;
         }
@@ -165,7 +177,7 @@ public class RepositorioUsuarioJSON implements RepositorioUsuario {
     }
 
     @Override
-    public Usuario buscarPorUsername(String username) {
+    public synchronized Usuario buscarPorUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
             return null;
         }
@@ -176,7 +188,7 @@ public class RepositorioUsuarioJSON implements RepositorioUsuario {
     }
 
     @Override
-    public List<Usuario> listarTodos() {
+    public synchronized List<Usuario> listarTodos() {
         return new ArrayList<>(usuarios);
     }
 
@@ -186,15 +198,24 @@ public class RepositorioUsuarioJSON implements RepositorioUsuario {
             return false;
         }
 
-        boolean eliminado = usuarios.removeIf(u -> email.equalsIgnoreCase(u.getEmail()));
-        if (eliminado) {
+        Usuario eliminado;
+        synchronized (this) {
+            eliminado = buscarPorEmail(email);
+            if (eliminado == null) {
+                return false;
+            }
+
+            usuarios.removeIf(u -> email.equalsIgnoreCase(u.getEmail()));
             guardarUsuarios();
         }
-        return eliminado;
+        for (ObservadorRepositorio<Usuario> observador : observadores) {
+            observador.entidadEliminada(eliminado);
+        }
+        return true;
     }
 
     @Override
-    public boolean existeEmail(String email) {
+    public synchronized boolean existeEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             return false;
         }
@@ -203,11 +224,30 @@ public class RepositorioUsuarioJSON implements RepositorioUsuario {
     }
 
     @Override
-    public boolean existeUsername(String username) {
+    public synchronized boolean existeUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
             return false;
         }
         return usuarios.stream()
                 .anyMatch(u -> username.equalsIgnoreCase(u.getUsername()));
     }
+
+    @Override
+    public void agregarObservador(ObservadorRepositorio<Usuario> observador) {
+        if (observador == null) {
+            throw new IllegalArgumentException("El observador no puede ser nulo");
+        }
+        observadores.add(observador);
+    }
+
+    @Override
+    public void quitarObservador(ObservadorRepositorio<Usuario> observador) {
+        observadores.remove(observador);
+    }
+
+    private void notificarGuardado(Usuario usuario) {
+        for (ObservadorRepositorio<Usuario> observador : observadores) {
+            observador.entidadGuardada(usuario);
+        }
+    }
 }
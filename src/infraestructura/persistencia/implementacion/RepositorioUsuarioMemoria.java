@@ -0,0 +1,134 @@
+package infraestructura.persistencia.implementacion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dominio.modelo.Usuario;
+import infraestructura.persistencia.repository.ObservadorRepositorio;
+import infraestructura.persistencia.repository.RepositorioUsuario;
+
+/**
+ * Implementación en memoria del repositorio de usuarios, sin persistencia.
+ *
+ * Pensada para simulaciones de carga y pruebas con poblaciones grandes
+ * (cientos de miles de usuarios), donde reescribir data/usuarios.json en
+ * cada guardado dominaría los tiempos medidos. Las búsquedas por id, email y
+ * username son O(1); email y username no distinguen mayúsculas, igual que en
+ * {@link RepositorioUsuarioJSON}.
+ *
+ * Se instala con {@code RepositorioFactory.setRepositorioUsuario(...)}.
+ *
+ * @author eScrims Team
+ */
+public class RepositorioUsuarioMemoria implements RepositorioUsuario {
+
+    // Orden de inserción: listarTodos() devuelve los usuarios en orden de alta
+    private final Map<String, Usuario> porId = new LinkedHashMap<>();
+    private final Map<String, String> idPorEmail = new HashMap<>();
+    private final Map<String, String> idPorUsername = new HashMap<>();
+    private final List<ObservadorRepositorio<Usuario>> observadores = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void guardar(Usuario usuario) {
+        if (usuario == null) {
+            throw new IllegalArgumentException("El usuario no puede ser nulo");
+        }
+        synchronized (this) {
+            // Mismo criterio que el repositorio JSON: el email identifica al usuario
+            String idAnterior = idPorEmail.get(clave(usuario.getEmail()));
+            if (idAnterior != null && !idAnterior.equals(usuario.getId())) {
+                Usuario anterior = porId.remove(idAnterior);
+                idPorUsername.remove(clave(anterior.getUsername()));
+            }
+            Usuario previo = porId.put(usuario.getId(), usuario);
+            if (previo != null) {
+                idPorEmail.remove(clave(previo.getEmail()));
+                idPorUsername.remove(clave(previo.getUsername()));
+            }
+            idPorEmail.put(clave(usuario.getEmail()), usuario.getId());
+            idPorUsername.put(clave(usuario.getUsername()), usuario.getId());
+        }
+        for (ObservadorRepositorio<Usuario> observador : observadores) {
+            observador.entidadGuardada(usuario);
+        }
+    }
+
+    @Override
+    public synchronized Usuario buscarPorId(String id) {
+        return id != null ? porId.get(id) : null;
+    }
+
+    @Override
+    public synchronized Usuario buscarPorEmail(String email) {
+        String id = email != null ? idPorEmail.get(clave(email)) : null;
+        return id != null ? porId.get(id) : null;
+    }
+
+    @Override
+    public synchronized Usuario buscarPorUsername(String username) {
+        String id = username != null ? idPorUsername.get(clave(username)) : null;
+        return id != null ? porId.get(id) : null;
+    }
+
+    @Override
+    public synchronized List<Usuario> listarTodos() {
+        return new ArrayList<>(porId.values());
+    }
+
+    @Override
+    public boolean eliminar(String email) {
+        Usuario eliminado;
+        synchronized (this) {
+            eliminado = buscarPorEmail(email);
+            if (eliminado == null) {
+                return false;
+            }
+            porId.remove(eliminado.getId());
+            idPorEmail.remove(clave(eliminado.getEmail()));
+            idPorUsername.remove(clave(eliminado.getUsername()));
+        }
+        for (ObservadorRepositorio<Usuario> observador : observadores) {
+            observador.entidadEliminada(eliminado);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean existeEmail(String email) {
+        return email != null && idPorEmail.containsKey(clave(email));
+    }
+
+    @Override
+    public synchronized boolean existeUsername(String username) {
+        return username != null && idPorUsername.containsKey(clave(username));
+    }
+
+    /**
+     * Cantidad de usuarios guardados.
+     */
+    public synchronized int contar() {
+        return porId.size();
+    }
+
+    @Override
+    public void agregarObservador(ObservadorRepositorio<Usuario> observador) {
+        if (observador == null) {
+            throw new IllegalArgumentException("El observador no puede ser nulo");
+        }
+        observadores.add(observador);
+    }
+
+    @Override
+    public void quitarObservador(ObservadorRepositorio<Usuario> observador) {
+        observadores.remove(observador);
+    }
+
+    private static String clave(String valor) {
+        return valor == null ? "" : valor.trim().toLowerCase(Locale.ROOT);
+    }
+}
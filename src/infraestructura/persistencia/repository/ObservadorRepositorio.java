@@ -0,0 +1,39 @@
+package infraestructura.persistencia.repository;
+
+/**
+ * Observador de cambios en un repositorio.
+ * 
+ * Permite que estructuras derivadas en memoria (particiones por región,
+ * índices, etc.) se mantengan sincronizadas con las escrituras del
+ * repositorio sin tener que recorrerlo completo en cada consulta.
+ * 
+ * Las notificaciones se emiten de forma sincrónica, después de aplicar el
+ * cambio en memoria, en el mismo hilo que hizo la escritura.
+ * 
+ * @param <T> tipo de entidad del repositorio
+ * @author eScrims Team
+ */
+public interface ObservadorRepositorio<T> {
+
+    /**
+     * Se invoca cuando una entidad se agrega o se actualiza.
+     * 
+     * @param entidad entidad guardada (estado actual)
+     */
+    void entidadGuardada(T entidad);
+
+    /**
+     * Se invoca cuando una entidad se elimina.
+     * 
+     * @param entidad entidad eliminada
+     */
+    void entidadEliminada(T entidad);
+
+    /**
+     * Se invoca cuando el contenido del repositorio se reemplaza por completo
+     * (limpieza o recarga desde disco). Los observadores deben reconstruir
+     * su estado a partir del repositorio.
+     */
+    default void repositorioReiniciado() {
+    }
+}
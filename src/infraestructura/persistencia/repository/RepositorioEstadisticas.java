@@ -124,7 +124,8 @@ public interface RepositorioEstadisticas {
     // ========== COMENTARIOS ==========
 
     /**
-     * Guarda un comentario.
+     * Guarda un comentario. Si no tiene id o su id ya está en uso, se le
+     * asigna uno nuevo (el id identifica al comentario en la búsqueda).
      * 
      * @param comentario Comentario a guardar
      */
@@ -153,6 +154,17 @@ public interface RepositorioEstadisticas {
      */
     void moderarComentario(String comentarioId, boolean aprobado);
 
+    /**
+     * Busca comentarios por palabras clave en todos los scrims, ordenados por
+     * relevancia. La búsqueda ignora mayúsculas y acentos.
+     * 
+     * @param consulta Palabras clave a buscar
+     * @param estado   Estado de moderación requerido (null para cualquiera)
+     * @param limite   Cantidad máxima de resultados
+     * @return Lista de comentarios encontrados, del más relevante al menos
+     */
+    List<Comentario> buscarComentarios(String consulta, Comentario.EstadoModeracion estado, int limite);
+
     // ========== UTILIDADES ==========
 
     /**
@@ -1,6 +1,7 @@
 package infraestructura.persistencia.repository;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import aplicacion.builders.FiltrosScrim;
 import dominio.modelo.Scrim;
@@ -48,6 +49,16 @@ public interface RepositorioScrim {
      */
     List<Scrim> buscarConFiltros(FiltrosScrim filtros);
 
+    /**
+     * Recorre los scrims que cumplen los filtros sin materializar el resultado.
+     * Permite a los llamadores aplicar top-K u otras agregaciones en streaming.
+     * Los parámetros null de los filtros se ignoran.
+     * 
+     * @param filtros     objeto con los criterios de búsqueda (null = todos)
+     * @param consumidor  acción a aplicar sobre cada scrim que cumple
+     */
+    void recorrerConFiltros(FiltrosScrim filtros, Consumer<Scrim> consumidor);
+
     /**
      * Actualiza un scrim existente en el repositorio.
      * 
@@ -70,4 +81,19 @@ public interface RepositorioScrim {
      * @return número de scrims en el repositorio
      */
     int contar();
+
+    /**
+     * Registra un observador que será notificado de cada alta, actualización
+     * o baja de scrims.
+     * 
+     * @param observador el observador a registrar
+     */
+    void agregarObservador(ObservadorRepositorio<Scrim> observador);
+
+    /**
+     * Quita un observador previamente registrado.
+     * 
+     * @param observador el observador a quitar
+     */
+    void quitarObservador(ObservadorRepositorio<Scrim> observador);
 }
@@ -72,4 +72,19 @@ public interface RepositorioUsuario {
      * @return true si existe, false en caso contrario
      */
     boolean existeUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Registra un observador que será notificado de cada alta, modificación o
+     * baja de usuarios.
+     * 
+     * @param observador El observador a registrar
+     */
+    void agregarObservador(ObservadorRepositorio<Usuario> observador);
+
+    /**
+     * Quita un observador previamente registrado.
+     * 
+     * @param observador El observador a quitar
+     */
+    void quitarObservador(ObservadorRepositorio<Usuario> observador);
+}
@@ -4,10 +4,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import aplicacion.builders.FiltrosScrim;
+import aplicacion.builders.OrdenScrim;
 import aplicacion.services.ScrimService;
 import dominio.juegos.Juego;
 import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
 import dominio.valueobjects.formatosScrims.ScrimFormat;
+import infraestructura.persistencia.repository.RepositorioFactory;
 import presentacion.view.BuscarScrimView;
 import presentacion.view.CrearScrimView;
 
@@ -24,6 +27,9 @@ import presentacion.view.CrearScrimView;
  */
 public class ScrimController {
 
+    /** Cantidad de resultados a mostrar cuando la búsqueda se ordena. */
+    private static final int LIMITE_RESULTADOS_ORDENADOS = 20;
+
     private final ScrimService scrimService;
     private final CrearScrimView crearScrimView;
     private final BuscarScrimView buscarScrimView;
@@ -114,8 +120,18 @@ public class ScrimController {
             // 1. Solicitar filtros a la vista
             FiltrosScrim filtros = buscarScrimView.solicitarFiltros();
 
-            // 2. Llamar al servicio
-            List<Scrim> scrims = scrimService.buscarScrims(filtros);
+            OrdenScrim orden = buscarScrimView.solicitarOrden();
+
+            // 2. Llamar al servicio (con orden solo se traen los mejores resultados)
+            List<Scrim> scrims;
+            if (orden == null) {
+                scrims = scrimService.buscarScrims(filtros);
+            } else {
+                Usuario referencia = orden.requiereUsuario()
+                        ? RepositorioFactory.getRepositorioUsuario().buscarPorId(usuarioActualId)
+                        : null;
+                scrims = scrimService.buscarScrims(filtros, orden, LIMITE_RESULTADOS_ORDENADOS, referencia);
+            }
 
             // 3. Mostrar resultados
             if (scrims.isEmpty()) {
@@ -6,6 +6,7 @@ import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Scanner;
 
+import aplicacion.builders.OrdenScrim;
 import dominio.modelo.Scrim;
 import dominio.juegos.JuegosRegistry;
 import dominio.juegos.Juego;
@@ -314,6 +315,35 @@ public class BuscarScrimView {
         return builder.build();
     }
 
+    /**
+     * Solicita un criterio de orden para mostrar solo los mejores resultados
+     * (opcional).
+     * 
+     * @return criterio elegido, o null para listar todo sin ordenar
+     */
+    public OrdenScrim solicitarOrden() {
+        System.out.println("\n--- Ordenar resultados ---");
+
+        OrdenScrim[] ordenes = OrdenScrim.values();
+        for (int i = 0; i < ordenes.length; i++) {
+            System.out.println((i + 1) + ". " + ordenes[i].getDescripcion());
+        }
+        System.out.println((ordenes.length + 1) + ". Sin orden (mostrar todos)");
+        System.out.print("Opción: ");
+
+        String input = scanner.nextLine().trim();
+        try {
+            int opcion = Integer.parseInt(input);
+            if (opcion >= 1 && opcion <= ordenes.length) {
+                return ordenes[opcion - 1];
+            }
+        } catch (NumberFormatException e) {
+            // Entrada inválida, sin orden
+        }
+
+        return null;
+    }
+
     /**
      * Confirma si se desea eliminar un scrim.
      */
@@ -8,6 +8,7 @@ import dominio.estadisticas.EstadisticasJugador;
 import dominio.estadisticas.EstadisticasScrim;
 import dominio.estadisticas.ReporteConducta;
 import dominio.estadisticas.SistemaModeracion;
+import infraestructura.busqueda.EscaneoParalelo;
 
 public class EstadisticasView {
     private Scanner scanner;
@@ -198,9 +199,8 @@ public class EstadisticasView {
      */
     public String seleccionarScrimEnJuego(List<dominio.modelo.Scrim> scrims) {
         // Filtrar solo scrims en juego
-        List<dominio.modelo.Scrim> scrimsEnJuego = scrims.stream()
-                .filter(scrim -> "EN_JUEGO".equals(scrim.getEstado()))
-                .toList();
+        List<dominio.modelo.Scrim> scrimsEnJuego = EscaneoParalelo.getInstance()
+                .filtrar(scrims, scrim -> "EN_JUEGO".equals(scrim.getEstado()));
 
         if (scrimsEnJuego.isEmpty()) {
             System.out.println("No hay scrims en juego actualmente.");
@@ -375,7 +375,8 @@ public class EstadisticasView {
         System.out.println("2. Ver comentarios de scrim");
         System.out.println("3. Ver mis comentarios");
         System.out.println("4. Moderar comentarios (admin)");
-        System.out.println("5. Volver");
+        System.out.println("5. Buscar comentarios por palabras clave");
+        System.out.println("6. Volver");
         System.out.print("Seleccione una opción: ");
     }
 
@@ -384,6 +385,11 @@ public class EstadisticasView {
         return scanner.nextLine();
     }
 
+    public String solicitarPalabrasClave() {
+        System.out.print("Palabras clave a buscar: ");
+        return scanner.nextLine();
+    }
+
     public int solicitarRating() {
         System.out.print("Rating (1-5 estrellas): ");
         try {
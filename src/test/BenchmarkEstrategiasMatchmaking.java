@@ -0,0 +1,252 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.IndiceKD;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.busqueda.TopKClaves;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.strategies.ByCompositeStrategy;
+import infraestructura.matchmaking.strategies.ByHistoryStrategy;
+import infraestructura.matchmaking.strategies.ByLatencyStrategy;
+import infraestructura.matchmaking.strategies.ByMMRStrategy;
+
+/**
+ * Benchmark de las estrategias de matchmaking sobre un pool sintético.
+ *
+ * Compara MMR, Latency, History y Composite (vecinos más cercanos en un
+ * árbol k-d) en dos aspectos:
+ * 1. Latencia de la selección (µs por scrim, sobre {@link PoolCandidatos})
+ * 2. Calidad del lobby: plazas cubiertas, desvío de rango respecto del centro
+ * de la ventana, jugadores fuera de la ventana, latencia media, jugadores
+ * por encima de la latencia máxima y fiabilidad media
+ *
+ * Antes de medir verifica que el árbol k-d devuelva exactamente lo mismo que
+ * un barrido lineal con la misma distancia; si no, termina con error.
+ *
+ * Uso: java test.BenchmarkEstrategiasMatchmaking [cantidadUsuarios] [cantidadScrims]
+ *
+ * @author eScrims Team
+ */
+public class BenchmarkEstrategiasMatchmaking {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final LocalDateTime FECHA_BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    public static void main(String[] args) {
+        int cantidadUsuarios = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int cantidadScrims = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        System.out.println("═".repeat(80));
+        System.out.println("     BENCHMARK DE ESTRATEGIAS DE MATCHMAKING");
+        System.out.println("═".repeat(80));
+        System.out.println("Usuarios sintéticos: " + cantidadUsuarios + " | Scrims: " + cantidadScrims);
+
+        Random random = new Random(42);
+        List<Usuario> usuarios = generarUsuarios(cantidadUsuarios, random);
+        List<Scrim> scrims = generarScrims(cantidadScrims, random);
+        PoolCandidatos pool = PoolCandidatos.desde(usuarios, JUEGO.getNombre());
+
+        long inicio = System.nanoTime();
+        IndiceKD indice = IndiceKD.desde(pool);
+        long tiempoIndice = System.nanoTime() - inicio;
+        System.out.printf("%nConstrucción árbol k-d: %8.1f ms (%d jugadores con rango)%n",
+                tiempoIndice / 1e6, indice.getTamanio());
+
+        // Verificación contra barrido lineal
+        for (Scrim scrim : scrims) {
+            int[] arbol = indice.masCercanos(ByCompositeStrategy.calcularObjetivo(scrim),
+                    ByCompositeStrategy.calcularPesos(scrim), scrim.getRangoMin(), scrim.getRangoMax(),
+                    scrim.getPlazas());
+            int[] lineal = barridoLineal(pool, scrim);
+            if (!Arrays.equals(arbol, lineal)) {
+                System.err.println("❌ El árbol k-d difiere del barrido lineal: "
+                        + Arrays.toString(arbol) + " vs " + Arrays.toString(lineal));
+                System.exit(1);
+            }
+        }
+        System.out.println("✅ Árbol k-d idéntico al barrido lineal en " + scrims.size() + " scrims");
+
+        ByCompositeStrategy compuesta = new ByCompositeStrategy();
+        MatchmakingStrategy[] estrategias = { new ByMMRStrategy(), new ByLatencyStrategy(),
+                new ByHistoryStrategy(), compuesta };
+        List<Function<Scrim, List<Usuario>>> selecciones = new ArrayList<>();
+        selecciones.add(scrim -> estrategias[0].seleccionar(pool, scrim));
+        selecciones.add(scrim -> estrategias[1].seleccionar(pool, scrim));
+        selecciones.add(scrim -> estrategias[2].seleccionar(pool, scrim));
+        selecciones.add(scrim -> compuesta.seleccionarDesdeIndice(indice, scrim));
+
+        System.out.println("\n" + "─".repeat(80));
+        System.out.printf("%-10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "Estrategia", "µs/scrim", "Plazas", "DesvRango", "FueraRng", "Lat(ms)", "SobreLat", "Fiabil.");
+        System.out.println("─".repeat(80));
+        for (int e = 0; e < estrategias.length; e++) {
+            double micros = medir(scrims, selecciones.get(e));
+            Calidad calidad = evaluar(scrims, selecciones.get(e));
+            System.out.printf("%-10s %10.1f %7.1f%% %9.3f %8.1f%% %9.1f %8.1f%% %9.3f%n",
+                    estrategias[e].getNombre(), micros, calidad.plazasCubiertas * 100, calidad.desvioRango,
+                    calidad.fueraDeRango * 100, calidad.latenciaMedia, calidad.sobreLatencia * 100,
+                    calidad.fiabilidadMedia);
+        }
+        System.out.println("─".repeat(80));
+        System.out.println("DesvRango: |rango - centro| / media ventana | Fiabil.: score de historial / "
+                + (int) IndiceKD.SCORE_MAXIMO);
+        System.out.println("═".repeat(80));
+    }
+
+    // ========== DATOS SINTÉTICOS ==========
+
+    private static List<Usuario> generarUsuarios(int cantidad, Random random) {
+        String nombreJuego = JUEGO.getNombre();
+        String[] roles = { "Top", "Jungle", "Mid", "ADC", "Support" };
+        List<Usuario> usuarios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Usuario usuario = new Usuario("bench" + i, "bench" + i + "@escrims.com", "pass");
+            if (random.nextInt(10) != 0) {
+                int rango = (int) Math.round(50 + random.nextGaussian() * 15);
+                usuario.setRangoParaJuego(nombreJuego, Math.max(1, Math.min(100, rango)));
+            }
+            usuario.setLatenciaPromedio(10 + (int) Math.abs(random.nextGaussian() * 80));
+            int partidas = random.nextInt(300);
+            usuario.setHistorial(new HistorialUsuario(usuario.getId(), partidas,
+                    (int) (partidas * random.nextDouble() * 0.4), 0.3 + random.nextDouble() * 0.7,
+                    FECHA_BASE));
+            usuario.agregarRolPreferido(JUEGO, roles[random.nextInt(roles.length)]);
+            usuarios.add(usuario);
+        }
+        return usuarios;
+    }
+
+    private static List<Scrim> generarScrims(int cantidad, Random random) {
+        List<Scrim> scrims = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int rangoMin = 10 + random.nextInt(60);
+            Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), FECHA_BASE.plusDays(1),
+                    rangoMin, rangoMin + 5 + random.nextInt(25),
+                    new ArrayList<>(), 40 + random.nextInt(110), 10);
+            scrims.add(scrim);
+        }
+        return scrims;
+    }
+
+    // ========== VERIFICACIÓN ==========
+
+    /** Misma distancia y desempate que {@link IndiceKD}, recorriendo todo el pool. */
+    private static int[] barridoLineal(PoolCandidatos pool, Scrim scrim) {
+        double[] objetivo = ByCompositeStrategy.calcularObjetivo(scrim);
+        double[] pesos = ByCompositeStrategy.calcularPesos(scrim);
+        int[] rangos = pool.getRangos();
+        int[] latencias = pool.getLatencias();
+        TopKClaves mejores = new TopKClaves(scrim.getPlazas());
+        for (int i = 0; i < pool.getTamanio(); i++) {
+            if (rangos[i] == PoolCandidatos.SIN_RANGO || rangos[i] < scrim.getRangoMin()
+                    || rangos[i] > scrim.getRangoMax()) {
+                continue;
+            }
+            double[] punto = { rangos[i], latencias[i] / IndiceKD.ESCALA_LATENCIA, fiabilidad(pool, i) };
+            double distancia = 0;
+            for (int d = 0; d < IndiceKD.DIMENSIONES; d++) {
+                double diferencia = punto[d] - objetivo[d];
+                distancia += pesos[d] * diferencia * diferencia;
+            }
+            mejores.ofrecer(TopKClaves.clave(IndiceKD.cuantizar(distancia), i));
+        }
+        long[] ordenadas = mejores.obtenerOrdenadas();
+        int[] posiciones = new int[ordenadas.length];
+        for (int i = 0; i < ordenadas.length; i++) {
+            posiciones[i] = TopKClaves.posicion(ordenadas[i]);
+        }
+        return posiciones;
+    }
+
+    private static double fiabilidad(PoolCandidatos pool, int i) {
+        if (!pool.getConHistorial()[i]) {
+            return IndiceKD.FIABILIDAD_SIN_HISTORIAL;
+        }
+        return HistorialUsuario.calcularScoreMatchmaking(pool.getFairPlay()[i], pool.getTasasAbandono()[i],
+                pool.getPartidasJugadas()[i]) / IndiceKD.SCORE_MAXIMO;
+    }
+
+    // ========== MEDICIÓN ==========
+
+    private static double medir(List<Scrim> scrims, Function<Scrim, List<Usuario>> seleccion) {
+        long sumidero = 0;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            for (Scrim scrim : scrims) {
+                sumidero += seleccion.apply(scrim).size();
+            }
+        }
+        int rondas = 5;
+        long inicio = System.nanoTime();
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            for (Scrim scrim : scrims) {
+                sumidero += seleccion.apply(scrim).size();
+            }
+        }
+        long total = System.nanoTime() - inicio;
+        if (sumidero == -1) {
+            System.out.println(sumidero);
+        }
+        return total / 1e3 / (rondas * (double) scrims.size());
+    }
+
+    private static Calidad evaluar(List<Scrim> scrims, Function<Scrim, List<Usuario>> seleccion) {
+        String nombreJuego = JUEGO.getNombre();
+        Calidad calidad = new Calidad();
+        long plazas = 0;
+        long elegidos = 0;
+        long conRango = 0;
+        for (Scrim scrim : scrims) {
+            List<Usuario> seleccionados = seleccion.apply(scrim);
+            plazas += scrim.getPlazas();
+            elegidos += seleccionados.size();
+            double centro = (scrim.getRangoMin() + scrim.getRangoMax()) / 2.0;
+            double semiancho = Math.max(1.0, (scrim.getRangoMax() - scrim.getRangoMin()) / 2.0);
+            for (Usuario usuario : seleccionados) {
+                Integer rango = usuario.getRangoParaJuego(nombreJuego);
+                if (rango != null) {
+                    conRango++;
+                    calidad.desvioRango += Math.abs(rango - centro) / semiancho;
+                }
+                if (rango == null || rango < scrim.getRangoMin() || rango > scrim.getRangoMax()) {
+                    calidad.fueraDeRango++;
+                }
+                calidad.latenciaMedia += usuario.getLatenciaPromedio();
+                if (usuario.getLatenciaPromedio() > scrim.getLatenciaMax()) {
+                    calidad.sobreLatencia++;
+                }
+                calidad.fiabilidadMedia += usuario.getHistorial() == null ? IndiceKD.FIABILIDAD_SIN_HISTORIAL
+                        : usuario.getHistorial().getScoreMatchmaking() / IndiceKD.SCORE_MAXIMO;
+            }
+        }
+        calidad.plazasCubiertas = (double) elegidos / plazas;
+        calidad.desvioRango = conRango == 0 ? 0 : calidad.desvioRango / conRango;
+        if (elegidos > 0) {
+            calidad.fueraDeRango /= elegidos;
+            calidad.latenciaMedia /= elegidos;
+            calidad.sobreLatencia /= elegidos;
+            calidad.fiabilidadMedia /= elegidos;
+        }
+        return calidad;
+    }
+
+    private static class Calidad {
+        double plazasCubiertas;
+        double desvioRango;
+        double fueraDeRango;
+        double latenciaMedia;
+        double sobreLatencia;
+        double fiabilidadMedia;
+    }
+}
@@ -0,0 +1,292 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import aplicacion.builders.FiltrosScrim;
+import dominio.estados.ScrimStateFactory;
+import dominio.juegos.CounterStrike;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.Valorant;
+import dominio.juegos.formatos.Formato2v2WingmanCS;
+import dominio.juegos.formatos.Formato5v5CompetitiveCS;
+import dominio.juegos.formatos.Formato5v5CompetitiveValorant;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.juegos.formatos.FormatoARAMLoL;
+import dominio.modelo.Scrim;
+import dominio.valueobjects.formatosScrims.ScrimFormat;
+import infraestructura.busqueda.IndiceBitmapScrims;
+
+/**
+ * Benchmark de búsquedas multi-filtro sobre scrims sintéticos.
+ *
+ * Compara tres enfoques para consultas que combinan 3 a 5 filtros de baja
+ * cardinalidad (juego, formato, estado, latencia, franja horaria):
+ * 1. Escaneo completo de la lista
+ * 2. Índices hash (id de scrim por valor) con intersección de conjuntos
+ * 3. Índice de bitmaps comprimidos (IndiceBitmapScrims)
+ *
+ * Los dos índices cubren las mismas dimensiones: juego, formato, latencia y
+ * franja horaria. El estado no se indexa (ver IndiceBitmapScrims) y, como el
+ * rango, se verifica sobre los candidatos al final.
+ *
+ * Todos los enfoques deben devolver la misma cantidad de resultados; si no,
+ * el benchmark termina con error.
+ *
+ * Uso: java test.BenchmarkIndicesScrim [cantidadScrims] [cantidadConsultas]
+ *
+ * @author eScrims Team
+ */
+public class BenchmarkIndicesScrim {
+
+    private static final String[] ESTADOS = {
+            "BUSCANDO", "LOBBY_ARMADO", "CONFIRMADO", "EN_JUEGO", "FINALIZADO", "CANCELADO" };
+
+    public static void main(String[] args) {
+        int cantidadScrims = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int cantidadConsultas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        System.out.println("═".repeat(80));
+        System.out.println("     BENCHMARK DE ÍNDICES DE BÚSQUEDA DE SCRIMS");
+        System.out.println("═".repeat(80));
+        System.out.println("Scrims sintéticos: " + cantidadScrims + " | Consultas: " + cantidadConsultas);
+
+        Random random = new Random(42);
+        List<Scrim> scrims = generarScrims(cantidadScrims, random);
+        List<FiltrosScrim> consultas = generarConsultas(cantidadConsultas, random);
+
+        // Construcción de índices
+        long inicio = System.nanoTime();
+        IndiceHash indiceHash = new IndiceHash(scrims);
+        long tiempoHash = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        IndiceBitmapScrims indiceBitmap = new IndiceBitmapScrims();
+        indiceBitmap.reconstruir(scrims);
+        long tiempoBitmap = System.nanoTime() - inicio;
+
+        System.out.printf("%nConstrucción índice hash:   %8.1f ms%n", tiempoHash / 1e6);
+        System.out.printf("Construcción índice bitmap: %8.1f ms (%.1f KB)%n",
+                tiempoBitmap / 1e6, indiceBitmap.bytesEstimados() / 1024.0);
+
+        // Verificación de resultados
+        long totalResultados = 0;
+        for (FiltrosScrim filtros : consultas) {
+            int escaneo = escaneoCompleto(scrims, filtros).size();
+            int hash = indiceHash.buscar(filtros).size();
+            int bitmap = indiceBitmap.buscar(filtros).size();
+            if (escaneo != hash || escaneo != bitmap) {
+                System.err.println("❌ Resultados distintos: escaneo=" + escaneo
+                        + " hash=" + hash + " bitmap=" + bitmap);
+                System.exit(1);
+            }
+            totalResultados += escaneo;
+        }
+        System.out.printf("✅ Resultados idénticos en los 3 enfoques (promedio %.1f por consulta)%n",
+                (double) totalResultados / consultas.size());
+
+        // Medición (con calentamiento previo)
+        System.out.println("\n" + "─".repeat(80));
+        System.out.printf("%-25s %15s %15s%n", "Enfoque", "µs/consulta", "Speedup");
+        System.out.println("─".repeat(80));
+
+        double escaneo = medir(consultas, filtros -> escaneoCompleto(scrims, filtros).size());
+        double hash = medir(consultas, filtros -> indiceHash.buscar(filtros).size());
+        double bitmap = medir(consultas, filtros -> indiceBitmap.buscar(filtros).size());
+
+        System.out.printf("%-25s %15.1f %15s%n", "Escaneo completo", escaneo, "1.0x");
+        System.out.printf("%-25s %15.1f %14.1fx%n", "Índice hash", hash, escaneo / hash);
+        System.out.printf("%-25s %15.1f %14.1fx%n", "Índice bitmap", bitmap, escaneo / bitmap);
+        System.out.println("═".repeat(80));
+    }
+
+    // ========== DATOS SINTÉTICOS ==========
+
+    private static List<Scrim> generarScrims(int cantidad, Random random) {
+        Juego[] juegos = { LeagueOfLegends.getInstance(), CounterStrike.getInstance(), Valorant.getInstance() };
+        ScrimFormat[][] formatos = {
+                { new Formato5v5LoL(), new FormatoARAMLoL() },
+                { new Formato5v5CompetitiveCS(), new Formato2v2WingmanCS() },
+                { new Formato5v5CompetitiveValorant() } };
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<Scrim> scrims = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int juego = random.nextInt(juegos.length);
+            ScrimFormat formato = formatos[juego][random.nextInt(formatos[juego].length)];
+            int rangoMin = 1 + random.nextInt(60);
+            Scrim scrim = new Scrim(juegos[juego], formato,
+                    base.plusMinutes(random.nextInt(60 * 24 * 90)),
+                    rangoMin, rangoMin + 10 + random.nextInt(30),
+                    new ArrayList<>(), 20 + random.nextInt(230), formato.getPlayersPerTeam() * 2);
+            scrim.setState(ScrimStateFactory.crearEstado(ESTADOS[random.nextInt(ESTADOS.length)]));
+            scrims.add(scrim);
+        }
+        return scrims;
+    }
+
+    /**
+     * Consultas de 3 a 5 predicados sobre dimensiones de baja cardinalidad
+     * (al menos 2 indexadas); algunas agregan un filtro de rango (no indexado)
+     * que se verifica al final.
+     */
+    private static List<FiltrosScrim> generarConsultas(int cantidad, Random random) {
+        String[] juegos = { "League of Legends", "Counter-Strike", "Valorant" };
+        String[] formatos = { "5v5 Summoner's Rift", "5v5 ARAM", "5v5 Competitive CS", "2v2 Wingman CS",
+                "5v5 Competitive Valorant" };
+
+        List<FiltrosScrim> consultas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            List<Integer> dimensiones = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4));
+            Collections.shuffle(dimensiones, random);
+            int predicados = 3 + random.nextInt(3);
+
+            FiltrosScrim.Builder builder = new FiltrosScrim.Builder();
+            for (int d = 0; d < predicados; d++) {
+                switch (dimensiones.get(d)) {
+                    case 0:
+                        builder.conJuego(juegos[random.nextInt(juegos.length)]);
+                        break;
+                    case 1:
+                        builder.conFormato(formatos[random.nextInt(formatos.length)]);
+                        break;
+                    case 2:
+                        builder.conEstado(ESTADOS[random.nextInt(ESTADOS.length)]);
+                        break;
+                    case 3:
+                        builder.conLatenciaMax(40 + random.nextInt(200));
+                        break;
+                    default:
+                        int desde = random.nextInt(24);
+                        builder.conFranjaHoraria(desde, (desde + 2 + random.nextInt(6)) % 24);
+                        break;
+                }
+            }
+            if (random.nextInt(4) == 0) {
+                builder.conRangoMin(random.nextInt(30));
+            }
+            consultas.add(builder.build());
+        }
+        return consultas;
+    }
+
+    // ========== ENFOQUES ==========
+
+    private static List<Scrim> escaneoCompleto(List<Scrim> scrims, FiltrosScrim filtros) {
+        List<Scrim> resultado = new ArrayList<>();
+        for (Scrim scrim : scrims) {
+            if (filtros.coincide(scrim)) {
+                resultado.add(scrim);
+            }
+        }
+        return resultado;
+    }
+
+    private static double medir(List<FiltrosScrim> consultas, ToIntFunction<FiltrosScrim> consulta) {
+        long sumidero = 0;
+        for (int ronda = 0; ronda < 3; ronda++) {
+            for (FiltrosScrim filtros : consultas) {
+                sumidero += consulta.applyAsInt(filtros);
+            }
+        }
+        int rondas = 5;
+        long inicio = System.nanoTime();
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            for (FiltrosScrim filtros : consultas) {
+                sumidero += consulta.applyAsInt(filtros);
+            }
+        }
+        long transcurrido = System.nanoTime() - inicio;
+        if (sumidero == Long.MIN_VALUE) {
+            System.out.println(sumidero);
+        }
+        return transcurrido / 1e3 / (rondas * consultas.size());
+    }
+
+    /**
+     * Índice hash tradicional: para cada valor de cada dimensión indexada por
+     * IndiceBitmapScrims, el conjunto de posiciones de los scrims. Las
+     * consultas intersectan conjuntos empezando por el más chico y verifican
+     * el resto de los filtros (estado, rango) sobre los candidatos.
+     */
+    private static class IndiceHash {
+        private final List<Scrim> scrims;
+        private final Map<String, Set<Integer>> porJuego = new HashMap<>();
+        private final Map<String, Set<Integer>> porFormato = new HashMap<>();
+        private final Map<Integer, Set<Integer>> porBucketLatencia = new HashMap<>();
+        private final Map<Integer, Set<Integer>> porHora = new HashMap<>();
+
+        IndiceHash(List<Scrim> scrims) {
+            this.scrims = scrims;
+            for (int i = 0; i < scrims.size(); i++) {
+                Scrim scrim = scrims.get(i);
+                porJuego.computeIfAbsent(clave(scrim.getJuego().getNombre()), k -> new HashSet<>()).add(i);
+                porFormato.computeIfAbsent(clave(scrim.getFormato().getFormatName()), k -> new HashSet<>()).add(i);
+                porBucketLatencia.computeIfAbsent(IndiceBitmapScrims.bucketLatencia(scrim.getLatenciaMax()),
+                        k -> new HashSet<>()).add(i);
+                porHora.computeIfAbsent(scrim.getFechaHora().getHour(), k -> new HashSet<>()).add(i);
+            }
+        }
+
+        List<Scrim> buscar(FiltrosScrim filtros) {
+            List<Set<Integer>> conjuntos = new ArrayList<>();
+            if (filtros.getJuego() != null) {
+                conjuntos.add(porJuego.getOrDefault(clave(filtros.getJuego()), Set.of()));
+            }
+            if (filtros.getFormato() != null) {
+                conjuntos.add(porFormato.getOrDefault(clave(filtros.getFormato()), Set.of()));
+            }
+            if (filtros.getLatenciaMax() != null) {
+                Set<Integer> union = new HashSet<>();
+                int limite = IndiceBitmapScrims.bucketLatencia(filtros.getLatenciaMax());
+                for (Map.Entry<Integer, Set<Integer>> entrada : porBucketLatencia.entrySet()) {
+                    if (entrada.getKey() <= limite) {
+                        union.addAll(entrada.getValue());
+                    }
+                }
+                conjuntos.add(union);
+            }
+            if (filtros.getHoraDesde() != null) {
+                Set<Integer> union = new HashSet<>();
+                for (Map.Entry<Integer, Set<Integer>> entrada : porHora.entrySet()) {
+                    if (filtros.incluyeHora(entrada.getKey())) {
+                        union.addAll(entrada.getValue());
+                    }
+                }
+                conjuntos.add(union);
+            }
+
+            if (conjuntos.isEmpty()) {
+                return escaneoCompleto(scrims, filtros);
+            }
+            conjuntos.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            List<Scrim> resultado = new ArrayList<>();
+            for (Integer posicion : conjuntos.get(0)) {
+                boolean enTodos = true;
+                for (int i = 1; i < conjuntos.size() && enTodos; i++) {
+                    enTodos = conjuntos.get(i).contains(posicion);
+                }
+                Scrim scrim = scrims.get(posicion);
+                if (enTodos && filtros.coincide(scrim)) {
+                    resultado.add(scrim);
+                }
+            }
+            return resultado;
+        }
+
+        private static String clave(String valor) {
+            return valor.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import compartido.utils.GeneradorPoblacion;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.strategies.ByHistoryStrategy;
+import infraestructura.matchmaking.strategies.ByLatencyStrategy;
+import infraestructura.matchmaking.strategies.ByMMRStrategy;
+
+/**
+ * Microbenchmark de {@code seleccionar} de las estrategias MMR, Latency y
+ * History, al estilo de JMH.
+ *
+ * Recorre la grilla de parámetros tamaño de pool × plazas × distribución de
+ * candidatos × estrategia × API ({@code seleccionar(List, Scrim)} o
+ * {@code seleccionar(PoolCandidatos, Scrim)}) y, para cada combinación, hace
+ * iteraciones de calentamiento y de medición de duración fija. Reporta:
+ * - µs/op: media de las iteraciones de medición ± desvío estándar
+ * - B/op y MB/s: bytes asignados por el hilo del benchmark (equivalentes a
+ * gc.alloc.rate.norm y gc.alloc.rate del profiler de GC de JMH)
+ * - GCs: recolecciones ocurridas durante la medición
+ *
+ * Las distribuciones de candidatos respecto de las ventanas de rango de los
+ * scrims (centradas cerca de 50, ancho 20):
+ * - NORMAL: la de la población de League of Legends del generador
+ * - UNIFORME: rangos 1-100 equiprobables
+ * - CONCENTRADA: casi todo el pool dentro de la ventana (muchos empates)
+ * - ESCASA: 97% del pool lejos de la ventana (las plazas casi no se llenan)
+ *
+ * Los pools más chicos son prefijos del más grande, que se genera una sola
+ * vez ({@link GeneradorPoblacion}, semilla fija). El pool de 1M usuarios
+ * requiere alrededor de 3 GB de heap.
+ *
+ * Uso: java -Xmx4g test.BenchmarkSeleccionEstrategias [tamaños] [plazas]
+ * [distribuciones] [estrategias] [apis] [msPorIteracion]
+ *
+ * Cada parámetro es una lista separada por comas ("-" para el valor por
+ * defecto), ej: {@code 1000,100000 10 NORMAL,ESCASA MMR pool 200}. Con
+ * {@code -Dbenchmark.csv=archivo.csv} también escribe los resultados en CSV
+ * para comparar corridas.
+ *
+ * @author eScrims Team
+ */
+public class BenchmarkSeleccionEstrategias {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final long SEMILLA = 42;
+    private static final int SCRIMS_POR_COMBINACION = 32;
+    private static final int ITERACIONES_CALENTAMIENTO = 2;
+    private static final int ITERACIONES_MEDICION = 4;
+
+    private static final int[] TAMANIOS = { 100, 1_000, 10_000, 100_000, 1_000_000 };
+    private static final int[] PLAZAS = { 4, 10, 20 };
+    private static final String[] ESTRATEGIAS = { "MMR", "Latency", "History" };
+    private static final String[] APIS = { "lista", "pool" };
+
+    private enum Distribucion {
+        NORMAL, UNIFORME, CONCENTRADA, ESCASA
+    }
+
+    // Evita que el JIT elimine las llamadas medidas
+    private static volatile long sumidero;
+
+    public static void main(String[] args) throws IOException {
+        int[] tamanios = args.length > 0 && !"-".equals(args[0]) ? enteros(args[0]) : TAMANIOS;
+        int[] plazas = args.length > 1 && !"-".equals(args[1]) ? enteros(args[1]) : PLAZAS;
+        Distribucion[] distribuciones = args.length > 2 && !"-".equals(args[2]) ? distribuciones(args[2])
+                : Distribucion.values();
+        String[] estrategias = args.length > 3 && !"-".equals(args[3]) ? args[3].split(",") : ESTRATEGIAS;
+        String[] apis = args.length > 4 && !"-".equals(args[4]) ? args[4].split(",") : APIS;
+        long msPorIteracion = args.length > 5 ? Long.parseLong(args[5]) : 100;
+
+        System.out.println("═".repeat(110));
+        System.out.println("     BENCHMARK DE SELECCIÓN DE ESTRATEGIAS DE MATCHMAKING");
+        System.out.println("═".repeat(110));
+        System.out.printf(Locale.ROOT, "JVM: %s %s | CPUs: %d | Heap máx: %d MB%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf(Locale.ROOT, "Calentamiento: %d × %d ms | Medición: %d × %d ms | Scrims por combinación: %d%n",
+                ITERACIONES_CALENTAMIENTO, msPorIteracion, ITERACIONES_MEDICION, msPorIteracion,
+                SCRIMS_POR_COMBINACION);
+
+        com.sun.management.ThreadMXBean hilos = medidorDeAsignaciones();
+        if (hilos == null) {
+            System.out.println("⚠️  La JVM no informa bytes asignados por hilo: B/op y MB/s no disponibles");
+        }
+
+        int maximo = Arrays.stream(tamanios).max().orElse(0);
+        long inicio = System.nanoTime();
+        List<Usuario> poblacion = new GeneradorPoblacion(SEMILLA, List.of(JUEGO), "bench").generar(maximo);
+        System.out.printf(Locale.ROOT, "Población de %d usuarios generada en %.1f s%n", maximo,
+                (System.nanoTime() - inicio) / 1e9);
+
+        List<Resultado> resultados = new ArrayList<>();
+        String encabezado = String.format("%-8s %-6s %9s %6s %-12s %12s %10s %12s %12s %9s %5s",
+                "Estrat.", "API", "Pool", "Plazas", "Distrib.", "µs/op", "± desvío", "ops/s", "B/op", "MB/s",
+                "GCs");
+        System.out.println("\n" + encabezado);
+        System.out.println("─".repeat(110));
+
+        for (Distribucion distribucion : distribuciones) {
+            asignarRangos(poblacion, distribucion);
+            for (int tamanio : tamanios) {
+                List<Usuario> candidatos = new ArrayList<>(poblacion.subList(0, tamanio));
+                PoolCandidatos pool = PoolCandidatos.desde(candidatos, JUEGO.getNombre());
+                for (int plaza : plazas) {
+                    Scrim[] scrims = generarScrims(plaza);
+                    for (String nombre : estrategias) {
+                        MatchmakingStrategy estrategia = estrategia(nombre);
+                        for (String api : apis) {
+                            Operacion operacion = "pool".equalsIgnoreCase(api)
+                                    ? scrim -> estrategia.seleccionar(pool, scrim).size()
+                                    : scrim -> estrategia.seleccionar(candidatos, scrim).size();
+                            Resultado resultado = medir(operacion, scrims, msPorIteracion, hilos);
+                            resultado.etiquetar(estrategia.getNombre(), api, tamanio, plaza, distribucion);
+                            resultados.add(resultado);
+                            System.out.println(resultado.formatear());
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println("═".repeat(110));
+
+        String csv = System.getProperty("benchmark.csv");
+        if (csv != null && !csv.isEmpty()) {
+            escribirCsv(csv, resultados);
+            System.out.println("Resultados en " + csv);
+        }
+    }
+
+    // ========== DATOS ==========
+
+    private static void asignarRangos(List<Usuario> poblacion, Distribucion distribucion) {
+        Random random = new Random(SEMILLA + distribucion.ordinal());
+        for (Usuario usuario : poblacion) {
+            double rango;
+            switch (distribucion) {
+                case UNIFORME:
+                    rango = 1 + random.nextInt(100);
+                    break;
+                case CONCENTRADA:
+                    rango = 50 + random.nextGaussian() * 5;
+                    break;
+                case ESCASA:
+                    rango = random.nextInt(100) < 3 ? 50 + random.nextGaussian() * 10
+                            : 12 + random.nextGaussian() * 4;
+                    break;
+                case NORMAL:
+                default:
+                    // Misma distribución que el generador usa para League of Legends
+                    rango = 42 + random.nextGaussian() * 18;
+                    break;
+            }
+            usuario.setRangoParaJuego(JUEGO.getNombre(), (int) Math.max(1, Math.min(100, Math.round(rango))));
+        }
+    }
+
+    private static Scrim[] generarScrims(int plazas) {
+        Random random = new Random(SEMILLA + plazas);
+        Scrim[] scrims = new Scrim[SCRIMS_POR_COMBINACION];
+        for (int i = 0; i < scrims.length; i++) {
+            int rangoMin = 35 + random.nextInt(11);
+            scrims[i] = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.of(2025, 1, 1, 20, 0),
+                    rangoMin, rangoMin + 20, new ArrayList<>(), 60 + random.nextInt(141), plazas);
+        }
+        return scrims;
+    }
+
+    private static MatchmakingStrategy estrategia(String nombre) {
+        switch (nombre.trim().toLowerCase(Locale.ROOT)) {
+            case "mmr":
+                return new ByMMRStrategy();
+            case "latency":
+                return new ByLatencyStrategy();
+            case "history":
+                return new ByHistoryStrategy();
+            default:
+                throw new IllegalArgumentException("Estrategia desconocida: " + nombre);
+        }
+    }
+
+    // ========== MEDICIÓN ==========
+
+    private interface Operacion {
+        int ejecutar(Scrim scrim);
+    }
+
+    private static Resultado medir(Operacion operacion, Scrim[] scrims, long msPorIteracion,
+            com.sun.management.ThreadMXBean hilos) {
+        long duracion = msPorIteracion * 1_000_000L;
+        for (int i = 0; i < ITERACIONES_CALENTAMIENTO; i++) {
+            iterar(operacion, scrims, duracion);
+        }
+
+        long hilo = Thread.currentThread().getId();
+        long asignadosAntes = hilos != null ? hilos.getThreadAllocatedBytes(hilo) : -1;
+        long gcAntes = recolecciones();
+        double[] microsPorOp = new double[ITERACIONES_MEDICION];
+        long operaciones = 0;
+        long tiempo = 0;
+        for (int i = 0; i < ITERACIONES_MEDICION; i++) {
+            long inicio = System.nanoTime();
+            long ops = iterar(operacion, scrims, duracion);
+            long transcurrido = System.nanoTime() - inicio;
+            microsPorOp[i] = transcurrido / 1e3 / ops;
+            operaciones += ops;
+            tiempo += transcurrido;
+        }
+        long asignados = hilos != null ? hilos.getThreadAllocatedBytes(hilo) - asignadosAntes : -1;
+        return new Resultado(microsPorOp, operaciones, tiempo, asignados, recolecciones() - gcAntes);
+    }
+
+    /** Ejecuta operaciones hasta cumplir la duración (al menos una). */
+    private static long iterar(Operacion operacion, Scrim[] scrims, long duracionNs) {
+        long inicio = System.nanoTime();
+        long ops = 0;
+        long acumulado = 0;
+        do {
+            acumulado += operacion.ejecutar(scrims[(int) (ops % scrims.length)]);
+            ops++;
+        } while (System.nanoTime() - inicio < duracionNs);
+        sumidero += acumulado;
+        return ops;
+    }
+
+    private static com.sun.management.ThreadMXBean medidorDeAsignaciones() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        if (!hilos.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        return hilos;
+    }
+
+    private static long recolecciones() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    // ========== RESULTADOS ==========
+
+    private static void escribirCsv(String archivo, List<Resultado> resultados) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(archivo),
+                StandardCharsets.UTF_8))) {
+            writer.println("estrategia,api,pool,plazas,distribucion,us_op,desvio,ops_s,bytes_op,mb_s,gcs");
+            for (Resultado resultado : resultados) {
+                writer.printf(Locale.ROOT, "%s,%s,%d,%d,%s,%.4f,%.4f,%.1f,%.1f,%.2f,%d%n", resultado.estrategia,
+                        resultado.api, resultado.pool, resultado.plazas, resultado.distribucion,
+                        resultado.media(), resultado.desvio(), resultado.opsPorSegundo(), resultado.bytesPorOp(),
+                        resultado.megabytesPorSegundo(), resultado.recolecciones);
+            }
+        }
+    }
+
+    private static class Resultado {
+        private final double[] microsPorOp;
+        private final long operaciones;
+        private final long tiempoNs;
+        private final long bytesAsignados;
+        private final long recolecciones;
+        private String estrategia;
+        private String api;
+        private int pool;
+        private int plazas;
+        private Distribucion distribucion;
+
+        Resultado(double[] microsPorOp, long operaciones, long tiempoNs, long bytesAsignados, long recolecciones) {
+            this.microsPorOp = microsPorOp;
+            this.operaciones = operaciones;
+            this.tiempoNs = tiempoNs;
+            this.bytesAsignados = bytesAsignados;
+            this.recolecciones = recolecciones;
+        }
+
+        void etiquetar(String estrategia, String api, int pool, int plazas, Distribucion distribucion) {
+            this.estrategia = estrategia;
+            this.api = api;
+            this.pool = pool;
+            this.plazas = plazas;
+            this.distribucion = distribucion;
+        }
+
+        double media() {
+            return Arrays.stream(microsPorOp).average().orElse(0);
+        }
+
+        double desvio() {
+            double media = media();
+            double suma = 0;
+            for (double valor : microsPorOp) {
+                suma += (valor - media) * (valor - media);
+            }
+            return microsPorOp.length > 1 ? Math.sqrt(suma / (microsPorOp.length - 1)) : 0;
+        }
+
+        double opsPorSegundo() {
+            return operaciones / (tiempoNs / 1e9);
+        }
+
+        double bytesPorOp() {
+            return bytesAsignados < 0 ? Double.NaN : (double) bytesAsignados / operaciones;
+        }
+
+        double megabytesPorSegundo() {
+            return bytesAsignados < 0 ? Double.NaN : bytesAsignados / 1e6 / (tiempoNs / 1e9);
+        }
+
+        String formatear() {
+            return String.format(Locale.ROOT, "%-8s %-6s %9d %6d %-12s %12.3f %10.3f %12.0f %12.0f %9.1f %5d",
+                    estrategia, api, pool, plazas, distribucion, media(), desvio(), opsPorSegundo(), bytesPorOp(),
+                    megabytesPorSegundo(), recolecciones);
+        }
+    }
+
+    // ========== ARGUMENTOS ==========
+
+    private static int[] enteros(String lista) {
+        return Arrays.stream(lista.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static Distribucion[] distribuciones(String lista) {
+        return Arrays.stream(lista.split(",")).map(nombre -> Distribucion.valueOf(nombre.trim().toUpperCase(
+                Locale.ROOT))).toArray(Distribucion[]::new);
+    }
+}
@@ -0,0 +1,466 @@
+package test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import aplicacion.builders.FiltrosScrim;
+import aplicacion.builders.OrdenScrim;
+import aplicacion.services.ConfirmacionService;
+import aplicacion.services.PostulacionService;
+import aplicacion.services.ScrimService;
+import compartido.utils.GeneradorPoblacion;
+import dominio.juegos.Juego;
+import dominio.modelo.Confirmacion;
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import dominio.valueobjects.formatosScrims.ScrimFormat;
+import infraestructura.matchmaking.MatchmakingRegistry;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.persistencia.implementacion.RepositorioEstadisticasMemoria;
+import infraestructura.persistencia.implementacion.RepositorioScrimMemoria;
+import infraestructura.persistencia.implementacion.RepositorioUsuarioMemoria;
+import infraestructura.persistencia.repository.RepositorioFactory;
+
+/**
+ * Simulación de carga del ciclo completo de matchmaking sobre una población
+ * sintética ({@link GeneradorPoblacion}).
+ *
+ * Usa los servicios reales con repositorios en memoria (para no medir la
+ * escritura de JSON) y mantiene una tasa objetivo de creación de scrims:
+ * 1. Los organizadores crean scrims de su juego y región con una ventana de
+ * rango alrededor del propio
+ * 2. Llegan jugadores (plazas creadas × demanda): buscan los scrims de su
+ * juego y región más cercanos a su rango y se postulan al primero que
+ * cumplen; al completarse el cupo el scrim pasa a LOBBY_ARMADO
+ * 3. Cada jugador del lobby confirma o rechaza según su historial (los
+ * rechazos disparan el backfill)
+ * 4. Los lobbies confirmados se inician y finalizan (estadísticas y
+ * calificaciones incluidas)
+ * 5. Los scrims que no se llenan a tiempo se cancelan
+ *
+ * Reporta throughput, latencias p50/p99 por operación y tiempos de llenado
+ * de los lobbies.
+ *
+ * Uso: java -Xmx4g test.SimulacionCargaMatchmaking [usuarios] [scrimsPorSegundo]
+ * [segundos] [semilla] [demanda]
+ *
+ * Escalas de referencia: 10000, 100000 y 1000000 usuarios (1M requiere
+ * alrededor de 4 GB de heap).
+ *
+ * @author eScrims Team
+ */
+public class SimulacionCargaMatchmaking {
+
+    private static final int VENTANA_RANGO = 15;
+    private static final int CANDIDATOS_POR_BUSQUEDA = 20;
+    private static final long ESPERA_MAXIMA_MS = 20_000;
+
+    private final Random random;
+    private final List<Usuario> poblacion;
+    private final RepositorioScrimMemoria repositorioScrim;
+    private final ScrimService scrimService;
+    private final PostulacionService postulacionService;
+    private final ConfirmacionService confirmacionService;
+    private final List<String> estrategias;
+
+    // Mediciones por operación, en orden de aparición en el reporte
+    private final Map<String, Medicion> mediciones = new LinkedHashMap<>();
+    private final Medicion llenado = new Medicion("llenado lobby (ms)");
+    private final Medicion cicloCompleto = new Medicion("creación→final (ms)");
+    private final Map<String, Integer> errores = new HashMap<>();
+
+    // Estado de la simulación
+    private final Map<String, Long> abiertos = new LinkedHashMap<>();
+    private final Map<String, Long> creacion = new HashMap<>();
+    private final ArrayDeque<String> lobbies = new ArrayDeque<>();
+    private final Set<String> ocupados = new HashSet<>();
+    private long plazasCreadas;
+    private long llegadas;
+    private int sinScrim;
+    private int rechazosConfirmacion;
+    private int finalizados;
+    private int cancelados;
+
+    private SimulacionCargaMatchmaking(List<Usuario> poblacion, RepositorioUsuarioMemoria repositorioUsuario,
+            RepositorioScrimMemoria repositorioScrim, long semilla) {
+        this.random = new Random(semilla);
+        this.poblacion = poblacion;
+        this.repositorioScrim = repositorioScrim;
+        this.scrimService = new ScrimService(repositorioScrim);
+        this.postulacionService = new PostulacionService(repositorioScrim, repositorioUsuario);
+        this.confirmacionService = new ConfirmacionService(repositorioScrim);
+        this.estrategias = new ArrayList<>();
+        for (MatchmakingStrategy estrategia : MatchmakingRegistry.getInstance().getEstrategiasDisponibles()) {
+            estrategias.add(estrategia.getNombre());
+        }
+    }
+
+    public static void main(String[] args) {
+        int cantidadUsuarios = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        double scrimsPorSegundo = args.length > 1 ? Double.parseDouble(args[1]) : 50;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        long semilla = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        double demanda = args.length > 4 ? Double.parseDouble(args[4]) : 1.2;
+
+        System.out.println("═".repeat(80));
+        System.out.println("     SIMULACIÓN DE CARGA DE MATCHMAKING");
+        System.out.println("═".repeat(80));
+        System.out.printf(Locale.ROOT, "Usuarios: %d | Objetivo: %.1f scrims/s | Duración: %d s | Semilla: %d"
+                + " | Demanda: %.2f%n", cantidadUsuarios, scrimsPorSegundo, segundos, semilla, demanda);
+
+        // Repositorios en memoria (antes de que los singletons se enlacen a los JSON)
+        RepositorioUsuarioMemoria repositorioUsuario = new RepositorioUsuarioMemoria();
+        RepositorioScrimMemoria repositorioScrim = new RepositorioScrimMemoria();
+        RepositorioFactory.setRepositorioUsuario(repositorioUsuario);
+        RepositorioFactory.setRepositorioScrim(repositorioScrim);
+        RepositorioFactory.setRepositorioEstadisticas(new RepositorioEstadisticasMemoria());
+
+        long inicio = System.nanoTime();
+        List<Usuario> poblacion = new ArrayList<>(cantidadUsuarios);
+        new GeneradorPoblacion(semilla).generar(cantidadUsuarios, usuario -> {
+            repositorioUsuario.guardar(usuario);
+            poblacion.add(usuario);
+        });
+        System.out.printf(Locale.ROOT, "Población generada en %.1f ms%n", (System.nanoTime() - inicio) / 1e6);
+        imprimirPoblacion(poblacion);
+
+        SimulacionCargaMatchmaking simulacion = new SimulacionCargaMatchmaking(poblacion, repositorioUsuario,
+                repositorioScrim, semilla);
+        // Los mensajes del dominio (estadísticas generadas, etc.) distorsionarían las mediciones
+        PrintStream salida = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long duracionNs;
+        try {
+            duracionNs = simulacion.ejecutar(scrimsPorSegundo, segundos * 1_000_000_000L, demanda);
+        } finally {
+            System.setOut(salida);
+        }
+        simulacion.imprimirReporte(duracionNs, scrimsPorSegundo);
+    }
+
+    // ========== SIMULACIÓN ==========
+
+    private long ejecutar(double scrimsPorSegundo, long duracionNs, double demanda) {
+        long inicio = System.nanoTime();
+        long creados = 0;
+        long ultimoBarrido = inicio;
+        while (true) {
+            long ahora = System.nanoTime();
+            long transcurrido = ahora - inicio;
+            if (transcurrido >= duracionNs) {
+                break;
+            }
+
+            long scrimsObjetivo = (long) (transcurrido / 1e9 * scrimsPorSegundo);
+            boolean trabajo = false;
+            while (creados < scrimsObjetivo) {
+                crearScrim();
+                creados++;
+                trabajo = true;
+            }
+            while (llegadas < plazasCreadas * demanda) {
+                llegarJugador();
+                llegadas++;
+                trabajo = true;
+            }
+            while (!lobbies.isEmpty()) {
+                procesarLobby(lobbies.poll());
+                trabajo = true;
+            }
+            if (ahora - ultimoBarrido >= 1_000_000_000L) {
+                cancelarVencidos(ahora);
+                ultimoBarrido = ahora;
+            }
+            if (!trabajo) {
+                dormir();
+            }
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private void crearScrim() {
+        Usuario organizador = poblacion.get(random.nextInt(poblacion.size()));
+        Juego juego = organizador.getJuegoPrincipal();
+        List<ScrimFormat> formatos = juego.getFormatosDisponibles();
+        ScrimFormat formato = formatos.get(random.nextInt(formatos.size()));
+        int rango = organizador.getRangoParaJuego(juego.getNombre());
+        int latenciaMax = Math.max(80, Math.min(250, organizador.getLatenciaPromedio() * 2 + 40));
+        String estrategia = estrategias.get(random.nextInt(estrategias.size()));
+
+        Scrim scrim = medir("crearScrim", () -> scrimService.crearScrimConEstrategia(juego, formato,
+                LocalDateTime.now().plusMinutes(5), Math.max(1, rango - VENTANA_RANGO),
+                Math.min(100, rango + VENTANA_RANGO), latenciaMax, estrategia, organizador.getId()));
+        if (scrim == null) {
+            return;
+        }
+        scrim.setRegion(organizador.getRegion());
+        repositorioScrim.actualizar(scrim);
+
+        long ahora = System.nanoTime();
+        abiertos.put(scrim.getId(), ahora);
+        creacion.put(scrim.getId(), ahora);
+        plazasCreadas += scrim.getPlazas();
+    }
+
+    private void llegarJugador() {
+        Usuario jugador = poblacion.get(random.nextInt(poblacion.size()));
+        if (ocupados.contains(jugador.getId())) {
+            return;
+        }
+        String juego = jugador.getJuegoPrincipalNombre();
+        Integer rango = jugador.getRangoParaJuego(juego);
+        FiltrosScrim filtros = new FiltrosScrim.Builder()
+                .conJuego(juego)
+                .conEstado("BUSCANDO")
+                .conRegion(jugador.getRegion())
+                .build();
+        List<Scrim> candidatos = medir("buscarScrims", () -> scrimService.buscarScrims(filtros,
+                OrdenScrim.RANGO_MAS_CERCANO, CANDIDATOS_POR_BUSQUEDA, jugador));
+        if (candidatos == null) {
+            return;
+        }
+
+        Scrim elegido = null;
+        for (Scrim scrim : candidatos) {
+            if (rango >= scrim.getRangoMin() && rango <= scrim.getRangoMax()
+                    && jugador.getLatenciaPromedio() <= scrim.getLatenciaMax()
+                    && !scrim.getCreatedBy().equals(jugador.getId())
+                    && !scrim.yaSePostulo(jugador.getId())) {
+                elegido = scrim;
+                break;
+            }
+        }
+        if (elegido == null) {
+            sinScrim++;
+            return;
+        }
+
+        String scrimId = elegido.getId();
+        Postulacion postulacion = medir("postularAScrim", () -> postulacionService.postularAScrim(scrimId,
+                jugador.getId(), rango, jugador.getLatenciaPromedio()));
+        if (postulacion == null) {
+            return;
+        }
+        ocupados.add(jugador.getId());
+        if ("LOBBY_ARMADO".equals(elegido.getEstado())) {
+            Long creado = abiertos.remove(scrimId);
+            if (creado != null) {
+                llenado.agregar((System.nanoTime() - creado) / 1_000_000);
+            }
+            lobbies.add(scrimId);
+        }
+    }
+
+    private void procesarLobby(String scrimId) {
+        Scrim scrim = repositorioScrim.buscarPorId(scrimId);
+        // Un rechazo puede sumar la confirmación del reemplazo: repetir hasta resolver
+        boolean pendientes = true;
+        while (pendientes && "LOBBY_ARMADO".equals(scrim.getEstado())) {
+            pendientes = false;
+            for (Confirmacion confirmacion : new ArrayList<>(scrim.getConfirmaciones())) {
+                if (confirmacion.getEstado() != Confirmacion.EstadoConfirmacion.PENDIENTE) {
+                    continue;
+                }
+                pendientes = true;
+                String userId = confirmacion.getUserId();
+                Usuario jugador = RepositorioFactory.getRepositorioUsuario().buscarPorId(userId);
+                if (random.nextDouble() < probabilidadRechazo(jugador)) {
+                    rechazosConfirmacion++;
+                    ocupados.remove(userId);
+                    medir("rechazarAsistencia", () -> confirmacionService.rechazarAsistencia(scrimId, userId));
+                } else {
+                    ocupados.add(userId);
+                    medir("confirmarAsistencia", () -> confirmacionService.confirmarAsistencia(scrimId, userId));
+                }
+                if (!"LOBBY_ARMADO".equals(scrim.getEstado())) {
+                    break;
+                }
+            }
+        }
+
+        switch (scrim.getEstado()) {
+            case "CONFIRMADO":
+                medir("iniciarPartida", () -> scrimService.iniciarPartida(scrimId));
+                medir("finalizarPartida", () -> scrimService.finalizarPartida(scrimId));
+                if ("FINALIZADO".equals(scrim.getEstado())) {
+                    finalizados++;
+                    cicloCompleto.agregar((System.nanoTime() - creacion.remove(scrimId)) / 1_000_000);
+                }
+                liberarJugadores(scrim);
+                break;
+            case "BUSCANDO":
+                // Sin reemplazo: vuelve a buscar (el tiempo de llenado sigue corriendo)
+                abiertos.put(scrimId, creacion.get(scrimId));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void cancelarVencidos(long ahora) {
+        Iterator<Map.Entry<String, Long>> iterador = abiertos.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<String, Long> entrada = iterador.next();
+            if ((ahora - entrada.getValue()) / 1_000_000 < ESPERA_MAXIMA_MS) {
+                continue;
+            }
+            iterador.remove();
+            String scrimId = entrada.getKey();
+            Scrim cancelado = medir("cancelarScrim", () -> scrimService.cancelarScrim(scrimId));
+            if (cancelado != null) {
+                cancelados++;
+                creacion.remove(scrimId);
+                liberarJugadores(cancelado);
+            }
+        }
+    }
+
+    private void liberarJugadores(Scrim scrim) {
+        for (Postulacion postulacion : scrim.getPostulaciones()) {
+            ocupados.remove(postulacion.getUserId());
+        }
+    }
+
+    /**
+     * Probabilidad de rechazar la confirmación según el historial: los que
+     * abandonan seguido y los de bajo fair play faltan más.
+     */
+    private static double probabilidadRechazo(Usuario jugador) {
+        if (jugador == null) {
+            return 0.0;
+        }
+        HistorialUsuario historial = jugador.getHistorial();
+        return Math.min(0.5, 0.01 + historial.getTasaAbandono() + 0.1 * (1.0 - historial.getTasaFairPlay()));
+    }
+
+    private <T> T medir(String operacion, Supplier<T> llamada) {
+        long inicio = System.nanoTime();
+        try {
+            return llamada.get();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            errores.merge(operacion, 1, Integer::sum);
+            return null;
+        } finally {
+            mediciones.computeIfAbsent(operacion, Medicion::new).agregar((System.nanoTime() - inicio) / 1_000);
+        }
+    }
+
+    private static void dormir() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== REPORTE ==========
+
+    private static void imprimirPoblacion(List<Usuario> poblacion) {
+        Map<String, Integer> porJuego = new LinkedHashMap<>();
+        Map<String, Integer> porRegion = new LinkedHashMap<>();
+        Map<String, Medicion> rangos = new LinkedHashMap<>();
+        for (Usuario usuario : poblacion) {
+            String juego = usuario.getJuegoPrincipalNombre();
+            porJuego.merge(juego, 1, Integer::sum);
+            porRegion.merge(usuario.getRegion(), 1, Integer::sum);
+            rangos.computeIfAbsent(juego, Medicion::new).agregar(usuario.getRangoParaJuego(juego));
+        }
+        for (Map.Entry<String, Integer> entrada : porJuego.entrySet()) {
+            Medicion rango = rangos.get(entrada.getKey());
+            System.out.printf(Locale.ROOT, "  %-20s %7d jugadores | rango p50 %3d, p99 %3d%n", entrada.getKey(),
+                    entrada.getValue(), rango.percentil(0.50), rango.percentil(0.99));
+        }
+        System.out.println("  Regiones: " + porRegion);
+    }
+
+    private void imprimirReporte(long duracionNs, double scrimsPorSegundo) {
+        double segundos = duracionNs / 1e9;
+        long operaciones = 0;
+        for (Medicion medicion : mediciones.values()) {
+            operaciones += medicion.getCantidad();
+        }
+        long creados = mediciones.containsKey("crearScrim") ? mediciones.get("crearScrim").getCantidad() : 0;
+
+        System.out.println("\n" + "─".repeat(80));
+        System.out.printf(Locale.ROOT, "Scrims creados: %d (%.1f/s, objetivo %.1f/s) | finalizados: %d (%.1f/s)"
+                + " | cancelados: %d%n", creados, creados / segundos, scrimsPorSegundo, finalizados,
+                finalizados / segundos, cancelados);
+        System.out.printf(Locale.ROOT, "Llegadas: %d | sin scrim compatible: %d | rechazos de confirmación: %d%n",
+                llegadas, sinScrim, rechazosConfirmacion);
+        System.out.printf(Locale.ROOT, "Throughput: %.0f operaciones/s%n", operaciones / segundos);
+
+        System.out.println("─".repeat(80));
+        System.out.printf("%-22s %10s %10s %10s %10s %8s%n", "Operación", "cantidad", "p50 µs", "p99 µs",
+                "máx µs", "errores");
+        System.out.println("─".repeat(80));
+        for (Medicion medicion : mediciones.values()) {
+            System.out.printf("%-22s %10d %10d %10d %10d %8d%n", medicion.getNombre(), medicion.getCantidad(),
+                    medicion.percentil(0.50), medicion.percentil(0.99), medicion.percentil(1.0),
+                    errores.getOrDefault(medicion.getNombre(), 0));
+        }
+        System.out.println("─".repeat(80));
+        for (Medicion medicion : Arrays.asList(llenado, cicloCompleto)) {
+            System.out.printf("%-22s %10d %10d %10d %10d%n", medicion.getNombre(), medicion.getCantidad(),
+                    medicion.percentil(0.50), medicion.percentil(0.99), medicion.percentil(1.0));
+        }
+        System.out.println("═".repeat(80));
+    }
+
+    /**
+     * Muestras de una métrica, para calcular percentiles al final.
+     */
+    private static class Medicion {
+        private final String nombre;
+        private long[] muestras = new long[1024];
+        private int cantidad;
+        private boolean ordenado;
+
+        Medicion(String nombre) {
+            this.nombre = nombre;
+        }
+
+        void agregar(long valor) {
+            if (cantidad == muestras.length) {
+                muestras = Arrays.copyOf(muestras, cantidad * 2);
+            }
+            muestras[cantidad++] = valor;
+            ordenado = false;
+        }
+
+        long percentil(double p) {
+            if (cantidad == 0) {
+                return 0;
+            }
+            if (!ordenado) {
+                Arrays.sort(muestras, 0, cantidad);
+                ordenado = true;
+            }
+            int posicion = (int) Math.ceil(p * cantidad) - 1;
+            return muestras[Math.max(0, Math.min(cantidad - 1, posicion))];
+        }
+
+        String getNombre() {
+            return nombre;
+        }
+
+        int getCantidad() {
+            return cantidad;
+        }
+    }
+}
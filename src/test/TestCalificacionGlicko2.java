@@ -0,0 +1,137 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import aplicacion.services.CalificacionService;
+import dominio.estadisticas.EstadisticasScrim;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.matchmaking.Glicko2;
+import infraestructura.persistencia.implementacion.RepositorioEstadisticasMemoria;
+import infraestructura.persistencia.implementacion.RepositorioScrimMemoria;
+import infraestructura.persistencia.implementacion.RepositorioUsuarioMemoria;
+
+/**
+ * Verifica las calificaciones Glicko-2:
+ *
+ * 1. El ejemplo de referencia del artículo de Glickman ("Example of the
+ * Glicko-2 system"): un jugador de 1500 / 200 / 0.06 que le gana a uno de
+ * 1400 / 30 y pierde con 1550 / 100 y 1700 / 300 termina el período con
+ * rating 1464.05, desviación 151.52 y volatilidad 0.05999 (τ = 0.5). El
+ * artículo publica 1464.06 porque redondea los pasos intermedios
+ * 2. Una partida pendiente sobrevive a un reinicio del servicio (se deriva
+ * de las estadísticas) y, una vez calificada, no se vuelve a calificar
+ *
+ * @author eScrims Team
+ */
+public class TestCalificacionGlicko2 {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final long HORA_MS = 60 * 60 * 1000L;
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(70));
+        System.out.println("  TEST: CALIFICACIONES GLICKO-2");
+        System.out.println("=".repeat(70));
+
+        int fallos = 0;
+        fallos += verificarEjemploReferencia();
+        fallos += verificarPendientesTrasReinicio();
+
+        System.out.println("\n" + "=".repeat(70));
+        if (fallos == 0) {
+            System.out.println("[OK] Todas las verificaciones pasaron");
+        } else {
+            System.out.println("[ERROR] " + fallos + " verificaciones fallaron");
+        }
+    }
+
+    // ========== EJEMPLO DE REFERENCIA ==========
+
+    private static int verificarEjemploReferencia() {
+        System.out.println("\n[1] Ejemplo de referencia de Glickman");
+        Glicko2.Resultado resultado = Glicko2.actualizar(1500, 200, 0.06,
+                new double[] { 1400, 1550, 1700 },
+                new double[] { 30, 100, 300 },
+                new double[] { 1, 0, 0 });
+
+        int fallos = 0;
+        fallos += comparar("rating", resultado.getRating(), 1464.05, 0.01);
+        fallos += comparar("desviación", resultado.getDesviacion(), 151.52, 0.01);
+        fallos += comparar("volatilidad", resultado.getVolatilidad(), 0.05999, 0.00001);
+        return fallos;
+    }
+
+    private static int comparar(String nombre, double obtenido, double esperado, double tolerancia) {
+        if (Math.abs(obtenido - esperado) <= tolerancia) {
+            System.out.printf("  [OK] %s = %.5f (esperado %.5f)%n", nombre, obtenido, esperado);
+            return 0;
+        }
+        System.out.printf("  [ERROR] %s = %.5f, se esperaba %.5f ± %.5f%n", nombre, obtenido, esperado, tolerancia);
+        return 1;
+    }
+
+    // ========== PENDIENTES TRAS REINICIO ==========
+
+    private static int verificarPendientesTrasReinicio() {
+        System.out.println("\n[2] Partidas pendientes tras un reinicio");
+        RepositorioUsuarioMemoria usuarios = new RepositorioUsuarioMemoria();
+        RepositorioScrimMemoria scrims = new RepositorioScrimMemoria();
+        RepositorioEstadisticasMemoria estadisticas = new RepositorioEstadisticasMemoria();
+
+        List<String> equipoA = new ArrayList<>();
+        List<String> equipoB = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Usuario jugador = new Usuario("glicko" + i, "glicko" + i + "@escrims.test", "clave123");
+            jugador.setRangoParaJuego(JUEGO.getNombre(), 50);
+            usuarios.guardar(jugador);
+            (i < 2 ? equipoA : equipoB).add(jugador.getId());
+        }
+
+        Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1), 1, 100,
+                new ArrayList<>(), 200, 4);
+        scrims.guardar(scrim);
+        EstadisticasScrim partida = new EstadisticasScrim(scrim);
+        partida.fijarEquipos(equipoA, equipoB);
+        partida.finalizarPartida("Equipo A");
+        estadisticas.guardarEstadisticasScrim(partida);
+
+        long ahora = 10 * HORA_MS;
+        int fallos = 0;
+
+        CalificacionService antes = new CalificacionService(usuarios, estadisticas, HORA_MS, 10);
+        fallos += verificar(antes.registrarPartida(scrim, partida, ahora), "la partida se encola");
+
+        // Reinicio: el servicio nuevo no conoce la partida hasta recuperarla
+        CalificacionService despues = new CalificacionService(usuarios, estadisticas, HORA_MS, 10);
+        fallos += verificar(despues.recuperarPendientes(scrims, ahora) == 1,
+                "tras el reinicio se recupera 1 partida pendiente");
+        fallos += verificar(!despues.registrarPartida(scrim, partida, ahora),
+                "la partida recuperada no se encola dos veces");
+        fallos += verificar(despues.cerrarPeriodo(JUEGO.getNombre(), ahora) == 4,
+                "al cerrar el período se califican los 4 jugadores");
+        fallos += verificar(partida.isCalificada(), "las estadísticas quedan marcadas como calificadas");
+
+        Usuario ganador = usuarios.buscarPorId(equipoA.get(0));
+        Usuario perdedor = usuarios.buscarPorId(equipoB.get(0));
+        fallos += verificar(ganador.getCalificacionParaJuego(JUEGO.getNombre()).getRating() > Glicko2.RATING_INICIAL
+                && perdedor.getCalificacionParaJuego(JUEGO.getNombre()).getRating() < Glicko2.RATING_INICIAL,
+                "el ganador sube y el perdedor baja");
+
+        CalificacionService otroReinicio = new CalificacionService(usuarios, estadisticas, HORA_MS, 10);
+        fallos += verificar(otroReinicio.recuperarPendientes(scrims, ahora) == 0
+                && !otroReinicio.registrarPartida(scrim, partida, ahora),
+                "una partida calificada no se recupera ni se vuelve a encolar");
+        return fallos;
+    }
+
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println("  " + (condicion ? "[OK] " : "[ERROR] ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
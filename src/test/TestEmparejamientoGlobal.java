@@ -0,0 +1,242 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import aplicacion.builders.ScrimBuilder;
+import compartido.utils.GeneradorPoblacion;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.HistorialUsuario;
+import dominio.modelo.Postulacion;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.IndiceKD;
+import infraestructura.matchmaking.AlgoritmoHungaro;
+import infraestructura.matchmaking.EmparejamientoGlobal;
+import infraestructura.persistencia.implementacion.RepositorioUsuarioMemoria;
+import infraestructura.persistencia.repository.RepositorioFactory;
+
+/**
+ * Verifica el emparejamiento global por subasta (EmparejamientoGlobal):
+ *
+ * 1. En escenarios chicos sin roles, la calidad total de la subasta coincide
+ * con el óptimo exacto calculado con el algoritmo húngaro sobre la matriz
+ * plaza × jugador (más una columna "vacía" de valor 0 por plaza)
+ * 2. Con roles requeridos, las plazas libres son los roles que faltan: el rol
+ * de los jugadores ya aceptados no se vuelve a ofrecer
+ * 3. Un scrim con los valores por defecto de ScrimBuilder (rango hasta
+ * Integer.MAX_VALUE y latencia -1, ambos sin límite) acepta a todos los
+ * jugadores con rango, sin importar su latencia
+ *
+ * La matriz de valores se arma con la fórmula de calidad documentada en la
+ * clase (cercanía al rango 500, latencia 300, confiabilidad 200).
+ *
+ * @author eScrims Team
+ */
+public class TestEmparejamientoGlobal {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final long CALIDAD_MAXIMA = 1001;
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(70));
+        System.out.println("  TEST: EMPAREJAMIENTO GLOBAL (SUBASTA) VS ÓPTIMO HÚNGARO");
+        System.out.println("=".repeat(70));
+
+        RepositorioUsuarioMemoria repositorio = new RepositorioUsuarioMemoria();
+        RepositorioFactory.setRepositorioUsuario(repositorio);
+
+        int fallos = 0;
+        fallos += compararConHungaro();
+        fallos += verificarRolesFaltantes(repositorio);
+        fallos += verificarScrimSinLimites(repositorio);
+
+        System.out.println("\n" + "=".repeat(70));
+        if (fallos == 0) {
+            System.out.println("[OK] Todas las verificaciones pasaron");
+        } else {
+            System.out.println("[ERROR] " + fallos + " verificaciones fallaron");
+        }
+    }
+
+    // ========== ÓPTIMO ==========
+
+    private static int compararConHungaro() {
+        System.out.println("\n[1] Calidad de la subasta vs óptimo exacto");
+        int fallos = 0;
+        for (long semilla = 1; semilla <= 40; semilla++) {
+            Random random = new Random(semilla);
+            List<Usuario> jugadores = new GeneradorPoblacion(semilla).generar(12 + random.nextInt(30));
+            List<Scrim> scrims = new ArrayList<>();
+            int cantidadScrims = 1 + random.nextInt(4);
+            for (int i = 0; i < cantidadScrims; i++) {
+                int rangoMin = 1 + random.nextInt(60);
+                scrims.add(new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1),
+                        rangoMin, rangoMin + 10 + random.nextInt(40), new ArrayList<>(),
+                        40 + random.nextInt(120), 1 + random.nextInt(5)));
+            }
+
+            EmparejamientoGlobal.Resultado resultado = new EmparejamientoGlobal(10_000).emparejar(scrims, jugadores);
+            long optimo = optimoHungaro(scrims, jugadores);
+            boolean ok = resultado.isOptimo() && resultado.getCalidadTotal() == optimo
+                    && sinRepetidos(resultado);
+            if (!ok) {
+                fallos++;
+                System.out.println("  [ERROR] semilla " + semilla + ": subasta=" + resultado.getCalidadTotal()
+                        + " óptimo=" + optimo + " completa=" + resultado.isOptimo());
+            }
+        }
+        if (fallos == 0) {
+            System.out.println("  [OK] 40 escenarios: la subasta alcanza el óptimo húngaro");
+        }
+        return fallos;
+    }
+
+    /**
+     * Óptimo exacto: filas = plazas, columnas = jugadores + una columna vacía
+     * por plaza. Costo = CALIDAD_MAXIMA - valor, así minimizar el costo
+     * maximiza la calidad.
+     */
+    private static long optimoHungaro(List<Scrim> scrims, List<Usuario> jugadores) {
+        List<Scrim> scrimDePlaza = new ArrayList<>();
+        for (Scrim scrim : scrims) {
+            for (int k = 0; k < scrim.getPlazasLibres(); k++) {
+                scrimDePlaza.add(scrim);
+            }
+        }
+        int plazas = scrimDePlaza.size();
+        if (plazas == 0) {
+            return 0;
+        }
+        long[][] costos = new long[plazas][jugadores.size() + plazas];
+        for (int p = 0; p < plazas; p++) {
+            for (int j = 0; j < costos[p].length; j++) {
+                long valor = j < jugadores.size() ? calidad(jugadores.get(j), scrimDePlaza.get(p)) : 0;
+                costos[p][j] = CALIDAD_MAXIMA - valor;
+            }
+        }
+        int[] asignacion = AlgoritmoHungaro.resolver(costos);
+        long total = 0;
+        for (int p = 0; p < plazas; p++) {
+            total += CALIDAD_MAXIMA - costos[p][asignacion[p]];
+        }
+        return total;
+    }
+
+    /** Calidad documentada en EmparejamientoGlobal; 0 si no es compatible. */
+    private static long calidad(Usuario jugador, Scrim scrim) {
+        Integer rango = jugador.getRangoParaJuego(JUEGO.getNombre());
+        if (rango == null || rango < scrim.getRangoMin() || rango > scrim.getRangoMax()
+                || (scrim.getLatenciaMax() != -1 && jugador.getLatenciaPromedio() > scrim.getLatenciaMax())) {
+            return 0;
+        }
+        double centro = ((double) scrim.getRangoMin() + scrim.getRangoMax()) / 2.0;
+        double semiancho = Math.max(1.0, ((double) scrim.getRangoMax() - scrim.getRangoMin()) / 2.0);
+        double cercania = 1.0 - Math.min(1.0, Math.abs(rango - centro) / semiancho);
+        double referencia = scrim.getLatenciaMax() > 0 ? scrim.getLatenciaMax() + 1.0 : IndiceKD.ESCALA_LATENCIA;
+        double latencia = 1.0 - Math.min(1.0, Math.max(0, jugador.getLatenciaPromedio()) / referencia);
+        HistorialUsuario historial = jugador.getHistorial();
+        double confiabilidad = historial != null ? Math.min(1.0, historial.getScoreMatchmaking() / 90.0) : 0.5;
+        return 1 + Math.round(cercania * 500 + latencia * 300 + confiabilidad * 200);
+    }
+
+    private static boolean sinRepetidos(EmparejamientoGlobal.Resultado resultado) {
+        List<String> vistos = new ArrayList<>();
+        for (List<Usuario> asignados : resultado.getAsignaciones().values()) {
+            for (Usuario usuario : asignados) {
+                if (vistos.contains(usuario.getId())) {
+                    return false;
+                }
+                vistos.add(usuario.getId());
+            }
+        }
+        return true;
+    }
+
+    // ========== ROLES ==========
+
+    private static int verificarRolesFaltantes(RepositorioUsuarioMemoria repositorio) {
+        System.out.println("\n[2] Plazas libres = roles requeridos menos roles aceptados");
+
+        // Roles Top/Mid en 4 plazas (Top, Mid, Top, Mid); un Top ya aceptado
+        Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1),
+                1, 100, List.of("Top", "Mid"), 200, 4);
+        Usuario aceptado = jugador("aceptado", "Top", repositorio);
+        Postulacion postulacion = new Postulacion(scrim.getId(), aceptado.getId(), 50, 30);
+        scrim.postular(postulacion);
+        if (postulacion.isPendiente()) {
+            postulacion.aceptar();
+        }
+
+        List<Usuario> pool = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pool.add(jugador("top" + i, "Top", repositorio));
+            pool.add(jugador("mid" + i, "Mid", repositorio));
+        }
+
+        List<Usuario> asignados = new EmparejamientoGlobal(10_000).emparejar(List.of(scrim), pool)
+                .getAsignados(scrim.getId());
+        int tops = 0;
+        int mids = 0;
+        for (Usuario usuario : asignados) {
+            if ("Top".equals(usuario.getRolPrincipalParaJuego(JUEGO.getNombre()))) {
+                tops++;
+            } else {
+                mids++;
+            }
+        }
+        if (tops == 1 && mids == 2) {
+            System.out.println("  [OK] Se asignaron 1 Top y 2 Mid para completar Top, Mid, Top, Mid");
+            return 0;
+        }
+        System.out.println("  [ERROR] Se esperaban 1 Top y 2 Mid, se asignaron " + tops + " Top y " + mids + " Mid");
+        return 1;
+    }
+
+    // ========== SIN LÍMITES ==========
+
+    private static int verificarScrimSinLimites(RepositorioUsuarioMemoria repositorio) {
+        System.out.println("\n[3] Scrim por defecto: rango y latencia sin límite");
+        Scrim scrim = new ScrimBuilder()
+                .withJuego(JUEGO)
+                .withFormato(new Formato5v5LoL())
+                .withFechaHora(LocalDateTime.now().plusDays(1))
+                .withNotificacionCreacion(false)
+                .build();
+
+        List<Usuario> pool = new ArrayList<>();
+        int[] latencias = { 10, 80, 250, 400, 900, 2000 };
+        for (int i = 0; i < latencias.length; i++) {
+            Usuario usuario = new Usuario("libre" + i, "libre" + i + "@escrims.test", "clave123");
+            usuario.setRangoParaJuego(JUEGO.getNombre(), 1 + i * 19);
+            usuario.setLatenciaPromedio(latencias[i]);
+            repositorio.guardar(usuario);
+            pool.add(usuario);
+        }
+
+        EmparejamientoGlobal.Resultado resultado = new EmparejamientoGlobal(10_000).emparejar(List.of(scrim), pool);
+        int asignados = resultado.getAsignados(scrim.getId()).size();
+        long optimo = optimoHungaro(List.of(scrim), pool);
+        if (asignados == pool.size() && resultado.getCalidadTotal() == optimo) {
+            System.out.println("  [OK] Se asignaron los " + asignados + " jugadores (latencias de 10 a 2000 ms)"
+                    + " con la calidad óptima " + optimo);
+            return 0;
+        }
+        System.out.println("  [ERROR] Se asignaron " + asignados + " de " + pool.size() + " jugadores, calidad "
+                + resultado.getCalidadTotal() + " (óptimo " + optimo + ")");
+        return 1;
+    }
+
+    private static Usuario jugador(String nombre, String rol, RepositorioUsuarioMemoria repositorio) {
+        Usuario usuario = new Usuario(nombre, nombre + "@escrims.test", "clave123");
+        usuario.setRangoParaJuego(JUEGO.getNombre(), 50);
+        usuario.setLatenciaPromedio(30);
+        usuario.agregarRolPreferido(JUEGO, rol);
+        repositorio.guardar(usuario);
+        return usuario;
+    }
+}
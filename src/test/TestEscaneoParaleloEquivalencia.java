@@ -0,0 +1,109 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import compartido.utils.GeneradorPoblacion;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.busqueda.EscaneoParalelo;
+import infraestructura.busqueda.PoolCandidatos;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.strategies.ByCompositeStrategy;
+import infraestructura.matchmaking.strategies.ByHistoryStrategy;
+import infraestructura.matchmaking.strategies.ByMMRStrategy;
+
+/**
+ * Verifica que las estrategias eligen exactamente los mismos jugadores, en el
+ * mismo orden, por los tres caminos de selección:
+ *
+ * 1. Sobre la lista de usuarios
+ * 2. Sobre el {@link PoolCandidatos} con el escaneo secuencial (un hilo y un
+ * umbral que nunca se alcanza)
+ * 3. Sobre el {@link PoolCandidatos} con el escaneo paralelo forzado (4 hilos,
+ * umbral 0), que reparte el pool en bloques y combina los parciales
+ *
+ * Se prueban varias poblaciones y ventanas de rango (completa, media y
+ * angosta), con suficientes candidatos para que el pool se parta en muchos
+ * bloques. La estrategia compuesta también entra: sobre la lista recorre los
+ * candidatos una vez y sobre el pool consulta el árbol k-d, y ambos caminos
+ * deben coincidir.
+ *
+ * @author eScrims Team
+ */
+public class TestEscaneoParaleloEquivalencia {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final int JUGADORES = 30_000;
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(70));
+        System.out.println("  TEST: EQUIVALENCIA LISTA / POOL SECUENCIAL / POOL PARALELO");
+        System.out.println("=".repeat(70));
+
+        int fallos = 0;
+        int casos = 0;
+        for (long semilla : new long[] { 1, 7, 42 }) {
+            List<Usuario> usuarios = new GeneradorPoblacion(semilla).generar(JUGADORES);
+            PoolCandidatos pool = PoolCandidatos.desde(usuarios, JUEGO.getNombre());
+            System.out.println("\n[Semilla " + semilla + "] " + pool.getTamanio() + " candidatos");
+
+            for (int[] ventana : new int[][] { { 1, 100 }, { 40, 60 }, { 70, 72 } }) {
+                Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1),
+                        ventana[0], ventana[1], new ArrayList<>(), 200, 10);
+                for (MatchmakingStrategy estrategia : estrategias()) {
+                    casos++;
+                    fallos += comparar(estrategia, usuarios, pool, scrim);
+                }
+            }
+        }
+
+        // Restaurar la configuración por defecto
+        EscaneoParalelo.configurar(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                EscaneoParalelo.UMBRAL_SECUENCIAL_POR_DEFECTO);
+
+        System.out.println("\n" + "=".repeat(70));
+        if (fallos == 0) {
+            System.out.println("[OK] Todas las verificaciones pasaron (" + casos + " casos)");
+        } else {
+            System.out.println("[ERROR] " + fallos + " de " + casos + " casos fallaron");
+        }
+    }
+
+    private static List<MatchmakingStrategy> estrategias() {
+        return List.of(new ByMMRStrategy(), new ByHistoryStrategy(), new ByHistoryStrategy(0.1, 1.0),
+                new ByCompositeStrategy());
+    }
+
+    private static int comparar(MatchmakingStrategy estrategia, List<Usuario> usuarios, PoolCandidatos pool,
+            Scrim scrim) {
+        List<String> porLista = ids(estrategia.seleccionar(usuarios, scrim));
+
+        EscaneoParalelo.configurar(1, Integer.MAX_VALUE);
+        List<String> secuencial = ids(estrategia.seleccionar(pool, scrim));
+
+        EscaneoParalelo.configurar(4, 0);
+        List<String> paralelo = ids(estrategia.seleccionar(pool, scrim));
+
+        String caso = estrategia.getNombre() + " rango " + scrim.getRangoMin() + "-" + scrim.getRangoMax();
+        if (porLista.equals(secuencial) && secuencial.equals(paralelo)) {
+            System.out.println("  [OK] " + caso + ": " + porLista.size() + " jugadores iguales por los 3 caminos");
+            return 0;
+        }
+        System.out.println("  [ERROR] " + caso + ": lista=" + porLista + " secuencial=" + secuencial
+                + " paralelo=" + paralelo);
+        return 1;
+    }
+
+    private static List<String> ids(List<Usuario> usuarios) {
+        List<String> ids = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            ids.add(usuario.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,331 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import aplicacion.services.PostulacionService;
+import compartido.utils.GeneradorPoblacion;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.Grupo;
+import dominio.modelo.Scrim;
+import dominio.modelo.Usuario;
+import infraestructura.matchmaking.BalanceadorEquipos;
+import infraestructura.matchmaking.MatchmakingStrategy;
+import infraestructura.matchmaking.SeleccionConGrupos;
+import infraestructura.matchmaking.strategies.ByCompositeStrategy;
+import infraestructura.matchmaking.strategies.ByHistoryStrategy;
+import infraestructura.matchmaking.strategies.ByLatencyStrategy;
+import infraestructura.matchmaking.strategies.ByMMRStrategy;
+import infraestructura.persistencia.implementacion.RepositorioEstadisticasMemoria;
+import infraestructura.persistencia.implementacion.RepositorioScrimMemoria;
+import infraestructura.persistencia.implementacion.RepositorioUsuarioMemoria;
+import infraestructura.persistencia.repository.RepositorioFactory;
+
+/**
+ * Verifica que un grupo (party) nunca se separa:
+ *
+ * 1. {@link BalanceadorEquipos}: con grupos, cada grupo queda entero en un
+ * equipo, los equipos difieren en a lo sumo un jugador y, sin roles, la
+ * diferencia de rango es la óptima (fuerza bruta sobre las divisiones que
+ * respetan los grupos). Si los grupos no entran en dos equipos, falla
+ * 2. {@link SeleccionConGrupos}: un grupo entra completo o no entra, y en la
+ * división final todos sus integrantes quedan del mismo lado
+ * 3. Postulación de grupos a un scrim hasta completarlo: los equipos del
+ * scrim respetan los grupos
+ *
+ * @author eScrims Team
+ */
+public class TestGruposNoSeSeparan {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(70));
+        System.out.println("  TEST: LOS GRUPOS NUNCA SE SEPARAN");
+        System.out.println("=".repeat(70));
+
+        int fallos = 0;
+        fallos += verificarBalanceador(new Random(5));
+        fallos += verificarSeleccion(new Random(9));
+        fallos += verificarPostulacion();
+
+        System.out.println("\n" + "=".repeat(70));
+        if (fallos == 0) {
+            System.out.println("[OK] Todas las verificaciones pasaron");
+        } else {
+            System.out.println("[ERROR] " + fallos + " verificaciones fallaron");
+        }
+    }
+
+    // ========== BALANCEADOR ==========
+
+    private static int verificarBalanceador(Random random) {
+        System.out.println("\n[1] Balanceador de equipos con grupos");
+        int fallos = 0;
+        int casos = 0;
+        for (int caso = 0; caso < 2000; caso++) {
+            int n = 2 + random.nextInt(15);
+            List<String> ids = new ArrayList<>();
+            List<String> roles = new ArrayList<>();
+            int[] rangos = new int[n];
+            for (int i = 0; i < n; i++) {
+                ids.add("j" + i);
+                rangos[i] = 1 + random.nextInt(100);
+                roles.add(random.nextInt(3) == 0 ? null : "R" + random.nextInt(5));
+            }
+            List<String> grupos = grupos(n, random);
+            Map<String, Integer> tamanios = new HashMap<>();
+            for (String grupo : grupos) {
+                if (grupo != null) {
+                    tamanios.merge(grupo, 1, Integer::sum);
+                }
+            }
+
+            if (!BalanceadorEquipos.gruposEntran(n, new ArrayList<>(tamanios.values()))) {
+                try {
+                    BalanceadorEquipos.balancear(ids, rangos, null, grupos);
+                    fallos += reportar("caso " + caso + ": se aceptaron grupos que no entran en dos equipos");
+                } catch (IllegalArgumentException e) {
+                    // Esperado
+                }
+                continue;
+            }
+
+            casos++;
+            boolean conRoles = random.nextBoolean();
+            BalanceadorEquipos.Division division = BalanceadorEquipos.balancear(ids, rangos,
+                    conRoles ? roles : null, grupos);
+            Set<String> equipoA = new HashSet<>(division.getEquipoA());
+            for (String grupo : tamanios.keySet()) {
+                if (!mismoLado(grupo, grupos, ids, equipoA)) {
+                    fallos += reportar("caso " + caso + ": se separó el grupo " + grupo + " en " + division);
+                }
+            }
+            if (Math.abs(division.getEquipoA().size() - division.getEquipoB().size()) > 1) {
+                fallos += reportar("caso " + caso + ": equipos desparejos " + division);
+            }
+            if (!conRoles) {
+                long optima = diferenciaOptima(rangos, grupos, tamanios.keySet());
+                if (division.getDiferencia() != optima) {
+                    fallos += reportar("caso " + caso + ": diferencia " + division.getDiferencia()
+                            + ", la óptima es " + optima);
+                }
+            }
+        }
+        if (fallos == 0) {
+            System.out.println("  [OK] " + casos + " divisiones sin grupos separados, parejas y óptimas sin roles");
+        }
+        return fallos;
+    }
+
+    /** Asigna grupos de 2 a 4 integrantes a jugadores consecutivos (null = sin grupo). */
+    private static List<String> grupos(int n, Random random) {
+        List<String> grupos = new ArrayList<>();
+        int siguiente = 0;
+        while (grupos.size() < n) {
+            int tamanio = random.nextInt(3) == 0 ? 2 + random.nextInt(3) : 1;
+            for (int k = 0; k < tamanio && grupos.size() < n; k++) {
+                grupos.add(tamanio > 1 ? "g" + siguiente : null);
+            }
+            siguiente++;
+        }
+        return grupos;
+    }
+
+    private static boolean mismoLado(String grupo, List<String> grupos, List<String> ids, Set<String> equipoA) {
+        Boolean lado = null;
+        for (int i = 0; i < ids.size(); i++) {
+            if (grupo.equals(grupos.get(i))) {
+                boolean enA = equipoA.contains(ids.get(i));
+                if (lado != null && lado != enA) {
+                    return false;
+                }
+                lado = enA;
+            }
+        }
+        return true;
+    }
+
+    /** Menor |sumaA - sumaB| entre las divisiones parejas que no separan grupos. */
+    private static long diferenciaOptima(int[] rangos, List<String> grupos, Set<String> nombresGrupos) {
+        int n = rangos.length;
+        long total = 0;
+        for (int rango : rangos) {
+            total += rango;
+        }
+        long mejor = Long.MAX_VALUE;
+        for (int mascara = 0; mascara < (1 << n); mascara++) {
+            int enA = Integer.bitCount(mascara);
+            if (enA != n / 2 && enA != n - n / 2) {
+                continue;
+            }
+            boolean respetaGrupos = true;
+            for (String grupo : nombresGrupos) {
+                int dentro = 0;
+                int integrantes = 0;
+                for (int i = 0; i < n; i++) {
+                    if (grupo.equals(grupos.get(i))) {
+                        integrantes++;
+                        dentro += (mascara >> i) & 1;
+                    }
+                }
+                respetaGrupos &= dentro == 0 || dentro == integrantes;
+            }
+            if (!respetaGrupos) {
+                continue;
+            }
+            long sumaA = 0;
+            for (int i = 0; i < n; i++) {
+                if (((mascara >> i) & 1) == 1) {
+                    sumaA += rangos[i];
+                }
+            }
+            mejor = Math.min(mejor, Math.abs(2 * sumaA - total));
+        }
+        return mejor;
+    }
+
+    // ========== SELECCIÓN ==========
+
+    private static int verificarSeleccion(Random random) {
+        System.out.println("\n[2] Selección de jugadores sueltos y grupos");
+        List<Usuario> poblacion = new GeneradorPoblacion(9).generar(400);
+        List<MatchmakingStrategy> estrategias = List.of(new ByMMRStrategy(), new ByLatencyStrategy(),
+                new ByHistoryStrategy(), new ByCompositeStrategy());
+        int fallos = 0;
+        int completas = 0;
+
+        for (int caso = 0; caso < 300; caso++) {
+            Collections.shuffle(poblacion, random);
+            int plazas = 2 + random.nextInt(9);
+            Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1), 20, 90,
+                    new ArrayList<>(), 150, plazas);
+
+            int siguiente = 0;
+            List<Usuario> sueltos = new ArrayList<>();
+            for (int k = random.nextInt(12); k > 0; k--) {
+                sueltos.add(poblacion.get(siguiente++));
+            }
+            List<Grupo> grupos = new ArrayList<>();
+            for (int k = random.nextInt(5); k > 0; k--) {
+                int tamanio = 2 + random.nextInt(3);
+                Grupo.AgregacionRango agregacion = random.nextBoolean() ? Grupo.AgregacionRango.MAXIMO
+                        : Grupo.AgregacionRango.PROMEDIO_PONDERADO;
+                grupos.add(new Grupo(poblacion.get(siguiente),
+                        new ArrayList<>(poblacion.subList(siguiente + 1, siguiente + tamanio)), agregacion));
+                siguiente += tamanio;
+            }
+
+            MatchmakingStrategy estrategia = estrategias.get(random.nextInt(estrategias.size()));
+            SeleccionConGrupos.Resultado resultado = SeleccionConGrupos.seleccionar(estrategia, sueltos, grupos,
+                    scrim);
+            Set<String> seleccionados = new HashSet<>();
+            for (Usuario usuario : resultado.getSeleccionados()) {
+                seleccionados.add(usuario.getId());
+            }
+
+            for (Grupo grupo : grupos) {
+                int dentro = 0;
+                for (String id : grupo.getIdsIntegrantes()) {
+                    dentro += seleccionados.contains(id) ? 1 : 0;
+                }
+                boolean elegido = resultado.getGrupos().contains(grupo);
+                if (dentro != (elegido ? grupo.getTamanio() : 0)) {
+                    fallos += reportar("caso " + caso + " (" + estrategia.getNombre() + "): entraron " + dentro
+                            + " de " + grupo.getTamanio() + " integrantes de " + grupo);
+                }
+            }
+            if (resultado.getSeleccionados().size() > plazas) {
+                fallos += reportar("caso " + caso + ": se seleccionaron más jugadores que plazas");
+            }
+
+            if (resultado.isCompleta()) {
+                completas++;
+                Set<String> equipoA = new HashSet<>(resultado.getDivision().getEquipoA());
+                for (Grupo grupo : resultado.getGrupos()) {
+                    long enA = grupo.getIdsIntegrantes().stream().filter(equipoA::contains).count();
+                    if (enA != 0 && enA != grupo.getTamanio()) {
+                        fallos += reportar("caso " + caso + ": la división separó a " + grupo);
+                    }
+                }
+            }
+        }
+        if (fallos == 0) {
+            System.out.println("  [OK] 300 selecciones con grupos enteros (" + completas
+                    + " completas, sin grupos separados entre equipos)");
+        }
+        return fallos;
+    }
+
+    // ========== POSTULACIÓN ==========
+
+    private static int verificarPostulacion() {
+        System.out.println("\n[3] Postulación de grupos hasta completar el scrim");
+        RepositorioUsuarioMemoria usuarios = new RepositorioUsuarioMemoria();
+        RepositorioScrimMemoria scrims = new RepositorioScrimMemoria();
+        RepositorioFactory.setRepositorioUsuario(usuarios);
+        RepositorioFactory.setRepositorioScrim(scrims);
+        RepositorioFactory.setRepositorioEstadisticas(new RepositorioEstadisticasMemoria());
+
+        List<Usuario> jugadores = new ArrayList<>();
+        for (Usuario usuario : new GeneradorPoblacion(3).generar(200)) {
+            usuarios.guardar(usuario);
+            if (usuario.getRangoParaJuego(JUEGO.getNombre()) != null) {
+                jugadores.add(usuario);
+            }
+        }
+
+        Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1), 1, 100,
+                new ArrayList<>(), -1, 10);
+        scrim.setCreatedBy("organizador");
+        scrims.guardar(scrim);
+        PostulacionService postulaciones = new PostulacionService(scrims, usuarios);
+
+        Grupo trio = new Grupo(jugadores.get(0), jugadores.subList(1, 3));
+        Grupo cuarteto = new Grupo(jugadores.get(3), jugadores.subList(4, 7));
+        postulaciones.postularGrupo(scrim.getId(), trio);
+        postulaciones.postularGrupo(scrim.getId(), cuarteto);
+
+        int fallos = 0;
+        try {
+            postulaciones.postularGrupo(scrim.getId(), new Grupo(jugadores.get(7), jugadores.subList(8, 10)));
+            fallos += reportar("se aceptó un trío que no entra junto a los grupos de 3 y 4 (equipos de 5)");
+        } catch (IllegalStateException e) {
+            System.out.println("  [OK] Un tercer grupo de 3 se rechaza: " + e.getMessage());
+        }
+
+        for (int i = 7; i < 10; i++) {
+            Usuario jugador = jugadores.get(i);
+            postulaciones.postularAScrim(scrim.getId(), jugador.getId(),
+                    jugador.getRangoParaJuego(JUEGO.getNombre()), jugador.getLatenciaPromedio());
+        }
+
+        Scrim completo = scrims.buscarPorId(scrim.getId());
+        Set<String> equipoA = new HashSet<>(completo.getEquipoA());
+        for (Grupo grupo : List.of(trio, cuarteto)) {
+            long enA = grupo.getIdsIntegrantes().stream().filter(equipoA::contains).count();
+            if (completo.getEquipoA().isEmpty() || (enA != 0 && enA != grupo.getTamanio())) {
+                fallos += reportar("los equipos del scrim separan a " + grupo + ": A=" + completo.getEquipoA()
+                        + " B=" + completo.getEquipoB());
+            }
+        }
+        if (fallos == 0) {
+            System.out.println("  [OK] Scrim completo (" + completo.getEstado() + ") con el trío y el cuarteto enteros");
+        }
+        return fallos;
+    }
+
+    private static int reportar(String mensaje) {
+        System.out.println("  [ERROR] " + mensaje);
+        return 1;
+    }
+}
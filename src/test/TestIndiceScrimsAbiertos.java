@@ -0,0 +1,167 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.Scrim;
+import infraestructura.busqueda.IndiceScrimsAbiertos;
+import infraestructura.persistencia.implementacion.RepositorioScrimMemoria;
+import infraestructura.persistencia.repository.RepositorioFactory;
+
+/**
+ * Verifica el índice de scrims abiertos (IndiceScrimsAbiertos):
+ *
+ * 1. Un scrim sin límite de latencia (-1) admite a jugadores de cualquier
+ * latencia, también después de actualizarlo en el lugar
+ * 2. Con altas, bajas y cambios aleatorios (requisitos ampliados, latencia
+ * con y sin límite, región), las consultas coinciden con un recorrido
+ * completo de los scrims
+ *
+ * @author eScrims Team
+ */
+public class TestIndiceScrimsAbiertos {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final String[] REGIONES = { "", "LAS", "EUW" };
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(70));
+        System.out.println("  TEST: ÍNDICE DE SCRIMS ABIERTOS");
+        System.out.println("=".repeat(70));
+
+        int fallos = 0;
+        fallos += verificarSinLimiteDeLatencia();
+        fallos += compararConRecorrido(new Random(11));
+
+        System.out.println("\n" + "=".repeat(70));
+        if (fallos == 0) {
+            System.out.println("[OK] Todas las verificaciones pasaron");
+        } else {
+            System.out.println("[ERROR] " + fallos + " verificaciones fallaron");
+        }
+    }
+
+    // ========== SIN LÍMITE DE LATENCIA ==========
+
+    private static int verificarSinLimiteDeLatencia() {
+        System.out.println("\n[1] Scrims sin límite de latencia");
+        RepositorioScrimMemoria repositorio = new RepositorioScrimMemoria();
+        RepositorioFactory.setRepositorioScrim(repositorio);
+        IndiceScrimsAbiertos indice = IndiceScrimsAbiertos.getInstance();
+
+        Scrim sinLimite = scrim(1, 100, -1, "LAS");
+        Scrim conLimite = scrim(1, 100, 60, "LAS");
+        repositorio.guardar(sinLimite);
+        repositorio.guardar(conLimite);
+
+        int fallos = 0;
+        List<Scrim> admiten = indice.scrimsQueAdmiten(JUEGO.getNombre(), "LAS", 50, 900);
+        fallos += verificar(admiten.size() == 1 && admiten.get(0) == sinLimite,
+                "un jugador de 900 ms entra al scrim sin límite y no al de 60 ms");
+
+        Scrim temporal = scrim(1, 100, -1, "LAS");
+        repositorio.guardar(temporal);
+        repositorio.eliminar(temporal.getId());
+        admiten = indice.scrimsQueAdmiten(JUEGO.getNombre(), "LAS", 50, 900);
+        fallos += verificar(admiten.size() == 1 && admiten.get(0) == sinLimite,
+                "un alta y una baja no alteran al scrim sin límite");
+
+        // Sin región y rango 1-60: un jugador de rango 80 todavía no entra
+        Scrim angosto = scrim(1, 60, -1, "");
+        repositorio.guardar(angosto);
+        fallos += verificar(!indice.scrimsQueAdmiten(JUEGO.getNombre(), "EUW", 80, 900).contains(angosto),
+                "un scrim 1-60 no admite rango 80");
+        // Ampliar el rango máximo conserva el rango mínimo: se actualiza en el lugar
+        angosto.relajarRequisitos(1, 30, 50);
+        repositorio.actualizar(angosto);
+        fallos += verificar(angosto.getRangoMin() == 1 && angosto.getLatenciaMax() == -1
+                && indice.scrimsQueAdmiten(JUEGO.getNombre(), "EUW", 80, 900).contains(angosto),
+                "ampliado a 1-90 en el lugar, sigue sin límite de latencia y admite 80 / 900 ms");
+        return fallos;
+    }
+
+    // ========== RECORRIDO COMPLETO ==========
+
+    private static int compararConRecorrido(Random random) {
+        System.out.println("\n[2] Consultas vs recorrido completo");
+        RepositorioScrimMemoria repositorio = new RepositorioScrimMemoria();
+        RepositorioFactory.setRepositorioScrim(repositorio);
+        IndiceScrimsAbiertos indice = IndiceScrimsAbiertos.getInstance();
+        List<Scrim> vivos = new ArrayList<>();
+        int fallos = 0;
+
+        for (int operacion = 0; operacion < 3000; operacion++) {
+            int tipo = random.nextInt(10);
+            if (tipo < 5 || vivos.isEmpty()) {
+                Scrim nuevo = scrimAleatorio(random);
+                repositorio.guardar(nuevo);
+                vivos.add(nuevo);
+            } else if (tipo < 7) {
+                Scrim eliminado = vivos.remove(random.nextInt(vivos.size()));
+                repositorio.eliminar(eliminado.getId());
+            } else {
+                // Cambios en el lugar: ampliar requisitos (mueve o no el
+                // rango mínimo) o cambiar de región (cambia de shard)
+                Scrim modificado = vivos.get(random.nextInt(vivos.size()));
+                if (random.nextBoolean()) {
+                    int nivel = 1 + random.nextInt(10);
+                    modificado.relajarRequisitos(nivel, random.nextInt(3) * nivel, 10 * nivel);
+                } else {
+                    modificado.setRegion(REGIONES[random.nextInt(REGIONES.length)]);
+                }
+                repositorio.actualizar(modificado);
+            }
+
+            String region = REGIONES[random.nextInt(REGIONES.length)];
+            int rango = 1 + random.nextInt(100);
+            int latencia = random.nextInt(400);
+            Set<String> esperados = new HashSet<>();
+            for (Scrim scrim : vivos) {
+                if ((scrim.getRegion().isEmpty() || scrim.getRegion().equals(region))
+                        && scrim.getRangoMin() <= rango && rango <= scrim.getRangoMax()
+                        && (scrim.getLatenciaMax() == -1 || scrim.getLatenciaMax() >= latencia)) {
+                    esperados.add(scrim.getId());
+                }
+            }
+            Set<String> obtenidos = new HashSet<>();
+            for (Scrim scrim : indice.scrimsQueAdmiten(JUEGO.getNombre(), region, rango, latencia)) {
+                obtenidos.add(scrim.getId());
+            }
+            if (!esperados.equals(obtenidos)) {
+                fallos++;
+                System.out.println("  [ERROR] operación " + operacion + ": esperados " + esperados.size()
+                        + ", obtenidos " + obtenidos.size());
+            }
+        }
+        if (fallos == 0) {
+            System.out.println("  [OK] 3000 operaciones: el índice coincide con el recorrido completo");
+        }
+        return fallos;
+    }
+
+    private static Scrim scrimAleatorio(Random random) {
+        int rangoMin = 1 + random.nextInt(90);
+        int latencia = random.nextInt(4) == 0 ? -1 : 20 + random.nextInt(300);
+        return scrim(rangoMin, rangoMin + random.nextInt(101 - rangoMin), latencia,
+                REGIONES[random.nextInt(REGIONES.length)]);
+    }
+
+    private static Scrim scrim(int rangoMin, int rangoMax, int latenciaMax, String region) {
+        Scrim scrim = new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1), rangoMin, rangoMax,
+                new ArrayList<>(), latenciaMax, 10);
+        scrim.setRegion(region);
+        return scrim;
+    }
+
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println("  " + (condicion ? "[OK] " : "[ERROR] ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}
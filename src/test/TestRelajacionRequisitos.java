@@ -0,0 +1,156 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import aplicacion.services.RelajacionMatchmakingService;
+import dominio.juegos.Juego;
+import dominio.juegos.LeagueOfLegends;
+import dominio.juegos.formatos.Formato5v5LoL;
+import dominio.modelo.Scrim;
+import infraestructura.matchmaking.PoliticaRelajacion;
+import infraestructura.persistencia.implementacion.RepositorioScrimMemoria;
+import infraestructura.persistencia.implementacion.RepositorioUsuarioMemoria;
+import infraestructura.persistencia.repository.RepositorioFactory;
+
+/**
+ * Verifica la relajación de requisitos de scrims abiertos:
+ *
+ * 1. La curva por defecto ({@link PoliticaRelajacion#POR_DEFECTO}: 1 minuto
+ * de gracia, 10 niveles lineales en 10 minutos, hasta ±30 de rango y +120 ms)
+ * 2. La ventana ampliada de un scrim no sale de la escala de rangos (1 a 100)
+ * y se recalcula desde los requisitos originales
+ * 3. Una pasada del servicio sube el nivel de un scrim según su espera y no
+ * lo vuelve a relajar si el nivel no cambia
+ *
+ * @author eScrims Team
+ */
+public class TestRelajacionRequisitos {
+
+    private static final Juego JUEGO = LeagueOfLegends.getInstance();
+    private static final long MINUTO_MS = 60_000;
+
+    public static void main(String[] args) {
+        System.out.println("=".repeat(70));
+        System.out.println("  TEST: RELAJACIÓN DE REQUISITOS");
+        System.out.println("=".repeat(70));
+
+        int fallos = 0;
+        fallos += verificarCurva();
+        fallos += verificarVentanaAcotada();
+        fallos += verificarPasada();
+
+        System.out.println("\n" + "=".repeat(70));
+        if (fallos == 0) {
+            System.out.println("[OK] Todas las verificaciones pasaron");
+        } else {
+            System.out.println("[ERROR] " + fallos + " verificaciones fallaron");
+        }
+    }
+
+    // ========== CURVA ==========
+
+    private static int verificarCurva() {
+        System.out.println("\n[1] Curva de relajación por defecto");
+        PoliticaRelajacion politica = PoliticaRelajacion.POR_DEFECTO;
+        int fallos = 0;
+
+        fallos += verificar(politica.nivel(0) == 0 && politica.nivel(MINUTO_MS) == 0,
+                "sin relajación durante el minuto de gracia");
+        fallos += verificar(politica.nivel(2 * MINUTO_MS) == 1, "un minuto después de la gracia: nivel 1");
+        fallos += verificar(politica.nivel(6 * MINUTO_MS) == 5, "a mitad de la curva: nivel 5");
+        fallos += verificar(politica.nivel(11 * MINUTO_MS) == 10 && politica.nivel(60 * MINUTO_MS) == 10,
+                "al final de la curva y después: nivel 10");
+
+        boolean monotona = true;
+        for (long espera = 0, anterior = 0; espera <= 15 * MINUTO_MS; espera += 5_000) {
+            int nivel = politica.nivel(espera);
+            monotona &= nivel >= anterior;
+            anterior = nivel;
+        }
+        fallos += verificar(monotona, "el nivel nunca baja al aumentar la espera");
+
+        fallos += verificar(politica.rangoExtra(0) == 0 && politica.rangoExtra(5) == 15
+                && politica.rangoExtra(10) == 30 && politica.rangoExtra(20) == 30,
+                "rango extra 0 / 15 / 30, acotado al nivel máximo");
+        fallos += verificar(politica.latenciaExtra(0) == 0 && politica.latenciaExtra(5) == 60
+                && politica.latenciaExtra(10) == 120, "latencia extra 0 / 60 / 120 ms");
+        fallos += verificar(Math.abs(politica.relajacionFiabilidad(10) - 0.5) < 1e-9,
+                "la fiabilidad se relaja hasta la mitad");
+        return fallos;
+    }
+
+    // ========== VENTANA DEL SCRIM ==========
+
+    private static int verificarVentanaAcotada() {
+        System.out.println("\n[2] Ventana de rango dentro de la escala 1-100");
+        PoliticaRelajacion politica = PoliticaRelajacion.POR_DEFECTO;
+        Scrim scrim = scrim(10, 95, 80);
+        int fallos = 0;
+
+        scrim.relajarRequisitos(5, politica.rangoExtra(5), politica.latenciaExtra(5));
+        fallos += verificar(scrim.getRangoMin() == 1 && scrim.getRangoMax() == 100 && scrim.getLatenciaMax() == 140,
+                "nivel 5: 10-95 pasa a 1-100 (no -5-110) y la latencia a 140 ms");
+
+        scrim.relajarRequisitos(10, politica.rangoExtra(10), politica.latenciaExtra(10));
+        fallos += verificar(scrim.getRangoMin() == 1 && scrim.getRangoMax() == 100 && scrim.getLatenciaMax() == 200,
+                "nivel 10: sigue en 1-100 y la latencia sube a 200 ms");
+
+        scrim.relajarRequisitos(0, 0, 0);
+        fallos += verificar(scrim.getRangoMin() == 10 && scrim.getRangoMax() == 95 && scrim.getLatenciaMax() == 80
+                && scrim.getRangoMinSolicitado() == 10 && scrim.getRangoMaxSolicitado() == 95,
+                "nivel 0: vuelve a los requisitos originales");
+
+        Scrim centrado = scrim(40, 60, -1);
+        centrado.relajarRequisitos(5, politica.rangoExtra(5), politica.latenciaExtra(5));
+        fallos += verificar(centrado.getRangoMin() == 25 && centrado.getRangoMax() == 75
+                && centrado.getLatenciaMax() == -1,
+                "40-60 pasa a 25-75 y una latencia sin límite sigue sin límite");
+        return fallos;
+    }
+
+    // ========== PASADA DEL SERVICIO ==========
+
+    private static int verificarPasada() {
+        System.out.println("\n[3] Pasada del servicio según la espera");
+        RepositorioScrimMemoria scrims = new RepositorioScrimMemoria();
+        RepositorioUsuarioMemoria usuarios = new RepositorioUsuarioMemoria();
+        RepositorioFactory.setRepositorioScrim(scrims);
+        RepositorioFactory.setRepositorioUsuario(usuarios);
+
+        Scrim scrim = scrim(40, 60, 80);
+        scrims.guardar(scrim);
+        RelajacionMatchmakingService servicio = new RelajacionMatchmakingService(PoliticaRelajacion.POR_DEFECTO,
+                false, false, scrims, usuarios);
+        LocalDateTime creado = scrim.getCreatedAt();
+        int fallos = 0;
+
+        fallos += verificar(servicio.ejecutarPasada(creado.plusSeconds(30)).isEmpty()
+                && scrim.getNivelRelajacion() == 0, "dentro de la gracia no se relaja");
+
+        List<RelajacionMatchmakingService.Relajacion> relajados = servicio.ejecutarPasada(creado.plusMinutes(6));
+        fallos += verificar(relajados.size() == 1 && relajados.get(0).getNivelAnterior() == 0
+                && relajados.get(0).getNivel() == 5 && scrim.getRangoMin() == 25 && scrim.getRangoMax() == 75,
+                "a los 6 minutos sube a nivel 5 (rango 25-75)");
+
+        fallos += verificar(servicio.ejecutarPasada(creado.plusMinutes(6).plusSeconds(10)).isEmpty(),
+                "sin cambio de nivel no se vuelve a relajar");
+
+        relajados = servicio.ejecutarPasada(creado.plusMinutes(30));
+        fallos += verificar(relajados.size() == 1 && relajados.get(0).getNivel() == 10
+                && scrim.getRangoMin() == 10 && scrim.getRangoMax() == 90 && scrim.getLatenciaMax() == 200,
+                "al completar la curva queda en nivel 10 (rango 10-90, 200 ms)");
+        return fallos;
+    }
+
+    private static Scrim scrim(int rangoMin, int rangoMax, int latenciaMax) {
+        return new Scrim(JUEGO, new Formato5v5LoL(), LocalDateTime.now().plusDays(1), rangoMin, rangoMax,
+                new ArrayList<>(), latenciaMax, 10);
+    }
+
+    private static int verificar(boolean condicion, String descripcion) {
+        System.out.println("  " + (condicion ? "[OK] " : "[ERROR] ") + descripcion);
+        return condicion ? 0 : 1;
+    }
+}